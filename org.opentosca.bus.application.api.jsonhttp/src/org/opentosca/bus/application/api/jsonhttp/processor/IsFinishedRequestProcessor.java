@@ -12,7 +12,8 @@ import org.slf4j.LoggerFactory;
  * IsFinishedRequestProcessor of the Application Bus-JSON/HTTP-API.<br>
  * <br>
  *
- * This processor handles "isFinished" requests.
+ * This processor handles "isFinished" requests. The optional query parameter <tt>wait</tt>
+ * specifies how many milliseconds the response may be delayed until the invocation has finished.
  *
  *
  *
@@ -34,6 +35,13 @@ public class IsFinishedRequestProcessor implements Processor {
 
         exchange.getIn().setBody(requestID);
 
+        final Long waitTime = exchange.getIn().getHeader(Route.WAIT, Long.class);
+
+        if (waitTime != null) {
+            IsFinishedRequestProcessor.LOG.debug("Wait time: {} ms", waitTime);
+            exchange.getIn().setHeader(ApplicationBusConstants.APPLICATION_BUS_WAIT_TIME.toString(), waitTime);
+        }
+
         exchange.getIn().setHeader(ApplicationBusConstants.APPLICATION_BUS_METHOD.toString(),
                                    ApplicationBusConstants.APPLICATION_BUS_METHOD_IS_FINISHED.toString());
 
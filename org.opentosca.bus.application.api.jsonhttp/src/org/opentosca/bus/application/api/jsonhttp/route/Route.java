@@ -42,6 +42,9 @@ public class Route extends RouteBuilder {
     public static final String POLL_ENDPOINT = Route.INVOKE_ENDPOINT + "/activeRequests/" + Route.ID_PLACEHODLER;
     public static final String GET_RESULT_ENDPOINT = Route.POLL_ENDPOINT + "/response";
 
+    // query parameter of isFinished requests to wait for the invocation to finish
+    public static final String WAIT = "wait";
+
     private static final String TO_APP_BUS_ENDPOINT = "direct:toAppBus";
 
 
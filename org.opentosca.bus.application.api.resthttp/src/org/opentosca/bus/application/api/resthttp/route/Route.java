@@ -59,6 +59,9 @@ public class Route extends RouteBuilder {
     public static final String GET_RESULT_ENDPOINT_SI = Route.POLL_ENDPOINT_SI + Route.GET_RESULT_ENDPOINT_SUFFIX;
     public static final String GET_RESULT_ENDPOINT_NI = Route.POLL_ENDPOINT_NI + Route.GET_RESULT_ENDPOINT_SUFFIX;
 
+    // query parameter of isFinished requests to wait for the invocation to finish
+    public static final String WAIT = "wait";
+
     private static final String TO_APP_BUS_ENDPOINT = "direct:toAppBus";
 
 
@@ -13,6 +13,6 @@ package org.opentosca.bus.application.model.constants;
  *
  */
 public enum ApplicationBusConstants {
-    NODE_INSTANCE_ID_INT, SERVICE_INSTANCE_ID_INT, NODE_TEMPLATE_ID, INTERFACE_NAME, OPERATION_NAME, APPLICATION_BUS_METHOD, APPLICATION_BUS_METHOD_IS_FINISHED, APPLICATION_BUS_METHOD_GET_RESULT, APPLICATION_BUS_METHOD_INVOKE, INVOCATION_ENDPOINT_URL, CLASS_NAME;
+    NODE_INSTANCE_ID_INT, SERVICE_INSTANCE_ID_INT, NODE_TEMPLATE_ID, INTERFACE_NAME, OPERATION_NAME, APPLICATION_BUS_METHOD, APPLICATION_BUS_METHOD_IS_FINISHED, APPLICATION_BUS_METHOD_GET_RESULT, APPLICATION_BUS_METHOD_INVOKE, APPLICATION_BUS_WAIT_TIME, INVOCATION_ENDPOINT_URL, CLASS_NAME;
 
 }
@@ -0,0 +1,120 @@
+package org.opentosca.bus.application.plugin.jsonhttp.service.impl.processor;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.opentosca.bus.application.model.exception.ApplicationBusExternalException;
+import org.opentosca.bus.application.plugin.jsonhttp.service.impl.route.Route;
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * PollingProcessor of the Application Bus-JSON/HTTP-Plugin.<br>
+ * <br>
+ *
+ * This processor polls the location returned for an asynchronous invocation until the result is
+ * available. The delay between two polls starts small and is doubled after each pending response up
+ * to a maximum, a <tt>Retry-After</tt> header of the application overrides it. Polling is stopped if
+ * the invocation doesn't finish within the configured timeout or a poll fails.
+ */
+public class PollingProcessor implements Processor {
+
+    final private static Logger LOG = LoggerFactory.getLogger(PollingProcessor.class);
+
+    // returning json string indicating that the invocation is not finished yet
+    public static final String PENDING_STRING = "{\"status\":\"PENDING\"}";
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final long INITIAL_DELAY =
+        Long.parseLong(Settings.APPLICATION_BUS_JSONHTTP_POLLING_INITIAL_DELAY);
+
+    private static final long MAX_DELAY = Long.parseLong(Settings.APPLICATION_BUS_JSONHTTP_POLLING_MAX_DELAY);
+
+    private static final long TIMEOUT = Long.parseLong(Settings.APPLICATION_BUS_JSONHTTP_POLLING_TIMEOUT);
+
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+
+        final String location = exchange.getIn().getHeader("Location", String.class);
+
+        PollingProcessor.LOG.debug("Polling for the result at: {}", location);
+
+        final ProducerTemplate template = exchange.getContext().createProducerTemplate();
+        final long start = System.currentTimeMillis();
+        long delay = INITIAL_DELAY;
+
+        try {
+            while (true) {
+                final Exchange poll = template.send(Route.DUMMY_ENDPOINT, pollExchange -> {
+                    pollExchange.getIn().setHeader(Exchange.HTTP_METHOD, "GET");
+                    pollExchange.getIn().setHeader(Exchange.HTTP_URI, location);
+                });
+                if (poll.getException() != null) {
+                    PollingProcessor.LOG.warn("Polling for the result at {} failed.", location, poll.getException());
+                    exchange.getIn().removeHeader(Exchange.HTTP_RESPONSE_CODE);
+                    exchange.getIn().setBody(new ApplicationBusExternalException(
+                        "Polling for the result at " + location + " failed.", poll.getException()));
+                    return;
+                }
+                final Message response = poll.hasOut() ? poll.getOut() : poll.getIn();
+                final Integer responseCode = response.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+                final String body = response.getBody(String.class);
+
+                if (!isPending(responseCode, body)) {
+                    PollingProcessor.LOG.debug("Polling finished after {} ms.", System.currentTimeMillis() - start);
+                    exchange.getIn().setHeader(Exchange.HTTP_RESPONSE_CODE, responseCode);
+                    exchange.getIn().setBody(body);
+                    return;
+                }
+
+                final long wait = getRetryAfter(response, delay);
+                if (System.currentTimeMillis() - start + wait > TIMEOUT) {
+                    PollingProcessor.LOG.warn("Invocation didn't finish within {} ms.", TIMEOUT);
+                    exchange.getIn().removeHeader(Exchange.HTTP_RESPONSE_CODE);
+                    exchange.getIn().setBody("Invocation didn't finish within " + TIMEOUT + " ms.");
+                    return;
+                }
+
+                PollingProcessor.LOG.debug("Invocation is pending. Polling again in {} ms.", wait);
+                Thread.sleep(wait);
+                delay = Math.min(delay * 2, MAX_DELAY);
+            }
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.getIn().removeHeader(Exchange.HTTP_RESPONSE_CODE);
+            exchange.getIn().setBody("Polling for the result was interrupted.");
+        }
+        finally {
+            template.stop();
+        }
+    }
+
+    private boolean isPending(final Integer responseCode, final String body) {
+        return responseCode != null && responseCode == 202
+            || responseCode != null && responseCode == 200 && PENDING_STRING.equals(body);
+    }
+
+    /**
+     * @return the delay requested by the <tt>Retry-After</tt> header of the response in milliseconds,
+     *         but at least the initial delay, or the given delay if the response doesn't contain the
+     *         header in seconds
+     */
+    private long getRetryAfter(final Message response, final long delay) {
+        final String retryAfter = response.getHeader(RETRY_AFTER_HEADER, String.class);
+        if (retryAfter != null) {
+            try {
+                // a Retry-After of 0 must not lead to polling without any delay
+                return Math.max(INITIAL_DELAY, Long.parseLong(retryAfter.trim()) * 1000);
+            }
+            catch (final NumberFormatException e) {
+                PollingProcessor.LOG.debug("Ignoring Retry-After header which is no number of seconds: {}",
+                                           retryAfter);
+            }
+        }
+        return delay;
+    }
+}
@@ -8,6 +8,7 @@ import org.apache.camel.builder.SimpleBuilder;
 import org.opentosca.bus.application.model.constants.ApplicationBusConstants;
 import org.opentosca.bus.application.model.exception.ApplicationBusExternalException;
 import org.opentosca.bus.application.plugin.jsonhttp.service.impl.ApplicationBusJsonHttpPluginServiceImpl;
+import org.opentosca.bus.application.plugin.jsonhttp.service.impl.processor.PollingProcessor;
 import org.opentosca.bus.application.plugin.jsonhttp.service.impl.processor.RequestProcessor;
 import org.opentosca.bus.application.plugin.jsonhttp.service.impl.processor.ResponseProcessor;
 
@@ -28,25 +29,22 @@ public class Route extends RouteBuilder {
 
     private static final String APPINVOKER_ENDPOINT_SUFFIX = "/OTABProxy/v1/appInvoker";
 
-    // returning json string indicating that the invocation is not finished yet
-    private static final String PENDING_STRING = "{\"status\":\"PENDING\"}";
-
     // dummy endpoint; will be overwritten by HTTP_URI header
-    private static final String DUMMY_ENDPOINT = "http://dummyhost?throwExceptionOnFailure=false";
+    public static final String DUMMY_ENDPOINT = "http://dummyhost?throwExceptionOnFailure=false";
 
     @Override
     public void configure() throws Exception {
 
         final Predicate OK = header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(200);
-        final Predicate PENDING = PredicateBuilder.and(OK, body().isEqualTo(PENDING_STRING));
+        final Predicate PENDING = PredicateBuilder.and(OK, body().isEqualTo(PollingProcessor.PENDING_STRING));
         final Predicate RESULT_RECEIVED = PredicateBuilder.and(OK, PredicateBuilder.not(PENDING));
 
         final SimpleBuilder INVOKE_ENDPOINT = simple("${header."
             + ApplicationBusConstants.INVOCATION_ENDPOINT_URL.toString() + "}" + APPINVOKER_ENDPOINT_SUFFIX);
-        final SimpleBuilder POLL_ENDPOINT = simple("${header.Location}");
 
         final RequestProcessor requestProcessor = new RequestProcessor();
         final ResponseProcessor responseProcessor = new ResponseProcessor();
+        final PollingProcessor pollingProcessor = new PollingProcessor();
 
         from(ApplicationBusJsonHttpPluginServiceImpl.ENDPOINT).process(requestProcessor)
                                                               .setHeader(Exchange.HTTP_METHOD, constant("POST"))
@@ -55,17 +53,19 @@ public class Route extends RouteBuilder {
                                                               .setHeader(Exchange.HTTP_URI, INVOKE_ENDPOINT)
                                                               .to(DUMMY_ENDPOINT).choice()
                                                               .when(header(Exchange.HTTP_RESPONSE_CODE).isEqualTo(202))
-                                                              .setHeader(Exchange.HTTP_URI, POLL_ENDPOINT)
                                                               .to("direct:polling").endChoice().otherwise()
                                                               .to("direct:throwException");
 
-        from("direct:polling").setHeader(Exchange.HTTP_METHOD, constant("GET")).to(DUMMY_ENDPOINT)
-                              .convertBodyTo(String.class).choice().when(PENDING).delay(5000).to("direct:polling")
-                              .endChoice().when(RESULT_RECEIVED).process(responseProcessor).endChoice().otherwise()
-                              .to("direct:throwException");
+        // poll iteratively with increasing delays until the result is received
+        from("direct:polling").process(pollingProcessor).choice().when(RESULT_RECEIVED).process(responseProcessor)
+                              .endChoice().otherwise().to("direct:throwException");
 
-        from("direct:throwException").process(exchange -> exchange.getIn().setBody(new ApplicationBusExternalException(
-            exchange.getIn().getBody(String.class))));
+        from("direct:throwException").process(exchange -> {
+            // the polling processor already sets an exception if the polling itself failed
+            if (!(exchange.getIn().getBody() instanceof ApplicationBusExternalException)) {
+                exchange.getIn().setBody(new ApplicationBusExternalException(exchange.getIn().getBody(String.class)));
+            }
+        });
 
     }
 
@@ -0,0 +1,122 @@
+package org.opentosca.bus.application.service.impl.model;
+
+import java.net.URL;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * Cache for the endpoints resolved by the InvocationRequestProcessor. Resolving an endpoint walks
+ * the TOSCA model and queries the InstanceDataService, thus, repeated invocations of the same
+ * application component use the cached endpoint instead. The <tt>key</tt> of the cache is the
+ * combination of ServiceInstanceID, NodeInstanceID, NodeTemplateID and interface name of the
+ * request.<br>
+ * <br>
+ *
+ * Cached endpoints expire after a time to live so that changed instance data is picked up, and are
+ * invalidated if an invocation with them fails.
+ *
+ */
+public class EndpointCache {
+
+    final private static Logger LOG = LoggerFactory.getLogger(EndpointCache.class);
+
+    final private static long TTL = Long.parseLong(Settings.APPLICATION_BUS_ENDPOINT_CACHE_TTL);
+
+    final private static int MAX_ENTRIES = 1000;
+
+    final private static ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param serviceInstanceID of the request
+     * @param nodeInstanceID of the request
+     * @param nodeTemplateID of the request
+     * @param interfaceName of the request
+     * @return the key of the cache entry for the request
+     */
+    public static String getKey(final Integer serviceInstanceID, final Integer nodeInstanceID,
+                                final String nodeTemplateID, final String interfaceName) {
+        return serviceInstanceID + "|" + nodeInstanceID + "|" + nodeTemplateID + "|" + interfaceName;
+    }
+
+    /**
+     * @param key of the request
+     * @return the cached endpoint, or <tt>null</tt> if no endpoint or only an expired one is cached
+     */
+    public static Endpoint get(final String key) {
+        final Endpoint endpoint = endpoints.get(key);
+        if (endpoint == null) {
+            return null;
+        }
+        if (endpoint.isExpired(System.currentTimeMillis())) {
+            endpoints.remove(key, endpoint);
+            return null;
+        }
+        EndpointCache.LOG.debug("Using cached endpoint: {} for key: {}", endpoint.getUrl(), key);
+        return endpoint;
+    }
+
+    /**
+     * @param key of the request
+     * @param endpoint resolved for the request
+     */
+    public static void put(final String key, final Endpoint endpoint) {
+        if (endpoints.size() >= MAX_ENTRIES) {
+            final long now = System.currentTimeMillis();
+            endpoints.values().removeIf(cached -> cached.isExpired(now));
+            if (endpoints.size() >= MAX_ENTRIES) {
+                EndpointCache.LOG.debug("Endpoint cache is full, clearing it.");
+                endpoints.clear();
+            }
+        }
+        endpoints.put(key, endpoint);
+    }
+
+    /**
+     * Removes the cached endpoint of the request, e.g. because an invocation with it failed.
+     *
+     * @param key of the request
+     */
+    public static void invalidate(final String key) {
+        if (key != null && endpoints.remove(key) != null) {
+            EndpointCache.LOG.debug("Invalidated cached endpoint for key: {}", key);
+        }
+    }
+
+    /**
+     * Endpoint of an application component together with the information needed to invoke it.
+     */
+    public static class Endpoint {
+
+        private final URL url;
+        private final String className;
+        private final String invocationType;
+        private final long resolvedAt = System.currentTimeMillis();
+
+        public Endpoint(final URL url, final String className, final String invocationType) {
+            this.url = Objects.requireNonNull(url);
+            this.className = className;
+            this.invocationType = invocationType;
+        }
+
+        public URL getUrl() {
+            return this.url;
+        }
+
+        public String getClassName() {
+            return this.className;
+        }
+
+        public String getInvocationType() {
+            return this.invocationType;
+        }
+
+        private boolean isExpired(final long now) {
+            return now - this.resolvedAt > TTL;
+        }
+    }
+}
@@ -1,14 +1,27 @@
 package org.opentosca.bus.application.service.impl.model;
 
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  *
  * Map that manages the requests. RequestID is used as <tt>key</tt> of the map. The <tt>value</tt>
- * of the map indicates if the invocation has finished or not.
+ * of the map is a future which is completed with the result of the invocation once it has
+ * finished. Clients can wait for this future instead of polling repeatedly.<br>
+ * <br>
+ *
+ * Results which are not fetched by the client within their time to live are evicted, as well as
+ * the oldest results if the map exceeds its maximum size.
  *
  * @author Michael Zimmermann - zimmerml@studi.informatik.uni-stuttgart.de
  *
@@ -17,18 +30,35 @@ public class QueueMap {
 
     final private static Logger LOG = LoggerFactory.getLogger(QueueMap.class);
 
-    private static ConcurrentHashMap<String, Boolean> queue = new ConcurrentHashMap<>();
+    final private static long RESULT_TTL = Long.parseLong(Settings.APPLICATION_BUS_RESULT_TTL);
+
+    final private static int MAX_RESULTS = Integer.parseInt(Settings.APPLICATION_BUS_MAX_RESULTS);
+
+    final private static long MAX_WAIT = Long.parseLong(Settings.APPLICATION_BUS_MAX_WAIT);
+
+    // minimal time between two evictions of expired results
+    final private static long EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private static ConcurrentHashMap<String, Invocation> queue = new ConcurrentHashMap<>();
+
+    private static AtomicLong lastEviction = new AtomicLong(System.currentTimeMillis());
 
     /**
-     * Inserts an entry into the queue (if not already existing) and set it to finished.
+     * Completes the entry of the request with the result of the invocation. Inserts the entry if it
+     * doesn't exist yet.
      *
      * @param id of the request
+     * @param result of the invocation. <tt>null</tt> if the invocation failed.
      */
-    public static void finished(final String id) {
+    public static void finished(final String id, final Object result) {
 
         QueueMap.LOG.debug("Request with ID: {} has finished.", id);
 
-        queue.put(id, true);
+        final Invocation invocation = queue.computeIfAbsent(id, key -> new Invocation());
+        invocation.finishedAt = System.currentTimeMillis();
+        invocation.result.complete(result);
+
+        evict();
     }
 
     /**
@@ -40,29 +70,52 @@ public class QueueMap {
 
         QueueMap.LOG.debug("Request with ID: {} hasn't finished yet.", id);
 
-        queue.putIfAbsent(id, false);
+        queue.putIfAbsent(id, new Invocation());
     }
 
     /**
-     * Inserts an entry into the queue.
-     *
      * @param id of the request
-     * @param isFinished specifies if the invocation has finished or not
+     * @return <tt>true</tt> if the invocation has finished. Otherwise <tt>false</tt>
      */
-    public static void put(final String id, final Boolean isFinished) {
-
-        QueueMap.LOG.debug("RequestID: {}, isFinished: {}", id, isFinished);
-
-        queue.put(id, isFinished);
+    public static boolean hasFinished(final String id) {
+        final Invocation invocation = queue.get(id);
+        return invocation != null && invocation.result.isDone();
     }
 
     /**
+     * Waits until the invocation has finished, at most for the given timeout which is bounded by the
+     * configured maximum waiting time.
+     *
      * @param id of the request
+     * @param timeout in milliseconds
      * @return <tt>true</tt> if the invocation has finished. Otherwise <tt>false</tt>
      */
-    public static boolean hasFinished(final String id) {
+    public static boolean awaitFinished(final String id, final long timeout) {
+        final Invocation invocation = queue.get(id);
+        if (invocation == null) {
+            return false;
+        }
+
+        try {
+            invocation.result.get(Math.min(timeout, MAX_WAIT), TimeUnit.MILLISECONDS);
+        }
+        catch (final TimeoutException | ExecutionException e) {
+            // the state of the future is returned below
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return invocation.result.isDone();
+    }
 
-        return queue.get(id);
+    /**
+     * @param id of the request
+     * @return result of the invocation. <tt>Void</tt> if the invoked method was of return type
+     *         <tt>void</tt>. <tt>null</tt> if the invocation failed or hasn't finished yet.
+     */
+    public static Object getResult(final String id) {
+        final Invocation invocation = queue.get(id);
+        return invocation == null ? null : invocation.result.getNow(null);
     }
 
     /**
@@ -82,4 +135,42 @@ public class QueueMap {
         queue.remove(id);
     }
 
+    /**
+     * Removes the finished invocations whose results weren't fetched within their time to live and,
+     * if the queue is still larger than its maximum size, the oldest finished invocations. Runs at
+     * most once per eviction interval unless the maximum size is exceeded.
+     */
+    private static void evict() {
+        final long now = System.currentTimeMillis();
+        final long last = lastEviction.get();
+        if (now - last < EVICTION_INTERVAL && queue.size() <= MAX_RESULTS
+            || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+
+        queue.entrySet().removeIf(entry -> {
+            final long finishedAt = entry.getValue().finishedAt;
+            if (finishedAt > 0 && now - finishedAt > RESULT_TTL) {
+                QueueMap.LOG.debug("Evicting expired result of request with ID: {}", entry.getKey());
+                return true;
+            }
+            return false;
+        });
+
+        final int excess = queue.size() - MAX_RESULTS;
+        if (excess > 0) {
+            QueueMap.LOG.warn("More than {} invocation results are stored, evicting the {} oldest results.",
+                              MAX_RESULTS, excess);
+            queue.entrySet().stream().filter(entry -> entry.getValue().finishedAt > 0)
+                 .sorted(Comparator.comparingLong(entry -> entry.getValue().finishedAt)).limit(excess)
+                 .map(Map.Entry::getKey).forEach(queue::remove);
+        }
+    }
+
+    private static class Invocation {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private volatile long finishedAt = 0;
+    }
 }
@@ -4,7 +4,6 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.opentosca.bus.application.model.exception.ApplicationBusInternalException;
 import org.opentosca.bus.application.service.impl.model.QueueMap;
-import org.opentosca.bus.application.service.impl.model.ResultMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,15 +29,14 @@ public class GetResultProcessor implements Processor {
 
         GetResultProcessor.LOG.debug("getResult request received. RequestID: {}", requestID);
 
-        if (ResultMap.containsID(requestID)) {
+        final Object result = QueueMap.getResult(requestID);
 
-            GetResultProcessor.LOG.debug("Getting result.");
+        if (result != null) {
 
-            final Object result = ResultMap.get(requestID);
+            GetResultProcessor.LOG.debug("Getting result.");
 
-            // "Garbage collection": Remove polled responses. Maybe
-            // client should actively delete it.
-            ResultMap.remove(requestID);
+            // "Garbage collection": Remove polled responses. Responses which
+            // are never polled are evicted by the QueueMap.
             QueueMap.remove(requestID);
 
             exchange.getIn().setBody(result);
@@ -11,6 +11,7 @@ import org.apache.camel.Processor;
 import org.opentosca.bus.application.model.constants.ApplicationBusConstants;
 import org.opentosca.bus.application.model.exception.ApplicationBusInternalException;
 import org.opentosca.bus.application.service.impl.ContainerProxy;
+import org.opentosca.bus.application.service.impl.model.EndpointCache;
 import org.opentosca.bus.application.service.impl.route.InvokeOperationRoute;
 import org.opentosca.bus.application.service.impl.servicehandler.ApplicationBusPluginServiceHandler;
 import org.opentosca.container.core.model.csar.id.CSARID;
@@ -27,7 +28,7 @@ import org.w3c.dom.Node;
  * This processor handles "invokeOperation" requests. Needed information are collected in order to
  * determine the endpoint of the NodeTemplate of which the specified method should be invoked. The
  * effective invocation is done by the Application Bus plugins depending on their supporting
- * invocation types.
+ * invocation types. Resolved endpoints are cached in the EndpointCache.
  *
  *
  *
@@ -50,7 +51,7 @@ public class InvocationRequestProcessor implements Processor {
             message.getHeader(ApplicationBusConstants.SERVICE_INSTANCE_ID_INT.toString(), Integer.class);
         InvocationRequestProcessor.LOG.debug("serviceInstanceID: {}", serviceInstanceID);
 
-        String nodeTemplateID = message.getHeader(ApplicationBusConstants.NODE_TEMPLATE_ID.toString(), String.class);
+        final String nodeTemplateID = message.getHeader(ApplicationBusConstants.NODE_TEMPLATE_ID.toString(), String.class);
         InvocationRequestProcessor.LOG.debug("nodeTemplateID: {}", nodeTemplateID);
 
         final Integer nodeInstanceID =
@@ -63,9 +64,61 @@ public class InvocationRequestProcessor implements Processor {
         final String operationName = message.getHeader(ApplicationBusConstants.OPERATION_NAME.toString(), String.class);
         InvocationRequestProcessor.LOG.debug("operationName: {}", operationName);
 
-        String invocationType = null;
-        String className = null;
-        URL endpoint = null;
+        final String cacheKey = EndpointCache.getKey(serviceInstanceID, nodeInstanceID, nodeTemplateID, interfaceName);
+        exchange.setProperty(InvokeOperationRoute.APPLICATION_BUS_ENDPOINT_CACHE_KEY_PROPERTY, cacheKey);
+
+        EndpointCache.Endpoint endpoint = EndpointCache.get(cacheKey);
+
+        if (endpoint == null) {
+            endpoint = resolveEndpoint(serviceInstanceID, nodeInstanceID, nodeTemplateID, interfaceName);
+
+            if (endpoint != null) {
+                EndpointCache.put(cacheKey, endpoint);
+            }
+        }
+
+        if (endpoint != null) {
+
+            final String invocationType = endpoint.getInvocationType();
+
+            message.setHeader(ApplicationBusConstants.CLASS_NAME.toString(), endpoint.getClassName());
+
+            message.setHeader(ApplicationBusConstants.INVOCATION_ENDPOINT_URL.toString(), endpoint.getUrl().toString());
+
+            InvocationRequestProcessor.LOG.debug("Searching an Application Bus Plugin for InvocationType: {}",
+                                                 invocationType);
+            // set ID of the matching Application Bus Plugin bundle. Needed for
+            // routing.
+            final String appBusPluginEndpoint =
+                ApplicationBusPluginServiceHandler.getApplicationBusPluginBundleID(invocationType);
+
+            if (appBusPluginEndpoint != null) {
+
+                InvocationRequestProcessor.LOG.debug("Application Bus Plugin with matching InvocationType: {} found. Endpoint: {}",
+                                                     invocationType, appBusPluginEndpoint);
+                exchange.getIn().setHeader(InvokeOperationRoute.APPLICATION_BUS_PLUGIN_ENDPOINT_HEADER,
+                                           appBusPluginEndpoint);
+
+            }
+
+        } else {
+
+            throw new ApplicationBusInternalException("Couldn't gather all needed information.");
+        }
+
+    }
+
+    /**
+     * Collects the needed information in order to determine the endpoint of the NodeTemplate.
+     *
+     * @param serviceInstanceID
+     * @param nodeInstanceID
+     * @param nodeTemplateID
+     * @param interfaceName
+     * @return the endpoint, or <tt>null</tt> if not all needed information could be gathered
+     */
+    private EndpointCache.Endpoint resolveEndpoint(final Integer serviceInstanceID, final Integer nodeInstanceID,
+                                                   String nodeTemplateID, final String interfaceName) {
 
         final NodeInstance nodeInstance =
             ContainerProxy.getNodeInstance(serviceInstanceID, nodeInstanceID, nodeTemplateID);
@@ -91,8 +144,8 @@ public class InvocationRequestProcessor implements Processor {
 
                 final String relativeHostEndpoint = ContainerProxy.getRelativeEndpoint(properties);
                 final Integer port = ContainerProxy.getPort(properties);
-                invocationType = ContainerProxy.getInvocationType(properties);
-                className = ContainerProxy.getClass(properties, interfaceName);
+                final String invocationType = ContainerProxy.getInvocationType(properties);
+                final String className = ContainerProxy.getClass(properties, interfaceName);
 
                 if (relativeHostEndpoint != null && port != null && invocationType != null && className != null) {
 
@@ -116,10 +169,12 @@ public class InvocationRequestProcessor implements Processor {
                             InvocationRequestProcessor.LOG.debug("Generating endpoint for Node: {}", nodeTemplateID);
 
                             try {
-                                endpoint = new URL(hostedOnNodeURL.getProtocol(), hostedOnNodeURL.getAuthority(), port,
-                                    relativeHostEndpoint);
+                                final URL endpoint = new URL(hostedOnNodeURL.getProtocol(),
+                                    hostedOnNodeURL.getAuthority(), port, relativeHostEndpoint);
                                 InvocationRequestProcessor.LOG.debug("Generated endpoint: " + endpoint);
 
+                                return new EndpointCache.Endpoint(endpoint, className, invocationType);
+
                             }
                             catch (final MalformedURLException e) {
                                 InvocationRequestProcessor.LOG.error("Generating endpoint for Node: {} failed!",
@@ -132,33 +187,7 @@ public class InvocationRequestProcessor implements Processor {
             }
         }
 
-        if (endpoint != null) {
-
-            message.setHeader(ApplicationBusConstants.CLASS_NAME.toString(), className);
-
-            message.setHeader(ApplicationBusConstants.INVOCATION_ENDPOINT_URL.toString(), endpoint.toString());
-
-            InvocationRequestProcessor.LOG.debug("Searching an Application Bus Plugin for InvocationType: {}",
-                                                 invocationType);
-            // set ID of the matching Application Bus Plugin bundle. Needed for
-            // routing.
-            final String appBusPluginEndpoint =
-                ApplicationBusPluginServiceHandler.getApplicationBusPluginBundleID(invocationType);
-
-            if (appBusPluginEndpoint != null) {
-
-                InvocationRequestProcessor.LOG.debug("Application Bus Plugin with matching InvocationType: {} found. Endpoint: {}",
-                                                     invocationType, appBusPluginEndpoint);
-                exchange.getIn().setHeader(InvokeOperationRoute.APPLICATION_BUS_PLUGIN_ENDPOINT_HEADER,
-                                           appBusPluginEndpoint);
-
-            }
-
-        } else {
-
-            throw new ApplicationBusInternalException("Couldn't gather all needed information.");
-        }
-
+        return null;
     }
 
 }
@@ -2,6 +2,7 @@ package org.opentosca.bus.application.service.impl.processor;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.opentosca.bus.application.model.constants.ApplicationBusConstants;
 import org.opentosca.bus.application.model.exception.ApplicationBusInternalException;
 import org.opentosca.bus.application.service.impl.model.QueueMap;
 import org.slf4j.Logger;
@@ -11,7 +12,8 @@ import org.slf4j.LoggerFactory;
  * IsFinishedProcessor of the Application Bus.<br>
  * <br>
  *
- * This processor handles "isFinished" requests.
+ * This processor handles "isFinished" requests. If the request specifies a waiting time, the
+ * response is delayed until the invocation has finished or the waiting time has elapsed.
  *
  *
  *
@@ -32,7 +34,18 @@ public class IsFinishedProcessor implements Processor {
         if (QueueMap.containsID(requestID)) {
             IsFinishedProcessor.LOG.debug("RequestID is known.");
 
-            if (QueueMap.hasFinished(requestID)) {
+            final Long waitTime =
+                exchange.getIn().getHeader(ApplicationBusConstants.APPLICATION_BUS_WAIT_TIME.toString(), Long.class);
+
+            final boolean hasFinished;
+            if (waitTime != null && waitTime > 0) {
+                IsFinishedProcessor.LOG.debug("Waiting up to {} ms for the invocation to finish.", waitTime);
+                hasFinished = QueueMap.awaitFinished(requestID, waitTime);
+            } else {
+                hasFinished = QueueMap.hasFinished(requestID);
+            }
+
+            if (hasFinished) {
                 IsFinishedProcessor.LOG.debug("Invocation has finished.");
                 exchange.getIn().setBody(true);
 
@@ -5,9 +5,9 @@ import org.apache.camel.ExchangePattern;
 import org.apache.camel.builder.RouteBuilder;
 import org.opentosca.bus.application.model.exception.ApplicationBusExternalException;
 import org.opentosca.bus.application.model.exception.ApplicationBusInternalException;
+import org.opentosca.bus.application.service.impl.model.EndpointCache;
 import org.opentosca.bus.application.service.impl.model.QueueMap;
 import org.opentosca.bus.application.service.impl.model.RequestID;
-import org.opentosca.bus.application.service.impl.model.ResultMap;
 import org.opentosca.bus.application.service.impl.processor.InvocationRequestProcessor;
 import org.opentosca.bus.application.service.impl.processor.ParameterCheckProcessor;
 
@@ -25,6 +25,8 @@ import org.opentosca.bus.application.service.impl.processor.ParameterCheckProces
 public class InvokeOperationRoute extends RouteBuilder {
 
     public final static String APPLICATION_BUS_PLUGIN_ENDPOINT_HEADER = "ApplicationBusPluginEndpoint";
+    // exchange property, so the key isn't passed on to the plugins
+    public final static String APPLICATION_BUS_ENDPOINT_CACHE_KEY_PROPERTY = "ApplicationBusEndpointCacheKey";
     private final static String APPLICATION_BUS_REQUEST_ID_HEADER = "ApplicationBusRequestID";
 
     @Override
@@ -62,12 +64,13 @@ public class InvokeOperationRoute extends RouteBuilder {
                                .doCatch(Exception.class).setBody(property(Exchange.EXCEPTION_CAUGHT)).doFinally()
                                .to("direct:handleResponse").end();
 
-        // handle response: set "isFinsihed"-flag to true and store result in
-        // ResultMap
-        from("direct:handleResponse").bean(QueueMap.class,
-                                           "finished(${header." + APPLICATION_BUS_REQUEST_ID_HEADER + "})")
-                                     .bean(ResultMap.class,
-                                           "put(${header." + APPLICATION_BUS_REQUEST_ID_HEADER + "}, ${body})")
+        // handle response: invalidate the cached endpoint if the invocation
+        // failed and complete the request in the QueueMap with the result
+        from("direct:handleResponse").choice().when(body().isInstanceOf(Exception.class))
+                                     .bean(EndpointCache.class,
+                                           "invalidate(${property." + APPLICATION_BUS_ENDPOINT_CACHE_KEY_PROPERTY + "})")
+                                     .end().bean(QueueMap.class,
+                                           "finished(${header." + APPLICATION_BUS_REQUEST_ID_HEADER + "}, ${body})")
                                      .stop();
 
     }
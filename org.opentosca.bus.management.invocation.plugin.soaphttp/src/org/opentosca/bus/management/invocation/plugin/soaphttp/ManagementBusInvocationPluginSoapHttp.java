@@ -1,36 +1,34 @@
 package org.opentosca.bus.management.invocation.plugin.soaphttp;
 
+import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.ProducerTemplate;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.invocation.plugin.IManagementBusInvocationPluginService;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.route.AsyncRoute;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.CallbackRegistry;
 import org.opentosca.bus.management.invocation.plugin.soaphttp.util.Messages;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.WSDLCache;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.WSDLCache.WSDLOperation;
 import org.opentosca.bus.management.utils.MBUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.predic8.wsdl.Binding;
-import com.predic8.wsdl.BindingOperation;
-import com.predic8.wsdl.Definitions;
-import com.predic8.wsdl.WSDLParser;
-
 /**
  * Management Bus-Plug-in for invoking a service with a SOAP message over HTTP. <br>
  * <br>
@@ -52,8 +50,6 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
     // Supported types defined in messages.properties.
     static final private String TYPES = Messages.SoapSIEnginePlugin_types;
 
-    private static Map<String, Exchange> exchangeMap = Collections.synchronizedMap(new HashMap<String, Exchange>());
-
     final String CALLBACK = "callback";
     final String REQUST_RESPONSE = "request-response";
     final String REQUEST_ONLY = "request-only";
@@ -106,108 +102,59 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
             @SuppressWarnings("unchecked")
             final HashMap<String, String> paramsMap = (HashMap<String, String>) params;
 
-            final WSDLParser parser = new WSDLParser();
+            final WSDLOperation op;
+            try {
+                op = WSDLCache.getOperation(endpoint, operationName);
+            }
+            catch (final IllegalStateException e) {
+                ManagementBusInvocationPluginSoapHttp.LOG.error("Unable to access the wsdl at: {}.", endpoint);
+                return null;
+            }
 
-            ManagementBusInvocationPluginSoapHttp.LOG.info("Parsing WSDL at: {}.", endpoint);
+            // Check if request-response ,callback or
+            // request-only
+            if (op != null && op.hasInput()) {
+                rootElementName = op.getRootElementName();
+                rootElementNamespaceURI = op.getRootElementNamespaceURI();
+                ManagementBusInvocationPluginSoapHttp.LOG.debug("Root ElementName: {} with NamespaceURI: {}",
+                                                                rootElementName, rootElementNamespaceURI);
 
-            Definitions wsdl;
+                if (!op.hasOutput() && hasOutputParams) {
+                    messagingPattern = this.CALLBACK;
 
-            // If wsdl is not accessible, try again (max wait 5 min)
-            int count = 0;
-            final int maxTries = 30;
-            while (true) {
-                try {
-                    wsdl = parser.parse(endpoint.toString());
-                    break;
-                }
-                catch (final Exception e) {
-                    // handle exception
-                    if (++count == maxTries) {
-                        ManagementBusInvocationPluginSoapHttp.LOG.error("Unable to access the wsdl at: {}.", endpoint);
-                        throw e;
+                    final String callbackAddress = AsyncRoute.PUBLIC_CALLBACKADDRESS;
+
+                    String messageId = message.getMessageId();
+                    if (paramsMap.containsKey("CorrelationID")) {
+                        messageId = paramsMap.get("CorrelationID");
+                        message.setMessageId(messageId);
+                    }
+                    LOG.debug("Message ID: {}", messageId);
+
+                    if (paramsMap.containsKey("MessageID")) {
+                        paramsMap.put("MessageID", messageId);
                     } else {
-                        ManagementBusInvocationPluginSoapHttp.LOG.warn("Problem accessing the wsdl at: {}. Retry... ({}/{})",
-                                                                       endpoint, count, maxTries);
-                        try {
-                            Thread.sleep(10000);
-                        }
-                        catch (final InterruptedException e1) {
-                            e1.printStackTrace();
-                        }
+                        headers.put("MessageID", messageId);
                     }
-                }
-            }
 
-            // Jump-Label to stop both loops at once
-            searchOperation: for (final Binding bind : wsdl.getBindings()) {
-
-                ManagementBusInvocationPluginSoapHttp.LOG.debug("Binding: {}", bind);
-
-                if (bind.getProtocol().toString().toLowerCase().contains("soap")) {
-
-                    for (final BindingOperation op : bind.getOperations()) {
-                        ManagementBusInvocationPluginSoapHttp.LOG.debug("Operation: {} =? {}", op.getName(),
-                                                                        operationName);
-
-                        if (op.getName().equals(operationName)) {
-                            final String portType = bind.getPortType().getName();
-                            ManagementBusInvocationPluginSoapHttp.LOG.debug("PortType: {}", portType);
-                            final String rootElementWithPrefix =
-                                wsdl.getElementNameForOperation(operationName, portType);
-                            final com.predic8.schema.Element element =
-                                wsdl.getElementForOperation(operationName, portType);
-                            rootElementName = element.getName();
-                            rootElementNamespaceURI =
-                                (String) element.getNamespace(rootElementWithPrefix.replace(":" + rootElementName, ""));
-                            ManagementBusInvocationPluginSoapHttp.LOG.debug("Root ElementName: {} with NamespaceURI: {}",
-                                                                            rootElementName, rootElementNamespaceURI);
-
-                            // Check if request-response ,callback or
-                            // request-only
-                            if (op.getInput() != null) {
-
-                                if (op.getOutput() == null && hasOutputParams) {
-                                    messagingPattern = this.CALLBACK;
-
-                                    final String callbackAddress = AsyncRoute.PUBLIC_CALLBACKADDRESS;
-
-                                    String messageId = message.getMessageId();
-                                    if (paramsMap.containsKey("CorrelationID")) {
-                                        messageId = paramsMap.get("CorrelationID");
-                                        message.setMessageId(messageId);
-                                    }
-                                    LOG.debug("Message ID: {}", messageId);
-
-                                    if (paramsMap.containsKey("MessageID")) {
-                                        paramsMap.put("MessageID", messageId);
-                                    } else {
-                                        headers.put("MessageID", messageId);
-                                    }
-
-                                    if (paramsMap.containsKey("ReplyTo")) {
-                                        paramsMap.put("ReplyTo", callbackAddress);
-                                    } else {
-                                        headers.put("ReplyTo", callbackAddress);
-                                    }
-                                    if (paramsMap.containsKey("planCallbackAddress_invoker")) {
-                                        paramsMap.put("planCallbackAddress_invoker",
-                                                      "http://localhost:9763/services/" + csarID + "InvokerService/");
-                                    } else {
-                                        headers.put("planCallbackAddress_invoker",
-                                                    "http://localhost:9763/services/" + csarID + "InvokerService/");
-                                    }
-
-                                } else if (op.getOutput() == null && !hasOutputParams) {
-                                    messagingPattern = this.REQUEST_ONLY;
-
-                                } else {
-                                    messagingPattern = this.REQUST_RESPONSE;
-                                }
-
-                                break searchOperation;
-                            }
-                        }
+                    if (paramsMap.containsKey("ReplyTo")) {
+                        paramsMap.put("ReplyTo", callbackAddress);
+                    } else {
+                        headers.put("ReplyTo", callbackAddress);
+                    }
+                    if (paramsMap.containsKey("planCallbackAddress_invoker")) {
+                        paramsMap.put("planCallbackAddress_invoker",
+                                      "http://localhost:9763/services/" + csarID + "InvokerService/");
+                    } else {
+                        headers.put("planCallbackAddress_invoker",
+                                    "http://localhost:9763/services/" + csarID + "InvokerService/");
                     }
+
+                } else if (!op.hasOutput() && !hasOutputParams) {
+                    messagingPattern = this.REQUEST_ONLY;
+
+                } else {
+                    messagingPattern = this.REQUST_RESPONSE;
                 }
             }
 
@@ -235,8 +182,6 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
         final ProducerTemplate template = Activator.camelContext.createProducerTemplate();
 
-        final ConsumerTemplate consumer = Activator.camelContext.createConsumerTemplate();
-
         Document response = null;
 
         ManagementBusInvocationPluginSoapHttp.LOG.debug("Messaging pattern: {}", messagingPattern);
@@ -258,45 +203,36 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
 
             final String messageID = message.getMessageId();
 
-            ManagementBusInvocationPluginSoapHttp.LOG.debug("Storing exchange message with MessageID: {}", messageID);
-
-            ManagementBusInvocationPluginSoapHttp.exchangeMap.put(messageID, exchange);
-
-            template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
+            ManagementBusInvocationPluginSoapHttp.LOG.debug("Registering callback for MessageID: {}", messageID);
 
-            Exchange ex = null;
-
-            while (response == null) {
-
-                try {
-
-                    consumer.start();
-                    ex = consumer.receive("direct:Async-WS-Callback" + messageID);
-                    consumer.stop();
-
-                }
-                catch (final Exception e) {
-                    e.printStackTrace();
-                }
-
-                final Message mes = ex.getIn();
-
-                ManagementBusInvocationPluginSoapHttp.LOG.debug("Got Message with ID: {}", messageID);
-                ManagementBusInvocationPluginSoapHttp.LOG.debug("Stored MessageIDs: {}",
-                                                                ManagementBusInvocationPluginSoapHttp.exchangeMap.keySet()
-                                                                                                                 .toString());
-
-                if (ManagementBusInvocationPluginSoapHttp.exchangeMap.containsKey(messageID)) {
-                    ManagementBusInvocationPluginSoapHttp.LOG.debug("MessageID found");
-                    exchange = ManagementBusInvocationPluginSoapHttp.exchangeMap.get(messageID);
-
-                    response = mes.getBody(Document.class);
-
-                    ManagementBusInvocationPluginSoapHttp.exchangeMap.remove(messageID);
-                }
+            final CompletableFuture<Document> callback = CallbackRegistry.register(messageID);
 
+            try {
+                template.sendBodyAndHeaders("direct:Async-WS-Invoke", document, headers);
+                response = callback.get();
+            }
+            catch (final InterruptedException e) {
+                callback.cancel(false);
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            catch (final ExecutionException e) {
+                ManagementBusInvocationPluginSoapHttp.LOG.error("Asynchronous invocation failed: {}",
+                                                                e.getCause().getMessage());
+                ManagementBusInvocationPluginSoapHttp.LOG.info("Callbacks registered: {}, completed: {}, timed out: {}, cancelled: {}, pending: {}",
+                                                               CallbackRegistry.getRegisteredCount(),
+                                                               CallbackRegistry.getCompletedCount(),
+                                                               CallbackRegistry.getTimedOutCount(),
+                                                               CallbackRegistry.getCancelledCount(),
+                                                               CallbackRegistry.getPendingCount());
+                return null;
+            }
+            catch (final RuntimeException e) {
+                callback.cancel(false);
+                throw e;
             }
 
+            ManagementBusInvocationPluginSoapHttp.LOG.debug("Got callback with MessageID: {}", messageID);
         }
 
         if (exchange.getIn().getHeader("ParamsMode") != null
@@ -329,29 +265,9 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
      */
     private Boolean hasOutputDefinedInWSDL(final String endpoint, final String operationName) {
 
-        final WSDLParser parser = new WSDLParser();
-
-        final Definitions wsdl = parser.parse(endpoint.toString());
-
-        for (final Binding bind : wsdl.getBindings()) {
+        final WSDLOperation op = WSDLCache.getOperation(endpoint, operationName);
 
-            if (bind.getProtocol().toString().toLowerCase().contains("soap")) {
-
-                for (final BindingOperation op : bind.getOperations()) {
-
-                    if (op.getName().equals(operationName)) {
-
-                        if (op.getOutput() == null) {
-                            return false;
-
-                        } else {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return null;
+        return op == null ? null : op.hasOutput();
     }
 
     /**
@@ -457,11 +373,9 @@ public class ManagementBusInvocationPluginSoapHttp implements IManagementBusInvo
         return document;
     }
 
-    /**
-     * @return the keys of the map containing stored messageIds and exchange objects.
-     */
-    public static Set<String> getMessageIDs() {
-        return ManagementBusInvocationPluginSoapHttp.exchangeMap.keySet();
+    @Override
+    public void notifyUndeployment(final URI endpoint) {
+        WSDLCache.invalidate(endpoint.toString());
     }
 
     @Override
@@ -14,7 +14,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.headers.Header;
-import org.opentosca.bus.management.invocation.plugin.soaphttp.ManagementBusInvocationPluginSoapHttp;
+import org.opentosca.bus.management.invocation.plugin.soaphttp.util.CallbackRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -28,7 +28,8 @@ import org.w3c.dom.Element;
  * <br>
  *
  * This processor processes incoming soap messages. It checks if the messages are containing
- * existing messageIDs.
+ * existing messageIDs and hands them over to the waiting invocations via the
+ * {@link CallbackRegistry}.
  *
  *
  *
@@ -43,7 +44,7 @@ public class CallbackProcessor implements Processor {
     @Override
     public void process(final Exchange exchange) throws Exception {
 
-        final Set<String> messageIDs = ManagementBusInvocationPluginSoapHttp.getMessageIDs();
+        final Set<String> messageIDs = CallbackRegistry.getMessageIDs();
 
         CallbackProcessor.LOG.debug("Stored messageIDs: {}", messageIDs.toString());
 
@@ -95,6 +96,11 @@ public class CallbackProcessor implements Processor {
                     exchange.getIn().setBody(doc);
                 }
 
+                if (!CallbackRegistry.complete(messageID, doc)) {
+                    CallbackProcessor.LOG.warn("Invocation with MessageID {} is not waiting for a callback anymore.",
+                                               messageID);
+                }
+
                 break;
 
             }
@@ -0,0 +1,157 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.opentosca.container.core.common.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+
+/**
+ * Registry for asynchronous SOAP invocations waiting for their callback message.<br>
+ * <br>
+ *
+ * Copyright 2013 IAAS University of Stuttgart <br>
+ * <br>
+ *
+ * Each invocation is represented by a future under its MessageID which is completed by the
+ * {@link org.opentosca.bus.management.invocation.plugin.soaphttp.processor.CallbackProcessor} when
+ * the callback arrives. Futures which do not receive a callback within
+ * {@link Settings#MANAGEMENT_BUS_SOAP_CALLBACK_TIMEOUT} are completed exceptionally with a
+ * {@link TimeoutException}. Completed, timed out and cancelled invocations are removed from the
+ * registry together with their timeout task. The number of registered, completed, timed out and
+ * cancelled invocations is counted and logged by the invocation plugin when an invocation fails.
+ */
+public final class CallbackRegistry {
+
+    final private static Logger LOG = LoggerFactory.getLogger(CallbackRegistry.class);
+
+    private static final long TIMEOUT = Long.parseLong(Settings.MANAGEMENT_BUS_SOAP_CALLBACK_TIMEOUT);
+
+    private static final Map<String, CompletableFuture<Document>> pendingCallbacks = new ConcurrentHashMap<>();
+
+    private static final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        final Thread thread = new Thread(runnable, "soaphttp-callback-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // remove the timeout tasks of finished invocations from the queue instead of keeping them
+        // until they expire
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    // metrics
+    private static final AtomicLong registered = new AtomicLong();
+    private static final AtomicLong completed = new AtomicLong();
+    private static final AtomicLong timedOut = new AtomicLong();
+    private static final AtomicLong cancelled = new AtomicLong();
+
+
+    private CallbackRegistry() {}
+
+    /**
+     * Registers an invocation which waits for a callback.
+     *
+     * @param messageID the MessageID which is contained in the callback message
+     * @return the future which is completed with the body of the callback message
+     */
+    public static CompletableFuture<Document> register(final String messageID) {
+        final CompletableFuture<Document> future = new CompletableFuture<>();
+        pendingCallbacks.put(messageID, future);
+        registered.incrementAndGet();
+
+        final ScheduledFuture<?> timeoutTask;
+        if (TIMEOUT > 0) {
+            timeoutTask = scheduler.schedule(() -> {
+                if (future.completeExceptionally(new TimeoutException("No callback received for MessageID "
+                    + messageID + " within " + TIMEOUT + " ms"))) {
+                    timedOut.incrementAndGet();
+                }
+            }, TIMEOUT, TimeUnit.MILLISECONDS);
+        } else {
+            timeoutTask = null;
+        }
+
+        future.whenComplete((response, e) -> {
+            pendingCallbacks.remove(messageID, future);
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            if (future.isCancelled()) {
+                cancelled.incrementAndGet();
+            }
+            LOG.debug("Callback for MessageID {} finished. Pending callbacks: {}", messageID, pendingCallbacks.size());
+        });
+        return future;
+    }
+
+    /**
+     * Completes the invocation waiting for the callback with the given MessageID.
+     *
+     * @param messageID the MessageID contained in the callback message
+     * @param response the body of the callback message
+     * @return <code>true</code> if an invocation was waiting for the callback, <code>false</code>
+     *         otherwise
+     */
+    public static boolean complete(final String messageID, final Document response) {
+        final CompletableFuture<Document> future = pendingCallbacks.get(messageID);
+        if (future != null && future.complete(response)) {
+            completed.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the MessageIDs of all invocations waiting for a callback
+     */
+    public static Set<String> getMessageIDs() {
+        return Collections.unmodifiableSet(pendingCallbacks.keySet());
+    }
+
+    /**
+     * @return the number of invocations waiting for a callback
+     */
+    public static int getPendingCount() {
+        return pendingCallbacks.size();
+    }
+
+    /**
+     * @return the number of invocations registered so far
+     */
+    public static long getRegisteredCount() {
+        return registered.get();
+    }
+
+    /**
+     * @return the number of invocations completed by their callback
+     */
+    public static long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * @return the number of invocations which received no callback in time
+     */
+    public static long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    /**
+     * @return the number of cancelled invocations
+     */
+    public static long getCancelledCount() {
+        return cancelled.get();
+    }
+}
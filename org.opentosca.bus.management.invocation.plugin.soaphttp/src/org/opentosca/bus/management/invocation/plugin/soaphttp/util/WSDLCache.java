@@ -0,0 +1,217 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.predic8.wsdl.Binding;
+import com.predic8.wsdl.BindingOperation;
+import com.predic8.wsdl.Definitions;
+import com.predic8.wsdl.WSDLParser;
+
+/**
+ * Cache for the operation metadata of the WSDLs of invoked services.<br>
+ * <br>
+ *
+ * Copyright 2019 IAAS University of Stuttgart <br>
+ * <br>
+ *
+ * The WSDL of a service is downloaded and parsed only once. Until the WSDL is accessible (e.g.
+ * because the IA is still starting), it is probed on a shared scheduler with an increasing delay.
+ * Concurrent requests for the same service wait for the same probing. Cached entries are removed
+ * if the probing fails or the service is undeployed.
+ */
+public final class WSDLCache {
+
+    final private static Logger LOG = LoggerFactory.getLogger(WSDLCache.class);
+
+    // delays between the attempts to access a WSDL, overall about 5 min
+    private static final long INITIAL_RETRY_DELAY = 1000;
+    private static final long MAX_RETRY_DELAY = 30000;
+    private static final long MAX_PROBING_TIME = 300000;
+
+    private static final Map<String, CompletableFuture<Map<String, WSDLOperation>>> cache = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "soaphttp-wsdl-probing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+
+    private WSDLCache() {}
+
+    /**
+     * Returns the SOAP operation with the given name of the service at the given endpoint. Blocks
+     * until the WSDL is parsed or the probing of the WSDL failed.
+     *
+     * @param endpoint the endpoint of the service with or without <tt>?wsdl</tt> suffix
+     * @param operationName the name of the operation
+     * @return the operation or <code>null</code> if the WSDL does not define a SOAP operation with
+     *         the given name
+     * @throws IllegalStateException if the WSDL is not accessible
+     */
+    public static WSDLOperation getOperation(final String endpoint, final String operationName) {
+        try {
+            return getOperations(endpoint).get().get(operationName);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the WSDL at: " + endpoint, e);
+        }
+        catch (final ExecutionException e) {
+            throw new IllegalStateException("Unable to access the WSDL at: " + endpoint, e.getCause());
+        }
+    }
+
+    /**
+     * Returns the SOAP operations of the service at the given endpoint by their name.
+     *
+     * @param endpoint the endpoint of the service with or without <tt>?wsdl</tt> suffix
+     * @return a future which is completed with the operations as soon as the WSDL is parsed
+     */
+    public static CompletableFuture<Map<String, WSDLOperation>> getOperations(final String endpoint) {
+        final String key = normalize(endpoint);
+        return cache.computeIfAbsent(key, WSDLCache::probe);
+    }
+
+    /**
+     * Removes the cached information about the service at the given endpoint.
+     *
+     * @param endpoint the endpoint of the service with or without <tt>?wsdl</tt> suffix
+     */
+    public static void invalidate(final String endpoint) {
+        if (cache.remove(normalize(endpoint)) != null) {
+            LOG.debug("Removed cached WSDL of: {}", endpoint);
+        }
+    }
+
+    private static CompletableFuture<Map<String, WSDLOperation>> probe(final String endpoint) {
+        final CompletableFuture<Map<String, WSDLOperation>> future = new CompletableFuture<>();
+        final long deadline = System.currentTimeMillis() + MAX_PROBING_TIME;
+
+        scheduler.execute(() -> attemptParse(endpoint, future, 1, INITIAL_RETRY_DELAY, deadline));
+
+        // do not cache failed probings, so that the next invocation probes again
+        future.whenComplete((operations, e) -> {
+            if (e != null) {
+                cache.remove(endpoint, future);
+            }
+        });
+        return future;
+    }
+
+    private static void attemptParse(final String endpoint, final CompletableFuture<Map<String, WSDLOperation>> future,
+                                     final int attempt, final long delay, final long deadline) {
+        LOG.info("Parsing WSDL at: {}?wsdl.", endpoint);
+        try {
+            final Definitions wsdl = new WSDLParser().parse(endpoint + "?wsdl");
+            future.complete(extractOperations(wsdl));
+        }
+        catch (final Exception e) {
+            if (System.currentTimeMillis() + delay > deadline) {
+                LOG.error("Unable to access the wsdl at: {}?wsdl.", endpoint);
+                future.completeExceptionally(e);
+            } else {
+                LOG.warn("Problem accessing the wsdl at: {}?wsdl. Retry in {} ms... ({})", endpoint, delay, attempt);
+                scheduler.schedule(() -> attemptParse(endpoint, future, attempt + 1,
+                                                      Math.min(delay * 2, MAX_RETRY_DELAY), deadline),
+                                   delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static Map<String, WSDLOperation> extractOperations(final Definitions wsdl) {
+        final Map<String, WSDLOperation> operations = new HashMap<>();
+
+        for (final Binding bind : wsdl.getBindings()) {
+
+            LOG.debug("Binding: {}", bind);
+
+            if (!bind.getProtocol().toString().toLowerCase().contains("soap")) {
+                continue;
+            }
+
+            for (final BindingOperation op : bind.getOperations()) {
+
+                // operations with input take precedence over operations with the same name without
+                final WSDLOperation existing = operations.get(op.getName());
+                if (existing != null && (existing.hasInput() || op.getInput() == null)) {
+                    continue;
+                }
+
+                final String portType = bind.getPortType().getName();
+                String rootElementName = null;
+                String rootElementNamespaceURI = null;
+                if (op.getInput() != null) {
+                    try {
+                        final String rootElementWithPrefix = wsdl.getElementNameForOperation(op.getName(), portType);
+                        final com.predic8.schema.Element element = wsdl.getElementForOperation(op.getName(), portType);
+                        rootElementName = element.getName();
+                        rootElementNamespaceURI =
+                            (String) element.getNamespace(rootElementWithPrefix.replace(":" + rootElementName, ""));
+                    }
+                    catch (final RuntimeException e) {
+                        LOG.warn("Unable to determine the root element of operation {}: {}", op.getName(),
+                                 e.getMessage());
+                    }
+                }
+
+                LOG.debug("Operation: {} PortType: {} Root ElementName: {} with NamespaceURI: {}", op.getName(),
+                          portType, rootElementName, rootElementNamespaceURI);
+                operations.put(op.getName(), new WSDLOperation(rootElementName, rootElementNamespaceURI,
+                    op.getInput() != null, op.getOutput() != null));
+            }
+        }
+        return Collections.unmodifiableMap(operations);
+    }
+
+    private static String normalize(final String endpoint) {
+        return endpoint.endsWith("?wsdl") ? endpoint.substring(0, endpoint.length() - "?wsdl".length()) : endpoint;
+    }
+
+    /**
+     * Metadata of a SOAP operation which is needed to invoke it.
+     */
+    public static final class WSDLOperation {
+
+        private final String rootElementName;
+        private final String rootElementNamespaceURI;
+        private final boolean input;
+        private final boolean output;
+
+
+        private WSDLOperation(final String rootElementName, final String rootElementNamespaceURI,
+                              final boolean input, final boolean output) {
+            this.rootElementName = rootElementName;
+            this.rootElementNamespaceURI = rootElementNamespaceURI;
+            this.input = input;
+            this.output = output;
+        }
+
+        public String getRootElementName() {
+            return this.rootElementName;
+        }
+
+        public String getRootElementNamespaceURI() {
+            return this.rootElementNamespaceURI;
+        }
+
+        public boolean hasInput() {
+            return this.input;
+        }
+
+        public boolean hasOutput() {
+            return this.output;
+        }
+    }
+}
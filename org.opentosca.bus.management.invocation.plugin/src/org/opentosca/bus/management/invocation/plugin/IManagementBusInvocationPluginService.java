@@ -1,5 +1,6 @@
 package org.opentosca.bus.management.invocation.plugin;
 
+import java.net.URI;
 import java.util.List;
 
 import org.apache.camel.Exchange;
@@ -39,4 +40,12 @@ public interface IManagementBusInvocationPluginService {
      */
     public List<String> getSupportedTypes();
 
+    /**
+     * Notifies the plug-in that the service at the given endpoint was undeployed, e.g. to release
+     * information the plug-in cached about it. Plug-ins which do not cache anything can ignore it.
+     *
+     * @param endpoint the endpoint of the undeployed service
+     */
+    public default void notifyUndeployment(final URI endpoint) {}
+
 }
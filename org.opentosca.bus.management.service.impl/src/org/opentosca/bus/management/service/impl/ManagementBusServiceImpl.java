@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -25,6 +24,7 @@ import org.opentosca.bus.management.service.IManagementBusService;
 import org.opentosca.bus.management.service.impl.collaboration.Constants;
 import org.opentosca.bus.management.service.impl.collaboration.DeploymentDistributionDecisionMaker;
 import org.opentosca.bus.management.service.impl.servicehandler.ServiceHandler;
+import org.opentosca.bus.management.service.impl.util.DeploymentLock;
 import org.opentosca.bus.management.service.impl.util.DeploymentPluginCapabilityChecker;
 import org.opentosca.bus.management.service.impl.util.ParameterHandler;
 import org.opentosca.bus.management.service.impl.util.PluginHandler;
@@ -95,8 +95,6 @@ public class ManagementBusServiceImpl implements IManagementBusService {
 
     private final static Logger LOG = LoggerFactory.getLogger(ManagementBusServiceImpl.class);
 
-    private static Map<String, Object> locks = new HashMap<>();
-
     private final static String placeholderStart = "/PLACEHOLDER_";
     private final static String placeholderEnd = "_PLACEHOLDER/";
 
@@ -394,7 +392,9 @@ public class ManagementBusServiceImpl implements IManagementBusService {
         // of an IA after successful checking that an IA is already deployed.
         final String identifier =
             getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImplementationID, iaName);
-        synchronized (getLockForString(identifier)) {
+        boolean deployed = false;
+        final DeploymentLock lock = DeploymentLock.acquire(identifier);
+        try {
 
             LOG.debug("Checking if IA was already deployed...");
 
@@ -416,12 +416,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 final WSDLEndpoint endpoint = new WSDLEndpoint(endpointURI, portType, triggeringContainer,
                     deploymentLocation, csarID, serviceTemplateInstanceID, null, typeImplementationID, iaName);
                 ServiceHandler.endpointService.storeWSDLEndpoint(endpoint);
-
-                // Call IA, send response to caller and terminate bus
-                LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-                handleResponse(PluginHandler.callMatchingInvocationPlugin(exchange, invocationType,
-                                                                          deploymentLocation));
-                return true;
+                deployed = true;
             } else {
                 LOG.debug("IA not yet deployed. Trying to deploy...");
 
@@ -503,12 +498,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                             }
 
                             LOG.debug("Endpoint: {}", endpointURI.toString());
-
-                            // Call IA, send response to caller and terminate bus
-                            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
-                            handleResponse(PluginHandler.callMatchingInvocationPlugin(exchange, invocationType,
-                                                                                      deploymentLocation));
-                            return true;
+                            deployed = true;
                         } else {
                             LOG.debug("IA deployment failed.");
                         }
@@ -520,6 +510,17 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 }
             }
         }
+        finally {
+            lock.release();
+        }
+
+        if (deployed) {
+            // Call IA, send response to caller and terminate bus. The invocation is done without
+            // holding the lock so that operations on the same IA can be executed concurrently.
+            LOG.debug("Trying to invoke the operation on the deployed implementation artifact.");
+            handleResponse(PluginHandler.callMatchingInvocationPlugin(exchange, invocationType, deploymentLocation));
+            return true;
+        }
 
         // IA invocation was not successful
         return false;
@@ -719,7 +720,8 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 getUniqueSynchronizationString(triggeringContainer, deploymentLocation, typeImpl, iaName);
 
             // synchronize deletion to avoid concurrency issues
-            synchronized (getLockForString(identifier)) {
+            final DeploymentLock lock = DeploymentLock.acquire(identifier);
+            try {
 
                 // get number of endpoints for the same IA
                 final int count = ServiceHandler.endpointService
@@ -761,6 +763,7 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                     }
 
                     exchange = deploymentPlugin.invokeImplementationArtifactUndeployment(exchange);
+                    PluginHandler.notifyUndeployment(serviceEndpoint.getURI());
 
                     // print the undeployment result state
                     if (exchange.getIn().getHeader(MBHeader.OPERATIONSTATE_BOOLEAN.toString(), boolean.class)) {
@@ -776,6 +779,9 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                 ServiceHandler.endpointService.removeWSDLEndpoint(serviceEndpoint);
                 LOG.debug("Endpoint deleted.");
             }
+            finally {
+                lock.release();
+            }
         }
 
         LOG.debug("Endpoint deletion terminated.");
@@ -805,28 +811,6 @@ public class ManagementBusServiceImpl implements IManagementBusService {
                      .collect(Collectors.joining("/"));
     }
 
-    /**
-     * Returns an Object which can be used to synchronize all actions related to a certain String
-     * value.
-     *
-     * @param lockString
-     * @return the object which can be used for synchronization
-     */
-    public static Object getLockForString(final String lockString) {
-        Objects.requireNonNull(lockString);
-
-        Object lock = null;
-        synchronized (locks) {
-            lock = locks.get(lockString);
-
-            if (lock == null) {
-                lock = new Object();
-                locks.put(lockString, lock);
-            }
-            return lock;
-        }
-    }
-
     /**
      * Add the specific content of the ImplementationArtifact to the Exchange headers if defined.
      */
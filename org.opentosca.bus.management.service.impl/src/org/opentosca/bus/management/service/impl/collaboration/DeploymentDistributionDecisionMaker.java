@@ -6,6 +6,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -149,7 +152,9 @@ public class DeploymentDistributionDecisionMaker {
 
         // match against instance data at remote OpenTOSCA Containers
         LOG.debug("Local instance data matching had no success. Performing matching with remote instance data...");
-        deploymentLocation = performRemoteInstanceDataMatching(infrastructureNodeType, infrastructureProperties);
+        deploymentLocation =
+            getRemoteDeploymentLocation(requestRemoteInstanceDataMatching(infrastructureNodeType,
+                                                                          infrastructureProperties));
         if (Objects.nonNull(deploymentLocation)) {
             LOG.debug("Found matching remote instance data. Deployment will be done on OpenTOSCA Container with host name: {}",
                       deploymentLocation);
@@ -267,18 +272,16 @@ public class DeploymentDistributionDecisionMaker {
      * Match the given NodeType and properties against instance data from remote OpenTOSCA
      * Containers. The matching is successful if a NodeTemplateInstance with the same NodeType and
      * the same values for the properties is found in their instance data. The method sends a
-     * request via MQTT to all subscribed OpenTOSCA Containers. Afterwards, it waits for a reply
-     * which contains the host name of the OpenTOSCA Container that found matching instance data. If
-     * it receives a reply in time, it returns the host name. Otherwise, it returns null.
+     * request via MQTT to all subscribed OpenTOSCA Containers without waiting for their replies.
      *
      * @param infrastructureNodeType the NodeType of the NodeTemplate which has to be matched
      * @param infrastructureProperties the set of properties of the NodeTemplate which has to be
      *        matched
-     * @return the host name of the OpenTOSCA Container which found a matching NodeTemplateInstance
-     *         if one is found, <tt>null</tt> otherwise.
+     * @return a future which is completed with the first reply of an OpenTOSCA Container that found
+     *         matching instance data, or completed exceptionally if no reply is received within 10s
      */
-    private static String performRemoteInstanceDataMatching(final QName infrastructureNodeType,
-                                                            final Map<String, String> infrastructureProperties) {
+    private static CompletableFuture<Exchange> requestRemoteInstanceDataMatching(final QName infrastructureNodeType,
+                                                                                final Map<String, String> infrastructureProperties) {
 
         LOG.debug("Creating collaboration message for remote instance data matching...");
 
@@ -292,20 +295,41 @@ public class DeploymentDistributionDecisionMaker {
         final BodyType content = new BodyType(new InstanceDataMatchingRequest(infrastructureNodeType, properties));
         final CollaborationMessage collaborationMessage = new CollaborationMessage(new KeyValueMap(), content);
 
-        // perform remote instance data matching and wait 10s for a response
-        final Exchange response = RequestSender.sendRequestToRemoteContainer(new DefaultMessage(),
-                                                                             RemoteOperations.INVOKE_INSTANCE_DATA_MATCHING,
-                                                                             collaborationMessage, 10000);
+        // perform remote instance data matching with a timeout of 10s for the response
+        return RequestSender.sendRequestToRemoteContainerAsync(new DefaultMessage(),
+                                                               RemoteOperations.INVOKE_INSTANCE_DATA_MATCHING,
+                                                               collaborationMessage, 10000);
+    }
 
-        if (Objects.nonNull(response)) {
+    /**
+     * Wait for the reply to a remote instance data matching request.
+     *
+     * @param remoteResponse the future returned by
+     *        {@link #requestRemoteInstanceDataMatching(QName, Map)}
+     * @return the host name of the OpenTOSCA Container which found a matching NodeTemplateInstance
+     *         if one is found, <tt>null</tt> otherwise.
+     */
+    private static String getRemoteDeploymentLocation(final CompletableFuture<Exchange> remoteResponse) {
+        try {
+            final Exchange response = remoteResponse.get();
             LOG.debug("Received a response in time.");
 
             // read the deployment location from the reply
             return response.getIn().getHeader(MBHeader.DEPLOYMENTLOCATION_STRING.toString(), String.class);
-        } else {
-            LOG.debug("No response received within the timeout interval.");
-            return null;
         }
+        catch (final InterruptedException e) {
+            LOG.warn("Interrupted while waiting for the remote instance data matching.");
+            remoteResponse.cancel(false);
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                LOG.debug("No response received within the timeout interval.");
+            } else {
+                LOG.error("Remote instance data matching failed: {}", e.getCause().getMessage());
+            }
+        }
+        return null;
     }
 
     /**
@@ -0,0 +1,74 @@
+package org.opentosca.bus.management.service.impl.collaboration;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry for collaboration requests which wait for a response from a remote OpenTOSCA
+ * Container. Each request is represented by a future under its correlation ID. The future is
+ * completed by the {@link org.opentosca.bus.management.service.impl.collaboration.route.ReceiveResponseRoute}
+ * when the corresponding response arrives.<br>
+ * <br>
+ *
+ * The number of pending requests is bounded by {@link #MAX_PENDING_REQUESTS}. Entries are removed
+ * as soon as their future is completed, either by a response, a timeout or an error.<br>
+ * <br>
+ *
+ * Copyright 2018 IAAS University of Stuttgart
+ */
+public final class PendingRequestRegistry {
+
+    static final private Logger LOG = LoggerFactory.getLogger(PendingRequestRegistry.class);
+
+    /**
+     * Maximum number of requests that can wait for a response at the same time
+     */
+    public final static int MAX_PENDING_REQUESTS = 1000;
+
+    private final static Map<String, CompletableFuture<Exchange>> pendingRequests = new ConcurrentHashMap<>();
+
+
+    private PendingRequestRegistry() {}
+
+    /**
+     * Register a new pending request.
+     *
+     * @param correlationID the correlation ID of the request
+     * @return the future which is completed with the response to the request. If the maximum number
+     *         of pending requests is reached, the returned future is already completed
+     *         exceptionally.
+     */
+    public static CompletableFuture<Exchange> register(final String correlationID) {
+        final CompletableFuture<Exchange> future = new CompletableFuture<>();
+
+        if (pendingRequests.size() >= MAX_PENDING_REQUESTS) {
+            LOG.error("Unable to register request with correlation ID {}: {} requests are already pending.",
+                      correlationID, MAX_PENDING_REQUESTS);
+            future.completeExceptionally(new IllegalStateException("Too many pending collaboration requests"));
+            return future;
+        }
+
+        pendingRequests.put(correlationID, future);
+        future.whenComplete((response, e) -> pendingRequests.remove(correlationID, future));
+        return future;
+    }
+
+    /**
+     * Complete the pending request with the given correlation ID.
+     *
+     * @param correlationID the correlation ID of the received response
+     * @param response the received response
+     * @return <tt>true</tt> if a pending request was completed, <tt>false</tt> if there is no
+     *         request waiting for this correlation ID (e.g. because it has already timed out or
+     *         another Container already answered it)
+     */
+    public static boolean complete(final String correlationID, final Exchange response) {
+        final CompletableFuture<Exchange> future = pendingRequests.remove(correlationID);
+        return future != null && future.complete(response);
+    }
+}
@@ -6,16 +6,19 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
 
-import org.apache.camel.ConsumerTemplate;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.opentosca.bus.management.header.MBHeader;
 import org.opentosca.bus.management.service.impl.Activator;
 import org.opentosca.bus.management.service.impl.collaboration.model.CollaborationMessage;
 import org.opentosca.bus.management.service.impl.collaboration.model.RemoteOperations;
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,21 +32,72 @@ public class RequestSender {
 
     static final private Logger LOG = LoggerFactory.getLogger(RequestSender.class);
 
-    private final static ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    // timeout which is used if the caller does not define one
+    private final static long DEFAULT_TIMEOUT = Long.parseLong(Settings.MANAGEMENT_BUS_COLLABORATION_TIMEOUT);
+
+    // scheduler which is only used to time out pending requests
+    private final static ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        final Thread thread = new Thread(runnable, "collaboration-request-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        // remove the timeout tasks of answered requests from the queue instead of keeping them until
+        // they expire
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
 
     /**
-     * Send an operation request to a remote OpenTOSCA Container node. All information needed for
-     * the remote operation that shall be executed has to be defined as header fields of the given
-     * message or passed as CollaborationMessage.
+     * Send an operation request to a remote OpenTOSCA Container node and block until the response
+     * arrives. All information needed for the remote operation that shall be executed has to be
+     * defined as header fields of the given message or passed as CollaborationMessage.
      *
      * @param message the message containing the headers to send to the remote Container
      * @param operation the operation to perform on the remote Container
      * @param requestBody the message body of the request
-     * @param timeout the timeout to wait for a reply in ms. Zero means no timeout at all
-     * @return the exchange which is received as response of the request
+     * @param timeout the timeout to wait for a reply in ms. Zero means that the default timeout
+     *        {@link Settings#MANAGEMENT_BUS_COLLABORATION_TIMEOUT} is used
+     * @return the exchange which is received as response of the request or <tt>null</tt> if no
+     *         response is received within the timeout
      */
     public static Exchange sendRequestToRemoteContainer(final Message message, final RemoteOperations operation,
                                                         final CollaborationMessage requestBody, final int timeout) {
+        try {
+            return sendRequestToRemoteContainerAsync(message, operation, requestBody, timeout).get();
+        }
+        catch (final InterruptedException e) {
+            LOG.warn("Interrupted while waiting for a response to the {} request", operation);
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                LOG.debug("No response to the {} request received in time", operation);
+            } else {
+                LOG.error("Sending the {} request failed: {}", operation, e.getCause().getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Send an operation request to a remote OpenTOSCA Container node without waiting for the
+     * response. All information needed for the remote operation that shall be executed has to be
+     * defined as header fields of the given message or passed as CollaborationMessage.
+     *
+     * @param message the message containing the headers to send to the remote Container
+     * @param operation the operation to perform on the remote Container
+     * @param requestBody the message body of the request
+     * @param timeout the timeout to wait for a reply in ms. Zero means that the default timeout
+     *        {@link Settings#MANAGEMENT_BUS_COLLABORATION_TIMEOUT} is used
+     * @return a future which is completed with the exchange that is received as response of the
+     *         request, or completed exceptionally with a {@link TimeoutException} if no response is
+     *         received within the timeout
+     */
+    public static CompletableFuture<Exchange> sendRequestToRemoteContainerAsync(final Message message,
+                                                                                final RemoteOperations operation,
+                                                                                final CollaborationMessage requestBody,
+                                                                                final int timeout) {
 
         Objects.requireNonNull(message);
 
@@ -66,34 +120,29 @@ public class RequestSender {
         requestHeaders.put(MBHeader.REPLYTOTOPIC_STRING.toString(), Constants.RESPONSE_TOPIC);
         requestHeaders.put(MBHeader.REMOTEOPERATION_STRING.toString(), operation);
 
+        // register the request before publishing it, so that no response can get lost
+        final CompletableFuture<Exchange> response = PendingRequestRegistry.register(correlationID);
+        if (response.isDone()) {
+            return response;
+        }
+
+        // assess request as failed after timeout, otherwise unanswered requests would occupy the
+        // registry forever
+        final long effectiveTimeout = timeout > 0 ? timeout : DEFAULT_TIMEOUT;
+        final ScheduledFuture<?> timeoutTask =
+            scheduler.schedule(() -> response.completeExceptionally(new TimeoutException()), effectiveTimeout,
+                               MILLISECONDS);
+        response.whenComplete((exchange, e) -> timeoutTask.cancel(false));
+
         LOG.debug("Publishing request to MQTT broker at {} with topic {} and correlation ID {}",
                   Constants.LOCAL_MQTT_BROKER, Constants.REQUEST_TOPIC, correlationID);
 
         // publish the exchange over the camel route
-        scheduler.schedule(() -> Activator.producer.sendBodyAndHeaders("direct:SendMQTT", requestBody, requestHeaders),
-                           300, MILLISECONDS);
-
-        final String callbackEndpoint = "direct:Callback-" + correlationID;
-        LOG.debug("Waiting for response at endpoint: {}", callbackEndpoint);
-
-        // wait for a response at the created callback
-        final ConsumerTemplate consumer = Activator.camelContext.createConsumerTemplate();
-
-        Exchange response = null;
-        if (timeout == 0) {
-            // wait without timeout
-            response = consumer.receive(callbackEndpoint);
-        } else {
-            // assess request as failed after timeout and return null
-            response = consumer.receive(callbackEndpoint, timeout);
-        }
-
-        // release resources
         try {
-            consumer.stop();
+            Activator.producer.sendBodyAndHeaders("direct:SendMQTT", requestBody, requestHeaders);
         }
         catch (final Exception e) {
-            LOG.warn("Unable to stop consumer: {}", e.getMessage());
+            response.completeExceptionally(e);
         }
 
         return response;
@@ -0,0 +1,71 @@
+package org.opentosca.bus.management.service.impl.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock to synchronize the deployment and undeployment of a certain IA on a certain OpenTOSCA
+ * Container node. The IA is identified by the String which is created by
+ * {@link org.opentosca.bus.management.service.impl.ManagementBusServiceImpl#getUniqueSynchronizationString}.<br>
+ * <br>
+ *
+ * Locks are only kept as long as at least one thread holds or waits for them, so the number of
+ * stored locks does not grow with the number of IAs that were ever deployed. Usage:
+ *
+ * <pre>
+ * final DeploymentLock lock = DeploymentLock.acquire(identifier);
+ * try {
+ *     // check, deploy or undeploy the IA
+ * }
+ * finally {
+ *     lock.release();
+ * }
+ * </pre>
+ *
+ * Copyright 2018 IAAS University of Stuttgart
+ */
+public final class DeploymentLock {
+
+    private final static Map<String, DeploymentLock> locks = new ConcurrentHashMap<>();
+
+    private final String identifier;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // number of threads holding or waiting for the lock, only modified inside the atomic map
+    // operations for the identifier
+    private int holders = 0;
+
+
+    private DeploymentLock(final String identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * Acquires the lock for the given IA identifier and blocks until it is available.
+     *
+     * @param identifier the unique String identifying the IA
+     * @return the acquired lock which has to be released afterwards
+     */
+    public static DeploymentLock acquire(final String identifier) {
+        Objects.requireNonNull(identifier);
+
+        final DeploymentLock deploymentLock = locks.compute(identifier, (id, existing) -> {
+            final DeploymentLock result = existing != null ? existing : new DeploymentLock(id);
+            result.holders++;
+            return result;
+        });
+        deploymentLock.lock.lock();
+        return deploymentLock;
+    }
+
+    /**
+     * Releases the lock and removes it if no other thread holds or waits for it.
+     */
+    public void release() {
+        this.lock.unlock();
+        locks.computeIfPresent(this.identifier, (id, existing) -> --existing.holders == 0 ? null : existing);
+    }
+}
@@ -1,5 +1,9 @@
 package org.opentosca.bus.management.service.impl.util;
 
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.xml.namespace.QName;
 
 import org.apache.camel.Exchange;
@@ -105,6 +109,26 @@ public class PluginHandler {
         return exchange;
     }
 
+    /**
+     * Notifies all invocation plug-ins that the IA at the given endpoint was undeployed.
+     *
+     * @param endpoint the endpoint of the undeployed IA
+     */
+    public static void notifyUndeployment(final URI endpoint) {
+        if (endpoint == null) {
+            return;
+        }
+
+        final Set<IManagementBusInvocationPluginService> invocationPlugins;
+        synchronized (ServiceHandler.invocationPluginServices) {
+            invocationPlugins = new HashSet<>(ServiceHandler.invocationPluginServices.values());
+        }
+
+        for (final IManagementBusInvocationPluginService invocationPlugin : invocationPlugins) {
+            invocationPlugin.notifyUndeployment(endpoint);
+        }
+    }
+
     /**
      * Checks if an deployment plug-in is available that supports the specified artifact and returns
      * the deployment type.
@@ -3,12 +3,14 @@ package org.opentosca.container.api.controller;
 import java.util.List;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -127,9 +129,11 @@ public class BuildPlanController {
                   responseContainer = "list")
     public Response getBuildPlanInstanceLogs(@ApiParam("ID of build plan") @PathParam("plan") final String plan,
                                              @ApiParam("Correlation ID") @PathParam("instance") final String instance,
+                                             @ApiParam("number of log entries to skip") @QueryParam(value = "offset") @DefaultValue("0") final int offset,
+                                             @ApiParam("maximum number of log entries to return") @QueryParam(value = "limit") @DefaultValue("-1") final int limit,
                                              @Context final UriInfo uriInfo) {
         return this.planService.getPlanInstanceLogs(plan, instance, uriInfo, this.csarId, this.serviceTemplate, null,
-                                                    this.PLAN_TYPE);
+                                                    offset, limit, this.PLAN_TYPE);
     }
 
     @POST
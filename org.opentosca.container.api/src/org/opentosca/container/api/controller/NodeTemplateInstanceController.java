@@ -1,12 +1,12 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -15,6 +15,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -28,7 +29,6 @@ import org.opentosca.container.api.util.ModelUtil;
 import org.opentosca.container.api.util.UriUtil;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
-import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -68,34 +68,19 @@ public class NodeTemplateInstanceController {
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all instances of a node template", response = NodeTemplateInstanceListDTO.class)
     public Response getNodeTemplateInstances(@QueryParam(value = "state") final List<NodeTemplateInstanceState> states,
-                                             @QueryParam(value = "source") final List<Long> relationIds) {
-        final QName nodeTemplateQName =
-            new QName(QName.valueOf(this.servicetemplate).getNamespaceURI(), this.nodetemplate);
-        final Collection<NodeTemplateInstance> nodeInstances =
-            this.instanceService.getNodeTemplateInstances(nodeTemplateQName);
+                                             @QueryParam(value = "source") final List<Long> relationIds,
+                                             @ApiParam("number of instances to skip") @QueryParam(value = "offset") @DefaultValue("0") final int offset,
+                                             @ApiParam("maximum number of instances to return") @QueryParam(value = "limit") @DefaultValue("-1") final int limit) {
+        final QName serviceTemplateQName = QName.valueOf(this.servicetemplate);
+        final QName nodeTemplateQName = new QName(serviceTemplateQName.getNamespaceURI(), this.nodetemplate);
+        final List<NodeTemplateInstance> nodeInstances =
+            this.instanceService.getNodeTemplateInstances(nodeTemplateQName, serviceTemplateQName, states, relationIds,
+                                                          offset, limit);
         logger.debug("Found <{}> instances of NodeTemplate \"{}\" ", nodeInstances.size(), this.nodetemplate);
 
         final NodeTemplateInstanceListDTO list = new NodeTemplateInstanceListDTO();
 
         for (final NodeTemplateInstance i : nodeInstances) {
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it not has the proper state
-                continue;
-            }
-
-            if (relationIds != null && !relationIds.isEmpty()) {
-                for (final RelationshipTemplateInstance relInstance : i.getOutgoingRelations()) {
-                    if (!relationIds.contains(relInstance.getId())) {
-                        // skip this node instance, as it is no source of the given relation
-                        continue;
-                    }
-                }
-            }
-            
-            if(!i.getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-
             final NodeTemplateInstanceDTO dto = NodeTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -104,6 +89,18 @@ public class NodeTemplateInstanceController {
 
         list.add(UriUtil.generateSelfLink(this.uriInfo));
 
+        if (limit >= 0) {
+            // Paginated request, link the next page if there are more instances available
+            final long total =
+                this.instanceService.countNodeTemplateInstances(nodeTemplateQName, serviceTemplateQName, states,
+                                                                relationIds);
+            final Link next = UriUtil.generateNextPageLink(this.uriInfo, offset, limit, total);
+            if (next != null) {
+                list.add(next);
+            }
+            return Response.ok(list).header("X-Total-Count", total).build();
+        }
+
         return Response.ok(list).build();
     }
 
@@ -1,11 +1,11 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
 import java.util.List;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -67,29 +67,21 @@ public class RelationshipTemplateInstanceController {
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all relationship template instances",
                   response = RelationshipTemplateInstanceListDTO.class)
-    public Response getRelationshipTemplateInstances(@QueryParam(value = "state") final List<RelationshipTemplateInstanceState> states,@QueryParam(value = "target") final Long targetNodeInstanceId) {
+    public Response getRelationshipTemplateInstances(@QueryParam(value = "state") final List<RelationshipTemplateInstanceState> states,@QueryParam(value = "target") final Long targetNodeInstanceId,
+                                                     @ApiParam("number of instances to skip") @QueryParam(value = "offset") @DefaultValue("0") final int offset,
+                                                     @ApiParam("maximum number of instances to return") @QueryParam(value = "limit") @DefaultValue("-1") final int limit) {
+        final QName serviceTemplateQName = QName.valueOf(this.servicetemplate);
         final QName relationshipTemplateQName =
-            new QName(QName.valueOf(this.servicetemplate).getNamespaceURI(), this.relationshiptemplate);
-        final Collection<RelationshipTemplateInstance> relationshipInstances =
-            this.instanceService.getRelationshipTemplateInstances(relationshipTemplateQName);
+            new QName(serviceTemplateQName.getNamespaceURI(), this.relationshiptemplate);
+        final List<RelationshipTemplateInstance> relationshipInstances =
+            this.instanceService.getRelationshipTemplateInstances(relationshipTemplateQName, serviceTemplateQName,
+                                                                  states, targetNodeInstanceId, offset, limit);
         logger.debug("Found <{}> instances of RelationshipTemplate \"{}\" ", relationshipInstances.size(),
                      this.relationshiptemplate);
 
         final RelationshipTemplateInstanceListDTO list = new RelationshipTemplateInstanceListDTO();
 
         for (final RelationshipTemplateInstance i : relationshipInstances) {
-            if(!i.getTarget().getServiceTemplateInstance().getTemplateId().toString().equals(this.servicetemplate)) {
-                continue;
-            }
-            if (states != null && !states.isEmpty() && !states.contains(i.getState())) {
-                // skip this node instance, as it not has the proper state
-                continue;
-            }
-            
-            if (targetNodeInstanceId != null && !i.getTarget().getId().equals(targetNodeInstanceId)) {
-                // skip this instance if the target id doesn't match
-                continue;
-            }
             final RelationshipTemplateInstanceDTO dto = RelationshipTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -98,6 +90,19 @@ public class RelationshipTemplateInstanceController {
 
         list.add(UriUtil.generateSelfLink(this.uriInfo));
 
+        if (limit >= 0) {
+            // Paginated request, link the next page if there are more instances available
+            final long total =
+                this.instanceService.countRelationshipTemplateInstances(relationshipTemplateQName,
+                                                                        serviceTemplateQName, states,
+                                                                        targetNodeInstanceId);
+            final Link next = UriUtil.generateNextPageLink(this.uriInfo, offset, limit, total);
+            if (next != null) {
+                list.add(next);
+            }
+            return Response.ok(list).header("X-Total-Count", total).build();
+        }
+
         return Response.ok(list).build();
     }
 
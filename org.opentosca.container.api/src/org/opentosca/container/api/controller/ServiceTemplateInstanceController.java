@@ -1,13 +1,14 @@
 package org.opentosca.container.api.controller;
 
 import java.net.URI;
-import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.POST;
@@ -15,12 +16,14 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
+import javax.xml.bind.DatatypeConverter;
 import javax.xml.namespace.QName;
 
 import org.opentosca.container.api.dto.NodeOperationDTO;
@@ -44,6 +47,7 @@ import org.opentosca.container.core.next.model.PlanInstance;
 import org.opentosca.container.core.next.model.PlanType;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.repository.DeploymentTestRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
 import org.opentosca.container.core.tosca.extension.PlanTypes;
@@ -100,15 +104,32 @@ public class ServiceTemplateInstanceController {
     @GET
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @ApiOperation(value = "Get all instances of a service template", response = ServiceTemplateInstanceListDTO.class)
-    public Response getServiceTemplateInstances() {
-        final Collection<ServiceTemplateInstance> serviceInstances =
-            this.instanceService.getServiceTemplateInstances(this.serviceTemplateId);
+    public Response getServiceTemplateInstances(@ApiParam("filter by instance state") @QueryParam(value = "state") final List<ServiceTemplateInstanceState> states,
+                                                @ApiParam("only instances created after this ISO 8601 date") @QueryParam(value = "created_after") final String createdAfter,
+                                                @ApiParam("only instances created before this ISO 8601 date") @QueryParam(value = "created_before") final String createdBefore,
+                                                @ApiParam("number of instances to skip") @QueryParam(value = "offset") @DefaultValue("0") final int offset,
+                                                @ApiParam("maximum number of instances to return") @QueryParam(value = "limit") @DefaultValue("-1") final int limit) {
+        final Date after;
+        final Date before;
+        try {
+            after = parseDate(createdAfter);
+            before = parseDate(createdBefore);
+        }
+        catch (final IllegalArgumentException e) {
+            logger.debug("Invalid date filter: {}", e.getMessage());
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+
+        final QName serviceTemplate = QName.valueOf(this.serviceTemplateId);
+        final List<ServiceTemplateInstanceSummary> serviceInstances =
+            this.instanceService.getServiceTemplateInstanceSummaries(serviceTemplate, states, after, before, offset,
+                                                                     limit);
         logger.debug("Found <{}> instances of ServiceTemplate \"{}\" ", serviceInstances.size(),
                      this.serviceTemplateId);
 
         final ServiceTemplateInstanceListDTO list = new ServiceTemplateInstanceListDTO();
 
-        for (final ServiceTemplateInstance i : serviceInstances) {
+        for (final ServiceTemplateInstanceSummary i : serviceInstances) {
             final ServiceTemplateInstanceDTO dto = ServiceTemplateInstanceDTO.Converter.convert(i);
             dto.add(UriUtil.generateSubResourceLink(this.uriInfo, dto.getId().toString(), false, "self"));
 
@@ -117,9 +138,26 @@ public class ServiceTemplateInstanceController {
 
         list.add(UriUtil.generateSelfLink(this.uriInfo));
 
+        if (limit >= 0) {
+            // Paginated request, link the next page if there are more instances available
+            final long total = this.instanceService.countServiceTemplateInstances(serviceTemplate, states, after, before);
+            final Link next = UriUtil.generateNextPageLink(this.uriInfo, offset, limit, total);
+            if (next != null) {
+                list.add(next);
+            }
+            return Response.ok(list).header("X-Total-Count", total).build();
+        }
+
         return Response.ok(list).build();
     }
 
+    private static Date parseDate(final String date) {
+        if (date == null || date.trim().isEmpty()) {
+            return null;
+        }
+        return DatatypeConverter.parseDateTime(date.trim()).getTime();
+    }
+
     @POST
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN, MediaType.APPLICATION_XML})
     @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
@@ -5,9 +5,12 @@ import java.util.Date;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.namespace.QName;
 
+import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -78,13 +81,25 @@ public class ServiceTemplateInstanceDTO extends ResourceSupport {
     public static final class Converter {
 
         public static ServiceTemplateInstanceDTO convert(final ServiceTemplateInstance object) {
+            return convert(object.getId(), object.getCreatedAt(), object.getCsarId(), object.getTemplateId(),
+                           object.getState());
+        }
+
+        public static ServiceTemplateInstanceDTO convert(final ServiceTemplateInstanceSummary object) {
+            return convert(object.getId(), object.getCreatedAt(), object.getCsarId(), object.getTemplateId(),
+                           object.getState());
+        }
+
+        private static ServiceTemplateInstanceDTO convert(final Long id, final Date createdAt, final CSARID csarId,
+                                                          final QName templateId,
+                                                          final ServiceTemplateInstanceState state) {
             final ServiceTemplateInstanceDTO dto = new ServiceTemplateInstanceDTO();
 
-            dto.setId(object.getId());
-            dto.setCreatedAt(object.getCreatedAt());
-            dto.setCsarId(object.getCsarId().toString());
-            dto.setServiceTemplateId(object.getTemplateId().toString());
-            dto.setState(object.getState());
+            dto.setId(id);
+            dto.setCreatedAt(createdAt);
+            dto.setCsarId(csarId.toString());
+            dto.setServiceTemplateId(templateId.toString());
+            dto.setState(state);
 
             return dto;
         }
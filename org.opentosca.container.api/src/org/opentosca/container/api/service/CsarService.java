@@ -25,6 +25,7 @@ import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.service.ICoreFileService;
 import org.opentosca.container.core.service.IFileAccessService;
 import org.opentosca.planbuilder.export.Exporter;
+import org.opentosca.planbuilder.export.PlanArchiveCache;
 import org.opentosca.planbuilder.importer.Importer;
 import org.opentosca.planbuilder.model.plan.AbstractPlan;
 import org.slf4j.Logger;
@@ -164,14 +165,22 @@ public class CsarService {
 
         final Importer planBuilderImporter = new Importer();
         final Exporter planBuilderExporter = new Exporter();
+        final PlanArchiveCache planCache = new PlanArchiveCache();
 
-        final List<AbstractPlan> buildPlans = planBuilderImporter.generatePlans(csarId);
+        // a CSAR which was processed before by the same PlanBuilder doesn't need new plans
+        final String cacheKey = planCache.computeKey(csarId);
+        File file = planCache.get(cacheKey, csarId.getFileName());
 
-        if (buildPlans.isEmpty()) {
-            return csarId;
-        }
+        if (file == null) {
+            final List<AbstractPlan> buildPlans = planBuilderImporter.generatePlans(csarId);
+
+            if (buildPlans.isEmpty()) {
+                return csarId;
+            }
 
-        final File file = planBuilderExporter.export(buildPlans, csarId);
+            file = planBuilderExporter.export(buildPlans, csarId);
+            planCache.put(cacheKey, file);
+        }
 
         try {
             this.fileService.deleteCSAR(csarId);
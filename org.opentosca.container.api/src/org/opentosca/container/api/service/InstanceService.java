@@ -1,6 +1,8 @@
 package org.opentosca.container.api.service;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -17,6 +19,7 @@ import org.opentosca.container.core.common.jpa.DocumentConverter;
 import org.opentosca.container.core.engine.IToscaEngineService;
 import org.opentosca.container.core.engine.IToscaReferenceMapper;
 import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
@@ -29,6 +32,7 @@ import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceProperty;
 import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 import org.opentosca.container.core.next.model.Situation;
 import org.opentosca.container.core.next.model.SituationTrigger;
 import org.opentosca.container.core.next.model.SituationTriggerInstance;
@@ -121,6 +125,30 @@ public class InstanceService {
         return this.serviceTemplateInstanceRepository.findByTemplateId(serviceTemplate);
     }
 
+    /**
+     * Returns a page of lightweight instance projections of the given service template, see
+     * {@link ServiceTemplateInstanceRepository#findSummariesByTemplateId(QName, Collection, Date, Date, int, int)}.
+     */
+    public List<ServiceTemplateInstanceSummary> getServiceTemplateInstanceSummaries(final QName serviceTemplate,
+                                                                                    final Collection<ServiceTemplateInstanceState> states,
+                                                                                    final Date createdAfter,
+                                                                                    final Date createdBefore,
+                                                                                    final int offset,
+                                                                                    final int limit) {
+        logger.debug("Requesting instance summaries of ServiceTemplate \"{}\" (offset: {}, limit: {})...",
+                     serviceTemplate, offset, limit);
+        return this.serviceTemplateInstanceRepository.findSummariesByTemplateId(serviceTemplate, states,
+                                                                                createdAfter, createdBefore,
+                                                                                offset, limit);
+    }
+
+    public long countServiceTemplateInstances(final QName serviceTemplate,
+                                              final Collection<ServiceTemplateInstanceState> states,
+                                              final Date createdAfter, final Date createdBefore) {
+        return this.serviceTemplateInstanceRepository.countByTemplateId(serviceTemplate, states, createdAfter,
+                                                                        createdBefore);
+    }
+
     public ServiceTemplateInstance getServiceTemplateInstanceByCorrelationId(final String correlationId) {
         return this.serviceTemplateInstanceRepository.findAll().stream()
                                                      .filter(s -> s.getPlanInstances().stream()
@@ -267,8 +295,12 @@ public class InstanceService {
         instance.addProperty(property);
         instance.addPlanInstance(buildPlanInstance);
         instance.setCreationCorrelationId(buildPlanInstance.getCorrelationId());
-        this.serviceTemplateInstanceRepository.add(instance);
-        new PlanInstanceRepository().update(buildPlanInstance);
+
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            this.serviceTemplateInstanceRepository.add(instance);
+            new PlanInstanceRepository().update(buildPlanInstance);
+            uow.commit();
+        }
 
         return instance;
     }
@@ -314,6 +346,28 @@ public class InstanceService {
         return this.nodeTemplateInstanceRepository.findByTemplateId(nodeTemplateQName);
     }
 
+    /**
+     * Returns a page of the instances of the given node template, see
+     * {@link NodeTemplateInstanceRepository#findByTemplateId(QName, QName, Collection, Collection, int, int)}.
+     */
+    public List<NodeTemplateInstance> getNodeTemplateInstances(final QName nodeTemplateQName,
+                                                               final QName serviceTemplateQName,
+                                                               final Collection<NodeTemplateInstanceState> states,
+                                                               final Collection<Long> sourceOfRelationIds,
+                                                               final int offset, final int limit) {
+        logger.debug("Requesting instances of NodeTemplate \"{}\" (offset: {}, limit: {})...", nodeTemplateQName,
+                     offset, limit);
+        return this.nodeTemplateInstanceRepository.findByTemplateId(nodeTemplateQName, serviceTemplateQName, states,
+                                                                    sourceOfRelationIds, offset, limit);
+    }
+
+    public long countNodeTemplateInstances(final QName nodeTemplateQName, final QName serviceTemplateQName,
+                                           final Collection<NodeTemplateInstanceState> states,
+                                           final Collection<Long> sourceOfRelationIds) {
+        return this.nodeTemplateInstanceRepository.countByTemplateId(nodeTemplateQName, serviceTemplateQName, states,
+                                                                     sourceOfRelationIds);
+    }
+
     public NodeTemplateInstance resolveNodeTemplateInstance(final String serviceTemplateQName,
                                                             final String nodeTemplateId, final Long id) {
         // We only need to check that the instance belongs to the template, the rest is
@@ -431,19 +485,22 @@ public class InstanceService {
         // Type
         newInstance.setTemplateType(QName.valueOf(dto.getNodeType()));
         // ServiceTemplateInstance
-        final ServiceTemplateInstance serviceTemplateInstance =
-            getServiceTemplateInstance(serviceTemplateInstanceId, false);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final ServiceTemplateInstance serviceTemplateInstance =
+                getServiceTemplateInstance(serviceTemplateInstanceId, false);
+
+            if (!serviceTemplateInstance.getTemplateId().equals(serviceTemplateQName)) {
+                final String msg =
+                    String.format("Service template instance id <%s> does not belong to service template: %s",
+                                  serviceTemplateInstanceId, serviceTemplateQName);
+                logger.debug(msg);
+                throw new IllegalArgumentException(msg);
+            }
+            newInstance.setServiceTemplateInstance(serviceTemplateInstance);
 
-        if (!serviceTemplateInstance.getTemplateId().equals(serviceTemplateQName)) {
-            final String msg =
-                String.format("Service template instance id <%s> does not belong to service template: %s",
-                              serviceTemplateInstanceId, serviceTemplateQName);
-            logger.debug(msg);
-            throw new IllegalArgumentException(msg);
+            this.nodeTemplateInstanceRepository.add(newInstance);
+            uow.commit();
         }
-        newInstance.setServiceTemplateInstance(serviceTemplateInstance);
-
-        this.nodeTemplateInstanceRepository.add(newInstance);
 
         return newInstance;
     }
@@ -465,6 +522,31 @@ public class InstanceService {
         return this.relationshipTemplateInstanceRepository.findByTemplateId(relationshipTemplateQName);
     }
 
+    /**
+     * Returns a page of the instances of the given relationship template, see
+     * {@link RelationshipTemplateInstanceRepository#findByTemplateId(QName, QName, Collection, Long, int, int)}.
+     */
+    public List<RelationshipTemplateInstance> getRelationshipTemplateInstances(final QName relationshipTemplateQName,
+                                                                               final QName serviceTemplateQName,
+                                                                               final Collection<RelationshipTemplateInstanceState> states,
+                                                                               final Long targetNodeInstanceId,
+                                                                               final int offset, final int limit) {
+        logger.debug("Requesting instances of RelationshipTemplate \"{}\" (offset: {}, limit: {})...",
+                     relationshipTemplateQName, offset, limit);
+        return this.relationshipTemplateInstanceRepository.findByTemplateId(relationshipTemplateQName,
+                                                                            serviceTemplateQName, states,
+                                                                            targetNodeInstanceId, offset, limit);
+    }
+
+    public long countRelationshipTemplateInstances(final QName relationshipTemplateQName,
+                                                   final QName serviceTemplateQName,
+                                                   final Collection<RelationshipTemplateInstanceState> states,
+                                                   final Long targetNodeInstanceId) {
+        return this.relationshipTemplateInstanceRepository.countByTemplateId(relationshipTemplateQName,
+                                                                             serviceTemplateQName, states,
+                                                                             targetNodeInstanceId);
+    }
+
     /**
      * Gets a reference to the relationship template instance. Ensures that the instance actually
      * belongs to the relationship template.
@@ -611,12 +693,15 @@ public class InstanceService {
         newInstance.setTemplateId(new QName(serviceTemplateQName.getNamespaceURI(), relationshipTemplateId));
         // Type
         newInstance.setTemplateType(QName.valueOf(dto.getRelationshipType()));
-        // Source node instance
-        newInstance.setSource(getNodeTemplateInstance(request.getSourceNodeTemplateInstanceId()));
-        // Target node instance
-        newInstance.setTarget(getNodeTemplateInstance(request.getTargetNodeTemplateInstanceId()));
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            // Source node instance
+            newInstance.setSource(getNodeTemplateInstance(request.getSourceNodeTemplateInstanceId()));
+            // Target node instance
+            newInstance.setTarget(getNodeTemplateInstance(request.getTargetNodeTemplateInstanceId()));
 
-        this.relationshipTemplateInstanceRepository.add(newInstance);
+            this.relationshipTemplateInstanceRepository.add(newInstance);
+            uow.commit();
+        }
 
         return newInstance;
     }
@@ -4,7 +4,6 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,6 +19,7 @@ import javax.xml.namespace.QName;
 import org.glassfish.jersey.uri.UriComponent;
 import org.opentosca.container.api.dto.plan.PlanDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceDTO;
+import org.opentosca.container.api.dto.plan.PlanInstanceEventDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceEventListDTO;
 import org.opentosca.container.api.dto.plan.PlanInstanceListDTO;
 import org.opentosca.container.api.dto.plan.PlanListDTO;
@@ -68,15 +68,17 @@ public class PlanService {
     public List<TPlan> getPlansByType(final CSARID id, final PlanTypes... planTypes) {
         logger.debug("Requesting plans of type \"{}\" for CSAR \"{}\"...", planTypes, id);
         final List<TPlan> plans = Lists.newArrayList();
-        final Map<PlanTypes, LinkedHashMap<QName, TPlan>> plansOfCsar = this.referenceMapper.getCSARIDToPlans(id);
+        final Map<PlanTypes, Map<QName, TPlan>> plansOfCsar = this.referenceMapper.getCSARIDToPlans(id);
         for (final PlanTypes planType : planTypes) {
-            final LinkedHashMap<QName, TPlan> plansOfType = plansOfCsar.get(planType);
+            final Map<QName, TPlan> plansOfType = plansOfCsar.get(planType);
             if (plansOfType == null) {
                 logger.warn("CSAR \"" + id.getFileName() + "\" does not have a plan of type \"" + planType.toString()
                     + "\"");
                 continue;
             }
-            plans.addAll(plansOfType.values());
+            synchronized (plansOfType) {
+                plans.addAll(plansOfType.values());
+            }
         }
         return plans;
     }
@@ -413,15 +415,32 @@ public class PlanService {
 
     public Response getPlanInstanceLogs(final String plan, final String instance, final UriInfo uriInfo,
                                         final CSARID csarId, final QName serviceTemplate,
-                                        final Long serviceTemplateInstanceId, final PlanTypes... planTypes) {
+                                        final Long serviceTemplateInstanceId, final int offset, final int limit,
+                                        final PlanTypes... planTypes) {
 
         final PlanInstance pi =
             resolvePlanInstance(plan, instance, uriInfo, csarId, serviceTemplate, serviceTemplateInstanceId, planTypes);
 
-        final PlanInstanceDTO piDto = PlanInstanceDTO.Converter.convert(pi);
-        final PlanInstanceEventListDTO dto = new PlanInstanceEventListDTO(piDto.getLogs());
+        // only load the requested page of events instead of the complete plan instance
+        final List<PlanInstanceEvent> events =
+            this.planInstanceRepository.findEventsByCorrelationId(pi.getCorrelationId(), offset, limit);
+
+        final PlanInstanceEventListDTO dto = new PlanInstanceEventListDTO();
+        for (final PlanInstanceEvent event : events) {
+            dto.add(PlanInstanceEventDTO.Converter.convert(event));
+        }
         dto.add(UriUtil.generateSelfLink(uriInfo));
 
+        if (limit >= 0) {
+            // Paginated request, link the next page if there are more events available
+            final long total = this.planInstanceRepository.countEventsByCorrelationId(pi.getCorrelationId());
+            final Link next = UriUtil.generateNextPageLink(uriInfo, offset, limit, total);
+            if (next != null) {
+                dto.add(next);
+            }
+            return Response.ok(dto).header("X-Total-Count", total).build();
+        }
+
         return Response.ok(dto).build();
     }
 
@@ -50,6 +50,28 @@ public abstract class UriUtil {
         return UriUtil.encode(uriInfo.getAbsolutePath());
     }
 
+    /**
+     * Generates the link to the next page of a paginated list resource.
+     *
+     * @param offset the offset of the current page
+     * @param pageSize the requested maximum number of items per page
+     * @param total the number of items of all pages
+     * @return the link, or <code>null</code> if the current page is the last one or the page size
+     *         isn't positive
+     */
+    public static Link generateNextPageLink(final UriInfo uriInfo, final int offset, final int pageSize,
+                                            final long total) {
+        if (pageSize <= 0) {
+            return null;
+        }
+        final int nextOffset = Math.max(offset, 0) + pageSize;
+        if (nextOffset >= total) {
+            return null;
+        }
+        final URI next = uriInfo.getRequestUriBuilder().replaceQueryParam("offset", nextOffset).build();
+        return Link.fromUri(next).rel("next").build();
+    }
+
 
     public static Link generateSubResourceLink(final UriInfo uriInfo, final String subResource,
                                                final boolean encodeSubResourcePathSegment, final String rel) {
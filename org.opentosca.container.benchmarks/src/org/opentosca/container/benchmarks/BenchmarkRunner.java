@@ -0,0 +1,253 @@
+package org.opentosca.container.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs benchmark operations inside the running container and measures the time, the allocated
+ * memory and the garbage collection time per operation. Each benchmark is warmed up before it is
+ * measured. The results are logged and written to a properties file. If a baseline is given, the
+ * results are compared with it, e.g. with the results file of an earlier run.
+ *
+ * <p>
+ * The runner is configured with the following system properties:
+ * <ul>
+ * <li><tt>org.opentosca.benchmarks.sizes</tt> - numbers of node templates of the synthetic CSARs
+ * (default: 10,100,1000)</li>
+ * <li><tt>org.opentosca.benchmarks.warmup</tt> - number of warmup iterations (default: 3)</li>
+ * <li><tt>org.opentosca.benchmarks.iterations</tt> - number of measured iterations (default: 5)</li>
+ * <li><tt>org.opentosca.benchmarks.results</tt> - file the results are written to</li>
+ * <li><tt>org.opentosca.benchmarks.baseline</tt> - results file the results are compared with (default:
+ * none)</li>
+ * <li><tt>org.opentosca.benchmarks.tolerance</tt> - tolerated slowdown compared to the baseline
+ * (default: 0.5)</li>
+ * <li><tt>org.opentosca.benchmarks.failOnRegression</tt> - fail a benchmark which exceeds the
+ * tolerance (default: false)</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+    final private static Logger LOG = LoggerFactory.getLogger(BenchmarkRunner.class);
+
+    private static final int WARMUP = Integer.parseInt(System.getProperty("org.opentosca.benchmarks.warmup", "3"));
+    private static final int ITERATIONS =
+        Integer.parseInt(System.getProperty("org.opentosca.benchmarks.iterations", "5"));
+    private static final Path RESULTS =
+        Paths.get(System.getProperty("org.opentosca.benchmarks.results",
+                                     System.getProperty("java.io.tmpdir") + "/opentosca-benchmarks.properties"));
+
+    private static final String BASELINE = System.getProperty("org.opentosca.benchmarks.baseline");
+    private static final double TOLERANCE =
+        Double.parseDouble(System.getProperty("org.opentosca.benchmarks.tolerance", "0.5"));
+    private static final boolean FAIL_ON_REGRESSION =
+        Boolean.parseBoolean(System.getProperty("org.opentosca.benchmarks.failOnRegression", "false"));
+
+    private static final Properties results = new Properties();
+    private static Properties baseline = null;
+
+    /**
+     * An operation to benchmark. Only {@link #run(Object)} is measured, the input of each invocation
+     * is prepared and cleaned up outside of the measurement.
+     */
+    public interface Operation<T> {
+
+        default T prepare() throws Exception {
+            return null;
+        }
+
+        void run(T input) throws Exception;
+
+        default void cleanUp(final T input) throws Exception {
+        }
+    }
+
+    public static final class Result {
+
+        private final String name;
+        private final long timePerOp;
+        private final long allocatedBytesPerOp;
+        private final long gcTimePerOp;
+
+
+        private Result(final String name, final long timePerOp, final long allocatedBytesPerOp,
+                       final long gcTimePerOp) {
+            this.name = name;
+            this.timePerOp = timePerOp;
+            this.allocatedBytesPerOp = allocatedBytesPerOp;
+            this.gcTimePerOp = gcTimePerOp;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return the average wall clock time per operation in nanoseconds
+         */
+        public long getTimePerOp() {
+            return this.timePerOp;
+        }
+
+        /**
+         * @return the average number of bytes allocated by all threads per operation, or -1 if the
+         *         JVM doesn't support measuring allocations
+         */
+        public long getAllocatedBytesPerOp() {
+            return this.allocatedBytesPerOp;
+        }
+
+        /**
+         * @return the average garbage collection time per operation in milliseconds
+         */
+        public long getGcTimePerOp() {
+            return this.gcTimePerOp;
+        }
+    }
+
+
+    /**
+     * @return the numbers of node templates the benchmarks are run with
+     */
+    public static Collection<Object[]> sizes() {
+        final List<Object[]> sizes = new ArrayList<>();
+        for (final String size : System.getProperty("org.opentosca.benchmarks.sizes", "10,100,1000").split(",")) {
+            sizes.add(new Object[] {Integer.parseInt(size.trim())});
+        }
+        return sizes;
+    }
+
+    public static <T> Result run(final String benchmark, final int size,
+                                 final Operation<T> operation) throws Exception {
+        final String name = benchmark + "." + size;
+
+        LOG.info("Warming up benchmark {} with {} iterations...", name, WARMUP);
+        for (int i = 0; i < WARMUP; i++) {
+            final T input = operation.prepare();
+            try {
+                operation.run(input);
+            }
+            finally {
+                operation.cleanUp(input);
+            }
+        }
+
+        LOG.info("Measuring benchmark {} with {} iterations...", name, ITERATIONS);
+        final boolean allocationsSupported = allocatedBytes() >= 0;
+        long time = 0;
+        long allocatedBytes = 0;
+        long gcTime = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            final T input = operation.prepare();
+            try {
+                final long gcTimeBefore = gcTime();
+                final long allocatedBytesBefore = allocatedBytes();
+                final long start = System.nanoTime();
+                operation.run(input);
+                time += System.nanoTime() - start;
+                allocatedBytes += allocatedBytes() - allocatedBytesBefore;
+                gcTime += gcTime() - gcTimeBefore;
+            }
+            finally {
+                operation.cleanUp(input);
+            }
+        }
+
+        final Result result = new Result(name, time / ITERATIONS,
+            allocationsSupported ? allocatedBytes / ITERATIONS : -1, gcTime / ITERATIONS);
+        LOG.info("Benchmark {}: {} ms/op, {} bytes allocated/op, {} ms gc/op", name,
+                 result.getTimePerOp() / 1000000.0, result.getAllocatedBytesPerOp(), result.getGcTimePerOp());
+
+        record(result);
+        compareWithBaseline(result);
+        return result;
+    }
+
+    private static synchronized void record(final Result result) throws IOException {
+        results.setProperty(result.getName() + ".timePerOp", Long.toString(result.getTimePerOp()));
+        results.setProperty(result.getName() + ".allocatedBytesPerOp",
+                            Long.toString(result.getAllocatedBytesPerOp()));
+        results.setProperty(result.getName() + ".gcTimePerOp", Long.toString(result.getGcTimePerOp()));
+        try (OutputStream out = Files.newOutputStream(RESULTS)) {
+            results.store(out,
+                          "OpenTOSCA benchmark results (time in ns/op, allocations in bytes/op, gc time in ms/op)");
+        }
+    }
+
+    private static synchronized void compareWithBaseline(final Result result) throws IOException {
+        if (BASELINE == null) {
+            return;
+        }
+        if (baseline == null) {
+            baseline = new Properties();
+            try (InputStream in = Files.newInputStream(Paths.get(BASELINE))) {
+                baseline.load(in);
+            }
+        }
+
+        final String expected = baseline.getProperty(result.getName() + ".timePerOp");
+        if (expected == null) {
+            LOG.info("No baseline for benchmark {} in {}", result.getName(), BASELINE);
+            return;
+        }
+
+        final double ratio = (double) result.getTimePerOp() / Long.parseLong(expected.trim());
+        if (ratio > 1 + TOLERANCE) {
+            final String message =
+                String.format("Benchmark %s is %.0f%% slower than its baseline", result.getName(), (ratio - 1) * 100);
+            LOG.warn(message);
+            if (FAIL_ON_REGRESSION) {
+                throw new AssertionError(message);
+            }
+        } else {
+            LOG.info("Benchmark {} takes {}% of its baseline", result.getName(), Math.round(ratio * 100));
+        }
+    }
+
+    /**
+     * Returns the bytes allocated by all live threads so far. The threads of the container are
+     * pooled, so allocations of threads which terminate during an operation are negligible.
+     */
+    private static long allocatedBytes() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final long[] threadIds = ManagementFactory.getThreadMXBean().getAllThreadIds();
+            final long[] allocated =
+                (long[]) server.invoke(new ObjectName("java.lang:type=Threading"), "getThreadAllocatedBytes",
+                                       new Object[] {threadIds}, new String[] {long[].class.getName()});
+            return Arrays.stream(allocated).filter(bytes -> bytes > 0).sum();
+        }
+        catch (JMException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,109 @@
+package org.opentosca.container.benchmarks;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.opentosca.container.core.engine.IToscaEngineService;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.service.ICoreFileService;
+import org.opentosca.container.core.service.internal.ICoreInternalFileService;
+
+/**
+ * Benchmarks storing synthetic CSARs and resolving their Definitions.
+ */
+@RunWith(Parameterized.class)
+public class CsarProcessingBenchmark {
+
+    @Parameters(name = "{0} node templates")
+    public static Collection<Object[]> sizes() {
+        return BenchmarkRunner.sizes();
+    }
+
+
+    @Parameter
+    public int size;
+
+    private ICoreFileService fileService;
+    private Path tempDirectory;
+    private final List<CSARID> storedCsars = new ArrayList<>();
+
+
+    @Before
+    public void setUp() throws Exception {
+        this.fileService = ServiceTrackerUtil.getService(ICoreFileService.class);
+        assertNotNull(this.fileService);
+        this.tempDirectory = Files.createTempDirectory("opentosca-benchmarks");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (final CSARID csarId : this.storedCsars) {
+            this.fileService.deleteCSAR(csarId);
+        }
+        FileUtils.deleteQuietly(this.tempDirectory.toFile());
+    }
+
+    @Test
+    public void storeCsar() throws Exception {
+        final ICoreInternalFileService internalFileService =
+            ServiceTrackerUtil.getService(ICoreInternalFileService.class);
+        assertNotNull(internalFileService);
+
+        BenchmarkRunner.run("CoreInternalFileService.storeCSAR", this.size, new BenchmarkRunner.Operation<Path>() {
+
+            private int counter = 0;
+
+
+            @Override
+            public Path prepare() throws Exception {
+                // each CSAR needs a new name, as a stored CSAR can't be stored again
+                return SyntheticCsar.create(CsarProcessingBenchmark.this.tempDirectory,
+                                            "StoreCsar_" + CsarProcessingBenchmark.this.size + "_" + this.counter++,
+                                            CsarProcessingBenchmark.this.size);
+            }
+
+            @Override
+            public void run(final Path csar) throws Exception {
+                CsarProcessingBenchmark.this.storedCsars.add(internalFileService.storeCSAR(csar));
+            }
+        });
+    }
+
+    @Test
+    public void resolveDefinitions() throws Exception {
+        final IToscaEngineService engineService = ServiceTrackerUtil.getService(IToscaEngineService.class);
+        assertNotNull(engineService);
+
+        final CSARID csarId = this.fileService.storeCSAR(SyntheticCsar.create(this.tempDirectory,
+                                                                              "ResolveDefinitions_" + this.size,
+                                                                              this.size));
+        this.storedCsars.add(csarId);
+
+        BenchmarkRunner.run("ToscaEngineService.resolveDefinitions", this.size,
+                            new BenchmarkRunner.Operation<Void>() {
+
+                                @Override
+                                public void run(final Void input) {
+                                    engineService.resolveDefinitions(csarId);
+                                }
+
+                                @Override
+                                public void cleanUp(final Void input) {
+                                    engineService.clearCSARContent(csarId);
+                                }
+                            });
+    }
+}
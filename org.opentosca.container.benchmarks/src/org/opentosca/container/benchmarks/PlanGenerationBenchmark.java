@@ -0,0 +1,90 @@
+package org.opentosca.container.benchmarks;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.service.ICoreFileService;
+import org.opentosca.planbuilder.export.Exporter;
+import org.opentosca.planbuilder.importer.Importer;
+import org.opentosca.planbuilder.model.plan.AbstractPlan;
+
+/**
+ * Benchmarks the generation and the export of the plans of synthetic CSARs.
+ */
+@RunWith(Parameterized.class)
+public class PlanGenerationBenchmark {
+
+    @Parameters(name = "{0} node templates")
+    public static Collection<Object[]> sizes() {
+        return BenchmarkRunner.sizes();
+    }
+
+
+    @Parameter
+    public int size;
+
+    private ICoreFileService fileService;
+    private Path tempDirectory;
+    private CSARID csarId;
+
+
+    @Before
+    public void storeCsar() throws Exception {
+        this.fileService = ServiceTrackerUtil.getService(ICoreFileService.class);
+        assertNotNull(this.fileService);
+        this.tempDirectory = Files.createTempDirectory("opentosca-benchmarks");
+        this.csarId = this.fileService.storeCSAR(SyntheticCsar.create(this.tempDirectory,
+                                                                      "PlanGeneration_" + this.size, this.size));
+    }
+
+    @After
+    public void deleteCsar() throws Exception {
+        if (this.csarId != null) {
+            this.fileService.deleteCSAR(this.csarId);
+        }
+        FileUtils.deleteQuietly(this.tempDirectory.toFile());
+    }
+
+    @Test
+    public void generatePlans() throws Exception {
+        BenchmarkRunner.run("Importer.generatePlans", this.size, input -> new Importer().generatePlans(this.csarId));
+    }
+
+    @Test
+    public void exportPlans() throws Exception {
+        final List<AbstractPlan> plans = new Importer().generatePlans(this.csarId);
+        BenchmarkRunner.run("Exporter.exportBPEL", this.size, new BenchmarkRunner.Operation<File[]>() {
+
+            @Override
+            public File[] prepare() {
+                return new File[1];
+            }
+
+            @Override
+            public void run(final File[] repackagedCsar) {
+                repackagedCsar[0] = new Exporter().export(plans, PlanGenerationBenchmark.this.csarId);
+            }
+
+            @Override
+            public void cleanUp(final File[] repackagedCsar) {
+                if (repackagedCsar[0] != null) {
+                    FileUtils.deleteQuietly(repackagedCsar[0].getParentFile());
+                }
+            }
+        });
+    }
+}
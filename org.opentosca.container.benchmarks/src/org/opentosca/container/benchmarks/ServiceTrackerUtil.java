@@ -0,0 +1,34 @@
+package org.opentosca.container.benchmarks;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.util.tracker.ServiceTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class ServiceTrackerUtil {
+
+    final private static Logger LOG = LoggerFactory.getLogger(ServiceTrackerUtil.class);
+
+
+    public static <T> T getService(final Class<T> clazz) {
+        final Bundle bundle = FrameworkUtil.getBundle(ServiceTrackerUtil.class);
+        if (bundle == null) {
+            LOG.warn("Could not resolve bundle for class {}, returning null...", clazz);
+            return null;
+        }
+        final ServiceTracker<T, T> st = new ServiceTracker<>(bundle.getBundleContext(), clazz, null);
+        st.open();
+        try {
+            return st.waitForService(5000); // Give the runtime some time to startup
+        }
+        catch (final InterruptedException e) {
+            LOG.error("Error getting instance of class {}: {}", clazz.getName(), e.getMessage());
+        }
+        return null;
+    }
+
+    private ServiceTrackerUtil() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,77 @@
+package org.opentosca.container.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates CSARs with a topology of a given number of node templates. The node templates form a
+ * binary tree of hostedOn relationships, so the depth of the topology grows logarithmically with
+ * its size.
+ */
+public final class SyntheticCsar {
+
+    private static final String NAMESPACE = "http://opentosca.org/benchmarks";
+    private static final String BASE_TYPES_NAMESPACE = "http://docs.oasis-open.org/tosca/ns/2011/12/ToscaBaseTypes";
+    private static final String DEFINITIONS_PATH = "Definitions/Benchmark.tosca";
+
+
+    public static Path create(final Path directory, final String name, final int nodeTemplates) throws IOException {
+        final Path csar = directory.resolve(name + ".csar");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(csar))) {
+            addEntry(zip, "TOSCA-Metadata/TOSCA.meta", createToscaMeta());
+            addEntry(zip, DEFINITIONS_PATH, createDefinitions(name, nodeTemplates));
+        }
+        return csar;
+    }
+
+    private static void addEntry(final ZipOutputStream zip, final String path,
+                                 final String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(path));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static String createToscaMeta() {
+        return "TOSCA-Meta-File-Version: 1.0\n" + "CSAR-Version: 1.0\n" + "Created-By: OpenTOSCA Benchmarks\n"
+            + "Entry-Definitions: " + DEFINITIONS_PATH + "\n\n" + "Name: " + DEFINITIONS_PATH + "\n"
+            + "Content-Type: application/vnd.oasis.tosca.definitions\n";
+    }
+
+    private static String createDefinitions(final String name, final int nodeTemplates) {
+        final StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<Definitions xmlns=\"http://docs.oasis-open.org/tosca/ns/2011/12\"");
+        xml.append(" xmlns:bm=\"").append(NAMESPACE).append("\"");
+        xml.append(" xmlns:base=\"").append(BASE_TYPES_NAMESPACE).append("\"");
+        xml.append(" id=\"").append(name).append("\" targetNamespace=\"").append(NAMESPACE).append("\">\n");
+
+        xml.append("  <ServiceTemplate id=\"").append(name).append("\" name=\"").append(name).append("\">\n");
+        xml.append("    <TopologyTemplate>\n");
+        for (int i = 0; i < nodeTemplates; i++) {
+            xml.append("      <NodeTemplate id=\"Node_").append(i).append("\" name=\"Node_").append(i)
+               .append("\" type=\"bm:BenchmarkNode\"/>\n");
+        }
+        for (int i = 1; i < nodeTemplates; i++) {
+            xml.append("      <RelationshipTemplate id=\"Rel_").append(i).append("\" type=\"base:HostedOn\">\n");
+            xml.append("        <SourceElement ref=\"Node_").append(i).append("\"/>\n");
+            xml.append("        <TargetElement ref=\"Node_").append((i - 1) / 2).append("\"/>\n");
+            xml.append("      </RelationshipTemplate>\n");
+        }
+        xml.append("    </TopologyTemplate>\n");
+        xml.append("  </ServiceTemplate>\n");
+
+        xml.append("  <NodeType name=\"BenchmarkNode\" targetNamespace=\"").append(NAMESPACE).append("\"/>\n");
+        xml.append("  <RelationshipType name=\"HostedOn\" targetNamespace=\"").append(BASE_TYPES_NAMESPACE)
+           .append("\"/>\n");
+        xml.append("</Definitions>\n");
+        return xml.toString();
+    }
+
+    private SyntheticCsar() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -13,6 +13,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import javax.activation.DataHandler;
 import javax.activation.FileDataSource;
@@ -29,6 +32,8 @@ import org.apache.axis2.java.security.TrustAllTrustManager;
 import org.apache.axis2.transport.http.HTTPConstants;
 import org.apache.commons.httpclient.protocol.Protocol;
 import org.apache.commons.httpclient.protocol.ProtocolSocketFactory;
+import org.opentosca.container.core.common.DeploymentPoller;
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.bps.management.schema.DeployedPackagesPaginated;
@@ -78,6 +83,17 @@ public class BpsConnector {
 
     private final static Logger LOG = LoggerFactory.getLogger(BpsConnector.class);
 
+    // tracks the deployment state of all deployments, thus, no thread is blocked per deployment
+    private final static DeploymentPoller POLLER = new DeploymentPoller("bps-deployment-tracking");
+
+    // the requests to the BPS block the polling threads, thus, they are given up after this timeout
+    private final static int REQUEST_TIMEOUT = Integer.parseInt(Settings.ENGINE_PLAN_BPEL_REQUEST_TIMEOUT);
+
+    // the session cookies of the BPS logins are reused until they are older than the session
+    // lifetime, which is shorter than the default session timeout of the BPS
+    private final static long SESSION_LIFETIME = 600000;
+    private final static Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+
     /**
      * Sets the endpoint of this connector
      *
@@ -101,7 +117,8 @@ public class BpsConnector {
     }
 
     /**
-     * Deploys a WS-BPEL 2.0 process unto the referenced WSO2 BPS
+     * Deploys a WS-BPEL 2.0 process unto the referenced WSO2 BPS and waits until the process is
+     * active
      *
      * @param process the process to deploy packaged for a WSO2 BPS
      * @param uri the URI of the WSO2 BPS
@@ -111,83 +128,93 @@ public class BpsConnector {
      *         successful, else null
      */
     public String deploy(final File process, final String uri, final String user, final String pw) throws Exception {
-        if (uri == null | user == null | pw == null) {
+        try {
+            return this.deployAsync(process, uri, user, pw).get();
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RemoteException) {
+                BpsConnector.LOG.error("RemoteException: Server not available", cause);
+                this.invalidateSession();
+                return null;
+            }
+            if (cause instanceof AuthenticationAdminAuthenticationExceptionException) {
+                BpsConnector.LOG.error("Auth at BPS failed", cause);
+                this.invalidateSession();
+                return null;
+            }
+            if (cause instanceof ProcessManagementException) {
+                BpsConnector.LOG.error("The Process isn't valid", cause);
+                return null;
+            }
+            if (cause instanceof UnknownHostException) {
+                BpsConnector.LOG.error("UnknownHostException: ", cause);
+                return null;
+            }
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+        catch (final InterruptedException e) {
+            BpsConnector.LOG.error("InterruptedException: ", e);
+            Thread.currentThread().interrupt();
             return null;
         }
-        String pid = null;
+    }
+
+    /**
+     * Deploys a WS-BPEL 2.0 process unto the referenced WSO2 BPS. The process archive is uploaded by
+     * the calling thread, the deployment state is tracked asynchronously afterwards. The state is
+     * polled with exponentially increasing delays until the process is active or the deployment
+     * timeout is exceeded.
+     *
+     * @param process the process to deploy packaged for a WSO2 BPS
+     * @param uri the URI of the WSO2 BPS
+     * @param user the username for the WSO2 BPS
+     * @param pw the password for the WSO2 BPS
+     * @return a future which is completed with the PID (ProcessId) of the deployed process once it
+     *         is active, or with null if a parameter is missing
+     */
+    public CompletableFuture<String> deployAsync(final File process, final String uri, final String user,
+                                                 final String pw) {
+        if (uri == null | user == null | pw == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final String fileName = process.getName();
+        final String packageId;
+        final ProcessManagementServiceStub stub;
         try {
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
-            final String fileName = process.getName();
             final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
             BpsConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
-            final String packageId = this.deployFile(process, fileName, fileType);
-            List<QName> pidsOfPackage = new ArrayList<>();
-            // this is a "brutal" hack <=> pulling from server until a pid is
-            // set
-            int pullCount = 0;
-            while (pidsOfPackage.isEmpty() & pullCount < 50) {
-                BpsConnector.LOG.debug("Polling for pid with packageId " + packageId);
-                pidsOfPackage = this.getPIDsForPackageId(packageId, uri, user, pw);
-                if (pidsOfPackage.isEmpty()) {
-                    // as we don't want the bps to be overworked we wait here
-                    try {
-                        Thread.sleep(2000);
-                    }
-                    catch (final InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                // for safety
-                pullCount++;
-            }
-
-            pid = this.calcHighestPid(pidsOfPackage, packageId);
-
-            if (pid == null || pid.isEmpty()) {
-                throw new Exception("Couldn't deploy plan " + fileName);
-            }
+            // the upload isn't idempotent, thus, it is sent only once
+            packageId = this.requestOnce(() -> this.deployFile(process, fileName, fileType));
+            stub = this.getProcessManagementServiceStub();
+        }
+        catch (final Exception e) {
+            final CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
 
-            final ProcessManagementServiceStub stub = this.getProcessManagementServiceStub();
+        final long deadline = DeploymentPoller.getDeadline();
 
+        // poll until a pid is set for the package and then until the process is active
+        return POLLER.poll(() -> {
+            BpsConnector.LOG.debug("Polling for pid with packageId " + packageId);
+            final List<QName> pidsOfPackage = this.getPIDsForPackageId(packageId, uri, user, pw);
+            return pidsOfPackage.isEmpty() ? null : this.calcHighestPid(pidsOfPackage, packageId);
+        }, deadline, "Couldn't deploy plan " + fileName).thenCompose(pid -> POLLER.poll(() -> {
+            BpsConnector.LOG.debug("Checking deployment state of Pid: " + pid);
             final GetProcessInfoIn req2 = new GetProcessInfoIn();
-
             req2.setPid(QName.valueOf(pid));
-            // request process info for pid
-            ProcessInfo info = ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(req2);
-            BpsConnector.LOG.debug("Checking packageName for Pid: " + pid);
-            BpsConnector.LOG.debug("Package name of PID is: "
-                + info.getProcessInfo().getDeploymentInfo().getPackageName());
-
-            // check deployment state until its active
-            while (info.getProcessInfo().getStatus() != ProcessStatus.ACTIVE) {
-                info = ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(req2);
-                Thread.sleep(500);
-            }
-
-        }
-        catch (final RemoteException e) {
-            BpsConnector.LOG.error("RemoteException: Server not available", e);
-            return null;
-        }
-        catch (final AuthenticationAdminAuthenticationExceptionException e) {
-            BpsConnector.LOG.error("Auth at BPS failed", e);
-            return null;
-        }
-        catch (final ProcessManagementException e) {
-            BpsConnector.LOG.error("The Process isn't valid", e);
-            return null;
-        }
-        catch (final UnknownHostException e) {
-            BpsConnector.LOG.error("UnknownHostException: ", e);
-            return null;
-        }
-        catch (final InterruptedException e) {
-            BpsConnector.LOG.error("InterruptedException: ", e);
-            return null;
-        }
-        return pid;
+            final ProcessInfo info =
+                this.request(() -> ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(req2));
+            return info.getProcessInfo().getStatus() == ProcessStatus.ACTIVE ? pid : null;
+        }, deadline, "Plan " + fileName + " didn't become active"));
     }
 
     private String calcHighestPid(final List<QName> pids, final String packageId) {
@@ -239,7 +266,6 @@ public class BpsConnector {
             // set up authentication
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
 
             BpsConnector.LOG.debug("Fetching pid for package: " + packageId);
             // set up service stub and data for request
@@ -250,13 +276,9 @@ public class BpsConnector {
             // http://wso2.org/project/bps/2.1.0/docs/management_api.html
             processReq.setGetAllProcesses("name}}* namespace=*");
 
-            // another pulling hack
-
-            ProcessIDList pidList = null;
-            while (pidList == null) {
-                // send request
-                pidList = ((ProcessManagementServiceStub) this.setCookie(stub)).getAllProcesses(processReq);
-            }
+            // send request
+            final ProcessIDList pidList =
+                this.request(() -> ((ProcessManagementServiceStub) this.setCookie(stub)).getAllProcesses(processReq));
 
             // this can happen if the bps has no process deployed
             if (pidList != null && pidList.getPid() != null) {
@@ -270,7 +292,8 @@ public class BpsConnector {
                 for (final String pid : pidList.getPid()) {
                     req2.setPid(QName.valueOf(pid));
                     // request process info for pid
-                    final ProcessInfo info = ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(req2);
+                    final ProcessInfo info =
+                        this.request(() -> ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(req2));
                     BpsConnector.LOG.debug("Checking packageName for Pid: " + pid);
                     BpsConnector.LOG.debug("Package name of PID is: "
                         + info.getProcessInfo().getDeploymentInfo().getPackageName());
@@ -289,6 +312,7 @@ public class BpsConnector {
         }
         catch (final RemoteException e) {
             BpsConnector.LOG.error("Error while sending Request", e);
+            this.invalidateSession();
         }
         catch (final ProcessManagementException e) {
             BpsConnector.LOG.error("Error with request-processing at ProcessManagementService", e);
@@ -314,9 +338,8 @@ public class BpsConnector {
         try {
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
             final BPELPackageManagementServiceStub stub = this.getBPELPackageManagementServiceStub();
-            ((BPELPackageManagementServiceStub) this.setCookie(stub)).undeployBPELPackage(request);
+            this.request(() -> ((BPELPackageManagementServiceStub) this.setCookie(stub)).undeployBPELPackage(request));
         }
         catch (final AxisFault e) {
             BpsConnector.LOG.error("AxisFault: ", e);
@@ -388,10 +411,16 @@ public class BpsConnector {
         request.set_package(packageName);
 
         try {
-            // authenticate with bps
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
+            // Init axis2 stub
+            final BPELPackageManagementServiceStub stub = this.getBPELPackageManagementServiceStub();
+            // authenticate with bps, set the cookie from authentication and call BPS backend
+            this.request(() -> ((BPELPackageManagementServiceStub) this.setCookie(stub)).undeployBPELPackage(request));
+        }
+        catch (final AxisFault e) {
+            BpsConnector.LOG.error("Initializing Axis2 Stub for BPS access failed", e);
+            return false;
         }
         catch (final RemoteException e) {
             BpsConnector.LOG.error("Some remote exception occured while calling the BPS", e);
@@ -405,38 +434,101 @@ public class BpsConnector {
             BpsConnector.LOG.error("Some error at the BPS occured", e);
             return false;
         }
+        catch (final PackageManagementException e) {
+            BpsConnector.LOG.error("Some error at the BPS occured", e);
+            return false;
+        }
 
+        return true;
+    }
+
+    /**
+     * Logs into the WSO2 BPS declared in the address field and sends the given request with the
+     * session. If the request with a cached session is rejected because of the session, e.g. because
+     * the BPS dropped it, the session is invalidated and the request is sent once more after a new
+     * login. Other faults, e.g. timeouts or server errors, are not retried.
+     *
+     * @param request sends the request with the cookie of the session
+     * @return the response to the request
+     * @throws RemoteException is thrown when connection failed
+     * @throws AuthenticationAdminAuthenticationExceptionException is thrown when login was wrong
+     * @throws UnknownHostException is thrown when no connection can be established
+     * @throws E is thrown when the request was rejected
+     */
+    private <T, E extends Exception> T request(final Request<T, E> request)
+        throws RemoteException, AuthenticationAdminAuthenticationExceptionException, UnknownHostException, E {
+        final boolean cachedSession = this.login();
         try {
-            // Init axis2 stub
-            final BPELPackageManagementServiceStub stub = this.getBPELPackageManagementServiceStub();
-            // set the cookie from authentication and call BPS backend
-            ((BPELPackageManagementServiceStub) this.setCookie(stub)).undeployBPELPackage(request);
+            return request.send();
         }
-        catch (final AxisFault e) {
-            BpsConnector.LOG.error("Initializing Axis2 Stub for BPS access failed", e);
-            return false;
+        catch (final RemoteException e) {
+            if (!cachedSession || !isSessionFault(e)) {
+                throw e;
+            }
+            BpsConnector.LOG.debug("Session of BPS login was rejected, logging in to BPS again", e);
+            this.invalidateSession();
+            this.login();
+            return request.send();
+        }
+    }
+
+    /**
+     * Logs into the WSO2 BPS declared in the address field and sends the given request with the
+     * session exactly once. This is used for requests which must not be repeated, e.g. uploads. If the
+     * request fails, the session is invalidated, thus, the next request logs in again.
+     *
+     * @param request sends the request with the cookie of the session
+     * @return the response to the request
+     * @throws RemoteException is thrown when connection failed
+     * @throws AuthenticationAdminAuthenticationExceptionException is thrown when login was wrong
+     * @throws UnknownHostException is thrown when no connection can be established
+     * @throws E is thrown when the request was rejected
+     */
+    private <T, E extends Exception> T requestOnce(final Request<T, E> request)
+        throws RemoteException, AuthenticationAdminAuthenticationExceptionException, UnknownHostException, E {
+        this.login();
+        try {
+            return request.send();
         }
         catch (final RemoteException e) {
-            BpsConnector.LOG.error("Some remote exception occured while calling the BPS", e);
-            return false;
+            this.invalidateSession();
+            throw e;
         }
-        catch (final PackageManagementException e) {
-            BpsConnector.LOG.error("Some error at the BPS occured", e);
+    }
+
+    /**
+     * Checks whether the BPS rejected a request because of the session or the authentication, as
+     * opposed to e.g. timeouts or server errors
+     *
+     * @param e the fault of the request
+     * @return true if the request failed because of the session
+     */
+    private static boolean isSessionFault(final RemoteException e) {
+        if (!(e instanceof AxisFault) || e.getMessage() == null) {
             return false;
         }
-
-        return true;
+        final String message = e.getMessage().toLowerCase();
+        return message.contains("session") || message.contains("login") || message.contains("authenticat")
+            || message.contains("access denied") || message.contains("unauthorized");
     }
 
     /**
      * Logs into the WSO2 BPS declared in the address field
      *
+     * @return true if the session of a previous login is reused
      * @throws RemoteException is thrown when connection failed
      * @throws AuthenticationAdminAuthenticationExceptionException is thrown when login was wrong
      * @throws UnknownHostException is thrown when no connection can be established
      */
-    private void login() throws RemoteException, AuthenticationAdminAuthenticationExceptionException,
-                         UnknownHostException {
+    private boolean login() throws RemoteException, AuthenticationAdminAuthenticationExceptionException,
+                            UnknownHostException {
+        final Session session = SESSIONS.get(this.getSessionKey());
+        if (session != null && System.currentTimeMillis() - session.createdAt < SESSION_LIFETIME) {
+            BpsConnector.LOG.debug("Reusing session of BPS login");
+            this.cookie = session.cookie;
+            return true;
+        }
+
         BpsConnector.LOG.debug("Logging in to BPS");
         final Login login = new Login();
         login.setUsername(this.user);
@@ -444,9 +536,27 @@ public class BpsConnector {
         login.setRemoteAddress(InetAddress.getLocalHost().getHostAddress());
         final AuthenticationAdminStub stub = this.getAuthenticationAdminStub();
         stub._getServiceClient().getOptions().setManageSession(true);
+        this.setTimeout(stub._getServiceClient());
         stub.login(login);
         this.cookie =
             (String) stub._getServiceClient().getLastOperationContext().getProperty(HTTPConstants.COOKIE_STRING);
+        if (this.cookie != null) {
+            SESSIONS.put(this.getSessionKey(), new Session(this.cookie));
+        }
+        return false;
+    }
+
+    /**
+     * Removes the cached session of the BPS login, e.g. because a request with it failed
+     */
+    private void invalidateSession() {
+        if (this.adress != null && this.user != null && this.passwd != null) {
+            SESSIONS.remove(this.getSessionKey());
+        }
+    }
+
+    private String getSessionKey() {
+        return this.adress + "|" + this.user + "|" + this.passwd.hashCode();
     }
 
     /**
@@ -490,7 +600,6 @@ public class BpsConnector {
         try {
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
 
             // set up service stub and data for request
             final BPELPackageManagementServiceStub stub = this.getBPELPackageManagementServiceStub();
@@ -503,7 +612,8 @@ public class BpsConnector {
                 processReq.setPage(count);
                 // make request
                 final DeployedPackagesPaginated result =
-                    ((BPELPackageManagementServiceStub) this.setCookie(stub)).listDeployedPackagesPaginated(processReq);
+                    this.request(() -> ((BPELPackageManagementServiceStub) this.setCookie(stub))
+                        .listDeployedPackagesPaginated(processReq));
 
                 // process response
                 pages = result.getPages();
@@ -540,11 +650,21 @@ public class BpsConnector {
     private Stub setCookie(final Stub stub) {
         stub._getServiceClient().getOptions().setProperty(Constants.Configuration.ENABLE_MTOM, Constants.VALUE_TRUE);
         stub._getServiceClient().getOptions().setManageSession(true);
-        stub._getServiceClient().getOptions().setTimeOutInMilliSeconds(60000000);
+        this.setTimeout(stub._getServiceClient());
         stub._getServiceClient().getOptions().setProperty(HTTPConstants.COOKIE_STRING, this.cookie);
         return stub;
     }
 
+    /**
+     * Sets the connection and response timeout for requests of the given axis2 client
+     *
+     * @param serviceClient an Axis2 serviceClient
+     */
+    private void setTimeout(final ServiceClient serviceClient) {
+        serviceClient.getOptions().setTimeOutInMilliSeconds(REQUEST_TIMEOUT);
+        serviceClient.getOptions().setProperty(HTTPConstants.CONNECTION_TIMEOUT, REQUEST_TIMEOUT);
+    }
+
     /**
      * Returns a map from partnerLink as string to an endpoint as URI, denoting the partnerLink
      *
@@ -587,7 +707,6 @@ public class BpsConnector {
         try {
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
 
             // set up service stub and data for request
             final ProcessManagementServiceStub stub = this.getProcessManagementServiceStub();
@@ -595,7 +714,8 @@ public class BpsConnector {
             processReq.setPid(QName.valueOf(pid));
 
             // make request
-            final ProcessInfo info = ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(processReq);
+            final ProcessInfo info =
+                this.request(() -> ((ProcessManagementServiceStub) this.setCookie(stub)).getProcessInfo(processReq));
 
             BpsConnector.LOG.debug("Looking for endpoint for process "
                 + info.getProcessInfo().getDefinitionInfo().getProcessName());
@@ -644,7 +764,6 @@ public class BpsConnector {
             // set up authentication
             this.setEndpoint(uri);
             this.setLogin(user, pw);
-            this.login();
 
             // set up service stub and data for request
             final ProcessManagementServiceStub stub = this.getProcessManagementServiceStub();
@@ -656,7 +775,7 @@ public class BpsConnector {
 
             // send request
             final ProcessIDList pidList =
-                ((ProcessManagementServiceStub) this.setCookie(stub)).getAllProcesses(processReq);
+                this.request(() -> ((ProcessManagementServiceStub) this.setCookie(stub)).getAllProcesses(processReq));
 
             // check for case when there are no process deployed anymore
             if (pidList.getPid() == null) {
@@ -767,4 +886,26 @@ public class BpsConnector {
         }
     }
 
+    /**
+     * Request to the BPS which is sent with the cookie of a BPS login
+     */
+    @FunctionalInterface
+    private interface Request<T, E extends Exception> {
+
+        T send() throws RemoteException, E;
+    }
+
+    /**
+     * Session cookie of a BPS login
+     */
+    private static class Session {
+
+        private final String cookie;
+        private final long createdAt = System.currentTimeMillis();
+
+        private Session(final String cookie) {
+            this.cookie = cookie;
+        }
+    }
+
 }
@@ -6,7 +6,6 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.UnknownHostException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.rmi.RemoteException;
@@ -16,10 +15,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import javax.xml.namespace.QName;
 import javax.xml.rpc.ServiceException;
 
+import org.apache.axis.client.Stub;
 import org.apache.axis.message.MessageElement;
 import org.apache.www.ode.deployapi.DeployUnit;
 import org.apache.www.ode.deployapi.DeploymentPortType;
@@ -31,6 +33,8 @@ import org.apache.www.ode.pmapi.ProcessManagementServiceLocator;
 import org.apache.www.ode.pmapi.types._2006._08._02.TEndpointReferencesEndpointRef;
 import org.apache.www.ode.pmapi.types._2006._08._02.TProcessInfo;
 import org.apache.www.ode.pmapi.types._2006._08._02.TProcessStatus;
+import org.opentosca.container.core.common.DeploymentPoller;
+import org.opentosca.container.core.common.Settings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3.www._2005._05.xmlmime.Base64Binary;
@@ -63,6 +67,12 @@ public class OdeConnector {
 
     private final static Logger LOG = LoggerFactory.getLogger(OdeConnector.class);
 
+    // tracks the deployment state of all deployments, thus, no thread is blocked per deployment
+    private final static DeploymentPoller POLLER = new DeploymentPoller("ode-deployment-tracking");
+
+    // the requests to the ODE block the polling threads, thus, they are given up after this timeout
+    private final static int REQUEST_TIMEOUT = Integer.parseInt(Settings.ENGINE_PLAN_BPEL_REQUEST_TIMEOUT);
+
     /**
      * Sets the endpoint of this connector
      *
@@ -74,7 +84,8 @@ public class OdeConnector {
     }
 
     /**
-     * Deploys a WS-BPEL 2.0 process unto the referenced Apache ODE
+     * Deploys a WS-BPEL 2.0 process unto the referenced Apache ODE and waits until the process is
+     * active
      *
      * @param process the process to deploy packaged for a Apache ODE
      * @param uri the URI of the Apache ODE
@@ -82,76 +93,76 @@ public class OdeConnector {
      *         successful, else null
      */
     public String deploy(final File process, final String uri) throws Exception {
-        if (uri == null) {
-            return null;
-        }
-        String pid = null;
         try {
-            // Update the service endpoint
-            setEndpoint(uri);
-
-            final String fileName = process.getName();
-            final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
-            OdeConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
-            final String packageId = deployFile(process, fileName, fileType);
-            List<QName> pidsOfPackage = new ArrayList<>();
-            // this is a "brutal" hack <=> pulling from server until a pid is
-            // set
-            int pullCount = 0;
-            while (pidsOfPackage.isEmpty() & pullCount < 50) {
-                OdeConnector.LOG.debug("Polling for pid with packageId " + packageId);
-                pidsOfPackage = getPIDsForPackageId(packageId, uri);
-                if (pidsOfPackage.isEmpty()) {
-                    // as we don't want ODE to be overworked we wait here
-                    try {
-                        Thread.sleep(2000);
-                    }
-                    catch (final InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-                // for safety
-                pullCount++;
+            return deployAsync(process, uri).get();
+        }
+        catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ManagementFault) {
+                OdeConnector.LOG.error("The Process isn't valid", cause);
+                return null;
             }
-
-            pid = calcHighestPid(pidsOfPackage, packageId);
-
-            if (pid == null || pid.isEmpty()) {
-                throw new Exception("Couldn't deploy plan " + fileName);
+            if (cause instanceof RemoteException) {
+                OdeConnector.LOG.error("RemoteException: Server not available", cause);
+                return null;
             }
-
-            final ProcessManagementPortType client = getProcessManagementServiceClient();
-
-            // request process info for pid
-            final QName processId = QName.valueOf(pid);
-            TProcessInfo info = client.getProcessInfo(processId);
-            OdeConnector.LOG.debug("Checking packageName for Pid: " + pid);
-            OdeConnector.LOG.debug("Package name of PID is: " + info.getDeploymentInfo().get_package());
-
-            // check deployment state until its active
-            while (!info.getStatus().equals(TProcessStatus.ACTIVE)) {
-                info = client.getProcessInfo(processId);
-                Thread.sleep(500);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
             }
-
+            throw e;
         }
-        catch (final ManagementFault e) {
-            OdeConnector.LOG.error("The Process isn't valid", e);
+        catch (final InterruptedException e) {
+            OdeConnector.LOG.error("InterruptedException: ", e);
+            Thread.currentThread().interrupt();
             return null;
         }
-        catch (final RemoteException e) {
-            OdeConnector.LOG.error("RemoteException: Server not available", e);
-            return null;
+    }
+
+    /**
+     * Deploys a WS-BPEL 2.0 process unto the referenced Apache ODE. The process archive is uploaded
+     * by the calling thread, the deployment state is tracked asynchronously afterwards. The state is
+     * polled with exponentially increasing delays until the process is active or the deployment
+     * timeout is exceeded.
+     *
+     * @param process the process to deploy packaged for a Apache ODE
+     * @param uri the URI of the Apache ODE
+     * @return a future which is completed with the PID (ProcessId) of the deployed process once it
+     *         is active, or with null if no URI is given
+     */
+    public CompletableFuture<String> deployAsync(final File process, final String uri) {
+        if (uri == null) {
+            return CompletableFuture.completedFuture(null);
         }
-        catch (final UnknownHostException e) {
-            OdeConnector.LOG.error("UnknownHostException: ", e);
-            return null;
+
+        // Update the service endpoint
+        setEndpoint(uri);
+
+        final String fileName = process.getName();
+        final String fileType = fileName.substring(fileName.lastIndexOf(".") + 1, fileName.length());
+        final String packageId;
+        try {
+            OdeConnector.LOG.debug("Trying to deploy file: {}", process.getAbsolutePath());
+            packageId = deployFile(process, fileName, fileType);
         }
-        catch (final InterruptedException e) {
-            OdeConnector.LOG.error("InterruptedException: ", e);
-            return null;
+        catch (final IOException e) {
+            final CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
         }
-        return pid;
+
+        final long deadline = DeploymentPoller.getDeadline();
+        final ProcessManagementPortType client = getProcessManagementServiceClient();
+
+        // poll until a pid is set for the package and then until the process is active
+        return POLLER.poll(() -> {
+            OdeConnector.LOG.debug("Polling for pid with packageId " + packageId);
+            final List<QName> pidsOfPackage = getPIDsForPackageId(packageId, uri);
+            return pidsOfPackage.isEmpty() ? null : calcHighestPid(pidsOfPackage, packageId);
+        }, deadline, "Couldn't deploy plan " + fileName).thenCompose(pid -> POLLER.poll(() -> {
+            OdeConnector.LOG.debug("Checking deployment state of Pid: " + pid);
+            final TProcessInfo info = client.getProcessInfo(QName.valueOf(pid));
+            return info.getStatus().equals(TProcessStatus.ACTIVE) ? pid : null;
+        }, deadline, "Plan " + fileName + " didn't become active"));
     }
 
     private String calcHighestPidForStrings(final List<String> pids, final String packageId) {
@@ -546,6 +557,7 @@ public class OdeConnector {
         try {
             final URL url = new URL(serviceLocation);
             client = new ProcessManagementServiceLocator().getProcessManagementPort(url);
+            ((Stub) client).setTimeout(REQUEST_TIMEOUT);
         }
         catch (final MalformedURLException e) {
             OdeConnector.LOG.error("Cannot resolve a URL from the service location {0}", serviceLocation);
@@ -567,6 +579,7 @@ public class OdeConnector {
         try {
             final URL url = new URL(serviceLocation);
             client = new DeploymentServiceLocator().getDeploymentPort(url);
+            ((Stub) client).setTimeout(REQUEST_TIMEOUT);
         }
         catch (final MalformedURLException e) {
             OdeConnector.LOG.error("Cannot resolve a URL from the service location {0}", serviceLocation);
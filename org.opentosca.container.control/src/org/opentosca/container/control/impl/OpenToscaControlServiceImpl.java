@@ -3,8 +3,16 @@ package org.opentosca.container.control.impl;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.namespace.QName;
 
@@ -15,6 +23,7 @@ import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.engine.IToscaEngineService;
 import org.opentosca.container.core.engine.xml.IXMLSerializerService;
 import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessOperation;
 import org.opentosca.container.core.model.deployment.process.DeploymentProcessState;
 import org.opentosca.container.core.model.instance.ServiceTemplateInstanceID;
@@ -54,6 +63,15 @@ public class OpenToscaControlServiceImpl implements IOpenToscaControlService {
 
     private final Logger LOG = LoggerFactory.getLogger(OpenToscaControlServiceImpl.class);
 
+    // the plans of all CSARs are deployed by a shared, bounded pool of workers
+    private final static ExecutorService PLAN_DEPLOYMENT_EXECUTOR =
+        Executors.newFixedThreadPool(Math.max(1, Integer.parseInt(Settings.CONTAINER_PLAN_DEPLOYMENT_WORKERS)),
+                                     runnable -> {
+                                         final Thread thread = new Thread(runnable, "container-plan-deployment");
+                                         thread.setDaemon(true);
+                                         return thread;
+                                     });
+
     /**
      * {@inheritDoc}
      */
@@ -84,25 +102,44 @@ public class OpenToscaControlServiceImpl implements IOpenToscaControlService {
      */
     @Override
     public Boolean invokePlanDeployment(final CSARID csarID, final QName serviceTemplateID) {
+        return invokePlanDeployment(csarID, serviceTemplateID, OpenToscaControlServiceImpl.toscaEngine,
+                                    OpenToscaControlServiceImpl.planEngine,
+                                    OpenToscaControlServiceImpl.coreDeploymentTracker,
+                                    OpenToscaControlServiceImpl.endpointService);
+    }
 
-        OpenToscaControlServiceImpl.coreDeploymentTracker.storeDeploymentState(csarID,
-                                                                               DeploymentProcessState.PLAN_DEPLOYMENT_ACTIVE);
+    /**
+     * Deploys the plans of a ServiceTemplate with the given services.
+     *
+     * @param csarID ID which uniquely identifies a CSAR file.
+     * @param serviceTemplateID the ServiceTemplate whose plans are deployed
+     * @param toscaEngine the TOSCA engine resolving the ServiceTemplate
+     * @param planEngine the plan engine deploying the plans, may be <code>null</code>
+     * @param deploymentTracker the tracker storing the deployment states
+     * @param endpointService the endpoint service printing the plan endpoints
+     * @return <code>true</code> if all plans were deployed, <code>false</code> otherwise
+     */
+    protected Boolean invokePlanDeployment(final CSARID csarID, final QName serviceTemplateID,
+                                           final IToscaEngineService toscaEngine,
+                                           final IPlanEngineService planEngine,
+                                           final ICoreDeploymentTrackerService deploymentTracker,
+                                           final ICoreEndpointService endpointService) {
+
+        deploymentTracker.storeDeploymentState(csarID, DeploymentProcessState.PLAN_DEPLOYMENT_ACTIVE);
 
         // list of failure - not deployed artifacts
         final List<TPlan> listOfUndeployedPlans = new ArrayList<>();
 
         // invoke PlanEngine
         this.LOG.info("Invoke the PlanEngine for processing the Plans.");
-        if (OpenToscaControlServiceImpl.planEngine != null) {
+        if (planEngine != null) {
 
             final TServiceTemplate mainServiceTemplate =
-                (TServiceTemplate) OpenToscaControlServiceImpl.toscaEngine.getToscaReferenceMapper()
-                                                                          .getJAXBReference(csarID, serviceTemplateID);
+                (TServiceTemplate) toscaEngine.getToscaReferenceMapper().getJAXBReference(csarID, serviceTemplateID);
 
             if (mainServiceTemplate == null) {
                 this.LOG.error("Did not found the main ServiceTemplate \"" + serviceTemplateID + "\".");
-                OpenToscaControlServiceImpl.coreDeploymentTracker.storeDeploymentState(csarID,
-                                                                                       DeploymentProcessState.TOSCA_PROCESSED);
+                deploymentTracker.storeDeploymentState(csarID, DeploymentProcessState.TOSCA_PROCESSED);
                 return false;
             }
 
@@ -123,38 +160,126 @@ public class OpenToscaControlServiceImpl implements IOpenToscaControlService {
                 namespace = serviceTemplateID.getNamespaceURI();
             }
 
+            final String planNamespace = namespace;
+
+            // deploy the plans concurrently, the deployment state of each plan is
+            // stored by this thread only
+            final AtomicBoolean skipDeployments = new AtomicBoolean(false);
+            final Map<TPlan, Future<Boolean>> deployments = new LinkedHashMap<>();
             for (final TPlan plan : plans.getPlan()) {
+                deploymentTracker.storePlanDeploymentInfo(csarID, getPlanRelPath(plan),
+                                                          PlanDeploymentState.PLAN_DEPLOYING);
+                final Callable<Boolean> deployment =
+                    () -> !skipDeployments.get()
+                        && planEngine.deployPlan(plan, planNamespace, csarID);
+                deployments.put(plan, PLAN_DEPLOYMENT_EXECUTOR.submit(deployment));
+            }
 
-            	if (!OpenToscaControlServiceImpl.planEngine.deployPlan(plan, namespace, csarID)) {
+            // if this thread is interrupted, the deployments which didn't start yet are skipped
+            // and the running ones are still awaited, so all deployed plans are rolled back
+            boolean interrupted = false;
+            final List<TPlan> listOfDeployedPlans = new ArrayList<>();
+            for (final Map.Entry<TPlan, Future<Boolean>> deployment : deployments.entrySet()) {
+                final TPlan plan = deployment.getKey();
+                boolean deployed = false;
+                while (true) {
+                    try {
+                        deployed = Boolean.TRUE.equals(deployment.getValue().get());
+                        break;
+                    }
+                    catch (final InterruptedException e) {
+                        this.LOG.error("Interrupted while waiting for the deployment of Plan \"" + plan.getId()
+                            + "\". Skipping the remaining deployments.");
+                        interrupted = true;
+                        skipDeployments.set(true);
+                    }
+                    catch (final ExecutionException e) {
+                        this.LOG.error("Deployment of Plan \"" + plan.getId() + "\" failed.", e.getCause());
+                        break;
+                    }
+                }
+
+                final PlanDeploymentState state;
+                if (deployed) {
+                    listOfDeployedPlans.add(plan);
+                    state = PlanDeploymentState.PLAN_DEPLOYED;
+                } else {
                     listOfUndeployedPlans.add(plan);
+                    state = PlanDeploymentState.PLAN_DEPLOYMENT_FAILED;
                 }
+                deploymentTracker.storePlanDeploymentInfo(csarID, getPlanRelPath(plan), state);
             }
 
             // check the success of the plan deployment
             if (listOfUndeployedPlans.size() != 0) {
                 this.LOG.error("Plan deployment failed!");
-                OpenToscaControlServiceImpl.coreDeploymentTracker.storeDeploymentState(csarID,
-                                                                                       DeploymentProcessState.TOSCA_PROCESSED);
+                rollbackPlanDeployment(csarID, planNamespace, listOfDeployedPlans, planEngine, deploymentTracker);
+            }
+
+            // restore the interrupt only after the rollback, which mustn't be cut short
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (listOfUndeployedPlans.size() != 0) {
+                deploymentTracker.storeDeploymentState(csarID, DeploymentProcessState.TOSCA_PROCESSED);
                 return false;
             }
 
         } else {
             this.LOG.error("PlanEngine is not alive!");
-            OpenToscaControlServiceImpl.coreDeploymentTracker.storeDeploymentState(csarID,
-                                                                                   DeploymentProcessState.TOSCA_PROCESSED);
+            deploymentTracker.storeDeploymentState(csarID, DeploymentProcessState.TOSCA_PROCESSED);
             return false;
         }
 
         this.LOG.info("The deployment of the management plans of the Service Template " + serviceTemplateID.toString()
             + "\" inside of the CSAR \"" + csarID + "\" was successfull.");
-        OpenToscaControlServiceImpl.coreDeploymentTracker.storeDeploymentState(csarID,
-                                                                               DeploymentProcessState.PLANS_DEPLOYED);
+        deploymentTracker.storeDeploymentState(csarID, DeploymentProcessState.PLANS_DEPLOYED);
 
-        OpenToscaControlServiceImpl.endpointService.printPlanEndpoints();
+        endpointService.printPlanEndpoints();
 
         return true;
     }
 
+    /**
+     * Undeploys the plans which were deployed before the deployment of another plan of the same
+     * ServiceTemplate failed.
+     *
+     * @param csarID ID which uniquely identifies a CSAR file.
+     * @param namespace the namespace of the plans
+     * @param deployedPlans the plans to undeploy
+     * @param planEngine the plan engine undeploying the plans
+     * @param deploymentTracker the tracker storing the deployment states
+     */
+    private void rollbackPlanDeployment(final CSARID csarID, final String namespace, final List<TPlan> deployedPlans,
+                                        final IPlanEngineService planEngine,
+                                        final ICoreDeploymentTrackerService deploymentTracker) {
+        for (final TPlan plan : deployedPlans) {
+            this.LOG.info("Rolling back the deployment of Plan \"" + plan.getId() + "\".");
+            final String planRelPath = getPlanRelPath(plan);
+            deploymentTracker.storePlanDeploymentInfo(csarID, planRelPath, PlanDeploymentState.PLAN_UNDEPLOYING);
+            if (planEngine.undeployPlan(plan, namespace, csarID)) {
+                deploymentTracker.storePlanDeploymentInfo(csarID, planRelPath, PlanDeploymentState.PLAN_UNDEPLOYED);
+            } else {
+                this.LOG.warn("Rollback of the deployment of Plan \"" + plan.getId() + "\" failed.");
+                deploymentTracker.storePlanDeploymentInfo(csarID, planRelPath,
+                                                          PlanDeploymentState.PLAN_UNDEPLOYMENT_FAILED);
+            }
+        }
+    }
+
+    /**
+     * @param plan a Plan of a ServiceTemplate
+     * @return the relative path of the plan inside the CSAR, or the ID of the plan if its model is
+     *         contained in the ServiceTemplate
+     */
+    private String getPlanRelPath(final TPlan plan) {
+        if (plan.getPlanModelReference() != null) {
+            return plan.getPlanModelReference().getReference();
+        }
+        return plan.getId();
+    }
+
     /**
      * {@inheritDoc}
      *
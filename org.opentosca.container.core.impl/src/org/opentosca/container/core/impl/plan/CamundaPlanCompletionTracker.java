@@ -0,0 +1,193 @@
+package org.opentosca.container.core.impl.plan;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
+
+/**
+ * Tracks the completion of process instances running on the Camunda BPMN engine.
+ *
+ * All tracked process instances share one small scheduler and one Jersey client. The state of each
+ * instance is polled with an increasing delay and once the instance ended, all requested output
+ * variables are fetched with a single history query. Instances which did not end before the
+ * tracking timeout are reported as failed.
+ */
+public class CamundaPlanCompletionTracker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CamundaPlanCompletionTracker.class);
+
+    private static final long INITIAL_POLL_DELAY = 500;
+    private static final long MAX_POLL_DELAY = 10000;
+    private static final int SCHEDULER_THREADS = 4;
+
+    private static final String PATH_PROCESS_INSTANCE = "process-instance";
+    private static final String PATH_HISTORY_VARIABLES = "history/variable-instance";
+
+    private final String baseUrl;
+    private final Client client;
+    private final ScheduledExecutorService scheduler;
+    private final long timeout;
+
+
+    /**
+     * @param timeout the time in milliseconds after which the tracking of a process instance is
+     *        given up
+     */
+    public CamundaPlanCompletionTracker(final String baseUrl, final String username, final String password,
+                                        final long timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.timeout = timeout;
+
+        this.client = Client.create();
+        this.client.addFilter(new HTTPBasicAuthFilter(username, password));
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(SCHEDULER_THREADS, runnable -> {
+            final Thread thread = new Thread(runnable, "camunda-plan-tracker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Waits asynchronously for the given process instance to end.
+     *
+     * @param processInstanceID the ID of the Camunda process instance
+     * @param variableNames the names of the output variables to retrieve once the instance ended
+     * @return a future which is completed with the values of the requested variables, variables
+     *         without a value are mapped to an empty String. If the instance did not end within the
+     *         timeout or the engine could not be queried, the future is completed exceptionally.
+     */
+    public CompletableFuture<Map<String, String>> track(final String processInstanceID,
+                                                        final Collection<String> variableNames) {
+        final CompletableFuture<Map<String, String>> future = new CompletableFuture<>();
+        final long deadline = System.currentTimeMillis() + this.timeout;
+        schedulePoll(processInstanceID, variableNames, future, INITIAL_POLL_DELAY, deadline);
+        return future;
+    }
+
+    /**
+     * Waits asynchronously for the given process instance to end and hands its outputs to the
+     * completion handler. If the instance could not be tracked or the completion handler throws, the
+     * failure handler is called instead, so the plan is finalized in any case. An exception of the
+     * failure handler is logged.
+     *
+     * @param processInstanceID the ID of the Camunda process instance
+     * @param variableNames the names of the output variables to retrieve once the instance ended
+     * @param onCompletion handles the values of the requested variables
+     * @param onFailure handles the cause of a failed tracking or completion
+     * @return a future which is completed once one of the handlers returned
+     */
+    public CompletableFuture<Void> track(final String processInstanceID, final Collection<String> variableNames,
+                                         final Consumer<Map<String, String>> onCompletion,
+                                         final Consumer<Throwable> onFailure) {
+        return track(processInstanceID, variableNames).handle((outputs, e) -> {
+            Throwable failure = e;
+            if (failure == null) {
+                try {
+                    onCompletion.accept(outputs);
+                }
+                catch (final RuntimeException ex) {
+                    LOG.error("Handling the completion of the plan instance {} failed", processInstanceID, ex);
+                    failure = ex;
+                }
+            }
+            if (failure != null) {
+                try {
+                    onFailure.accept(failure);
+                }
+                catch (final RuntimeException ex) {
+                    LOG.error("Handling the failure of the plan instance {} failed", processInstanceID, ex);
+                }
+            }
+            return null;
+        });
+    }
+
+    private void schedulePoll(final String processInstanceID, final Collection<String> variableNames,
+                              final CompletableFuture<Map<String, String>> future, final long delay,
+                              final long deadline) {
+        this.scheduler.schedule(() -> {
+            try {
+                if (isActive(processInstanceID)) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        future.completeExceptionally(new TimeoutException("The plan instance " + processInstanceID
+                            + " did not end within " + this.timeout + " ms"));
+                        return;
+                    }
+                    schedulePoll(processInstanceID, variableNames, future,
+                                 Math.min(Math.min(delay * 2, MAX_POLL_DELAY), remaining), deadline);
+                } else {
+                    LOG.debug("The plan instance {} is not active any more, thus, the output can be retrieved.",
+                              processInstanceID);
+                    future.complete(getVariables(processInstanceID, variableNames));
+                }
+            }
+            catch (final RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    protected boolean isActive(final String processInstanceID) {
+        final WebResource webResource =
+            this.client.resource(this.baseUrl + PATH_PROCESS_INSTANCE).queryParam("processInstanceIds",
+                                                                                   processInstanceID);
+        final String resp = webResource.get(ClientResponse.class).getEntity(String.class);
+        LOG.trace("Active process instance response: {}", resp);
+
+        return !resp.equals("[]")
+            && !resp.contains("Process instance with id " + processInstanceID + " does not exist");
+    }
+
+    protected Map<String, String> getVariables(final String processInstanceID, final Collection<String> variableNames) {
+        final WebResource webResource =
+            this.client.resource(this.baseUrl + PATH_HISTORY_VARIABLES)
+                       .queryParam("processInstanceId", processInstanceID)
+                       .queryParam("activityInstanceIdIn", processInstanceID);
+        final String resp = webResource.get(ClientResponse.class).getEntity(String.class);
+        LOG.trace("Query:\n{}\nreturned the history variables:\n{}", webResource.getURI(), resp);
+
+        final Map<String, String> history = new HashMap<>();
+        final JsonElement json = new JsonParser().parse(resp);
+        if (json.isJsonArray()) {
+            for (final JsonElement element : (JsonArray) json) {
+                if (!element.isJsonObject()) {
+                    continue;
+                }
+                final JsonObject variable = element.getAsJsonObject();
+                final JsonElement name = variable.get("name");
+                final JsonElement value = variable.get("value");
+                if (name != null && value != null && value.isJsonPrimitive()) {
+                    history.put(name.getAsString(), value.getAsString());
+                }
+            }
+        }
+
+        final Map<String, String> outputs = new HashMap<>();
+        for (final String variableName : variableNames) {
+            outputs.put(variableName, history.getOrDefault(variableName, ""));
+        }
+        return outputs;
+    }
+}
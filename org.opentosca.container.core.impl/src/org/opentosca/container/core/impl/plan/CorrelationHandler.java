@@ -1,9 +1,14 @@
 package org.opentosca.container.core.impl.plan;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.xml.namespace.QName;
 
@@ -16,95 +21,106 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class manages active PublicPlans which are still running or response is not processed yet.
+ *
+ * The correlations are indexed by their CorrelationID and by the ServiceTemplateInstance they
+ * belong to, all indexes are concurrent maps, thus, no lookup has to lock or scan the correlations.
+ * Correlations whose response was processed are removed after a time to live.
  */
 @Deprecated
 public class CorrelationHandler {
 
-    long lastMilli = 0;
-    long lastCounter = 0;
+    // time finished correlations can still be looked up
+    private static final long FINISHED_CORRELATION_TTL = TimeUnit.HOURS.toMillis(24);
+
+    // minimal time between two removals of expired correlations
+    private static final long CLEANUP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final AtomicReference<CorrelationIdState> lastCorrelationId =
+        new AtomicReference<>(new CorrelationIdState(0, 0));
+
+    private final AtomicLong lastCleanup = new AtomicLong(System.currentTimeMillis());
 
     // TODO make persistent, fix JPA
-    // CSARID to CorrelationID to Invocation Event
-    private final Map<CSARID, Map<QName, Map<Integer, Map<String, PlanInvocationEvent>>>> mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan =
-        new HashMap<>();
-    private final Map<String, Integer> mapCorrIdToFakedServiceTemplateInstanceId = new HashMap<>();
+    // CorrelationID to Correlation
+    private final Map<String, Correlation> correlations = new ConcurrentHashMap<>();
+
+    // ServiceTemplateInstance to CorrelationIDs
+    private final Map<InstanceKey, Set<String>> correlationsByInstance = new ConcurrentHashMap<>();
 
     private final Logger LOG = LoggerFactory.getLogger(CorrelationHandler.class);
 
 
     /**
-     * Synchronized method for creating a new CorrelationID for a PublicPlan.
+     * Creates a new CorrelationID for a PublicPlan.
      *
-     * @param csarInstanceID
+     * @param csarID
      * @param serviceTemplateId
-     * @param b
-     *
-     * @param publicPlan
+     * @param serviceTemplateInstanceId
+     * @param event
+     * @param isBuildPlan
      * @return CorrelationID
      */
-    public synchronized String getNewCorrelationID(final CSARID csarID, final QName serviceTemplateId,
-                                                   final int serviceTemplateInstanceId, final PlanInvocationEvent event,
-                                                   final boolean isBuildPlan) {
+    public String getNewCorrelationID(final CSARID csarID, final QName serviceTemplateId,
+                                      final int serviceTemplateInstanceId, final PlanInvocationEvent event,
+                                      final boolean isBuildPlan) {
 
         final long time = System.currentTimeMillis();
 
         // if there are multiple CorrelationIDs requested in the same
         // millisecond, the counter is added by 1
-        if (time == this.lastMilli) {
-            this.lastCounter++;
-        } else if (time > this.lastMilli) {
-            this.lastCounter = 0;
-            this.lastMilli = time;
-        } else {
-            this.LOG.error("The current nano time is earlier than the last time measured.");
+        final CorrelationIdState id = this.lastCorrelationId.updateAndGet(last -> {
+            if (time > last.milli) {
+                return new CorrelationIdState(time, 0);
+            }
+            return new CorrelationIdState(last.milli, last.counter + 1);
+        });
+        if (time < id.milli) {
+            this.LOG.error("The current time is earlier than the last time measured.");
         }
 
         // put together the CorrelationID
-        final String corrID = this.lastMilli + "-" + this.lastCounter;
+        final String corrID = id.milli + "-" + id.counter;
 
-        if (!this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.containsKey(csarID)) {
-            this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.put(csarID,
-                                                                                         new HashMap<QName, Map<Integer, Map<String, PlanInvocationEvent>>>());
-        }
-        if (!this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                     .containsKey(serviceTemplateId)) {
-            this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                    .put(serviceTemplateId,
-                                                                                         new HashMap<Integer, Map<String, PlanInvocationEvent>>());
-        }
-        if (!this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID).get(serviceTemplateId)
-                                                                                     .containsKey(serviceTemplateInstanceId)) {
-            this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID).get(serviceTemplateId)
-                                                                                    .put(serviceTemplateInstanceId,
-                                                                                         new HashMap<String, PlanInvocationEvent>());
-        }
-        this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID).get(serviceTemplateId)
-                                                                                .get(serviceTemplateInstanceId)
-                                                                                .put(corrID, event);
+        final InstanceKey instance = new InstanceKey(csarID, serviceTemplateId, serviceTemplateInstanceId);
+        this.correlations.put(corrID, new Correlation(instance, event, isBuildPlan));
+        this.correlationsByInstance.computeIfAbsent(instance, key -> ConcurrentHashMap.newKeySet()).add(corrID);
 
-        if (isBuildPlan) {
-            this.mapCorrIdToFakedServiceTemplateInstanceId.put(corrID, serviceTemplateInstanceId);
-        }
+        removeExpiredCorrelations();
 
         return corrID;
     }
 
-    public synchronized void correlateBuildPlanCorrToServiceTemplateInstanceId(final CSARID csarID,
-                                                                               final QName serviceTemplateId,
-                                                                               final String corrId,
-                                                                               final int correctSTInstanceId) {
-
-        final Integer falseSTInstanceId = this.mapCorrIdToFakedServiceTemplateInstanceId.get(corrId);
-
-        if (falseSTInstanceId != null) {
-            final Map<String, PlanInvocationEvent> map =
-                this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                        .get(serviceTemplateId)
-                                                                                        .remove(falseSTInstanceId);
-            this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID).get(serviceTemplateId)
-                                                                                    .put(correctSTInstanceId, map);
+    /**
+     * Moves all correlations of the faked ServiceTemplateInstance ID of the given build plan
+     * correlation to the given ServiceTemplateInstance ID.
+     *
+     * @param csarID
+     * @param serviceTemplateId
+     * @param corrId
+     * @param correctSTInstanceId
+     */
+    public void correlateBuildPlanCorrToServiceTemplateInstanceId(final CSARID csarID, final QName serviceTemplateId,
+                                                                  final String corrId, final int correctSTInstanceId) {
+
+        final Correlation buildPlanCorrelation = this.correlations.get(corrId);
+
+        if (buildPlanCorrelation != null && buildPlanCorrelation.isBuildPlan) {
+            final InstanceKey fakedInstance = new InstanceKey(csarID, serviceTemplateId,
+                buildPlanCorrelation.instance.serviceTemplateInstanceId);
+            final InstanceKey correctInstance = new InstanceKey(csarID, serviceTemplateId, correctSTInstanceId);
+
+            final Set<String> corrIds = this.correlationsByInstance.remove(fakedInstance);
+            if (corrIds != null) {
+                for (final String id : corrIds) {
+                    final Correlation correlation = this.correlations.get(id);
+                    if (correlation != null) {
+                        correlation.instance = correctInstance;
+                    }
+                }
+                this.correlationsByInstance.computeIfAbsent(correctInstance, key -> ConcurrentHashMap.newKeySet())
+                                           .addAll(corrIds);
+            }
         }
-
     }
 
     /**
@@ -114,42 +130,13 @@ public class CorrelationHandler {
      * @return PublicPlan
      */
     public TPlanDTO getPublicPlanForCorrelation(final String correlationID) {
-        for (final CSARID csarID : this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.keySet()) {
-            for (final QName serviceTemplateId : this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                                                         .keySet()) {
-                for (final Integer serviceTemplateInstanceId : this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                                                                       .get(serviceTemplateId)
-                                                                                                                                       .keySet()) {
-
-                    if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                                .get(serviceTemplateId)
-                                                                                                .get(serviceTemplateInstanceId)
-                                                                                                .containsKey(correlationID)) {
-
-                        final PlanInvocationEvent event =
-                            this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                                    .get(serviceTemplateId)
-                                                                                                    .get(serviceTemplateInstanceId)
-                                                                                                    .get(correlationID);
-                        final TPlanDTO plan = new TPlanDTO();
-                        plan.setId(event.getPlanID());
-                        plan.setName(event.getPlanName());
-                        plan.setPlanLanguage(event.getPlanLanguage());
-                        plan.setPlanType(event.getPlanType());
-                        plan.setInputParameters(new TPlanDTO.InputParameters());
-                        plan.getInputParameters().getInputParameter().addAll(event.getInputParameter());
-                        plan.setOutputParameters(new TPlanDTO.OutputParameters());
-                        plan.getOutputParameters().getOutputParameter().addAll(event.getOutputParameter());
-
-                        return plan;
-                    }
-                }
-            }
-        }
-
-        this.LOG.error("There is no entry for the CorrelationID \"" + correlationID + "\".");
-        return null;
+        final Correlation correlation = this.correlations.get(correlationID);
 
+        if (correlation == null) {
+            this.LOG.error("There is no entry for the CorrelationID \"" + correlationID + "\".");
+            return null;
+        }
+        return createPlanDTO(correlation.event);
     }
 
     /**
@@ -160,100 +147,161 @@ public class CorrelationHandler {
      * @return PublicPlan
      */
     public TPlanDTO getPlanDTOForCorrelation(final ServiceTemplateInstanceID instanceID, final String correlationID) {
+        final Correlation correlation = this.correlations.get(correlationID);
 
-        if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.containsKey(instanceID.getCsarId())) {
-            if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(instanceID.getCsarId())
-                                                                                        .containsKey(instanceID.getServiceTemplateId())) {
-                if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(instanceID.getCsarId())
-                                                                                            .get(instanceID.getServiceTemplateId())
-                                                                                            .containsKey(instanceID.getInstanceID())) {
-                    if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(instanceID.getCsarId())
-                                                                                                .get(instanceID.getServiceTemplateId())
-                                                                                                .get(instanceID.getInstanceID())
-                                                                                                .containsKey(correlationID)) {
-
-                        final PlanInvocationEvent event =
-                            this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(instanceID.getCsarId())
-                                                                                                    .get(instanceID.getServiceTemplateId())
-                                                                                                    .get(instanceID.getInstanceID())
-                                                                                                    .get(correlationID);
-                        final TPlanDTO plan = new TPlanDTO();
-                        plan.setId(event.getPlanID());
-                        plan.setName(event.getPlanName());
-                        plan.setPlanLanguage(event.getPlanLanguage());
-                        plan.setPlanType(event.getPlanType());
-                        plan.setInputParameters(new TPlanDTO.InputParameters());
-                        plan.getInputParameters().getInputParameter().addAll(event.getInputParameter());
-                        plan.setOutputParameters(new TPlanDTO.OutputParameters());
-                        plan.getOutputParameters().getOutputParameter().addAll(event.getOutputParameter());
-
-                        return plan;
-                    }
-                }
-            }
+        if (correlation == null || !correlation.instance.equals(new InstanceKey(instanceID.getCsarId(),
+            instanceID.getServiceTemplateId(), instanceID.getInstanceID()))) {
+            this.LOG.error("There is no entry for the CorrelationID \"" + correlationID + "\".");
+            return null;
         }
-
-        this.LOG.error("There is no entry for the CorrelationID \"" + correlationID + "\".");
-        return null;
-
+        return createPlanDTO(correlation.event);
     }
 
     /**
-     * Remove CorrelationID after response of active PublicPlan is processed
+     * Marks the CorrelationID as finished after response of active PublicPlan is processed. The
+     * correlation is removed after a time to live.
      *
      * @param csarid
      * @param correlationID
      */
     public void removeCorrelation(final CSARID csarid, final String correlationID) {
-        this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarid).remove(correlationID);
+        final Correlation correlation = this.correlations.get(correlationID);
+        if (correlation != null && Objects.equals(correlation.instance.csarId, csarid)) {
+            correlation.finishedAt = System.currentTimeMillis();
+        }
     }
 
     /**
-     * Remove CorrelationID after response of active PublicPlan is processed
+     * Marks the CorrelationID as finished after response of active PublicPlan is processed. The
+     * correlation is removed after a time to live.
      *
-     * @param csarid
      * @param correlationID
      */
     public void removeCorrelation(final String correlationID) {
-        for (final CSARID csarID : this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.keySet()) {
-            if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                        .containsKey(correlationID)) {
-                this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                        .remove(correlationID);
-            }
+        final Correlation correlation = this.correlations.get(correlationID);
+        if (correlation != null) {
+            correlation.finishedAt = System.currentTimeMillis();
         }
     }
 
     /**
-     * Returns the list of all CorrelationIDs of a CSARInstance.
+     * Returns the list of all CorrelationIDs of a CSARInstance which are not finished yet.
      *
      * @param instanceID
      * @return list of CorrelationIDs
      */
     public List<String> getActiveCorrelationsOfInstance(final ServiceTemplateInstanceID instanceID) {
-        final List<String> list = new ArrayList<>();
-
-        final CSARID csarID = instanceID.getCsarId();
-        final QName stQName = instanceID.getServiceTemplateId();
-        final int stInstanceId = instanceID.getInstanceID();
-        // int internalID = instanceID.getInternalID();
-
-        if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.containsKey(csarID)) {
-            if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                        .containsKey(stQName)) {
-                if (this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID).get(stQName)
-                                                                                            .containsKey(stInstanceId)) {
-                    for (final String corr : this.mapCsarIdToServiceTemplateIdToSTInstanceIdToCorrelationToPublicPlan.get(csarID)
-                                                                                                                     .get(stQName)
-                                                                                                                     .get(stInstanceId)
-                                                                                                                     .keySet()) {
-                        list.add(corr);
-                    }
+        final Set<String> corrIds = this.correlationsByInstance.get(new InstanceKey(instanceID.getCsarId(),
+            instanceID.getServiceTemplateId(), instanceID.getInstanceID()));
+        final List<String> activeCorrIds = new ArrayList<>();
+        if (corrIds != null) {
+            for (final String corrId : corrIds) {
+                final Correlation correlation = this.correlations.get(corrId);
+                if (correlation != null && correlation.finishedAt == 0) {
+                    activeCorrIds.add(corrId);
                 }
             }
         }
+        return activeCorrIds;
+    }
+
+    /**
+     * Removes the correlations which were finished longer than the time to live ago. At most one
+     * thread removes correlations per cleanup interval.
+     */
+    private void removeExpiredCorrelations() {
+        final long now = System.currentTimeMillis();
+        final long last = this.lastCleanup.get();
+        if (now - last < CLEANUP_INTERVAL || !this.lastCleanup.compareAndSet(last, now)) {
+            return;
+        }
+
+        for (final Map.Entry<String, Correlation> entry : this.correlations.entrySet()) {
+            final Correlation correlation = entry.getValue();
+            if (correlation.finishedAt > 0 && now - correlation.finishedAt > FINISHED_CORRELATION_TTL
+                && this.correlations.remove(entry.getKey(), correlation)) {
+                this.correlationsByInstance.computeIfPresent(correlation.instance, (key, corrIds) -> {
+                    corrIds.remove(entry.getKey());
+                    return corrIds.isEmpty() ? null : corrIds;
+                });
+            }
+        }
+    }
 
-        return list;
+    private TPlanDTO createPlanDTO(final PlanInvocationEvent event) {
+        final TPlanDTO plan = new TPlanDTO();
+        plan.setId(event.getPlanID());
+        plan.setName(event.getPlanName());
+        plan.setPlanLanguage(event.getPlanLanguage());
+        plan.setPlanType(event.getPlanType());
+        plan.setInputParameters(new TPlanDTO.InputParameters());
+        plan.getInputParameters().getInputParameter().addAll(event.getInputParameter());
+        plan.setOutputParameters(new TPlanDTO.OutputParameters());
+        plan.getOutputParameters().getOutputParameter().addAll(event.getOutputParameter());
+        return plan;
     }
 
+
+    private static final class CorrelationIdState {
+
+        private final long milli;
+        private final long counter;
+
+
+        private CorrelationIdState(final long milli, final long counter) {
+            this.milli = milli;
+            this.counter = counter;
+        }
+    }
+
+    private static final class Correlation {
+
+        private final PlanInvocationEvent event;
+        private final boolean isBuildPlan;
+
+        // the instance of a build plan correlation is corrected once the instance was created
+        private volatile InstanceKey instance;
+
+        private volatile long finishedAt = 0;
+
+
+        private Correlation(final InstanceKey instance, final PlanInvocationEvent event, final boolean isBuildPlan) {
+            this.instance = instance;
+            this.event = event;
+            this.isBuildPlan = isBuildPlan;
+        }
+    }
+
+    private static final class InstanceKey {
+
+        private final CSARID csarId;
+        private final QName serviceTemplateId;
+        private final int serviceTemplateInstanceId;
+
+
+        private InstanceKey(final CSARID csarId, final QName serviceTemplateId, final int serviceTemplateInstanceId) {
+            this.csarId = csarId;
+            this.serviceTemplateId = serviceTemplateId;
+            this.serviceTemplateInstanceId = serviceTemplateInstanceId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InstanceKey)) {
+                return false;
+            }
+            final InstanceKey other = (InstanceKey) o;
+            return this.serviceTemplateInstanceId == other.serviceTemplateInstanceId
+                && Objects.equals(this.csarId, other.csarId)
+                && Objects.equals(this.serviceTemplateId, other.serviceTemplateId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.csarId, this.serviceTemplateId, this.serviceTemplateInstanceId);
+        }
+    }
 }
@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
 
@@ -20,6 +21,8 @@ import org.opentosca.container.core.next.model.PlanInstanceOutput;
 import org.opentosca.container.core.next.model.PlanInstanceState;
 import org.opentosca.container.core.next.model.PlanLanguage;
 import org.opentosca.container.core.next.model.PlanType;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
 import org.opentosca.container.core.next.repository.PlanInstanceRepository;
 import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
 import org.opentosca.container.core.service.ICSARInstanceManagementService;
@@ -38,13 +41,6 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.sun.jersey.api.client.Client;
-import com.sun.jersey.api.client.ClientResponse;
-import com.sun.jersey.api.client.WebResource;
-import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
-
 /**
  * The Implementation of the Engine. Also deals with OSGI events for communication with the mock-up
  * Servicebus.
@@ -65,6 +61,10 @@ public class PlanInvocationEngine implements IPlanInvocationEngine, EventHandler
 
     private final static ServiceTemplateInstanceRepository stiRepo = new ServiceTemplateInstanceRepository();
 
+    private final static CamundaPlanCompletionTracker camundaTracker =
+        new CamundaPlanCompletionTracker(Settings.ENGINE_PLAN_BPMN_URL, Settings.ENGINE_PLAN_BPMN_USERNAME,
+            Settings.ENGINE_PLAN_BPMN_PASSWORD, Long.parseLong(Settings.ENGINE_PLAN_BPMN_TRACKING_TIMEOUT));
+
     @Override
     public String invokePlan(final CSARID csarID, final QName serviceTemplateId, long serviceTemplateInstanceID,
                              final TPlanDTO givenPlan) throws UnsupportedEncodingException {
@@ -695,122 +695,99 @@ public class PlanInvocationEngine implements IPlanInvocationEngine, EventHandler
                 return;
             }
 
-            /**
-             * TODO remove jersey and search for the history with the bus(?)!!!
-             */
-
-            // searching for history
-            final String pathBase = "http://localhost:8080/engine-rest/";
-            final String pathProcessInstance = "process-instance?processInstanceIds=";
-            final String pathHistoryVariables = "history/variable-instance";
+            final PlanInvocationEvent planEvent = event;
+            final List<String> outputNames =
+                event.getOutputParameter().stream().map(TParameterDTO::getName).collect(Collectors.toList());
 
             this.LOG.debug("Instance ID: " + planInstanceID);
 
-            // TODO: Migrate to new Jersey version
-            final Client client = Client.create();
-            client.addFilter(new HTTPBasicAuthFilter("demo", "demo"));
-
-            boolean ended = false;
-            String path = pathBase + pathProcessInstance + planInstanceID;
-            WebResource webResource = client.resource(path);
+            camundaTracker.track(planInstanceID, outputNames,
+                                 outputs -> handleBPMNPlanCompletion(correlationID, planEvent, csarID, outputs),
+                                 e -> {
+                                     this.LOG.error("Completing the plan instance {} failed", planInstanceID, e);
+                                     handleBPMNPlanFailure(correlationID, csarID);
+                                 })
+                          .thenRun(() -> ServiceProxy.correlationHandler.removeCorrelation(correlationID));
+            return;
+        } else {
+            this.LOG.error("The returned response cannot be matched to a supported plan language!");
+            return;
+        }
 
-            ClientResponse camundaResponse;
-            while (!ended) {
-                camundaResponse = webResource.get(ClientResponse.class);
-                final String resp = camundaResponse.getEntity(String.class);
-                this.LOG.debug("Active process instance response: " + resp);
+        ServiceProxy.correlationHandler.removeCorrelation(correlationID);
+    }
 
-                try {
-                    Thread.sleep(1000);
-                }
-                catch (final InterruptedException e) {
-                    e.printStackTrace();
-                }
+    /**
+     * Stores the outputs of a finished BPMN plan instance and updates the state of the plan and
+     * service template instance accordingly.
+     */
+    private void handleBPMNPlanCompletion(final String correlationID, final PlanInvocationEvent event,
+                                          final CSARID csarID, final Map<String, String> outputs) {
 
-                if (resp.equals("[]")) {
-                    this.LOG.debug("The plan instance {} is not active any more, thus, the output can be retrieved.",
-                                   planInstanceID);
-                    ended = true;
-                }
+        final ICSARInstanceManagementService instMngr = ServiceProxy.csarInstanceManagement;
+        final Map<String, String> map = instMngr.getOutputForCorrelation(correlationID);
 
-                if (resp.contains("Process instance with id " + planInstanceID + " does not exist")) {
-                    ended = true;
-                }
+        for (final TParameterDTO param : event.getOutputParameter()) {
+            final String value = outputs.get(param.getName());
+            this.LOG.debug("For variable \"{}\" the output value is \"{}\"", param.getName(), value);
+            param.setValue(value);
+            map.put(param.getName(), value);
+        }
 
-            }
+        ServiceProxy.csarInstanceManagement.getOutputForCorrelation(correlationID).putAll(map);
+        ServiceProxy.csarInstanceManagement.setCorrelationAsFinished(csarID, correlationID);
 
-            final ICSARInstanceManagementService instMngr = ServiceProxy.csarInstanceManagement;
-            final Map<String, String> map = instMngr.getOutputForCorrelation(correlationID);
+        // Update state
+        final PlanInstanceRepository repository = new PlanInstanceRepository();
+        final PlanInstance pi = repository.findByCorrelationId(correlationID);
+        if (pi != null) {
+            pi.setState(PlanInstanceState.FINISHED);
+            repository.update(pi);
+        } else {
+            this.LOG.error("Plan instance for correlation id '{}' not found", correlationID);
+        }
 
-            for (final TParameterDTO param : event.getOutputParameter()) {
-                // History of process instance TODO get here the output
-                // parameters
-                path = pathBase + pathHistoryVariables;
-                // + "?processInstanceId=" + planInstanceID;
-
-                webResource = client.resource(path);
-                webResource = webResource.queryParam("processInstanceId", planInstanceID);
-                webResource = webResource.queryParam("activityInstanceIdIn", planInstanceID);
-                // webResource = webResource.queryParam("variableName",
-                // "ApplicationURL");
-                webResource = webResource.queryParam("variableName", param.getName());
-                camundaResponse = webResource.get(ClientResponse.class);
-                final String responseStr = camundaResponse.getEntity(String.class);
-                this.LOG.trace("Query:\n{}", webResource.getURI());
-                this.LOG.trace("History has for variable \"{}\" the value \"{}\"", param.getName(), responseStr);
-
-                final JsonParser parser = new JsonParser();
-                String value = null;
-                try {
-                    final JsonObject json =
-                        (JsonObject) parser.parse(responseStr.substring(1, responseStr.length() - 1));
-                    value = json.get("value").getAsString();
-                }
-                catch (final ClassCastException e) {
-                    this.LOG.trace("value is null");
-                    value = "";
-                }
-                this.LOG.debug("For variable \"{}\" the output value is \"{}\"", param.getName(), value);
-                param.setValue(value);
-                map.put(param.getName(), value);
-            }
+        // save
+        final ServiceTemplateInstanceID instanceID =
+            ServiceProxy.csarInstanceManagement.getInstanceForCorrelation(correlationID);
+        this.LOG.debug("The instanceID is: " + instanceID);
+        ServiceProxy.csarInstanceManagement.storeCorrelationForAnInstance(instanceID.getCsarId(), instanceID,
+                                                                          correlationID);
 
-            ServiceProxy.csarInstanceManagement.getOutputForCorrelation(correlationID).putAll(map);
-            ServiceProxy.csarInstanceManagement.setCorrelationAsFinished(csarID, correlationID);
+        if (event.isHasFailed()) {
+            this.LOG.info("The process instance was not successful.");
 
-            // Update state
-            final PlanInstanceRepository repository = new PlanInstanceRepository();
-            final PlanInstance pi = repository.findByCorrelationId(correlationID);
-            if (pi != null) {
-                pi.setState(PlanInstanceState.FINISHED);
-                repository.update(pi);
-            } else {
-                this.LOG.error("Plan instance for correlation id '{}' not found", correlationID);
+        } else {
+            if (PlanTypes.isPlanTypeURI(event.getPlanType()).equals(PlanTypes.TERMINATION)) {
+                final boolean deletion =
+                    ServiceProxy.csarInstanceManagement.deleteInstance(instanceID.getCsarId(), instanceID);
+                this.LOG.debug("Delete of instance returns: " + deletion);
             }
+        }
+    }
 
-            // save
-            final ServiceTemplateInstanceID instanceID =
-                ServiceProxy.csarInstanceManagement.getInstanceForCorrelation(correlationID);
-            this.LOG.debug("The instanceID is: " + instanceID);
-            ServiceProxy.csarInstanceManagement.storeCorrelationForAnInstance(instanceID.getCsarId(), instanceID,
-                                                                              correlationID);
-
-            if (event.isHasFailed()) {
-                this.LOG.info("The process instance was not successful.");
+    /**
+     * Finalizes the correlation of a BPMN plan instance whose completion could not be tracked or
+     * handled and marks the plan instance as failed. A ServiceTemplate instance which is still being
+     * created by the failed plan is set to ERROR.
+     */
+    private void handleBPMNPlanFailure(final String correlationID, final CSARID csarID) {
+        ServiceProxy.csarInstanceManagement.setCorrelationAsFinished(csarID, correlationID);
 
-            } else {
-                if (PlanTypes.isPlanTypeURI(event.getPlanType()).equals(PlanTypes.TERMINATION)) {
-                    final boolean deletion =
-                        ServiceProxy.csarInstanceManagement.deleteInstance(instanceID.getCsarId(), instanceID);
-                    this.LOG.debug("Delete of instance returns: " + deletion);
-                }
+        final PlanInstanceRepository repository = new PlanInstanceRepository();
+        final PlanInstance pi = repository.findByCorrelationId(correlationID);
+        if (pi != null) {
+            pi.setState(PlanInstanceState.FAILED);
+            repository.update(pi);
+
+            final ServiceTemplateInstance sti = pi.getServiceTemplateInstance();
+            if (sti != null && sti.getState() == ServiceTemplateInstanceState.CREATING) {
+                sti.setState(ServiceTemplateInstanceState.ERROR);
+                new ServiceTemplateInstanceRepository().update(sti);
             }
         } else {
-            this.LOG.error("The returned response cannot be matched to a supported plan language!");
-            return;
+            this.LOG.error("Plan instance for correlation id '{}' not found", correlationID);
         }
-
-        ServiceProxy.correlationHandler.removeCorrelation(correlationID);
     }
 
     /**
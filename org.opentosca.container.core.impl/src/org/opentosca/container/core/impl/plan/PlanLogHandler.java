@@ -1,36 +1,87 @@
 package org.opentosca.container.core.impl.plan;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 import org.opentosca.container.core.service.IPlanLogHandler;
 
+/**
+ * In-memory log of plan instances which is bounded in the number of plan instances and in the
+ * number of entries per plan instance. Entries are appended in time order, so reading the log does
+ * not require sorting. If a bound is exceeded, the oldest entry respectively the log of the plan
+ * instance which was not written for the longest time is evicted.
+ *
+ * The persistent log of a plan instance is stored as
+ * {@link org.opentosca.container.core.next.model.PlanInstanceEvent}s.
+ */
 @Deprecated
 public class PlanLogHandler implements IPlanLogHandler {
 
     public static IPlanLogHandler instance = new PlanLogHandler();
 
-    private final Map<String, Map<String, String>> corrToLog = new HashMap<>();
+    private static final int MAX_PLAN_INSTANCES = 1000;
+    private static final int MAX_ENTRIES_PER_PLAN_INSTANCE = 1000;
+
+    // ordered by the last write, so the log of the least recently written plan instance is evicted
+    // first
+    private final Map<String, Deque<LogEntry>> corrToLog =
+        Collections.synchronizedMap(new LinkedHashMap<String, Deque<LogEntry>>() {
+
+            private static final long serialVersionUID = 3476258374152867382L;
+
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Deque<LogEntry>> eldest) {
+                return size() > MAX_PLAN_INSTANCES;
+            }
+        });
 
 
     private PlanLogHandler() {}
 
     @Override
     public void log(final String corrId, final String logMsg) {
-        if (!this.corrToLog.containsKey(corrId)) {
-            this.corrToLog.put(corrId, new HashMap<String, String>());
+        final LogEntry entry = new LogEntry(System.currentTimeMillis(), logMsg);
+        synchronized (this.corrToLog) {
+            Deque<LogEntry> log = this.corrToLog.remove(corrId);
+            if (log == null) {
+                log = new ArrayDeque<>();
+            }
+            log.addLast(entry);
+            this.corrToLog.put(corrId, log);
+            if (log.size() > MAX_ENTRIES_PER_PLAN_INSTANCE) {
+                log.removeFirst();
+            }
         }
-        this.corrToLog.get(corrId).put(Long.toString(System.currentTimeMillis()), logMsg);
     }
 
     @Override
     public Map<String, String> getLogsOfPlanInstance(final String corrId) {
-        if (this.corrToLog.containsKey(corrId)) {
-            final TreeMap<String, String> sorted = new TreeMap<>(this.corrToLog.get(corrId));
-            return sorted;
-        } else {
-            return new HashMap<>();
+        final Map<String, String> logs = new LinkedHashMap<>();
+        synchronized (this.corrToLog) {
+            final Deque<LogEntry> log = this.corrToLog.get(corrId);
+            if (log != null) {
+                for (final LogEntry entry : log) {
+                    logs.put(Long.toString(entry.timestamp), entry.message);
+                }
+            }
+        }
+        return logs;
+    }
+
+
+    private static final class LogEntry {
+
+        private final long timestamp;
+        private final String message;
+
+
+        private LogEntry(final long timestamp, final String message) {
+            this.timestamp = timestamp;
+            this.message = message;
         }
     }
 }
@@ -3,6 +3,7 @@ package org.opentosca.container.core.impl.service;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -337,12 +338,21 @@ public class FileAccessServiceImpl implements IFileAccessService {
 
         Path tempDir;
 
-        do {
-            tempDir = Paths.get(Settings.getSetting("temp") + File.separator + System.nanoTime());
-        } while (Files.exists(tempDir));
-
         try {
-            Files.createDirectories(tempDir);
+            Files.createDirectories(Paths.get(Settings.getSetting("temp")));
+
+            // the directory is created atomically, thus, concurrent callers get
+            // distinct directories
+            while (true) {
+                tempDir = Paths.get(Settings.getSetting("temp") + File.separator + System.nanoTime());
+                try {
+                    Files.createDirectory(tempDir);
+                    break;
+                }
+                catch (final FileAlreadyExistsException exc) {
+                    // try the next name
+                }
+            }
         }
         catch (final IOException exc) {
             FileAccessServiceImpl.LOG.warn("An IO Exception occured.", exc);
@@ -36,6 +36,7 @@ import org.opentosca.container.core.model.instance.IdConverter;
 import org.opentosca.container.core.model.instance.NodeInstance;
 import org.opentosca.container.core.model.instance.RelationInstance;
 import org.opentosca.container.core.model.instance.ServiceInstance;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
@@ -877,61 +878,64 @@ public class InstanceDataServiceImpl implements IInstanceDataService {
 
         final Element properties = (Element) serviceInstance.getProperties().getFirstChild();
 
-        // cycle through mappings and update accordingly
-        for (final TPropertyMapping mapping : boundaryDefs.getProperties().getPropertyMappings().getPropertyMapping()) {
-            final String serviceTemplatePropertyQuery = mapping.getServiceTemplatePropertyRef();
-            final List<Element> serviceTemplatePropertyElements =
-                queryElementList(properties, serviceTemplatePropertyQuery);
+        // cycle through mappings and update accordingly, all instance lookups share one unit of work
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            for (final TPropertyMapping mapping : boundaryDefs.getProperties().getPropertyMappings().getPropertyMapping()) {
+                final String serviceTemplatePropertyQuery = mapping.getServiceTemplatePropertyRef();
+                final List<Element> serviceTemplatePropertyElements =
+                    queryElementList(properties, serviceTemplatePropertyQuery);
 
-            // fetch element from serviceTemplateProperties
+                // fetch element from serviceTemplateProperties
 
-            if (serviceTemplatePropertyElements.size() != 1) {
-                // skip this property, we expect only one
-                continue;
-            }
+                if (serviceTemplatePropertyElements.size() != 1) {
+                    // skip this property, we expect only one
+                    continue;
+                }
 
-            // check whether the targetRef is concat query
-            if (isConcatQuery(mapping.getTargetPropertyRef())) {
-                // this query needs possibly multiple properties from different
-                // nodeInstances
+                // check whether the targetRef is concat query
+                if (isConcatQuery(mapping.getTargetPropertyRef())) {
+                    // this query needs possibly multiple properties from different
+                    // nodeInstances
 
-                final String propertyValue =
-                    generatePropertyValueFromConcatQuery(mapping.getTargetPropertyRef(),
-                                                         getNodeInstances(null, null, null,
-                                                                          serviceInstance.getServiceInstanceID()));
-                serviceTemplatePropertyElements.get(0).setTextContent(propertyValue);
+                    final String propertyValue =
+                        generatePropertyValueFromConcatQuery(mapping.getTargetPropertyRef(),
+                                                             getNodeInstances(null, null, null,
+                                                                              serviceInstance.getServiceInstanceID()));
+                    serviceTemplatePropertyElements.get(0).setTextContent(propertyValue);
 
-            } else {
-                // this query only fetches a SINGLE element on the properties of
-                // the referenced entity
+                } else {
+                    // this query only fetches a SINGLE element on the properties of
+                    // the referenced entity
 
-                final NodeInstance nodeInstance =
-                    getNodeInstanceFromMappingObject(serviceInstance, mapping.getTargetObjectRef());
+                    final NodeInstance nodeInstance =
+                        getNodeInstanceFromMappingObject(serviceInstance, mapping.getTargetObjectRef());
 
-                if (nodeInstance == null) {
-                    continue;
-                }
+                    if (nodeInstance == null) {
+                        continue;
+                    }
 
-                final Document nodeProperties = nodeInstance.getProperties();
-                if (nodeProperties == null) {
-                    // skip it, the mapping is invalid
-                    continue;
-                }
-                final Element nodePropertiesRoot = (Element) nodeProperties.getFirstChild();
-                final String nodeTemplatePropertyQuery = mapping.getTargetPropertyRef();
+                    final Document nodeProperties = nodeInstance.getProperties();
+                    if (nodeProperties == null) {
+                        // skip it, the mapping is invalid
+                        continue;
+                    }
+                    final Element nodePropertiesRoot = (Element) nodeProperties.getFirstChild();
+                    final String nodeTemplatePropertyQuery = mapping.getTargetPropertyRef();
 
-                final List<Element> nodePropertyElements =
-                    queryElementList(nodePropertiesRoot, nodeTemplatePropertyQuery);
+                    final List<Element> nodePropertyElements =
+                        queryElementList(nodePropertiesRoot, nodeTemplatePropertyQuery);
 
-                if (nodePropertyElements.size() != 1) {
-                    // skip this property, we expect only one
-                    continue;
-                }
+                    if (nodePropertyElements.size() != 1) {
+                        // skip this property, we expect only one
+                        continue;
+                    }
 
-                // change the serviceTemplateProperty
-                serviceTemplatePropertyElements.get(0).setTextContent(nodePropertyElements.get(0).getTextContent());
+                    // change the serviceTemplateProperty
+                    serviceTemplatePropertyElements.get(0).setTextContent(nodePropertyElements.get(0).getTextContent());
 
+                }
             }
+            uow.commit();
         }
 
         serviceInstance.setProperties(properties.getOwnerDocument());
@@ -5,9 +5,10 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
-import javax.persistence.NoResultException;
 import javax.persistence.Query;
 import javax.xml.namespace.QName;
 
@@ -17,6 +18,7 @@ import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint;
 import org.opentosca.container.core.model.endpoint.rest.RESTEndpoint.restMethod;
 import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.service.internal.ICoreInternalEndpointService;
 import org.slf4j.Logger;
@@ -25,35 +27,47 @@ import org.slf4j.LoggerFactory;
 /**
  * This Class stores and retrieves Endpoint-Objects in the Database, using Eclipse-JPA.
  *
+ * WSDLEndpoints are additionally kept in a {@link WSDLEndpointIndex}, which is loaded once and
+ * updated after every successful write, so reading them does not access the database. Writes are
+ * serialized, reads can happen concurrently. Each operation on the database uses its own
+ * EntityManager.
+ *
  * For the JPA-Queries refer to: {@link RESTEndpoint}, {@link WSDLEndpoint}
  */
 public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointService, CommandProvider {
 
     private final static Logger LOG = LoggerFactory.getLogger(CoreInternalEndpointServiceImpl.class);
 
-    private EntityManager em;
+    // CSARID of endpoints stored by the container itself, e.g. the SI-Invoker endpoint
+    private final static CSARID CONTAINER_CSARID = new CSARID("***");
+
+    private final WSDLEndpointIndex wsdlEndpoints = new WSDLEndpointIndex();
+
+    private final Object writeLock = new Object();
 
     public CoreInternalEndpointServiceImpl() {
-        init();
+        this.wsdlEndpoints.addAll(query(em -> em.createQuery("SELECT e FROM WSDLEndpoint e", WSDLEndpoint.class)
+                                                .getResultList()));
     }
 
-    @Override
-    /**
-     * This method is called when the garbage collector destroys the class. We will then manually
-     * close the EntityManager/Factory, and pass control back.
-     */
-    protected void finalize() throws Throwable {
-        this.em.close();
-        super.finalize();
+    private <T> T query(final Function<EntityManager, T> query) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            return query.apply(em);
+        }
     }
 
-    /**
-     * This method initializes the EntityManager/Factory in case it is not connected/setup yet. It
-     * is called by each method, to ensure that a connection exists. (Robustness!)
-     */
-    private void init() {
-        if (this.em == null) {
-            this.em = EntityManagerProvider.createEntityManager();
+    private void transaction(final Consumer<EntityManager> operation) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            em.getTransaction().begin();
+            try {
+                operation.accept(em);
+                em.getTransaction().commit();
+            }
+            finally {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+            }
         }
     }
 
@@ -64,36 +78,15 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     public List<WSDLEndpoint> getWSDLEndpoints(final QName portType, final String triggeringContainer,
                                                final CSARID csarId) {
 
-        final ArrayList<WSDLEndpoint> results = new ArrayList<>();
-
-        final Query getWSDLEndpointsQuery =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId = :csarId and e.PortType = :portType");
-
-        // Set Parameters for the Query
-        getWSDLEndpointsQuery.setParameter("portType", portType);
-        getWSDLEndpointsQuery.setParameter("triggeringContainer", triggeringContainer);
-        getWSDLEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        @SuppressWarnings("unchecked")
-        final
-        // Result can only be a WSDLEndpoint
-        List<WSDLEndpoint> queryResults = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            results.add(endpoint);
-        }
+        final List<WSDLEndpoint> results =
+            this.wsdlEndpoints.find(e -> Objects.equals(e.getTriggeringContainer(), triggeringContainer)
+                && Objects.equals(e.getPortType(), portType) && Objects.equals(e.getCSARId(), csarId));
 
         // Hack, to get endpoints stored from the container e.g. the SI-Invoker
         // endpoint.
-        getWSDLEndpointsQuery.setParameter("csarId", new CSARID("***"));
-
-        // Get Query-Results (WSDLEndpoints) and add them to the result list.
-        @SuppressWarnings("unchecked")
-        final
-        // Result can only be a WSDLEndpoint
-        List<WSDLEndpoint> queryResults2 = getWSDLEndpointsQuery.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults2) {
-            results.add(endpoint);
+        if (!CONTAINER_CSARID.equals(csarId)) {
+            results.addAll(this.wsdlEndpoints.find(e -> Objects.equals(e.getTriggeringContainer(), triggeringContainer)
+                && Objects.equals(e.getPortType(), portType) && CONTAINER_CSARID.equals(e.getCSARId())));
         }
 
         return results;
@@ -109,77 +102,51 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
             + "\", TypeImplementation: \"" + endpoint.getTypeImplementation() + "\", URI: \""
             + endpoint.getURI().toString() + "\"");
 
-        // TODO this check is a hack because of the problem with deploying of
-        // multiple deployment artifacts
-        if (!existsWSDLEndpoint(endpoint)) {
-            if (!this.em.getTransaction().isActive()) {
-                this.em.getTransaction().begin();
+        synchronized (this.writeLock) {
+            // TODO this check is a hack because of the problem with deploying of
+            // multiple deployment artifacts
+            if (this.wsdlEndpoints.findEquivalent(endpoint) == null) {
+                CoreInternalEndpointServiceImpl.LOG.debug("The endpoint for \"{}\" is not stored. Thus store it.",
+                                                          endpoint.getPortType());
+                transaction(em -> em.persist(endpoint));
+                this.wsdlEndpoints.add(endpoint);
+            } else {
+                CoreInternalEndpointServiceImpl.LOG.debug("The endpoint for \"{}\" is stored already.",
+                                                          endpoint.getPortType());
             }
-            CoreInternalEndpointServiceImpl.LOG.debug("The endpoint for \"{}\" is not stored. Thus store it.",
-                                                      endpoint.getPortType());
-            this.em.persist(endpoint);
-            this.em.getTransaction().commit();
-        } else {
-            CoreInternalEndpointServiceImpl.LOG.debug("The endpoint for \"{}\" is stored already.",
-                                                      endpoint.getPortType());
         }
     }
 
-    /**
-     * Helper method to check if a given WSDLEndpoint is already stored in the database
-     *
-     * @param endpoint to look for
-     * @return true, if the Endpoint already exists.
-     */
-    private boolean existsWSDLEndpoint(final WSDLEndpoint endpoint) {
-        // get all available WSDL endpoints
-        final List<WSDLEndpoint> endpoints =
-            getWSDLEndpointsForCSARID(endpoint.getTriggeringContainer(), endpoint.getCSARId());
-
-        // search for an equivalent endpoint
-        return endpoints.stream().filter(wsdlEndpoint -> Objects.equals(endpoint.getCSARId(), wsdlEndpoint.getCSARId()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getTriggeringContainer(),
-                                                               wsdlEndpoint.getTriggeringContainer()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getManagingContainer(),
-                                                               wsdlEndpoint.getManagingContainer()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getURI(), wsdlEndpoint.getURI()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getPortType(), wsdlEndpoint.getPortType()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getServiceTemplateInstanceID(),
-                                                               wsdlEndpoint.getServiceTemplateInstanceID()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getTypeImplementation(),
-                                                               wsdlEndpoint.getTypeImplementation()))
-                        .filter(wsdlEndpoint -> Objects.equals(endpoint.getIaName(), wsdlEndpoint.getIaName()))
-                        .findFirst().isPresent();
-    }
-
     @Override
     /**
      * {@Inheritdoc}
      */
     public List<RESTEndpoint> getRestEndpoints(final URI anyURI, final String triggeringContainer,
                                                final CSARID csarId) {
-        final ArrayList<RESTEndpoint> results = new ArrayList<>();
-
-        /**
-         * Create Query to retrieve RESTEndpoints identified by a URI and thorID
-         *
-         * @see RESTEndpoint#getEndpointForPath
-         **/
-        final Query getRestEndpointsQuery = this.em.createNamedQuery(RESTEndpoint.getEndpointForPath);
-
-        // Set Parameters
-        getRestEndpointsQuery.setParameter("path", anyURI.getPath());
-        getRestEndpointsQuery.setParameter("csarId", csarId);
-
-        // Get Query-Results and add them to the result list
-        @SuppressWarnings("unchecked")
-        final
-        // Result can only be a RESTEndpoint
-        List<RESTEndpoint> queryResults = getRestEndpointsQuery.getResultList();
-        for (final RESTEndpoint endpoint : queryResults) {
-            results.add(endpoint);
-        }
-        return results;
+        return query(em -> {
+            final ArrayList<RESTEndpoint> results = new ArrayList<>();
+
+            /**
+             * Create Query to retrieve RESTEndpoints identified by a URI and thorID
+             *
+             * @see RESTEndpoint#getEndpointForPath
+             **/
+            final Query getRestEndpointsQuery = em.createNamedQuery(RESTEndpoint.getEndpointForPath);
+
+            // Set Parameters
+            getRestEndpointsQuery.setParameter("path", anyURI.getPath());
+            getRestEndpointsQuery.setParameter("csarId", csarId);
+
+            // Get Query-Results and add them to the result list
+            @SuppressWarnings("unchecked")
+            final
+            // Result can only be a RESTEndpoint
+            List<RESTEndpoint> queryResults = getRestEndpointsQuery.getResultList();
+            for (final RESTEndpoint endpoint : queryResults) {
+                results.add(endpoint);
+            }
+            return results;
+        });
     }
 
     @Override
@@ -189,11 +156,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     public void storeRESTEndpoint(final RESTEndpoint endpoint) {
         CoreInternalEndpointServiceImpl.LOG.debug("Storing REST Endpoint with Path : \"{}\", STID: \"{}\"",
                                                   endpoint.getPath(), endpoint.getCSARId().getFileName());
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
-        }
-        this.em.persist(endpoint);
-        this.em.getTransaction().commit();
+        transaction(em -> em.persist(endpoint));
     }
 
     /**
@@ -220,23 +183,22 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     }
 
     public void _endpoint_clear_wsdl(final CommandInterpreter commandInterpreter) {
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
+        synchronized (this.writeLock) {
+            transaction(em -> {
+                final Query query = em.createQuery("DELETE FROM WSDLEndpoint");
+                final int deletedWSDL = query.executeUpdate();
+                commandInterpreter.println("Deleted " + deletedWSDL + " WSDLEndpoints.");
+            });
+            this.wsdlEndpoints.clear();
         }
-        final Query query = this.em.createQuery("DELETE FROM WSDLEndpoint");
-        final int deletedWSDL = query.executeUpdate();
-        commandInterpreter.println("Deleted " + deletedWSDL + " WSDLEndpoints.");
-        this.em.getTransaction().commit();
     }
 
     public void _endpoint_clear_rest(final CommandInterpreter commandInterpreter) {
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
-        }
-        final Query query = this.em.createQuery("DELETE FROM RESTEndpoint");
-        final int deletedREST = query.executeUpdate();
-        commandInterpreter.println("Deleted " + deletedREST + " RESTEndpoints.");
-        this.em.getTransaction().commit();
+        transaction(em -> {
+            final Query query = em.createQuery("DELETE FROM RESTEndpoint");
+            final int deletedREST = query.executeUpdate();
+            commandInterpreter.println("Deleted " + deletedREST + " RESTEndpoints.");
+        });
     }
 
     public void _endpoint_add_dummy_rest(final CommandInterpreter commandInterpreter) {
@@ -269,9 +231,8 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
 
     public void _endpoint_show_rest(final CommandInterpreter commandInterpreter) {
 
-        final Query query = this.em.createQuery("SELECT e FROM RESTEndpoint e");
-        @SuppressWarnings("unchecked")
-        final List<RESTEndpoint> queryResults = query.getResultList();
+        final List<RESTEndpoint> queryResults =
+            query(em -> em.createQuery("SELECT e FROM RESTEndpoint e", RESTEndpoint.class).getResultList());
         for (final RESTEndpoint e : queryResults) {
             commandInterpreter.println("SeriviceTemplateID: " + e.getCSARId().getFileName() + " URI: " + e.getURI());
         }
@@ -279,10 +240,7 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
     }
 
     public void _endpoint_show_wsdl(final CommandInterpreter commandInterpreter) {
-        final Query query = this.em.createQuery("SELECT e FROM WSDLEndpoint e");
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = query.getResultList();
-        for (final WSDLEndpoint e : queryResults) {
+        for (final WSDLEndpoint e : getWSDLEndpoints()) {
             commandInterpreter.println("Triggering Container: " + e.getTriggeringContainer());
             commandInterpreter.println("Managing Container: " + e.getManagingContainer());
             commandInterpreter.println("CSARId: " + e.getCSARId());
@@ -301,123 +259,68 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
 
     @Override
     public void removePlanEndpoints(final String triggeringContainer, final CSARID csarId) {
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
-        }
-
-        // get all plan endpoints (plan ID set) for the given csarid
-        final Query queryWsdlEndpoints =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId = :csarId and e.PlanId is not null");
-        queryWsdlEndpoints.setParameter("triggeringContainer", triggeringContainer);
-        queryWsdlEndpoints.setParameter("csarId", csarId);
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> wsdlEndpoints = queryWsdlEndpoints.getResultList();
-
-        // remove all found plan endpoints one by one
-        for (final WSDLEndpoint wsdlEndpoint : wsdlEndpoints) {
-            this.em.remove(wsdlEndpoint);
+        synchronized (this.writeLock) {
+            // get all plan endpoints (plan ID set) for the given csarid
+            final List<WSDLEndpoint> wsdlEndpoints =
+                this.wsdlEndpoints.find(e -> Objects.equals(e.getTriggeringContainer(), triggeringContainer)
+                    && Objects.equals(e.getCSARId(), csarId) && e.getPlanId() != null);
+
+            // remove all found plan endpoints one by one
+            transaction(em -> {
+                for (final WSDLEndpoint wsdlEndpoint : wsdlEndpoints) {
+                    final WSDLEndpoint managed = em.find(WSDLEndpoint.class, wsdlEndpoint.getId());
+                    if (managed != null) {
+                        em.remove(managed);
+                    }
+                }
+            });
+            wsdlEndpoints.forEach(this.wsdlEndpoints::remove);
         }
-
-        this.em.getTransaction().commit();
     }
 
     @Override
     public WSDLEndpoint getWSDLEndpointForPlanId(final String triggeringContainer, final CSARID csarId,
                                                  final QName planId) {
-        WSDLEndpoint endpoint = null;
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId= :csarId and e.PlanId = :planId");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-        queryWSDLEndpoint.setParameter("planId", planId);
+        final List<WSDLEndpoint> endpoints =
+            this.wsdlEndpoints.find(e -> Objects.equals(e.getTriggeringContainer(), triggeringContainer)
+                && Objects.equals(e.getCSARId(), csarId) && Objects.equals(e.getPlanId(), planId));
 
-        try {
-            endpoint = (WSDLEndpoint) queryWSDLEndpoint.getSingleResult();
-        }
-        catch (final NoResultException e) {
-            LOG.error("Query in database didn't return a result", e);
+        if (endpoints.isEmpty()) {
+            LOG.error("No WSDL endpoint stored for plan {} of CSAR {}", planId, csarId);
             return null;
         }
 
-        return endpoint;
+        return endpoints.get(0);
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForCSARID(final String triggeringContainer, final CSARID csarId) {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.csarId= :csarId");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("csarId", csarId);
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.find(e -> Objects.equals(e.getTriggeringContainer(), triggeringContainer)
+            && Objects.equals(e.getCSARId(), csarId));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForSTID(final String triggeringContainer,
                                                       final Long serviceTemplateInstanceID) {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.serviceTemplateInstanceID= :serviceTemplateInstanceID");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("serviceTemplateInstanceID", serviceTemplateInstanceID);
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.find(e -> Objects.equals(e.getTriggeringContainer(), triggeringContainer)
+            && Objects.equals(e.getServiceTemplateInstanceID(), serviceTemplateInstanceID));
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpointsForNTImplAndIAName(final String triggeringContainer,
                                                                  final String managingContainer, final QName typeImpl,
                                                                  final String iaName) {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint =
-            this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.triggeringContainer = :triggeringContainer and e.managingContainer = :managingContainer and e.IaName = :IaName and e.TypeImplementation = :typeImpl");
-        queryWSDLEndpoint.setParameter("triggeringContainer", triggeringContainer);
-        queryWSDLEndpoint.setParameter("managingContainer", managingContainer);
-        queryWSDLEndpoint.setParameter("IaName", iaName);
-        queryWSDLEndpoint.setParameter("typeImpl", typeImpl);
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.findByIA(triggeringContainer, managingContainer, typeImpl, iaName);
     }
 
     @Override
     public List<WSDLEndpoint> getWSDLEndpoints() {
-        final ArrayList<WSDLEndpoint> endpoints = new ArrayList<>();
-        final Query queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e");
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> queryResults = queryWSDLEndpoint.getResultList();
-        for (final WSDLEndpoint endpoint : queryResults) {
-            endpoints.add(endpoint);
-        }
-
-        return endpoints;
+        return this.wsdlEndpoints.find(e -> true);
     }
 
     @Override
     public void printPlanEndpoints() {
-        final Query queryWSDLEndpoint = this.em.createQuery("SELECT e FROM WSDLEndpoint e where e.PlanId is not null");
-
-        @SuppressWarnings("unchecked")
-        final List<WSDLEndpoint> endpoints = queryWSDLEndpoint.getResultList();
+        final List<WSDLEndpoint> endpoints = this.wsdlEndpoints.find(e -> e.getPlanId() != null);
 
         final StringBuilder builder = new StringBuilder();
         final String ls = System.getProperty("line.separator");
@@ -432,21 +335,22 @@ public class CoreInternalEndpointServiceImpl implements ICoreInternalEndpointSer
 
     @Override
     public boolean removeWSDLEndpoint(final WSDLEndpoint endpoint) {
-        // get all wsdl endpoints with related properties
-        final List<WSDLEndpoint> endpoints =
-            getWSDLEndpointsForCSARID(endpoint.getTriggeringContainer(), endpoint.getCSARId());
-
-        if (!this.em.getTransaction().isActive()) {
-            this.em.getTransaction().begin();
-        }
-        boolean check = false;
+        synchronized (this.writeLock) {
+            // check if given endpoint is stored with related properties and remove
+            final WSDLEndpoint stored = this.wsdlEndpoints.get(endpoint.getId());
+            if (stored == null || !Objects.equals(stored.getCSARId(), endpoint.getCSARId())
+                || !Objects.equals(stored.getTriggeringContainer(), endpoint.getTriggeringContainer())) {
+                return false;
+            }
 
-        // check if given endpoint is in the list and remove
-        if (endpoints.contains(endpoint)) {
-            this.em.remove(endpoint);
-            check = true;
+            transaction(em -> {
+                final WSDLEndpoint managed = em.find(WSDLEndpoint.class, stored.getId());
+                if (managed != null) {
+                    em.remove(managed);
+                }
+            });
+            this.wsdlEndpoints.remove(stored);
+            return true;
         }
-        this.em.getTransaction().commit();
-        return check;
     }
 }
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -14,15 +15,13 @@ import org.opentosca.container.core.common.Settings;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.impl.service.internal.file.StorageProviderManager;
+import org.opentosca.container.core.impl.service.internal.file.csar.CSARArchive;
 import org.opentosca.container.core.impl.service.internal.file.csar.CSARMetaDataJPAStore;
-import org.opentosca.container.core.impl.service.internal.file.csar.CSARUnpacker;
 import org.opentosca.container.core.impl.service.internal.file.csar.CSARValidator;
 import org.opentosca.container.core.impl.service.internal.file.visitors.DirectoryDeleteVisitor;
-import org.opentosca.container.core.impl.service.internal.file.visitors.DirectoryVisitor;
 import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.model.csar.toscametafile.TOSCAMetaFile;
-import org.opentosca.container.core.model.csar.toscametafile.TOSCAMetaFileParser;
 import org.opentosca.container.core.service.IFileAccessService;
 import org.opentosca.container.core.service.internal.ICoreInternalFileService;
 import org.opentosca.container.core.service.internal.ICoreInternalFileStorageProviderService;
@@ -83,69 +82,50 @@ public class CoreInternalFileServiceImpl implements ICoreInternalFileService {
 
         CoreInternalFileServiceImpl.LOG.debug("Given file to store: {}", csarFile);
 
-        CSARUnpacker csarUnpacker = null;
-        Path csarUnpackDir = null;
-        DirectoryVisitor csarVisitor = null;
-
-        try {
-
-            if (!Files.isRegularFile(csarFile)) {
-                throw new UserException(
-                    "\"" + csarFile.toString() + "\" to store is not an absolute path to an existent file.");
-            }
-
-            // if (!PathUtils.hasFileExtension(csarFile, this.CSAR_EXTENSION)) {
-            // throw new UserException("File \"" + csarFile.toString() +
-            // "\" to store has not correct file extension \"" +
-            // this.CSAR_EXTENSION + "\".");
-            // }
+        if (!Files.isRegularFile(csarFile)) {
+            throw new UserException(
+                "\"" + csarFile.toString() + "\" to store is not an absolute path to an existent file.");
+        }
 
-            final CSARID csarID = new CSARID(csarFile.getFileName().toString());
+        // if (!PathUtils.hasFileExtension(csarFile, this.CSAR_EXTENSION)) {
+        // throw new UserException("File \"" + csarFile.toString() +
+        // "\" to store has not correct file extension \"" +
+        // this.CSAR_EXTENSION + "\".");
+        // }
 
-            if (this.JPA_STORE.isCSARMetaDataStored(csarID)) {
-                throw new EntityExistsException(
-                    "CSAR \"" + csarID.toString() + "\" is already stored. Overwriting a CSAR is not allowed.");
-            }
+        final CSARID csarID = new CSARID(csarFile.getFileName().toString());
 
-            final String storageProviderID = this.STORAGE_PROVIDER_MANAGER.chooseStorageProvider();
+        if (this.JPA_STORE.isCSARMetaDataStored(csarID)) {
+            throw new EntityExistsException(
+                "CSAR \"" + csarID.toString() + "\" is already stored. Overwriting a CSAR is not allowed.");
+        }
 
-            csarUnpacker = new CSARUnpacker(csarFile);
-            csarUnpacker.unpackAndVisitUnpackDir();
+        final String storageProviderID = this.STORAGE_PROVIDER_MANAGER.chooseStorageProvider();
 
-            csarUnpackDir = csarUnpacker.getUnpackDirectory();
-            csarVisitor = csarUnpacker.getFilesAndDirectories();
+        // the CSAR is validated and stored directly from the archive without unpacking it
+        try (CSARArchive csarArchive = new CSARArchive(csarFile)) {
 
-            final CSARValidator csarValidator = new CSARValidator(csarID, csarUnpackDir, csarVisitor);
+            final CSARValidator csarValidator = new CSARValidator(csarID, csarArchive.getFiles());
 
             if (!csarValidator.isValid()) {
                 throw new UserException(csarValidator.getErrorMessage());
             }
 
-            final Path toscaMetaFileAbsPath = csarUnpackDir.resolve(this.TOSCA_META_FILE_REL_PATH);
-
-            final TOSCAMetaFile toscaMetaFile = new TOSCAMetaFileParser().parse(toscaMetaFileAbsPath);
+            final TOSCAMetaFile toscaMetaFile =
+                csarArchive.parseTOSCAMetaFile(Paths.get(this.TOSCA_META_FILE_REL_PATH));
 
             if (toscaMetaFile == null) {
                 throw new UserException("TOSCA meta file is invalid.");
             }
 
-            final Set<Path> filesInCSARUnpackDir = csarVisitor.getVisitedFiles();
-            final Set<Path> directoriesInCSARUnpackDir = csarVisitor.getVisitedDirectories();
+            csarArchive.storeFiles(this.STORAGE_PROVIDER_MANAGER, csarID, storageProviderID);
 
             final Map<Path, String> fileToStorageProviderIDMap = new HashMap<>();
-            final Set<Path> directories = new HashSet<>();
-
-            for (final Path fileInCSARUnpackDir : filesInCSARUnpackDir) {
-                final Path fileRelToCSARRoot = csarUnpackDir.relativize(fileInCSARUnpackDir);
-                this.STORAGE_PROVIDER_MANAGER.storeFileOfCSAR(fileInCSARUnpackDir, csarID, fileRelToCSARRoot,
-                                                              storageProviderID);
+            for (final Path fileRelToCSARRoot : csarArchive.getFiles()) {
                 fileToStorageProviderIDMap.put(fileRelToCSARRoot, storageProviderID);
             }
 
-            for (final Path directoryInCSARUnpackDir : directoriesInCSARUnpackDir) {
-                final Path directoryRelToCSARRoot = csarUnpackDir.relativize(directoryInCSARUnpackDir);
-                directories.add(directoryRelToCSARRoot);
-            }
+            final Set<Path> directories = new HashSet<>(csarArchive.getDirectories());
 
             this.JPA_STORE.storeCSARMetaData(csarID, directories, fileToStorageProviderIDMap, toscaMetaFile);
 
@@ -154,13 +134,6 @@ public class CoreInternalFileServiceImpl implements ICoreInternalFileService {
 
             return csarID;
         }
-        finally {
-            // At the end or if an exception occurred we should delete the
-            // unpack directory, if necessary.
-            if (csarUnpackDir != null) {
-                csarUnpacker.deleteUnpackDir();
-            }
-        }
     }
 
     @Override
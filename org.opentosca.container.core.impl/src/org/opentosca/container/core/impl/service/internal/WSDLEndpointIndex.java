@@ -0,0 +1,140 @@
+package org.opentosca.container.core.impl.service.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.endpoint.wsdl.WSDLEndpoint;
+
+/**
+ * In-memory index of the stored {@link WSDLEndpoint}s, which allows lock-free concurrent reads.
+ * Endpoints of IAs are additionally indexed by the triggering Container, managing Container, type
+ * implementation and IA name, so that the lookup on the IA invocation path is a hash lookup.<br>
+ * <br>
+ *
+ * The index does not access the database. Callers have to update it after each successful write
+ * and have to serialize their writes.
+ */
+final class WSDLEndpointIndex {
+
+    private final Map<Long, WSDLEndpoint> endpointsById = new ConcurrentHashMap<>();
+
+    private final Map<IAKey, Map<Long, WSDLEndpoint>> endpointsByIA = new ConcurrentHashMap<>();
+
+
+    void add(final WSDLEndpoint endpoint) {
+        this.endpointsById.put(endpoint.getId(), endpoint);
+        this.endpointsByIA.computeIfAbsent(IAKey.of(endpoint), key -> new ConcurrentHashMap<>())
+                          .put(endpoint.getId(), endpoint);
+    }
+
+    void addAll(final Collection<WSDLEndpoint> endpoints) {
+        endpoints.forEach(this::add);
+    }
+
+    void remove(final WSDLEndpoint endpoint) {
+        final WSDLEndpoint indexed = this.endpointsById.remove(endpoint.getId());
+        if (indexed != null) {
+            this.endpointsByIA.computeIfPresent(IAKey.of(indexed), (key, endpoints) -> {
+                endpoints.remove(indexed.getId());
+                return endpoints.isEmpty() ? null : endpoints;
+            });
+        }
+    }
+
+    void clear() {
+        this.endpointsById.clear();
+        this.endpointsByIA.clear();
+    }
+
+    WSDLEndpoint get(final Long id) {
+        return id == null ? null : this.endpointsById.get(id);
+    }
+
+    /**
+     * Returns the stored endpoints of the IA with the given properties.
+     */
+    List<WSDLEndpoint> findByIA(final String triggeringContainer, final String managingContainer,
+                                final QName typeImplementation, final String iaName) {
+        final Map<Long, WSDLEndpoint> endpoints =
+            this.endpointsByIA.get(new IAKey(triggeringContainer, managingContainer, typeImplementation, iaName));
+        return endpoints == null ? Collections.emptyList() : new ArrayList<>(endpoints.values());
+    }
+
+    /**
+     * Returns a stored endpoint which is equivalent to the given one, i.e. has the same values in all
+     * identifying fields, or <code>null</code> if there is none.
+     */
+    WSDLEndpoint findEquivalent(final WSDLEndpoint endpoint) {
+        final Map<Long, WSDLEndpoint> candidates = this.endpointsByIA.get(IAKey.of(endpoint));
+        if (candidates == null) {
+            return null;
+        }
+        return candidates.values().stream()
+                         .filter(candidate -> Objects.equals(endpoint.getCSARId(), candidate.getCSARId()))
+                         .filter(candidate -> Objects.equals(endpoint.getServiceTemplateInstanceID(),
+                                                             candidate.getServiceTemplateInstanceID()))
+                         .filter(candidate -> Objects.equals(endpoint.getURI(), candidate.getURI()))
+                         .filter(candidate -> Objects.equals(endpoint.getPortType(), candidate.getPortType()))
+                         .findFirst().orElse(null);
+    }
+
+    /**
+     * Returns all stored endpoints matching the given filter.
+     */
+    List<WSDLEndpoint> find(final Predicate<WSDLEndpoint> filter) {
+        return this.endpointsById.values().stream().filter(filter).collect(Collectors.toList());
+    }
+
+
+    private static final class IAKey {
+
+        private final String triggeringContainer;
+        private final String managingContainer;
+        private final QName typeImplementation;
+        private final String iaName;
+
+
+        private IAKey(final String triggeringContainer, final String managingContainer,
+                      final QName typeImplementation, final String iaName) {
+            this.triggeringContainer = triggeringContainer;
+            this.managingContainer = managingContainer;
+            this.typeImplementation = typeImplementation;
+            this.iaName = iaName;
+        }
+
+        private static IAKey of(final WSDLEndpoint endpoint) {
+            return new IAKey(endpoint.getTriggeringContainer(), endpoint.getManagingContainer(),
+                endpoint.getTypeImplementation(), endpoint.getIaName());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IAKey)) {
+                return false;
+            }
+            final IAKey other = (IAKey) o;
+            return Objects.equals(this.triggeringContainer, other.triggeringContainer)
+                && Objects.equals(this.managingContainer, other.managingContainer)
+                && Objects.equals(this.typeImplementation, other.typeImplementation)
+                && Objects.equals(this.iaName, other.iaName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.triggeringContainer, this.managingContainer, this.typeImplementation,
+                                this.iaName);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.opentosca.container.core.impl.service.internal.file.csar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.impl.service.internal.file.StorageProviderManager;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.model.csar.toscametafile.TOSCAMetaFile;
+import org.opentosca.container.core.model.csar.toscametafile.TOSCAMetaFileParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gives access to the files and directories of a CSAR file without unpacking it.<br />
+ * <br />
+ * The files and directories are determined from the central directory of the CSAR archive, the
+ * content of each file is streamed directly from the archive to the storage provider. Files are
+ * stored in parallel on a shared thread pool.
+ */
+public class CSARArchive implements AutoCloseable {
+
+    private final static Logger LOG = LoggerFactory.getLogger(CSARArchive.class);
+
+    private final static int STORING_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    // progress of storing the files is logged in steps of this percentage
+    private final static int PROGRESS_STEP = 10;
+
+    private final static ExecutorService STORING_EXECUTOR = Executors.newFixedThreadPool(STORING_THREADS, runnable -> {
+        final Thread thread = new Thread(runnable, "csar-storing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path CSAR_FILE;
+
+    private final ZipFile zipFile;
+
+    private final Map<Path, ZipEntry> files = new HashMap<>();
+    private final Set<Path> directories = new HashSet<>();
+
+
+    /**
+     * Opens the CSAR file {@code csarFile} and reads its entries.
+     *
+     * @param csarFile to process.
+     * @throws UserException if {@code csarFile} is no valid archive or contains entries outside of
+     *         the CSAR root.
+     */
+    public CSARArchive(final Path csarFile) throws UserException {
+        this.CSAR_FILE = csarFile;
+
+        try {
+            this.zipFile = new ZipFile(csarFile.toFile());
+        }
+        catch (final IOException exc) {
+            throw new UserException("Reading file located at \"" + csarFile.toString() + "\" as archive failed.", exc);
+        }
+
+        try {
+            this.readEntries();
+        }
+        catch (final UserException exc) {
+            this.close();
+            throw exc;
+        }
+
+        CSARArchive.LOG.debug("CSAR located at \"{}\" contains {} files and {} directories.", csarFile,
+                              this.files.size(), this.directories.size());
+    }
+
+    private void readEntries() throws UserException {
+
+        final Path csarRoot = Paths.get("");
+
+        for (final ZipEntry entry : Collections.list(this.zipFile.entries())) {
+
+            final Path entryPath = Paths.get(entry.getName()).normalize();
+
+            if (entryPath.isAbsolute() || entryPath.startsWith("..")) {
+                throw new UserException("Entry \"" + entry.getName() + "\" of CSAR located at \""
+                    + this.CSAR_FILE.toString() + "\" is outside of the CSAR root.");
+            }
+
+            if (entryPath.equals(csarRoot)) {
+                continue;
+            }
+
+            if (entry.isDirectory()) {
+                this.directories.add(entryPath);
+            } else {
+                this.files.put(entryPath, entry);
+            }
+
+            // directories are not necessarily contained as entries in the archive
+            for (Path parent = entryPath.getParent(); parent != null; parent = parent.getParent()) {
+                this.directories.add(parent);
+            }
+        }
+    }
+
+    /**
+     * @return All files of the CSAR as paths relative to the CSAR root.
+     */
+    public Set<Path> getFiles() {
+        return Collections.unmodifiableSet(this.files.keySet());
+    }
+
+    /**
+     * @return All directories of the CSAR as paths relative to the CSAR root.
+     */
+    public Set<Path> getDirectories() {
+        return Collections.unmodifiableSet(this.directories);
+    }
+
+    /**
+     * Parses the TOSCA meta file of the CSAR directly from the archive.
+     *
+     * @param toscaMetaFileRelPath - relative path to CSAR root of the TOSCA meta file
+     * @return The parsed TOSCA meta file. If it doesn't exist or is invalid {@code null}.
+     * @throws SystemException if reading the TOSCA meta file from the archive failed.
+     */
+    public TOSCAMetaFile parseTOSCAMetaFile(final Path toscaMetaFileRelPath) throws SystemException {
+
+        final ZipEntry entry = this.files.get(toscaMetaFileRelPath);
+
+        if (entry == null) {
+            return null;
+        }
+
+        try (InputStream toscaMetaFileStream = this.zipFile.getInputStream(entry)) {
+            return new TOSCAMetaFileParser().parse(toscaMetaFileStream, toscaMetaFileRelPath.toString());
+        }
+        catch (final IOException exc) {
+            throw new SystemException("An IO Exception occurred. Reading TOSCA meta file of CSAR located at \""
+                + this.CSAR_FILE.toString() + "\" failed.", exc);
+        }
+    }
+
+    /**
+     * Stores all files of the CSAR in parallel on storage provider {@code storageProviderID}.<br />
+     * <br />
+     * Note: If storing a file failed, the remaining files are skipped and all files of the CSAR
+     * which were already stored will be deleted.
+     *
+     * @param storageProviderManager to store the files with
+     * @param csarID of CSAR
+     * @param storageProviderID of storage provider
+     * @throws SystemException if storing a file failed.
+     */
+    public void storeFiles(final StorageProviderManager storageProviderManager, final CSARID csarID,
+                           final String storageProviderID) throws SystemException {
+
+        final int numFiles = this.files.size();
+        long totalSize = 0;
+        for (final ZipEntry entry : this.files.values()) {
+            totalSize += Math.max(entry.getSize(), 0);
+        }
+
+        CSARArchive.LOG.debug("Storing {} files ({} bytes) of CSAR \"{}\" on storage provider \"{}\"...", numFiles,
+                              totalSize, csarID, storageProviderID);
+
+        final AtomicBoolean failed = new AtomicBoolean();
+        final AtomicInteger storedFiles = new AtomicInteger();
+        final AtomicLong storedBytes = new AtomicLong();
+        final long size = totalSize;
+
+        final Set<Path> filesOnStorageProvider = ConcurrentHashMap.newKeySet();
+        final List<Future<?>> tasks = new ArrayList<>(numFiles);
+
+        for (final Map.Entry<Path, ZipEntry> file : this.files.entrySet()) {
+            tasks.add(STORING_EXECUTOR.submit(() -> {
+                final Path fileRelToCSARRoot = file.getKey();
+                final ZipEntry entry = file.getValue();
+
+                // skip the remaining files if storing another one already failed
+                if (failed.get()) {
+                    return null;
+                }
+
+                try (InputStream fileInputStream = this.zipFile.getInputStream(entry)) {
+                    storageProviderManager.storeFileOfCSAR(csarID, fileInputStream, entry.getSize(), fileRelToCSARRoot,
+                                                           storageProviderID);
+                }
+                catch (IOException | SystemException | RuntimeException exc) {
+                    failed.set(true);
+                    throw exc;
+                }
+                filesOnStorageProvider.add(fileRelToCSARRoot);
+
+                final int stored = storedFiles.incrementAndGet();
+                final long bytes = storedBytes.addAndGet(Math.max(entry.getSize(), 0));
+                if (stored * 100 / numFiles / PROGRESS_STEP != (stored - 1) * 100 / numFiles / PROGRESS_STEP) {
+                    CSARArchive.LOG.info("Storing CSAR \"{}\": {}/{} files ({}/{} bytes) stored.", csarID, stored,
+                                         numFiles, bytes, size);
+                }
+                return null;
+            }));
+        }
+
+        // wait for all tasks, so that no file is stored after the cleanup
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (final Future<?> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                }
+                catch (final InterruptedException exc) {
+                    interrupted = true;
+                    failed.set(true);
+                }
+                catch (final ExecutionException exc) {
+                    if (failure == null) {
+                        failure = exc.getCause();
+                    }
+                    break;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failure != null || interrupted) {
+            this.deleteStoredFiles(storageProviderManager, csarID, storageProviderID, filesOnStorageProvider);
+
+            if (failure instanceof SystemException) {
+                throw (SystemException) failure;
+            }
+            throw new SystemException("Storing files of CSAR \"" + csarID.toString() + "\" on storage provider \""
+                + storageProviderID + "\" failed.", failure);
+        }
+
+        CSARArchive.LOG.debug("Storing {} files of CSAR \"{}\" on storage provider \"{}\" completed.", numFiles,
+                              csarID, storageProviderID);
+    }
+
+    private void deleteStoredFiles(final StorageProviderManager storageProviderManager, final CSARID csarID,
+                                   final String storageProviderID, final Set<Path> filesOnStorageProvider) {
+        for (final Path fileRelToCSARRoot : filesOnStorageProvider) {
+            try {
+                storageProviderManager.deleteFileOfCSAR(csarID, fileRelToCSARRoot, storageProviderID);
+            }
+            catch (final SystemException exc) {
+                CSARArchive.LOG.warn("Deleting already stored file \"{}\" of CSAR \"{}\" failed.",
+                                     fileRelToCSARRoot, csarID, exc);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.zipFile.close();
+        }
+        catch (final IOException exc) {
+            CSARArchive.LOG.warn("Closing CSAR located at \"{}\" failed.", this.CSAR_FILE, exc);
+        }
+    }
+
+}
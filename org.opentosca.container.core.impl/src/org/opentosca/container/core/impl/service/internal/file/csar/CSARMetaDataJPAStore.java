@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
@@ -16,37 +17,42 @@ import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.model.csar.toscametafile.TOSCAMetaFile;
+import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Manages CSAR meta data in the database by using Eclipse Link (JPA).
+ *
+ * Each operation uses its own EntityManager, as the store is used concurrently, e.g. by the
+ * concurrent deployment of the plans of a CSAR.
  */
 public class CSARMetaDataJPAStore {
 
     private final static Logger LOG = LoggerFactory.getLogger(CSARMetaDataJPAStore.class);
 
-    private EntityManager em;
 
-
-    /**
-     * Initializes JPA.
-     */
-    private void initJPA() {
-        if (this.em == null) {
-            this.em = EntityManagerProvider.createEntityManager();
+    private <T> T query(final Function<EntityManager, T> query) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            return query.apply(em);
         }
     }
 
-    /**
-     * This method is called when the garbage collector destroys the class. We will then manually close
-     * the EntityManager / Factory and pass control back.
-     */
-    @Override
-    protected void finalize() throws Throwable {
-        this.em.close();
-        super.finalize();
+    private <T> T transaction(final Function<EntityManager, T> operation) {
+        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+            em.getTransaction().begin();
+            try {
+                final T result = operation.apply(em);
+                em.getTransaction().commit();
+                return result;
+            }
+            finally {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+            }
+        }
     }
 
     /**
@@ -66,14 +72,10 @@ public class CSARMetaDataJPAStore {
 
         final CSARContent csar = new CSARContent(csarID, directories, fileToStorageProviderIDMap, toscaMetaFile);
 
-        initJPA();
-
-        this.em.getTransaction().begin();
-        this.em.persist(csar);
-        this.em.getTransaction().commit();
-
-        // clear the JPA 1st level cache
-        this.em.clear();
+        transaction(em -> {
+            em.persist(csar);
+            return null;
+        });
 
         CSARMetaDataJPAStore.LOG.debug("Storing meta data of CSAR \"{}\" completed.", csarID);
 
@@ -86,9 +88,8 @@ public class CSARMetaDataJPAStore {
     public boolean isCSARMetaDataStored(final CSARID csarID) {
 
         CSARMetaDataJPAStore.LOG.debug("Checking if meta data of CSAR \"{}\" are stored...", csarID);
-        initJPA();
 
-        final CSARContent csar = this.em.find(CSARContent.class, csarID);
+        final CSARContent csar = query(em -> em.find(CSARContent.class, csarID));
 
         if (csar == null) {
             CSARMetaDataJPAStore.LOG.debug("Meta data of CSAR \"{}\" were not found.", csarID);
@@ -110,11 +111,9 @@ public class CSARMetaDataJPAStore {
      */
     public CSARContent getCSARMetaData(final CSARID csarID) throws UserException {
 
-        initJPA();
-
         CSARMetaDataJPAStore.LOG.debug("Retrieving meta data of CSAR \"{}\"...", csarID);
 
-        final CSARContent csar = this.em.find(CSARContent.class, csarID);
+        final CSARContent csar = query(em -> em.find(CSARContent.class, csarID));
 
         if (csar == null) {
             CSARMetaDataJPAStore.LOG.debug("Meta data of CSAR \"{}\" were not found.", csarID);
@@ -132,11 +131,9 @@ public class CSARMetaDataJPAStore {
     public Set<CSARID> getCSARIDsMetaData() {
 
         CSARMetaDataJPAStore.LOG.trace("Retrieving CSAR IDs of all stored CSARs...");
-        initJPA();
-        final Query getCSARIDsQuery = this.em.createNamedQuery(CSARContent.getCSARIDs);
 
         @SuppressWarnings("unchecked")
-        final List<CSARID> csarIDs = getCSARIDsQuery.getResultList();
+        final List<CSARID> csarIDs = query(em -> em.createNamedQuery(CSARContent.getCSARIDs).getResultList());
         CSARMetaDataJPAStore.LOG.trace("{} CSAR ID(s) was / were found.", csarIDs.size());
         return new HashSet<>(csarIDs);
 
@@ -150,15 +147,22 @@ public class CSARMetaDataJPAStore {
      */
     public void deleteCSARMetaData(final CSARID csarID) throws UserException {
 
-        initJPA();
-
         CSARMetaDataJPAStore.LOG.debug("Deleting meta data of CSAR \"{}\"...", csarID);
 
-        final CSARContent csarContent = getCSARMetaData(csarID);
-
-        this.em.getTransaction().begin();
-        this.em.remove(csarContent);
-        this.em.getTransaction().commit();
+        // the entity has to be removed with the EntityManager it was found with
+        final boolean deleted = transaction(em -> {
+            final CSARContent csarContent = em.find(CSARContent.class, csarID);
+            if (csarContent == null) {
+                return false;
+            }
+            em.remove(csarContent);
+            return true;
+        });
+
+        if (!deleted) {
+            CSARMetaDataJPAStore.LOG.debug("Meta data of CSAR \"{}\" were not found.", csarID);
+            throw new NotFoundException();
+        }
 
         CSARMetaDataJPAStore.LOG.debug("Deleting meta data of CSAR \"{}\" completed.", csarID);
 
@@ -180,26 +184,21 @@ public class CSARMetaDataJPAStore {
         CSARMetaDataJPAStore.LOG.debug("Setting storage provider \"{}\" in meta data of file \"{}\" in CSAR \"{}\"...",
                                        storageProviderID, fileRelToCSARRoot, csarID);
 
-        initJPA();
-
-        final Query storeStorageProviderIDByFileAndCSARIDQuery =
-            this.em.createNamedQuery(CSARContent.storeStorageProviderIDByFileAndCSARID);
+        final int updatedFiles = transaction(em -> {
+            final Query storeStorageProviderIDByFileAndCSARIDQuery =
+                em.createNamedQuery(CSARContent.storeStorageProviderIDByFileAndCSARID);
 
-        storeStorageProviderIDByFileAndCSARIDQuery.setParameter(1, storageProviderID);
-        storeStorageProviderIDByFileAndCSARIDQuery.setParameter(2, fileRelToCSARRoot.toString());
-        storeStorageProviderIDByFileAndCSARIDQuery.setParameter(3, csarID.toString());
+            storeStorageProviderIDByFileAndCSARIDQuery.setParameter(1, storageProviderID);
+            storeStorageProviderIDByFileAndCSARIDQuery.setParameter(2, fileRelToCSARRoot.toString());
+            storeStorageProviderIDByFileAndCSARIDQuery.setParameter(3, csarID.toString());
 
-        this.em.getTransaction().begin();
-        final int updatedFiles = storeStorageProviderIDByFileAndCSARIDQuery.executeUpdate();
-        this.em.getTransaction().commit();
+            return storeStorageProviderIDByFileAndCSARIDQuery.executeUpdate();
+        });
 
         if (updatedFiles > 0) {
 
-            // After the execution of the native query we must manually
-            // synchronize the persistence context with the database context.
-            // For this will clear the 1st level cache and invalidate the
-            // CSARContent entity in the 2nd level cache.
-            this.em.clear();
+            // The 1st level cache of the EntityManager is discarded with it, the
+            // CSARContent entity in the 2nd level cache isn't invalidated.
             // emf.getCache().evict(CSARContent.class, csarID);
 
             CSARMetaDataJPAStore.LOG.debug("Setting storage provider \"{}\" in meta data of file \"{}\" in CSAR \"{}\" completed.",
@@ -222,13 +221,11 @@ public class CSARMetaDataJPAStore {
     public Map<Path, String> getFileToStorageProviderIDMap(final CSARID csarID) throws UserException {
         CSARMetaDataJPAStore.LOG.debug("Retrieving file to storage provider mapping meta data of CSAR \"{}\"...",
                                        csarID);
-        initJPA();
-        final Query getFileToStorageProviderIDMapQuery =
-            this.em.createNamedQuery(CSARContent.getFileToStorageProviderIDMapByCSARID);
-        getFileToStorageProviderIDMapQuery.setParameter("csarID", csarID);
 
         @SuppressWarnings("unchecked")
-        final List<Object[]> fileToStorageProviderIDEntries = getFileToStorageProviderIDMapQuery.getResultList();
+        final List<Object[]> fileToStorageProviderIDEntries =
+            query(em -> em.createNamedQuery(CSARContent.getFileToStorageProviderIDMapByCSARID)
+                          .setParameter("csarID", csarID).getResultList());
 
         if (fileToStorageProviderIDEntries.isEmpty()) {
             throw new UserException("Meta data of CSAR \"" + csarID + "\" were not found.");
@@ -258,13 +255,12 @@ public class CSARMetaDataJPAStore {
 
         CSARMetaDataJPAStore.LOG.debug("Retrieving directories meta data of CSAR \"{}\"...", csarID);
 
-        initJPA();
-
-        final TypedQuery<CSARContent> getDirectoriesQuery =
-            this.em.createNamedQuery(CSARContent.getDirectoriesByCSARID, CSARContent.class);
-        getDirectoriesQuery.setParameter("csarID", csarID);
-
-        final CSARContent result = getDirectoriesQuery.getSingleResult();
+        final CSARContent result = query(em -> {
+            final TypedQuery<CSARContent> getDirectoriesQuery =
+                em.createNamedQuery(CSARContent.getDirectoriesByCSARID, CSARContent.class);
+            getDirectoriesQuery.setParameter("csarID", csarID);
+            return getDirectoriesQuery.getSingleResult();
+        });
 
         if (result == null) {
             throw new UserException("Meta data of CSAR \"" + csarID + "\" were not found.");
@@ -1,10 +1,10 @@
 package org.opentosca.container.core.impl.service.internal.file.csar;
 
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Set;
 
 import org.opentosca.container.core.common.Settings;
-import org.opentosca.container.core.impl.service.internal.file.visitors.DirectoryVisitor;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,14 +44,9 @@ public class CSARValidator {
     private final CSARID CSAR_ID;
 
     /**
-     * Absolute path to unpack directory of the CSAR to validate.
+     * All files of the CSAR to validate as paths relative to the CSAR root.
      */
-    private final Path CSAR_UNPACK_DIR;
-
-    /**
-     * Contains all directories and files in the unpack directory of the CSAR to validate.
-     */
-    private final DirectoryVisitor CSAR_VISITOR;
+    private final Set<Path> CSAR_FILES;
 
     /**
      * Error message that can fetched if any errors occurred during validation.
@@ -62,17 +57,16 @@ public class CSARValidator {
 
 
     /**
-     * Creates a {@link CSARValidator}.<br />
+     * Creates a {@link CSARValidator} for a CSAR which is not unpacked, e.g. based on the entries of
+     * the CSAR archive.<br />
      * After creation {@link #isValid()} should be called to validate the CSAR content.
      *
      * @param csarID of CSAR
-     * @param csarUnpackDir - absolute path of CSAR unpack directory
-     * @param csarVisitor - must contain all files and directories in {@code csarUnpackDir}.
+     * @param csarFiles - all files of the CSAR as paths relative to the CSAR root
      */
-    public CSARValidator(final CSARID csarID, final Path csarUnpackDir, final DirectoryVisitor csarVisitor) {
+    public CSARValidator(final CSARID csarID, final Set<Path> csarFiles) {
         this.CSAR_ID = csarID;
-        this.CSAR_UNPACK_DIR = csarUnpackDir;
-        this.CSAR_VISITOR = csarVisitor;
+        this.CSAR_FILES = csarFiles;
     }
 
     /**
@@ -84,13 +78,13 @@ public class CSARValidator {
 
         CSARValidator.LOG.debug("Validating content of CSAR \"{}\"...", this.CSAR_ID);
 
-        final Set<Path> csarFiles = this.CSAR_VISITOR.getVisitedFiles();
+        final Set<Path> csarFiles = this.CSAR_FILES;
 
-        if (!this.containsTOSCAs(this.CSAR_ID, this.CSAR_UNPACK_DIR, csarFiles)) {
+        if (!this.containsTOSCAs(this.CSAR_ID, csarFiles)) {
             this.isValidCSAR = false;
         }
 
-        if (!this.existsTOSCAMetaFile(this.CSAR_ID, this.CSAR_UNPACK_DIR, csarFiles)) {
+        if (!this.existsTOSCAMetaFile(this.CSAR_ID, csarFiles)) {
             this.isValidCSAR = false;
         }
 
@@ -120,17 +114,16 @@ public class CSARValidator {
 
     /**
      * @param csarID of CSAR.
-     * @param csarUnpackDir - absolute path of CSAR unpack directory
-     * @param csarFiles - all files in {@code csarUnpackDir}.
+     * @param csarFiles - all files of the CSAR relative to the CSAR root.
      * @return {@code true} if {@code Definitions} directory of CSAR {@code csarID} contains at least
      *         one TOSCA file, otherwise {@code false}.
      */
-    private boolean containsTOSCAs(final CSARID csarID, final Path csarUnpackDir, final Set<Path> csarFiles) {
+    private boolean containsTOSCAs(final CSARID csarID, final Set<Path> csarFiles) {
 
-        final Path csarDefinitionsDirAbsPath = csarUnpackDir.resolve(this.CSAR_DEFINITIONS_DIR_REL_PATH);
+        final Path csarDefinitionsDirPath = Paths.get(this.CSAR_DEFINITIONS_DIR_REL_PATH);
 
         for (final Path csarFile : csarFiles) {
-            if (csarFile.startsWith(csarDefinitionsDirAbsPath) /*
+            if (csarFile.startsWith(csarDefinitionsDirPath) /*
                                                                 * && PathUtils. hasFileExtension (csarFile, this.
                                                                 * TOSCA_FILE_EXTENSIONS )
                                                                 */) {
@@ -150,15 +143,14 @@ public class CSARValidator {
 
     /**
      * @param csarID of CSAR.
-     * @param csarUnpackDir - absolute path of CSAR unpack directory
-     * @param csarFiles - all files in {@code csarUnpackDir}.
+     * @param csarFiles - all files of the CSAR relative to the CSAR root.
      * @return {@code true} if TOSCA meta file exists in CSAR {@code csarID}, otherwise {@code false}.
      */
-    private boolean existsTOSCAMetaFile(final CSARID csarID, final Path csarUnpackDir, final Set<Path> csarFiles) {
+    private boolean existsTOSCAMetaFile(final CSARID csarID, final Set<Path> csarFiles) {
 
-        final Path toscaMetaFileAbsPath = csarUnpackDir.resolve(this.TOSCA_META_FILE_REL_PATH);
+        final Path toscaMetaFilePath = Paths.get(this.TOSCA_META_FILE_REL_PATH);
 
-        if (csarFiles.contains(toscaMetaFileAbsPath)) {
+        if (csarFiles.contains(toscaMetaFilePath)) {
             CSARValidator.LOG.debug("TOSCA meta file exists at \"{}\" in CSAR \"{}\".", this.TOSCA_META_FILE_REL_PATH,
                                     this.CSAR_ID);
             return true;
@@ -53,6 +53,9 @@ public class Activator implements BundleActivator {
         // Filesystem storage provider
         Settings.setSetting("csarStorePath", openTOSCAPath + File.separator + "CSARs");
 
+        // contains the CSARs repackaged with generated plans by the PlanBuilder
+        Settings.setSetting("planCachePath", openTOSCAPath + File.separator + "PlanCache");
+
         // /////////////////// URLS ///////////////////
 
         // URI of the ContainerAPI
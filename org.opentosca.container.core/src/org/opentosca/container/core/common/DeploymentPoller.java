@@ -0,0 +1,84 @@
+package org.opentosca.container.core.common;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the state of deployments by polling it with exponentially increasing delays, thus, no
+ * thread is blocked per deployment. Each poller uses its own scheduler with daemon threads, so the
+ * checks have to be bounded, e.g. by timeouts of the requests they send.
+ */
+public class DeploymentPoller {
+
+    // the deployment state is polled with delays from the initial to the maximum delay until the
+    // deployment timeout is exceeded
+    public final static long POLLING_INITIAL_DELAY = 100;
+    public final static long POLLING_MAX_DELAY = 2000;
+    public final static long DEPLOYMENT_TIMEOUT = 120000;
+
+    private final ScheduledExecutorService executor;
+
+
+    /**
+     * Creates a poller with two threads of the given name
+     *
+     * @param threadName the name of the polling threads
+     */
+    public DeploymentPoller(final String threadName) {
+        this.executor = Executors.newScheduledThreadPool(2, runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the time in milliseconds after which polling for a deployment started now is given up
+     */
+    public static long getDeadline() {
+        return System.currentTimeMillis() + DEPLOYMENT_TIMEOUT;
+    }
+
+    /**
+     * Calls the given check with exponentially increasing delays until it returns a result.
+     *
+     * @param check returns the result, or null if polling has to be continued
+     * @param deadline the time in milliseconds after which polling is given up
+     * @param timeoutMessage the message of the exception the future is completed with if the deadline
+     *        is exceeded
+     * @return a future which is completed with the result of the check
+     */
+    public <T> CompletableFuture<T> poll(final Callable<T> check, final long deadline, final String timeoutMessage) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        schedulePoll(check, result, 0, POLLING_INITIAL_DELAY, deadline, timeoutMessage);
+        return result;
+    }
+
+    private <T> void schedulePoll(final Callable<T> check, final CompletableFuture<T> result, final long delay,
+                                  final long nextDelay, final long deadline, final String timeoutMessage) {
+        this.executor.schedule(() -> {
+            // the future may have been completed or cancelled by its consumer in the meantime
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                final T value = check.call();
+                if (value != null) {
+                    result.complete(value);
+                } else if (System.currentTimeMillis() + nextDelay > deadline) {
+                    result.completeExceptionally(new TimeoutException(timeoutMessage));
+                } else {
+                    schedulePoll(check, result, nextDelay, Math.min(nextDelay * 2, POLLING_MAX_DELAY), deadline,
+                                 timeoutMessage);
+                }
+            }
+            catch (final Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -30,9 +30,61 @@ public class Settings {
     public final static String ENGINE_IA_TOMCAT_PASSWORD =
         System.getProperty("org.opentosca.container.engine.ia.plugin.tomcat.password", "admin");
 
+    public final static String MANAGEMENT_BUS_SOAP_CALLBACK_TIMEOUT =
+        System.getProperty("org.opentosca.bus.management.invocation.plugin.soaphttp.callback.timeout", "7200000");
+    public final static String MANAGEMENT_BUS_COLLABORATION_TIMEOUT =
+        System.getProperty("org.opentosca.bus.management.collaboration.timeout", "7200000");
+
+    public final static String APPLICATION_BUS_RESULT_TTL =
+        System.getProperty("org.opentosca.bus.application.result.ttl", "3600000");
+    public final static String APPLICATION_BUS_MAX_RESULTS =
+        System.getProperty("org.opentosca.bus.application.result.max", "10000");
+    public final static String APPLICATION_BUS_MAX_WAIT =
+        System.getProperty("org.opentosca.bus.application.wait.max", "30000");
+    public final static String APPLICATION_BUS_ENDPOINT_CACHE_TTL =
+        System.getProperty("org.opentosca.bus.application.endpoint.cache.ttl", "60000");
+
+    public final static String APPLICATION_BUS_JSONHTTP_POLLING_INITIAL_DELAY =
+        System.getProperty("org.opentosca.bus.application.plugin.jsonhttp.polling.delay.initial", "100");
+    public final static String APPLICATION_BUS_JSONHTTP_POLLING_MAX_DELAY =
+        System.getProperty("org.opentosca.bus.application.plugin.jsonhttp.polling.delay.max", "5000");
+    public final static String APPLICATION_BUS_JSONHTTP_POLLING_TIMEOUT =
+        System.getProperty("org.opentosca.bus.application.plugin.jsonhttp.polling.timeout", "7200000");
+
+    public final static String ENGINE_PLAN_BPMN_URL =
+        System.getProperty("org.opentosca.container.engine.plan.plugin.bpmn.url", "http://localhost:8080/engine-rest");
+    public final static String ENGINE_PLAN_BPMN_USERNAME =
+        System.getProperty("org.opentosca.container.engine.plan.plugin.bpmn.username", "demo");
+    public final static String ENGINE_PLAN_BPMN_PASSWORD =
+        System.getProperty("org.opentosca.container.engine.plan.plugin.bpmn.password", "demo");
+    public final static String ENGINE_PLAN_BPMN_TRACKING_TIMEOUT =
+        System.getProperty("org.opentosca.container.engine.plan.plugin.bpmn.tracking.timeout", "7200000");
+    public final static String ENGINE_PLAN_BPEL_REQUEST_TIMEOUT =
+        System.getProperty("org.opentosca.container.engine.plan.plugin.bpel.request.timeout", "60000");
+
 
     public final static String PERSISTENCE_UNIT_NAME = "OpenTOSCA";
 
+    public final static String CONTAINER_PLAN_DEPLOYMENT_WORKERS =
+        System.getProperty("org.opentosca.container.plan.deployment.workers", "4");
+
+    public final static String PLANBUILDER_CONCURRENT_GENERATION =
+        System.getProperty("org.opentosca.planbuilder.generation.concurrent", "false");
+
+    public final static String PLANBUILDER_SERVICE_WORKERS =
+        System.getProperty("org.opentosca.planbuilder.service.workers", "2");
+    public final static String PLANBUILDER_SERVICE_QUEUE_CAPACITY =
+        System.getProperty("org.opentosca.planbuilder.service.queue.capacity", "20");
+    public final static String PLANBUILDER_SERVICE_TASK_TTL =
+        System.getProperty("org.opentosca.planbuilder.service.task.ttl", "3600000");
+
+    public final static String PLANBUILDER_PLAN_CACHE =
+        System.getProperty("org.opentosca.planbuilder.plan.cache", "true");
+    public final static String PLANBUILDER_PLAN_CACHE_MAX_SIZE =
+        System.getProperty("org.opentosca.planbuilder.plan.cache.size", "536870912");
+    public final static String PLANBUILDER_PLAN_CACHE_MAX_AGE =
+        System.getProperty("org.opentosca.planbuilder.plan.cache.age", "604800000");
+
     public final static String OPENTOSCA_DEPLOYMENT_TESTS =
         System.getProperty("org.opentosca.deployment.tests", "false");
 
@@ -1,6 +1,5 @@
 package org.opentosca.container.core.engine;
 
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -157,12 +156,13 @@ public interface IToscaReferenceMapper {
     public Map<CSARID, Map<QName, List<QName>>> getMapCsarIDToServiceTemplateIDToPlanID();
 
     /**
-     * Returns a map of PlanTypes to a map of plan ids to plan for a certain CSAR.
+     * Returns a map of PlanTypes to a map of plan ids to plan for a certain CSAR. The maps of plan
+     * ids to plan are synchronized, callers have to lock them while iterating them.
      *
      * @param csarID
      * @return map
      */
-    public Map<PlanTypes, LinkedHashMap<QName, TPlan>> getCSARIDToPlans(CSARID csarID);
+    public Map<PlanTypes, Map<QName, TPlan>> getCSARIDToPlans(CSARID csarID);
 
     /**
      * This method stores whether the plan is synchronous or asynchronous.
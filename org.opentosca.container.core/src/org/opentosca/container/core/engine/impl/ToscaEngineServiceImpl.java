@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -37,7 +38,6 @@ import org.opentosca.container.core.tosca.model.TArtifactTemplate;
 import org.opentosca.container.core.tosca.model.TArtifactTemplate.ArtifactReferences;
 import org.opentosca.container.core.tosca.model.TBoundaryDefinitions;
 import org.opentosca.container.core.tosca.model.TCapability;
-import org.opentosca.container.core.tosca.model.TDefinitions;
 import org.opentosca.container.core.tosca.model.TDeploymentArtifact;
 import org.opentosca.container.core.tosca.model.TDeploymentArtifacts;
 import org.opentosca.container.core.tosca.model.TEntityTemplate;
@@ -53,7 +53,6 @@ import org.opentosca.container.core.tosca.model.TPropertyConstraint;
 import org.opentosca.container.core.tosca.model.TRelationshipTemplate;
 import org.opentosca.container.core.tosca.model.TRelationshipType;
 import org.opentosca.container.core.tosca.model.TRelationshipTypeImplementation;
-import org.opentosca.container.core.tosca.model.TRequiredContainerFeature;
 import org.opentosca.container.core.tosca.model.TRequirement;
 import org.opentosca.container.core.tosca.model.TServiceTemplate;
 import org.slf4j.Logger;
@@ -79,6 +78,8 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
 
     private DefinitionsConsolidation definitionsConsolidation = null;
 
+    private final Map<CSARID, TypeIndex> typeIndices = new ConcurrentHashMap<>();
+
     private static final Logger LOG = LoggerFactory.getLogger(ToscaEngineServiceImpl.class);
 
     public ToscaEngineServiceImpl() {
@@ -106,6 +107,12 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
         if (ret) {
             ret = this.definitionsConsolidation.consolidateCSAR(csarID);
         }
+        if (ret) {
+            // replace an index built from the incomplete data during the resolution
+            this.typeIndices.put(csarID, TypeIndex.build(csarID, toscaReferenceMapper));
+        } else {
+            this.typeIndices.remove(csarID);
+        }
         toscaReferenceMapper.printStoredData();
 
         return ret;
@@ -304,57 +311,14 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
     @Override
     public List<QName> getTypeImplementationsOfType(final CSARID csarID, final QName typeID) {
 
-        final List<QName> listOfTypeImplementationQNames = new ArrayList<>();
-
-        final Object type = toscaReferenceMapper.getJAXBReference(csarID, typeID);
-
-        if (type instanceof TNodeType) {
-
-            // search in all Definitions inside a certain CSAR
-            for (final TDefinitions definitions : toscaReferenceMapper.getDefinitionsOfCSAR(csarID)) {
-
-                // add all NodeTypeImpls which are part of the NodeType hierarchy
-                definitions.getServiceTemplateOrNodeTypeOrNodeTypeImplementation().stream()
-                           .filter((entity) -> entity instanceof TNodeTypeImplementation)
-                           .map((entity) -> (TNodeTypeImplementation) entity).forEach((impl) -> {
-                               for (final QName nodeTypeHierachyMember : getNodeTypeHierarchy(csarID, typeID)) {
-                                   if (impl.getNodeType().equals(nodeTypeHierachyMember)) {
-
-                                       String targetNamespace;
-                                       if (impl.getTargetNamespace() != null && !impl.getTargetNamespace().equals("")) {
-                                           targetNamespace = impl.getTargetNamespace();
-                                       } else {
-                                           targetNamespace = definitions.getTargetNamespace();
-                                       }
-                                       listOfTypeImplementationQNames.add(new QName(targetNamespace, impl.getName()));
-                                   }
-                               }
-                           });
-            }
-        } else if (type instanceof TRelationshipType) {
+        final List<QName> typeImplementations = getTypeIndex(csarID).getTypeImplementations(typeID);
 
-            // search in all Definitions inside a certain CSAR
-            for (final TDefinitions definitions : toscaReferenceMapper.getDefinitionsOfCSAR(csarID)) {
-
-                // add all RelationshipTypeImpl for the type to the list
-                definitions.getServiceTemplateOrNodeTypeOrNodeTypeImplementation().stream()
-                           .filter((entity) -> entity instanceof TRelationshipTypeImplementation)
-                           .map((entity) -> (TRelationshipTypeImplementation) entity)
-                           .filter((impl) -> impl.getRelationshipType().equals(typeID)).forEach((impl) -> {
-                               String targetNamespace;
-                               if (impl.getTargetNamespace() != null && !impl.getTargetNamespace().equals("")) {
-                                   targetNamespace = impl.getTargetNamespace();
-                               } else {
-                                   targetNamespace = definitions.getTargetNamespace();
-                               }
-                               listOfTypeImplementationQNames.add(new QName(targetNamespace, impl.getName()));
-                           });
-            }
-        } else {
+        if (typeImplementations == null) {
             LOG.warn("Given typeID does not identifiy a NodeType or RelationshipType: {}", typeID);
+            return new ArrayList<>();
         }
 
-        return listOfTypeImplementationQNames;
+        return new ArrayList<>(typeImplementations);
     }
 
     /**
@@ -480,36 +444,16 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
     public List<String> getRequiredContainerFeaturesOfATypeImplementation(final CSARID csarID,
                                                                           final QName typeImplementationID) {
 
-        final List<String> requiredFeatures = new ArrayList<>();
-
-        final Object typeImplementation = toscaReferenceMapper.getJAXBReference(csarID, typeImplementationID);
-
-        if (typeImplementation instanceof TNodeTypeImplementation) {
-            final TNodeTypeImplementation nodeTypeImplementation = (TNodeTypeImplementation) typeImplementation;
-
-            if (nodeTypeImplementation.getRequiredContainerFeatures() != null) {
-                for (final TRequiredContainerFeature requiredContainerFeature : nodeTypeImplementation.getRequiredContainerFeatures()
-                                                                                                      .getRequiredContainerFeature()) {
-                    requiredFeatures.add(requiredContainerFeature.getFeature());
-                }
-            }
-
-        } else if (typeImplementation instanceof TRelationshipTypeImplementation) {
-            final TRelationshipTypeImplementation relationshipTypeImplementation =
-                (TRelationshipTypeImplementation) typeImplementation;
+        final List<String> requiredFeatures =
+            getTypeIndex(csarID).getRequiredContainerFeatures(typeImplementationID);
 
-            if (relationshipTypeImplementation.getRequiredContainerFeatures() != null) {
-                for (final TRequiredContainerFeature requiredContainerFeature : relationshipTypeImplementation.getRequiredContainerFeatures()
-                                                                                                              .getRequiredContainerFeature()) {
-                    requiredFeatures.add(requiredContainerFeature.getFeature());
-                }
-            }
-        } else {
+        if (requiredFeatures == null) {
             LOG.warn("Given typeImplementationID does not identifiy a NodeTypeImplementation or RelationshipTypeImplementation: {}",
                      typeImplementationID);
+            return new ArrayList<>();
         }
 
-        return requiredFeatures;
+        return new ArrayList<>(requiredFeatures);
     }
 
     /**
@@ -882,6 +826,7 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
      * {@inheritDoc}
      */
     public boolean clearCSARContent(final CSARID csarID) {
+        this.typeIndices.remove(csarID);
         return toscaReferenceMapper.clearCSARContent(csarID);
     }
 
@@ -1630,6 +1575,11 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
 
     @Override
     public List<QName> getNodeTypeHierarchy(final CSARID csarID, final QName nodeType) {
+        final List<QName> hierarchy = getTypeIndex(csarID).getNodeTypeHierarchy(nodeType);
+        if (hierarchy != null) {
+            return new ArrayList<>(hierarchy);
+        }
+
         final List<QName> qnames = new ArrayList<>();
         final TNodeType nodeTypeElement = (TNodeType) toscaReferenceMapper.getJAXBReference(csarID, nodeType);
 
@@ -1810,17 +1760,8 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
 
         final Set<String> interfaceNames = new HashSet<>();
 
-        for (final QName nodeTypeHierarchyMember : getNodeTypeHierarchy(csarID, nodeTypeID)) {
-
-            final TNodeType nodeType =
-                (TNodeType) toscaReferenceMapper.getJAXBReference(csarID, nodeTypeHierarchyMember);
-
-            if (nodeType.getInterfaces() != null) {
-
-                for (final TInterface iface : nodeType.getInterfaces().getInterface()) {
-                    interfaceNames.add(iface.getName());
-                }
-            }
+        for (final TInterface iface : getNodeTypeInterfaces(csarID, nodeTypeID)) {
+            interfaceNames.add(iface.getName());
         }
 
         return Lists.newArrayList(interfaceNames);
@@ -1831,26 +1772,15 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
                                                              final String interfaceName) {
         final Set<String> operationNames = new HashSet<>();
 
-        for (final QName nodeTypeHierarchyMember : getNodeTypeHierarchy(csarId, nodeTypeId)) {
-
-            final TNodeType nodeType =
-                (TNodeType) toscaReferenceMapper.getJAXBReference(csarId, nodeTypeHierarchyMember);
-
-            if (nodeType.getInterfaces() != null) {
-
-                for (final TInterface iface : nodeType.getInterfaces().getInterface()) {
-
-                    if (iface.getName().equals(interfaceName)) {
-                        for (final TOperation op : iface.getOperation()) {
-                            operationNames.add(op.getName());
-                        }
-                    }
+        for (final TInterface iface : getNodeTypeInterfaces(csarId, nodeTypeId)) {
 
+            if (iface.getName().equals(interfaceName)) {
+                for (final TOperation op : iface.getOperation()) {
+                    operationNames.add(op.getName());
                 }
             }
         }
 
-
         return Lists.newArrayList(operationNames);
     }
 
@@ -1924,33 +1854,56 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
      */
     private List<TImplementationArtifact> getIAsOfType(final CSARID csarID, final QName typeImplementationID) {
 
-        final Object typeImplementation = toscaReferenceMapper.getJAXBReference(csarID, typeImplementationID);
-
-        if (typeImplementation instanceof TNodeTypeImplementation) {
-
-            return getNodeTypeImplementationTypeHierarchy(csarID, typeImplementationID).stream()
-                                                                                       .map(qname -> (TNodeTypeImplementation) toscaReferenceMapper.getJAXBReference(csarID,
-                                                                                                                                                                     qname))
-                                                                                       .filter(impl -> impl != null
-                                                                                           && impl.getImplementationArtifacts() != null
-                                                                                           && impl.getImplementationArtifacts()
-                                                                                                  .getImplementationArtifact() != null)
-                                                                                       .flatMap(impl -> impl.getImplementationArtifacts()
-                                                                                                            .getImplementationArtifact()
-                                                                                                            .stream())
-                                                                                       .collect(Collectors.toList());
-        } else if (typeImplementation instanceof TRelationshipTypeImplementation) {
-
-            return Stream.of((TRelationshipTypeImplementation) typeImplementation)
-                         .filter((impl) -> impl != null && impl.getImplementationArtifacts() != null
-                             && impl.getImplementationArtifacts().getImplementationArtifact() != null)
-                         .flatMap((impl) -> impl.getImplementationArtifacts().getImplementationArtifact().stream())
-                         .collect(Collectors.toList());
-        } else {
+        final List<TImplementationArtifact> ias =
+            getTypeIndex(csarID).getImplementationArtifacts(typeImplementationID);
+
+        if (ias == null) {
             LOG.warn("Given typeImplementationID does not identifiy a NodeTypeImplementation or RelationshipTypeImplementation: {}",
                      typeImplementationID);
             return new ArrayList<>();
         }
+
+        return ias;
+    }
+
+    /**
+     * Return the interfaces of a NodeType and all NodeTypes it is derived from.
+     *
+     * @param csarID of the CSAR containing the NodeType.
+     * @param nodeTypeID of the NodeType.
+     * @return List with all interfaces of the NodeType hierarchy.
+     */
+    private List<TInterface> getNodeTypeInterfaces(final CSARID csarID, final QName nodeTypeID) {
+
+        final List<TInterface> interfaces = getTypeIndex(csarID).getNodeTypeInterfaces(nodeTypeID);
+
+        if (interfaces != null) {
+            return interfaces;
+        }
+
+        final List<TInterface> result = new ArrayList<>();
+        for (final QName nodeTypeHierarchyMember : getNodeTypeHierarchy(csarID, nodeTypeID)) {
+
+            final TNodeType nodeType =
+                (TNodeType) toscaReferenceMapper.getJAXBReference(csarID, nodeTypeHierarchyMember);
+
+            if (nodeType.getInterfaces() != null) {
+                result.addAll(nodeType.getInterfaces().getInterface());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the TypeIndex of a CSAR. The index is built once from the currently stored data and
+     * cached. If it is built while the Definitions of the CSAR are resolved, it is replaced by a
+     * complete index once the resolution succeeded.
+     *
+     * @param csarID of the CSAR.
+     * @return the TypeIndex of the CSAR.
+     */
+    private TypeIndex getTypeIndex(final CSARID csarID) {
+        return this.typeIndices.computeIfAbsent(csarID, id -> TypeIndex.build(id, toscaReferenceMapper));
     }
 
     /**
@@ -1990,6 +1943,12 @@ public class ToscaEngineServiceImpl implements IToscaEngineService {
                                                      final String interfaceName, final String operationName,
                                                      final Predicate<TOperation> operationFilter) {
 
+        final Optional<TOperation> indexedOperation =
+            getTypeIndex(csarID).getOperation(typeID, interfaceName, operationName, operationFilter);
+        if (indexedOperation != null) {
+            return indexedOperation;
+        }
+
         final Object type = toscaReferenceMapper.getJAXBReference(csarID, typeID);
 
         if (type instanceof TNodeType) {
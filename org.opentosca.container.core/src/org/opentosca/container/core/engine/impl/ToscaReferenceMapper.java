@@ -3,10 +3,13 @@ package org.opentosca.container.core.engine.impl;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.xml.bind.JAXB;
 import javax.xml.bind.JAXBContext;
@@ -60,20 +63,24 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     // logger
     private final Logger LOG = LoggerFactory.getLogger(ToscaReferenceMapper.class);
 
-    // internal data structures
-    private ReferenceMap referenceMap;
-    private DocumentMap documentMap;
-    private CSARIDToDefinitionsMap mapCSARIDToDefinitions;
-    private CSARIDToServiceTemplateIDsMap mapCSARIDToServiceTemplateIDs;
-    private CsarIDToPlanTypeToPlanNameToPlan csarIDToPlanTypeToIntegerToPlan;
-    private CsarIDToWSDLDocuments csarIDToWSDLDocuments;
-    private CsarIDToServiceTemplateIDToPlanID csarIDToServiceTemplateIDToPlanID;
-    private final Map<CSARID, Map<QName, Boolean>> csarIDToPlanIDToSynchronousBoolean = new HashMap<>();
-    private final Map<CSARID, Map<QName, List<TExportedInterface>>> csarIDToExportedInterface = new HashMap<>();
+    // internal data structures, all of them are keyed by CSARID and safe for concurrent access so that
+    // references of resolved CSARs can be read while other CSARs are imported or deleted
+    private final ReferenceMap referenceMap = new ReferenceMap();
+    private final DocumentMap documentMap = new DocumentMap();
+    private final CSARIDToDefinitionsMap mapCSARIDToDefinitions = new CSARIDToDefinitionsMap();
+    private final CSARIDToServiceTemplateIDsMap mapCSARIDToServiceTemplateIDs = new CSARIDToServiceTemplateIDsMap();
+    private final CsarIDToPlanTypeToPlanNameToPlan csarIDToPlanTypeToIntegerToPlan =
+        new CsarIDToPlanTypeToPlanNameToPlan();
+    private final CsarIDToWSDLDocuments csarIDToWSDLDocuments = new CsarIDToWSDLDocuments();
+    private final CsarIDToServiceTemplateIDToPlanID csarIDToServiceTemplateIDToPlanID =
+        new CsarIDToServiceTemplateIDToPlanID();
+    private final Map<CSARID, Map<QName, Boolean>> csarIDToPlanIDToSynchronousBoolean = new ConcurrentHashMap<>();
+    private final Map<CSARID, Map<QName, List<TExportedInterface>>> csarIDToExportedInterface =
+        new ConcurrentHashMap<>();
     private final CsarIDToPolicies csarIDToPolicies = new CsarIDToPolicies();
-    private final Map<CSARID, Map<QName, String>> mapDefinitionsIDToLocationString = new HashMap<>();
-    private final Map<CSARID, Map<QName, QName>> mapElementIDToDefinitionsID = new HashMap<>();
-    private final Map<CSARID, Map<QName, QName>> mapCSARIDToPlanIDToInputMessageID = new HashMap<>();
+    private final Map<CSARID, Map<QName, String>> mapDefinitionsIDToLocationString = new ConcurrentHashMap<>();
+    private final Map<CSARID, Map<QName, QName>> mapElementIDToDefinitionsID = new ConcurrentHashMap<>();
+    private final Map<CSARID, Map<QName, QName>> mapCSARIDToPlanIDToInputMessageID = new ConcurrentHashMap<>();
 
     // private Map<CSARID, Map<QName, Map<QName, String>>>
     // mapCsarIdToServiceTemplateIdToPlanIdToInterfaceName = new HashMap<CSARID,
@@ -82,23 +89,22 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     // mapCSARIDToServiceTemplateIdToPlanIDToOperationName = new HashMap<CSARID,
     // Map<QName, Map<QName, String>>>();
     private final Map<CSARID, Map<QName, Map<String, Map<String, QName>>>> mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan =
-        new HashMap<>();
+        new ConcurrentHashMap<>();
 
-    private final Map<CSARID, Map<String, String>> mapCSARIDToPlanNameToNamespace = new HashMap<>();
+    private final Map<CSARID, Map<String, String>> mapCSARIDToPlanNameToNamespace = new ConcurrentHashMap<>();
 
-    private final Map<CSARID, Map<QName, List<String>>> mapCSARIDToServiceTemplateQNameToNodeTemplateID =
-        new HashMap<>();
+    private final Map<CSARID, Map<QName, CopyOnWriteArrayList<String>>> mapCSARIDToServiceTemplateQNameToNodeTemplateID =
+        new ConcurrentHashMap<>();
 
-    private final Map<CSARID, Map<QName, List<String>>> mapCSARIDToServiceTemplateQNameToRelationshipTemplateID =
-        new HashMap<>();
+    private final Map<CSARID, Map<QName, CopyOnWriteArrayList<String>>> mapCSARIDToServiceTemplateQNameToRelationshipTemplateID =
+        new ConcurrentHashMap<>();
 
-    private final Map<CSARID, Map<QName, String>> serviceTemplatePropertiesContent = new HashMap<>();
-    private final Map<CSARID, Map<QName, PropertyMappings>> serviceTemplatePropertyMappings = new HashMap<>();
+    private final Map<CSARID, Map<QName, String>> serviceTemplatePropertiesContent = new ConcurrentHashMap<>();
+    private final Map<CSARID, Map<QName, PropertyMappings>> serviceTemplatePropertyMappings =
+        new ConcurrentHashMap<>();
 
 
-    public ToscaReferenceMapper() {
-        setup();
-    }
+    public ToscaReferenceMapper() {}
 
     /**
      * This function deletes all stored references of a certain CSAR.
@@ -110,7 +116,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
         this.LOG.debug("Delete the content of \"" + csarID + "\".");
 
-        setup();
         this.referenceMap.remove(csarID);
         this.documentMap.remove(csarID);
         this.mapCSARIDToDefinitions.remove(csarID);
@@ -128,6 +133,8 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
         this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.remove(csarID);
         this.serviceTemplatePropertiesContent.remove(csarID);
         this.serviceTemplatePropertyMappings.remove(csarID);
+        this.mapCSARIDToPlanIDToInputMessageID.remove(csarID);
+        this.mapCSARIDToPlanNameToNamespace.remove(csarID);
 
         if (containsCSARData(csarID)) {
             return false;
@@ -157,7 +164,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public boolean containsCSARData(final CSARID csarID) {
-        setup();
 
         boolean found = false;
 
@@ -209,7 +215,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public boolean containsReferenceInsideCSAR(final CSARID csarID, final QName reference) {
-        setup();
         if (containsCSARData(csarID)) {
             if (this.referenceMap.get(csarID).containsKey(reference)) {
                 return true;
@@ -219,25 +224,17 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     }
 
     @Override
-    public Map<PlanTypes, LinkedHashMap<QName, TPlan>> getCSARIDToPlans(final CSARID csarID) {
-
-        if (null == this.csarIDToPlanTypeToIntegerToPlan) {
-            this.LOG.error("The variable is null.");
-        }
-        if (!this.csarIDToPlanTypeToIntegerToPlan.containsKey(csarID)) {
-            this.csarIDToPlanTypeToIntegerToPlan.put(csarID, new HashMap<PlanTypes, LinkedHashMap<QName, TPlan>>());
-        }
-        if (!this.csarIDToPlanTypeToIntegerToPlan.get(csarID).containsKey(PlanTypes.BUILD)) {
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.BUILD, new LinkedHashMap<QName, TPlan>());
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.TERMINATION,
-                                                                 new LinkedHashMap<QName, TPlan>());
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.OTHERMANAGEMENT,
-                                                                 new LinkedHashMap<QName, TPlan>());
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.APPLICATION,
-                                                                 new LinkedHashMap<QName, TPlan>());
-        }
-
-        return this.csarIDToPlanTypeToIntegerToPlan.get(csarID);
+    public Map<PlanTypes, Map<QName, TPlan>> getCSARIDToPlans(final CSARID csarID) {
+        // the plans of a type are kept in insertion order, thus, they are stored in synchronized maps
+        // which have to be locked while iterating them
+        return this.csarIDToPlanTypeToIntegerToPlan.computeIfAbsent(csarID, id -> {
+            final Map<PlanTypes, Map<QName, TPlan>> plans = new ConcurrentHashMap<>();
+            plans.put(PlanTypes.BUILD, Collections.synchronizedMap(new LinkedHashMap<QName, TPlan>()));
+            plans.put(PlanTypes.TERMINATION, Collections.synchronizedMap(new LinkedHashMap<QName, TPlan>()));
+            plans.put(PlanTypes.OTHERMANAGEMENT, Collections.synchronizedMap(new LinkedHashMap<QName, TPlan>()));
+            plans.put(PlanTypes.APPLICATION, Collections.synchronizedMap(new LinkedHashMap<QName, TPlan>()));
+            return plans;
+        });
     }
 
     /**
@@ -245,7 +242,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public List<QName> getDefinitionIDsOfCSAR(final CSARID csarID) {
-        setup();
 
         final List<QName> listOfIDs = new ArrayList<>();
 
@@ -269,7 +265,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public List<TDefinitions> getDefinitionsOfCSAR(final CSARID csarID) {
-        setup();
         if (this.mapCSARIDToDefinitions.containsKey(csarID)) {
             return this.mapCSARIDToDefinitions.get(csarID);
         } else {
@@ -285,7 +280,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     @Override
     @Deprecated
     public Document getDOMDocumentForReference(final CSARID csarID, final QName reference) {
-        setup();
         if (this.documentMap.containsKey(csarID)) {
 
             // The passed ID of a CSAR is found.
@@ -321,7 +315,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public Object getReferenceAsNode(final CSARID csarID, final QName nodeID) {
-        setup();
 
         this.LOG.debug("Lookup for the node \"" + nodeID + "\" inside of the CSAR \"" + csarID + "\".");
 
@@ -348,7 +341,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public Object getJAXBReference(final CSARID csarID, final QName nodeID) {
-        setup();
 
         this.LOG.debug("Lookup for the node \"" + nodeID + "\" inside of the CSAR \"" + csarID + "\".");
 
@@ -407,25 +399,18 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public TPlan getPlanForCSARIDAndPlanID(final CSARID csarID, final QName planID) {
-
-        if (!this.csarIDToPlanTypeToIntegerToPlan.containsKey(csarID)) {
-            this.csarIDToPlanTypeToIntegerToPlan.put(csarID, new HashMap<PlanTypes, LinkedHashMap<QName, TPlan>>());
-        }
-        if (!this.csarIDToPlanTypeToIntegerToPlan.get(csarID).containsKey(PlanTypes.BUILD)) {
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.BUILD, new LinkedHashMap<QName, TPlan>());
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.TERMINATION,
-                                                                 new LinkedHashMap<QName, TPlan>());
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.OTHERMANAGEMENT,
-                                                                 new LinkedHashMap<QName, TPlan>());
-            this.csarIDToPlanTypeToIntegerToPlan.get(csarID).put(PlanTypes.APPLICATION,
-                                                                 new LinkedHashMap<QName, TPlan>());
+        final Map<PlanTypes, Map<QName, TPlan>> plansOfCsar =
+            this.csarIDToPlanTypeToIntegerToPlan.get(csarID);
+        if (plansOfCsar == null) {
+            return null;
         }
 
-        for (final PlanTypes type : this.csarIDToPlanTypeToIntegerToPlan.get(csarID).keySet()) {
-            for (final QName planName : this.csarIDToPlanTypeToIntegerToPlan.get(csarID).get(type).keySet()) {
-                final TPlan plan = this.csarIDToPlanTypeToIntegerToPlan.get(csarID).get(type).get(planName);
-                if (plan.getId().equals(planID.getLocalPart())) {
-                    return plan;
+        for (final Map<QName, TPlan> plans : plansOfCsar.values()) {
+            synchronized (plans) {
+                for (final TPlan plan : plans.values()) {
+                    if (plan.getId().equals(planID.getLocalPart())) {
+                        return plan;
+                    }
                 }
             }
         }
@@ -438,7 +423,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public List<QName> getServiceTemplateIDsContainedInCSAR(final CSARID csarID) {
-        setup();
         return this.mapCSARIDToServiceTemplateIDs.get(csarID);
     }
 
@@ -459,7 +443,10 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void printStoredData() {
-        setup();
+        if (!this.LOG.isDebugEnabled()) {
+            // serializing all stored references is expensive, skip it if nobody reads the output
+            return;
+        }
         String string = "";
         final String ls = System.getProperty("line.separator");
 
@@ -510,11 +497,16 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
             }
 
             builder.append(ls + "Print all due the BoundaryDefinitions defined PublicPlans" + ls);
-            for (final PlanTypes type : this.csarIDToPlanTypeToIntegerToPlan.get(csarID).keySet()) {
-                builder.append("   type: " + type + ls);
-                for (final QName planID : this.csarIDToPlanTypeToIntegerToPlan.get(csarID).get(type).keySet()) {
-                    final TPlan pp = this.csarIDToPlanTypeToIntegerToPlan.get(csarID).get(type).get(planID);
-                    builder.append("      name: " + planID + " PublicPlan QName: " + pp.getId() + ls);
+            final Map<PlanTypes, Map<QName, TPlan>> plansOfCsar = this.csarIDToPlanTypeToIntegerToPlan.get(csarID);
+            if (null != plansOfCsar) {
+                for (final Map.Entry<PlanTypes, Map<QName, TPlan>> type : plansOfCsar.entrySet()) {
+                    builder.append("   type: " + type.getKey() + ls);
+                    synchronized (type.getValue()) {
+                        for (final Map.Entry<QName, TPlan> plan : type.getValue().entrySet()) {
+                            builder.append("      name: " + plan.getKey() + " PublicPlan QName: "
+                                + plan.getValue().getId() + ls);
+                        }
+                    }
                 }
             }
 
@@ -607,58 +599,24 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
     }
 
-    /**
-     * This method initializes the data structures in which the the DOM Nodes and Documents are stored
-     * if not done already.
-     */
-    private void setup() {
-        if (this.referenceMap == null) {
-            this.referenceMap = new ReferenceMap();
-        }
-        if (this.documentMap == null) {
-            this.documentMap = new DocumentMap();
-        }
-        if (this.mapCSARIDToDefinitions == null) {
-            this.mapCSARIDToDefinitions = new CSARIDToDefinitionsMap();
-        }
-        if (this.mapCSARIDToServiceTemplateIDs == null) {
-            this.mapCSARIDToServiceTemplateIDs = new CSARIDToServiceTemplateIDsMap();
-        }
-        if (null == this.csarIDToPlanTypeToIntegerToPlan) {
-            this.csarIDToPlanTypeToIntegerToPlan = new CsarIDToPlanTypeToPlanNameToPlan();
-        }
-        if (null == this.csarIDToWSDLDocuments) {
-            this.csarIDToWSDLDocuments = new CsarIDToWSDLDocuments();
-        }
-        if (null == this.csarIDToServiceTemplateIDToPlanID) {
-            this.csarIDToServiceTemplateIDToPlanID = new CsarIDToServiceTemplateIDToPlanID();
-        }
-    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public void storeDefinitions(final CSARID csarID, final TDefinitions definitions) {
-        setup();
         if (csarID != null && definitions != null) {
 
             final QName reference = new QName(definitions.getTargetNamespace(), definitions.getId());
             this.LOG.debug("Store the Definitions \"" + reference + "\".");
 
             // store it in the Definitions map
-            if (!this.mapCSARIDToDefinitions.containsKey(csarID)) {
-                this.mapCSARIDToDefinitions.put(csarID, new ArrayList<TDefinitions>());
-            }
-            this.mapCSARIDToDefinitions.get(csarID).add(definitions);
+            this.mapCSARIDToDefinitions.computeIfAbsent(csarID, id -> new CopyOnWriteArrayList<>()).add(definitions);
             // this.mapCSARIDToDefinitions.save(); // Persist definitions.
             // TDefinitions + subclasses need to be serializable
 
             // store it in the references map
-            if (!this.referenceMap.containsKey(csarID)) {
-                this.referenceMap.put(csarID, new MapQNameNode());
-            }
-            this.referenceMap.get(csarID)
+            this.referenceMap.computeIfAbsent(csarID, id -> new MapQNameNode())
                              .put(reference,
                                   ServiceHandler.xmlSerializerService.getXmlSerializer().marshalToNode(definitions));
 
@@ -678,7 +636,6 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void storeDocument(final CSARID csarID, final QName documentID, final Document doc) {
-        setup();
 
         if (csarID == null) {
             this.LOG.error("The CSARID is null!");
@@ -696,15 +653,13 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
         this.LOG.debug("Store new document reference for CSAR \"" + csarID + "\" the reference \"" + documentID
             + "\".");
 
-        if (!this.documentMap.containsKey(csarID)) {
-            this.documentMap.put(csarID, new HashMap<QName, Document>());
-        }
+        final Map<QName, Document> documents =
+            this.documentMap.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
 
-        if (this.documentMap.get(csarID).containsKey(documentID)) {
+        if (documents.putIfAbsent(documentID, doc) != null) {
             this.LOG.debug("The reference with the QName \"" + documentID.toString()
                 + "\" is already stored for the CSAR \"" + csarID + "\".");
         } else {
-            this.documentMap.get(csarID).put(documentID, doc);
             this.LOG.debug("Storing of Document \"" + documentID.toString() + "\" completed.");
         }
     }
@@ -715,13 +670,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     @Override
     public void storeExportedInterface(final CSARID csarID, final QName serviceTemplateID,
                                        final TExportedInterface iface) {
-        if (!this.csarIDToExportedInterface.containsKey(csarID)) {
-            this.csarIDToExportedInterface.put(csarID, new HashMap<QName, List<TExportedInterface>>());
-        }
-        if (!this.csarIDToExportedInterface.get(csarID).containsKey(serviceTemplateID)) {
-            this.csarIDToExportedInterface.get(csarID).put(serviceTemplateID, new ArrayList<TExportedInterface>());
-        }
-        this.csarIDToExportedInterface.get(csarID).get(serviceTemplateID).add(iface);
+        this.csarIDToExportedInterface.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>())
+                                      .computeIfAbsent(serviceTemplateID, id -> new CopyOnWriteArrayList<>())
+                                      .add(iface);
     }
 
     /**
@@ -732,15 +683,7 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      * @return true for success, false for error
      */
     public boolean storeListOfWSDLForCSAR(final CSARID csarID, final List<Document> listOfWSDL) {
-
-        if (!this.csarIDToWSDLDocuments.containsKey(csarID)) {
-            this.csarIDToWSDLDocuments.put(csarID, new ArrayList<Document>());
-        }
-
-        for (final Document doc : listOfWSDL) {
-            this.csarIDToWSDLDocuments.get(csarID).add(doc);
-        }
-
+        this.csarIDToWSDLDocuments.computeIfAbsent(csarID, id -> new CopyOnWriteArrayList<>()).addAll(listOfWSDL);
         return true;
     }
 
@@ -749,12 +692,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void storePlanAsynchronousBoolean(final CSARID csarID, final QName planID, final boolean checkAsynchronous) {
-        if (null == this.csarIDToPlanIDToSynchronousBoolean.get(csarID)) {
-            this.csarIDToPlanIDToSynchronousBoolean.put(csarID, new HashMap<QName, Boolean>());
-        }
-        if (null == this.csarIDToPlanIDToSynchronousBoolean.get(csarID).get(planID)) {
-            this.csarIDToPlanIDToSynchronousBoolean.get(csarID).put(planID, checkAsynchronous);
-        } else {
+        final Map<QName, Boolean> plans =
+            this.csarIDToPlanIDToSynchronousBoolean.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
+        if (plans.putIfAbsent(planID, checkAsynchronous) != null) {
             this.LOG.error("For the CSAR " + csarID + " and plan " + planID
                 + " is already stored wheter it is a synchronous or an asynchronous plan.");
         }
@@ -762,13 +702,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
     public void storePlanIDForCSARAndServiceTemplate(final CSARID csarID, final QName serviceTemplateID,
                                                      final QName planID) {
-        if (!this.csarIDToServiceTemplateIDToPlanID.containsKey(csarID)) {
-            this.csarIDToServiceTemplateIDToPlanID.put(csarID, new HashMap<QName, List<QName>>());
-        }
-        if (!this.csarIDToServiceTemplateIDToPlanID.get(csarID).containsKey(serviceTemplateID)) {
-            this.csarIDToServiceTemplateIDToPlanID.get(csarID).put(serviceTemplateID, new ArrayList<QName>());
-        }
-        this.csarIDToServiceTemplateIDToPlanID.get(csarID).get(serviceTemplateID).add(planID);
+        this.csarIDToServiceTemplateIDToPlanID.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>())
+                                              .computeIfAbsent(serviceTemplateID, id -> new CopyOnWriteArrayList<>())
+                                              .add(planID);
     }
 
     /**
@@ -776,29 +712,18 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void storeReference(final CSARID csarID, final QName nodeID, final Node node) {
-        setup();
-
-        MapQNameNode csarMap;
-
-        if (this.referenceMap.containsKey(csarID)) {
-            // CSARID is known
-            csarMap = this.referenceMap.get(csarID);
-            if (csarMap.containsKey(nodeID)) {
-                // node is stored already
-                this.LOG.debug("The reference with the QName \"" + nodeID.toString()
-                    + "\" is already stored for the CSAR \"" + csarID + "\".");
-            } else {
-                // store this node
-                csarMap.put(nodeID, node);
-                this.LOG.debug("Storing of Node \"" + nodeID.toString() + "\" completed.");
-            }
+        if (node == null) {
+            this.LOG.error("The Node for the reference \"" + nodeID + "\" of CSAR \"" + csarID + "\" is null!");
+            return;
+        }
 
+        final MapQNameNode csarMap = this.referenceMap.computeIfAbsent(csarID, id -> new MapQNameNode());
+        if (csarMap.putIfAbsent(nodeID, node) != null) {
+            // node is stored already
+            this.LOG.debug("The reference with the QName \"" + nodeID.toString()
+                + "\" is already stored for the CSAR \"" + csarID + "\".");
         } else {
-            // CSARID is not known, so store a new HashMap for this ID
-            csarMap = new MapQNameNode();
-            csarMap.put(nodeID, node);
-            this.referenceMap.put(csarID, csarMap);
-            this.LOG.debug("Storing of \"" + nodeID.toString() + "\" completed.");
+            this.LOG.debug("Storing of Node \"" + nodeID.toString() + "\" completed.");
         }
     }
 
@@ -807,12 +732,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void storeServiceTemplateIDForCSARID(final QName serviceTemplateID, final CSARID csarID) {
-        setup();
         if (serviceTemplateID != null && csarID != null) {
-            if (!this.mapCSARIDToServiceTemplateIDs.containsKey(csarID)) {
-                this.mapCSARIDToServiceTemplateIDs.put(csarID, new ArrayList<QName>());
-            }
-            this.mapCSARIDToServiceTemplateIDs.get(csarID).add(serviceTemplateID);
+            this.mapCSARIDToServiceTemplateIDs.computeIfAbsent(csarID, id -> new CopyOnWriteArrayList<>())
+                                              .add(serviceTemplateID);
         } else {
             this.LOG.error("An error has occured.");
         }
@@ -823,14 +745,16 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void storeDefinitionsLocation(final CSARID csarID, final QName defID, final String location) {
-        if (!this.mapDefinitionsIDToLocationString.containsKey(csarID)) {
-            this.mapDefinitionsIDToLocationString.put(csarID, new HashMap<QName, String>());
+        if (location == null) {
+            this.LOG.error("The location of the Definitions \"" + defID + "\" in the CSAR \"" + csarID + "\" is null!");
+            return;
         }
-        if (this.mapDefinitionsIDToLocationString.get(csarID).containsKey(defID)) {
+        final Map<QName, String> locations =
+            this.mapDefinitionsIDToLocationString.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
+        if (locations.put(defID, location) != null) {
             this.LOG.warn("Overwrite the location for the Definitions \"" + defID + "\" in the CSAR \"" + csarID
                 + "\".");
         }
-        this.mapDefinitionsIDToLocationString.get(csarID).put(defID, location);
     }
 
     /**
@@ -838,10 +762,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public String getDefinitionsLocation(final CSARID csarID, final QName defID) {
-        if (this.mapDefinitionsIDToLocationString.containsKey(csarID)) {
-            if (this.mapDefinitionsIDToLocationString.get(csarID).containsKey(defID)) {
-                return this.mapDefinitionsIDToLocationString.get(csarID).get(defID);
-            }
+        final Map<QName, String> locations = this.mapDefinitionsIDToLocationString.get(csarID);
+        if (locations != null && locations.containsKey(defID)) {
+            return locations.get(defID);
         }
         this.LOG.error("No location found for the Definitions \"" + defID + "\" in CSAR \"" + csarID + "\".");
         return null;
@@ -852,14 +775,12 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public void storeContainingDefinitionsID(final CSARID csarID, final QName elementID, final QName definitionsID) {
-        if (!this.mapElementIDToDefinitionsID.containsKey(csarID)) {
-            this.mapElementIDToDefinitionsID.put(csarID, new HashMap<QName, QName>());
-        }
-        if (this.mapElementIDToDefinitionsID.get(csarID).containsKey(elementID)) {
+        final Map<QName, QName> elements =
+            this.mapElementIDToDefinitionsID.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
+        if (elements.put(elementID, definitionsID) != null) {
             this.LOG.warn("Overwrite the mapping for the element \"" + elementID + "\" in the CSAR \"" + csarID
                 + "\".");
         }
-        this.mapElementIDToDefinitionsID.get(csarID).put(elementID, definitionsID);
     }
 
     /**
@@ -867,10 +788,9 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
      */
     @Override
     public QName getContainingDefinitionsID(final CSARID csarID, final QName elementID) {
-        if (this.mapElementIDToDefinitionsID.containsKey(csarID)) {
-            if (this.mapElementIDToDefinitionsID.get(csarID).containsKey(elementID)) {
-                return this.mapElementIDToDefinitionsID.get(csarID).get(elementID);
-            }
+        final Map<QName, QName> elements = this.mapElementIDToDefinitionsID.get(csarID);
+        if (elements != null && elements.containsKey(elementID)) {
+            return elements.get(elementID);
         }
         this.LOG.error("No Definitions ID found for the element \"" + elementID + "\" in CSAR \"" + csarID + "\".");
         return null;
@@ -892,49 +812,36 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
     @Override
     public void storePlanInputMessageID(final CSARID csarID, final QName planID, final QName messageID) {
-        if (!this.mapCSARIDToPlanIDToInputMessageID.containsKey(csarID)) {
-            this.mapCSARIDToPlanIDToInputMessageID.put(csarID, new HashMap<QName, QName>());
+        if (messageID == null) {
+            return;
         }
-        if (null != this.mapCSARIDToPlanIDToInputMessageID.get(csarID).get(planID)) {
+        final Map<QName, QName> messages =
+            this.mapCSARIDToPlanIDToInputMessageID.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
+        if (messages.putIfAbsent(planID, messageID) != null) {
             this.LOG.error("There is already a message ID stored for CSAR {} and Plan {}", csarID, planID);
-        } else {
-            this.mapCSARIDToPlanIDToInputMessageID.get(csarID).put(planID, messageID);
         }
-
     }
 
     @Override
     public QName getPlanInputMessageID(final CSARID csarID, final QName planID) {
-        try {
-            return this.mapCSARIDToPlanIDToInputMessageID.get(csarID).get(planID);
-        }
-        catch (final NullPointerException e) {
+        final Map<QName, QName> messages = this.mapCSARIDToPlanIDToInputMessageID.get(csarID);
+        if (messages == null) {
             this.LOG.error("There is no message ID stored for CSAR {} and Plan {}", csarID, planID);
             return null;
         }
+        return messages.get(planID);
     }
 
     @Override
     public void storeServiceTemplateBoundsPlan(final CSARID csarID, final QName serviceTemplateID,
                                                final String interfaceName, final String opName, final QName planID) {
-
-        if (null == this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.get(csarID)) {
-            this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.put(csarID,
-                                                                              new HashMap<QName, Map<String, Map<String, QName>>>());
-        }
-        if (null == this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.get(csarID).get(serviceTemplateID)) {
-            this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.get(csarID)
-                                                                         .put(serviceTemplateID,
-                                                                              new HashMap<String, Map<String, QName>>());
-        }
-        if (null == this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.get(csarID).get(serviceTemplateID)
-                                                                                 .get(interfaceName)) {
-            this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.get(csarID).get(serviceTemplateID)
-                                                                         .put(interfaceName,
-                                                                              new HashMap<String, QName>());
-        }
-        this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.get(csarID).get(serviceTemplateID)
-                                                                     .get(interfaceName).put(opName, planID);
+        this.mapCSARIDToServiceTemplateIdToInterfaceToOperationToPlan.computeIfAbsent(csarID,
+                                                                                      id -> new ConcurrentHashMap<>())
+                                                                     .computeIfAbsent(serviceTemplateID,
+                                                                                      id -> new ConcurrentHashMap<>())
+                                                                     .computeIfAbsent(interfaceName,
+                                                                                      name -> new ConcurrentHashMap<>())
+                                                                     .put(opName, planID);
     }
 
     // @Override
@@ -1198,68 +1105,47 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
     @Override
     public void storeNamespaceOfPlan(final CSARID csarID, final String planID, final String namespace) {
-        if (!this.mapCSARIDToPlanNameToNamespace.containsKey(csarID)) {
-            this.mapCSARIDToPlanNameToNamespace.put(csarID, new HashMap<String, String>());
+        if (namespace == null) {
+            return;
         }
-        this.mapCSARIDToPlanNameToNamespace.get(csarID).put(planID, namespace);
+        this.mapCSARIDToPlanNameToNamespace.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>())
+                                           .put(planID, namespace);
     }
 
     @Override
     public void storeNodeTemplateIDForServiceTemplateAndCSAR(final CSARID csarID, final QName serviceTemplateID,
                                                              final String id) {
-        if (!this.mapCSARIDToServiceTemplateQNameToNodeTemplateID.containsKey(csarID)) {
-            this.mapCSARIDToServiceTemplateQNameToNodeTemplateID.put(csarID, new HashMap<QName, List<String>>());
-        }
-        final Map<QName, List<String>> map = this.mapCSARIDToServiceTemplateQNameToNodeTemplateID.get(csarID);
-        if (!map.containsKey(serviceTemplateID)) {
-            map.put(serviceTemplateID, new ArrayList<String>());
-        }
-        final List<String> list = map.get(serviceTemplateID);
-        if (!list.contains(id)) {
-            list.add(id);
-        }
+        addIfAbsent(this.mapCSARIDToServiceTemplateQNameToNodeTemplateID, csarID, serviceTemplateID, id);
     }
 
     @Override
     public void storeRelationshipTemplateIDForServiceTemplateANdCSAR(final CSARID csarId, final QName serviceTemplateID,
                                                                      final String id) {
-        if (!this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.containsKey(csarId)) {
-            this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.put(csarId,
-                                                                             new HashMap<QName, List<String>>());
-        }
-        final Map<QName, List<String>> map = this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.get(csarId);
-        if (!map.containsKey(serviceTemplateID)) {
-            map.put(serviceTemplateID, new ArrayList<String>());
-        }
-        final List<String> list = map.get(serviceTemplateID);
-        if (!list.contains(id)) {
-            list.add(id);
-        }
-
+        addIfAbsent(this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID, csarId, serviceTemplateID, id);
     }
 
     @Override
     public Map<QName, List<String>> getServiceTemplatesAndNodeTemplatesInCSAR(final CSARID csarID) {
-        return this.mapCSARIDToServiceTemplateQNameToNodeTemplateID.get(csarID);
+        return readOnly(this.mapCSARIDToServiceTemplateQNameToNodeTemplateID.get(csarID));
     }
 
     @Override
     public Map<QName, List<String>> getServiceTemplate2RelationshipTemplateMap(final CSARID csarID) {
-        return this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.get(csarID);
+        return readOnly(this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.get(csarID));
     }
 
     @Override
     public void storeServiceTemplateBoundsPropertiesInformation(final CSARID csarID, final QName serviceTemplateID,
                                                                 final String propertiesContent,
                                                                 final PropertyMappings propertyMappings) {
-        if (null == this.serviceTemplatePropertiesContent.get(csarID)) {
-            this.serviceTemplatePropertiesContent.put(csarID, new HashMap<QName, String>());
+        if (propertiesContent != null) {
+            this.serviceTemplatePropertiesContent.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>())
+                                                 .put(serviceTemplateID, propertiesContent);
         }
-        this.serviceTemplatePropertiesContent.get(csarID).put(serviceTemplateID, propertiesContent);
-        if (null == this.serviceTemplatePropertyMappings.get(csarID)) {
-            this.serviceTemplatePropertyMappings.put(csarID, new HashMap<QName, PropertyMappings>());
+        if (propertyMappings != null) {
+            this.serviceTemplatePropertyMappings.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>())
+                                                .put(serviceTemplateID, propertyMappings);
         }
-        this.serviceTemplatePropertyMappings.get(csarID).put(serviceTemplateID, propertyMappings);
     }
 
     @Override
@@ -1282,11 +1168,11 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
     @Override
     public List<String> getServiceTemplateBoundsPropertiesContent(final CSARID csarID) {
-        final List<String> ret = new ArrayList<>();
-        for (final QName st : this.serviceTemplatePropertiesContent.get(csarID).keySet()) {
-            ret.add(this.serviceTemplatePropertiesContent.get(csarID).get(st));
+        final Map<QName, String> properties = this.serviceTemplatePropertiesContent.get(csarID);
+        if (properties == null) {
+            return new ArrayList<>();
         }
-        return ret;
+        return new ArrayList<>(properties.values());
     }
 
     @Override
@@ -1301,11 +1187,11 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
 
     @Override
     public List<PropertyMappings> getServiceTemplateBoundsPropertyMappings(final CSARID csarID) {
-        final List<PropertyMappings> ret = new ArrayList<>();
-        for (final QName st : this.serviceTemplatePropertyMappings.get(csarID).keySet()) {
-            ret.add(this.serviceTemplatePropertyMappings.get(csarID).get(st));
+        final Map<QName, PropertyMappings> propertyMappings = this.serviceTemplatePropertyMappings.get(csarID);
+        if (propertyMappings == null) {
+            return new ArrayList<>();
         }
-        return ret;
+        return new ArrayList<>(propertyMappings.values());
     }
 
     @Override
@@ -1321,23 +1207,25 @@ public class ToscaReferenceMapper implements IToscaReferenceMapper {
     @Override
     public void storeRelationshipTemplateIDForServiceTemplateAndCSAR(final CSARID csarID, final QName serviceTemplateID,
                                                                      final String id) {
-        if (!this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.containsKey(csarID)) {
-            this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.put(csarID,
-                                                                             new HashMap<QName, List<String>>());
-        }
-        final Map<QName, List<String>> map = this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.get(csarID);
-        if (!map.containsKey(serviceTemplateID)) {
-            map.put(serviceTemplateID, new ArrayList<String>());
-        }
-        final List<String> list = map.get(serviceTemplateID);
-        if (!list.contains(id)) {
-            list.add(id);
-        }
-
+        addIfAbsent(this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID, csarID, serviceTemplateID, id);
     }
 
     @Override
     public Map<QName, List<String>> getServiceTemplatesAndRelationshipTemplatesInCSAR(final CSARID csarID) {
-        return this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.get(csarID);
+        return readOnly(this.mapCSARIDToServiceTemplateQNameToRelationshipTemplateID.get(csarID));
+    }
+
+    private static void addIfAbsent(final Map<CSARID, Map<QName, CopyOnWriteArrayList<String>>> map,
+                                    final CSARID csarID, final QName serviceTemplateID, final String id) {
+        map.computeIfAbsent(csarID, csar -> new ConcurrentHashMap<>())
+           .computeIfAbsent(serviceTemplateID, st -> new CopyOnWriteArrayList<>()).addIfAbsent(id);
+    }
+
+    /**
+     * Returns a read-only view of the given template IDs per service template, the IDs are only
+     * added through {@link #addIfAbsent(Map, CSARID, QName, String)}.
+     */
+    private static Map<QName, List<String>> readOnly(final Map<QName, CopyOnWriteArrayList<String>> ids) {
+        return ids == null ? null : Collections.unmodifiableMap(ids);
     }
 }
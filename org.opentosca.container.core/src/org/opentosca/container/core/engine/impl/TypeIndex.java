@@ -0,0 +1,330 @@
+package org.opentosca.container.core.engine.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.tosca.model.TDefinitions;
+import org.opentosca.container.core.tosca.model.TImplementationArtifact;
+import org.opentosca.container.core.tosca.model.TImplementationArtifacts;
+import org.opentosca.container.core.tosca.model.TInterface;
+import org.opentosca.container.core.tosca.model.TNodeType;
+import org.opentosca.container.core.tosca.model.TNodeTypeImplementation;
+import org.opentosca.container.core.tosca.model.TOperation;
+import org.opentosca.container.core.tosca.model.TRelationshipType;
+import org.opentosca.container.core.tosca.model.TRelationshipTypeImplementation;
+import org.opentosca.container.core.tosca.model.TRequiredContainerFeature;
+import org.opentosca.container.core.tosca.model.TRequiredContainerFeatures;
+
+/**
+ * Immutable index over the types and type implementations of one CSAR. It is built once after the
+ * Definitions of the CSAR are resolved, so that lookups of type hierarchies, type implementations
+ * and their ImplementationArtifacts, and of the operations of the types do not have to walk the
+ * JAXB trees on every call.
+ */
+final class TypeIndex {
+
+    private final Map<QName, List<QName>> nodeTypeHierarchies;
+
+    private final Map<QName, List<TInterface>> nodeTypeInterfaces;
+
+    private final Map<QName, List<QName>> typeImplementations;
+
+    private final Map<QName, List<TImplementationArtifact>> implementationArtifacts;
+
+    private final Map<QName, List<String>> requiredContainerFeatures;
+
+    // the operations of each NodeType and RelationshipType by their name
+    private final Map<QName, Map<String, List<IndexedOperation>>> operations;
+
+
+    private TypeIndex(final Map<QName, List<QName>> nodeTypeHierarchies,
+                      final Map<QName, List<TInterface>> nodeTypeInterfaces,
+                      final Map<QName, List<QName>> typeImplementations,
+                      final Map<QName, List<TImplementationArtifact>> implementationArtifacts,
+                      final Map<QName, List<String>> requiredContainerFeatures,
+                      final Map<QName, Map<String, List<IndexedOperation>>> operations) {
+        this.nodeTypeHierarchies = nodeTypeHierarchies;
+        this.nodeTypeInterfaces = nodeTypeInterfaces;
+        this.typeImplementations = typeImplementations;
+        this.implementationArtifacts = implementationArtifacts;
+        this.requiredContainerFeatures = requiredContainerFeatures;
+        this.operations = operations;
+    }
+
+    /**
+     * @return the NodeType itself followed by all of its ancestors or <code>null</code> if the given
+     *         QName does not identify a NodeType of the CSAR
+     */
+    List<QName> getNodeTypeHierarchy(final QName nodeType) {
+        return this.nodeTypeHierarchies.get(nodeType);
+    }
+
+    /**
+     * @return the interfaces of the NodeType and all of its ancestors or <code>null</code> if the
+     *         given QName does not identify a NodeType of the CSAR
+     */
+    List<TInterface> getNodeTypeInterfaces(final QName nodeType) {
+        return this.nodeTypeInterfaces.get(nodeType);
+    }
+
+    /**
+     * @return the implementations of the NodeType (including the implementations of its ancestors)
+     *         or RelationshipType or <code>null</code> if the given QName does not identify a type
+     *         of the CSAR
+     */
+    List<QName> getTypeImplementations(final QName type) {
+        return this.typeImplementations.get(type);
+    }
+
+    /**
+     * @return the ImplementationArtifacts of the type implementation (including the ones inherited
+     *         from derived NodeTypeImplementations) or <code>null</code> if the given QName does not
+     *         identify a type implementation of the CSAR
+     */
+    List<TImplementationArtifact> getImplementationArtifacts(final QName typeImplementation) {
+        return this.implementationArtifacts.get(typeImplementation);
+    }
+
+    /**
+     * @return the required container features of the type implementation or <code>null</code> if
+     *         the given QName does not identify a type implementation of the CSAR
+     */
+    List<String> getRequiredContainerFeatures(final QName typeImplementation) {
+        return this.requiredContainerFeatures.get(typeImplementation);
+    }
+
+    /**
+     * Looks up an operation of a NodeType or RelationshipType. The interfaces of a NodeType are
+     * searched along its hierarchy, the ones of a RelationshipType in the order source interfaces,
+     * target interfaces. In each of these groups only the first operation with the given name is
+     * considered, it is returned if it matches the filter.
+     *
+     * @param type the NodeType or RelationshipType
+     * @param interfaceName the name of the interface of the operation or <code>null</code> for any
+     *        interface
+     * @param operationName the name of the operation
+     * @param operationFilter a filter the operation has to match
+     * @return the operation if one is found, an empty Optional otherwise, or <code>null</code> if
+     *         the given QName does not identify a NodeType or RelationshipType of the CSAR
+     */
+    Optional<TOperation> getOperation(final QName type, final String interfaceName, final String operationName,
+                                      final Predicate<TOperation> operationFilter) {
+        final Map<String, List<IndexedOperation>> operationsOfType = this.operations.get(type);
+        if (operationsOfType == null) {
+            return null;
+        }
+
+        int searchedGroup = -1;
+        for (final IndexedOperation operation : operationsOfType.getOrDefault(operationName,
+                                                                              Collections.emptyList())) {
+            if (operation.group == searchedGroup
+                || interfaceName != null && !interfaceName.equals(operation.interfaceName)) {
+                continue;
+            }
+            searchedGroup = operation.group;
+            if (operationFilter.test(operation.operation)) {
+                return Optional.of(operation.operation);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Builds the index for all types and type implementations of the Definitions stored for the
+     * given CSAR.
+     *
+     * @param csarID the CSAR to index
+     * @param referenceMapper the reference mapper containing the resolved Definitions of the CSAR
+     * @return the index
+     */
+    static TypeIndex build(final CSARID csarID, final ToscaReferenceMapper referenceMapper) {
+
+        final Map<QName, TNodeType> nodeTypes = new LinkedHashMap<>();
+        final Map<QName, TRelationshipType> relationshipTypes = new LinkedHashMap<>();
+        final Map<QName, TNodeTypeImplementation> nodeTypeImpls = new LinkedHashMap<>();
+        final Map<QName, TRelationshipTypeImplementation> relationshipTypeImpls = new LinkedHashMap<>();
+
+        final List<TDefinitions> definitionsOfCSAR = referenceMapper.getDefinitionsOfCSAR(csarID);
+        if (definitionsOfCSAR != null) {
+            for (final TDefinitions definitions : definitionsOfCSAR) {
+                for (final Object entity : definitions.getServiceTemplateOrNodeTypeOrNodeTypeImplementation()) {
+                    if (entity instanceof TNodeType) {
+                        final TNodeType nodeType = (TNodeType) entity;
+                        nodeTypes.put(qName(nodeType.getTargetNamespace(), definitions, nodeType.getName()), nodeType);
+                    } else if (entity instanceof TRelationshipType) {
+                        final TRelationshipType relationshipType = (TRelationshipType) entity;
+                        relationshipTypes.put(qName(relationshipType.getTargetNamespace(), definitions,
+                                                    relationshipType.getName()),
+                                              relationshipType);
+                    } else if (entity instanceof TNodeTypeImplementation) {
+                        final TNodeTypeImplementation impl = (TNodeTypeImplementation) entity;
+                        nodeTypeImpls.put(qName(impl.getTargetNamespace(), definitions, impl.getName()), impl);
+                    } else if (entity instanceof TRelationshipTypeImplementation) {
+                        final TRelationshipTypeImplementation impl = (TRelationshipTypeImplementation) entity;
+                        relationshipTypeImpls.put(qName(impl.getTargetNamespace(), definitions, impl.getName()),
+                                                  impl);
+                    }
+                }
+            }
+        }
+
+        final Map<QName, List<QName>> hierarchies = new HashMap<>();
+        final Map<QName, List<TInterface>> interfaces = new HashMap<>();
+        final Map<QName, List<QName>> typeImplementations = new HashMap<>();
+        final Map<QName, Map<String, List<IndexedOperation>>> operations = new HashMap<>();
+
+        for (final QName nodeTypeID : nodeTypes.keySet()) {
+            final List<QName> hierarchy = nodeTypeHierarchy(csarID, referenceMapper, nodeTypeID);
+            hierarchies.put(nodeTypeID, Collections.unmodifiableList(hierarchy));
+
+            final List<TInterface> ifaces = new ArrayList<>();
+            final Map<String, List<IndexedOperation>> operationsOfType = new HashMap<>();
+            for (int group = 0; group < hierarchy.size(); group++) {
+                final TNodeType nodeType = (TNodeType) referenceMapper.getJAXBReference(csarID, hierarchy.get(group));
+                if (nodeType.getInterfaces() != null) {
+                    ifaces.addAll(nodeType.getInterfaces().getInterface());
+                    indexOperations(operationsOfType, group, nodeType.getInterfaces().getInterface());
+                }
+            }
+            interfaces.put(nodeTypeID, Collections.unmodifiableList(ifaces));
+            operations.put(nodeTypeID, operationsOfType);
+
+            final Set<QName> members = new HashSet<>(hierarchy);
+            final List<QName> impls = new ArrayList<>();
+            nodeTypeImpls.forEach((implID, impl) -> {
+                if (members.contains(impl.getNodeType())) {
+                    impls.add(implID);
+                }
+            });
+            typeImplementations.put(nodeTypeID, Collections.unmodifiableList(impls));
+        }
+
+        for (final QName relationshipTypeID : relationshipTypes.keySet()) {
+            final List<QName> impls = new ArrayList<>();
+            relationshipTypeImpls.forEach((implID, impl) -> {
+                if (relationshipTypeID.equals(impl.getRelationshipType())) {
+                    impls.add(implID);
+                }
+            });
+            typeImplementations.put(relationshipTypeID, Collections.unmodifiableList(impls));
+
+            final TRelationshipType relationshipType = relationshipTypes.get(relationshipTypeID);
+            final Map<String, List<IndexedOperation>> operationsOfType = new HashMap<>();
+            if (relationshipType.getSourceInterfaces() != null) {
+                indexOperations(operationsOfType, 0, relationshipType.getSourceInterfaces().getInterface());
+            }
+            if (relationshipType.getTargetInterfaces() != null) {
+                indexOperations(operationsOfType, 1, relationshipType.getTargetInterfaces().getInterface());
+            }
+            operations.put(relationshipTypeID, operationsOfType);
+        }
+
+        final Map<QName, List<TImplementationArtifact>> ias = new HashMap<>();
+        final Map<QName, List<String>> features = new HashMap<>();
+
+        for (final Map.Entry<QName, TNodeTypeImplementation> entry : nodeTypeImpls.entrySet()) {
+            final List<TImplementationArtifact> implIAs = new ArrayList<>();
+            final Set<QName> visited = new HashSet<>();
+            QName current = entry.getKey();
+            while (current != null && visited.add(current)) {
+                final Object reference = referenceMapper.getJAXBReference(csarID, current);
+                if (!(reference instanceof TNodeTypeImplementation)) {
+                    break;
+                }
+                final TNodeTypeImplementation impl = (TNodeTypeImplementation) reference;
+                implIAs.addAll(implementationArtifacts(impl.getImplementationArtifacts()));
+                current = impl.getDerivedFrom() != null ? impl.getDerivedFrom().getNodeTypeImplementationRef() : null;
+            }
+            ias.put(entry.getKey(), Collections.unmodifiableList(implIAs));
+            features.put(entry.getKey(), requiredContainerFeatures(entry.getValue().getRequiredContainerFeatures()));
+        }
+
+        for (final Map.Entry<QName, TRelationshipTypeImplementation> entry : relationshipTypeImpls.entrySet()) {
+            ias.put(entry.getKey(),
+                    Collections.unmodifiableList(implementationArtifacts(entry.getValue()
+                                                                              .getImplementationArtifacts())));
+            features.put(entry.getKey(), requiredContainerFeatures(entry.getValue().getRequiredContainerFeatures()));
+        }
+
+        return new TypeIndex(hierarchies, interfaces, typeImplementations, ias, features, operations);
+    }
+
+    private static void indexOperations(final Map<String, List<IndexedOperation>> operationsOfType, final int group,
+                                        final List<TInterface> ifaces) {
+        for (final TInterface iface : ifaces) {
+            for (final TOperation operation : iface.getOperation()) {
+                operationsOfType.computeIfAbsent(operation.getName(), name -> new ArrayList<>())
+                                .add(new IndexedOperation(group, iface.getName(), operation));
+            }
+        }
+    }
+
+    private static List<QName> nodeTypeHierarchy(final CSARID csarID, final ToscaReferenceMapper referenceMapper,
+                                                 final QName nodeTypeID) {
+        final List<QName> hierarchy = new ArrayList<>();
+        QName current = nodeTypeID;
+        while (current != null && !hierarchy.contains(current)) {
+            final Object reference = referenceMapper.getJAXBReference(csarID, current);
+            if (!(reference instanceof TNodeType)) {
+                break;
+            }
+            hierarchy.add(current);
+            final TNodeType nodeType = (TNodeType) reference;
+            current = nodeType.getDerivedFrom() != null ? nodeType.getDerivedFrom().getTypeRef() : null;
+        }
+        return hierarchy;
+    }
+
+    private static List<TImplementationArtifact> implementationArtifacts(final TImplementationArtifacts artifacts) {
+        if (artifacts == null || artifacts.getImplementationArtifact() == null) {
+            return Collections.emptyList();
+        }
+        return artifacts.getImplementationArtifact();
+    }
+
+    private static List<String> requiredContainerFeatures(final TRequiredContainerFeatures requiredFeatures) {
+        final List<String> features = new ArrayList<>();
+        if (requiredFeatures != null) {
+            for (final TRequiredContainerFeature feature : requiredFeatures.getRequiredContainerFeature()) {
+                features.add(feature.getFeature());
+            }
+        }
+        return Collections.unmodifiableList(features);
+    }
+
+    private static QName qName(final String targetNamespace, final TDefinitions definitions, final String name) {
+        if (targetNamespace != null && !targetNamespace.equals("")) {
+            return new QName(targetNamespace, name);
+        }
+        return new QName(definitions.getTargetNamespace(), name);
+    }
+
+
+    /**
+     * An operation together with its interface and the group of interfaces it was found in.
+     */
+    private static final class IndexedOperation {
+
+        private final int group;
+        private final String interfaceName;
+        private final TOperation operation;
+
+
+        private IndexedOperation(final int group, final String interfaceName, final TOperation operation) {
+            this.group = group;
+            this.interfaceName = interfaceName;
+            this.operation = operation;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.opentosca.container.core.engine.impl.consolidation;
 
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -94,7 +93,7 @@ public class ExportedInterfacesConsolidation {
         // least one error
         final boolean errorOccured = false;
 
-        final Map<PlanTypes, LinkedHashMap<QName, TPlan>> mapTypeToPlan =
+        final Map<PlanTypes, Map<QName, TPlan>> mapTypeToPlan =
             this.toscaReferenceMapper.getCSARIDToPlans(csarID);
 
         for (final QName serviceTemplateID : this.toscaReferenceMapper.getExportedInterfacesOfCSAR(csarID).keySet()) {
@@ -137,4 +137,19 @@ public interface IXMLSerializer {
      */
     public abstract String docToString(Node node, boolean removeWhitespaces);
 
+    /**
+     * @return Number of objects marshalled by this serializer.
+     */
+    public abstract long getMarshalCount();
+
+    /**
+     * @return Number of objects unmarshalled by this serializer.
+     */
+    public abstract long getUnmarshalCount();
+
+    /**
+     * @return Number of errors which occurred while marshalling or unmarshalling.
+     */
+    public abstract long getErrorCount();
+
 }
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
@@ -48,19 +49,18 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
     private JAXBContext jaxbContext;
     private SchemaFactory schemaFactory;
     private Schema schema = null;
-    private ValidationEventCollector validationEventCollector;
-    private boolean validationActive = false;
-
-    private Marshaller marshaller;
-    // This marshaller is for internal marshalling of data which is validated
-    // during the initial import process. This data is validated, therefore
-    // there is no need to validate again. In the current version of JAXB
-    // sometimes it is causing problems to serialize internal data with
-    // validation.
-    private Marshaller marshallerWithoutValidation;
+    private volatile boolean validationActive = false;
 
     private DocumentBuilderFactory documentBuilderFactory;
-    private DocumentBuilder documentBuilder;
+
+    // Neither DocumentBuilders nor Marshallers and Unmarshallers are thread-safe, thus, each thread
+    // uses its own instances which are reused for all of its calls.
+    private final ThreadLocal<SerializationResources> resources =
+        ThreadLocal.withInitial(() -> new SerializationResources());
+
+    private final AtomicLong marshalCount = new AtomicLong();
+    private final AtomicLong unmarshalCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
 
     // logger
     private final Logger LOG = LoggerFactory.getLogger(XMLSerializer.class);
@@ -83,14 +83,6 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
             // setup of the Serializer
             this.jaxbContext = JAXBContext.newInstance(context.getPackage().getName());
 
-            this.validationEventCollector = new ValidationEventCollector();
-
-            this.marshaller = this.jaxbContext.createMarshaller();
-            this.marshaller.setEventHandler(this.validationEventCollector);
-
-            this.marshallerWithoutValidation = this.jaxbContext.createMarshaller();
-            this.marshallerWithoutValidation.setEventHandler(this.validationEventCollector);
-
             this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
             this.documentBuilderFactory.setNamespaceAware(true);
 
@@ -109,7 +101,8 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
                 this.LOG.info("Initialize without a Schema.");
             }
 
-            this.documentBuilder = this.documentBuilderFactory.newDocumentBuilder();
+            // fail early if the configuration is not supported
+            this.resources.get();
 
         }
         catch (final JAXBException e) {
@@ -118,7 +111,7 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
         catch (final SAXException e) {
             this.LOG.error(e.getMessage());
         }
-        catch (final ParserConfigurationException e) {
+        catch (final IllegalStateException e) {
             this.LOG.error(e.getMessage());
         }
 
@@ -143,8 +136,10 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
             this.LOG.debug("The JAXBElement \"" + elementToMarshal.getName() + "\" seems to be a legal element.");
             try {
 
-                final Document result = this.documentBuilder.newDocument();
-                this.marshallerWithoutValidation.marshal(elementToMarshal, result);
+                final SerializationResources resources = this.resources.get();
+                final Document result = resources.documentBuilder.newDocument();
+                resources.marshallerWithoutValidation.marshal(elementToMarshal, result);
+                this.marshalCount.incrementAndGet();
 
                 return result.getFirstChild();
 
@@ -171,8 +166,11 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
         Document result = null;
         try {
 
-            result = this.documentBuilder.newDocument();
-            this.marshaller.marshal(definitions, result);
+            final SerializationResources resources = this.resources.get();
+            result = resources.documentBuilder.newDocument();
+            resources.marshaller.setSchema(this.validationActive ? this.schema : null);
+            resources.marshaller.marshal(definitions, result);
+            this.marshalCount.incrementAndGet();
 
             return result;
 
@@ -203,7 +201,8 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
             this.LOG.debug("The JAXBElement \"" + elementToMarshal.getName() + "\" seems to be a legal element.");
             try {
 
-                this.marshallerWithoutValidation.marshal(elementToMarshal, writer);
+                this.resources.get().marshallerWithoutValidation.marshal(elementToMarshal, writer);
+                this.marshalCount.incrementAndGet();
                 return writer.toString();
 
             }
@@ -228,7 +227,9 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
         this.LOG.debug("Start the unmarshalling of file \"" + fileToUnmarshal.toString() + "\".");
         try {
             // return the unmarshaled data
-            return (Definitions) this.createUnmarshaller().unmarshal(fileToUnmarshal);
+            final Definitions definitions = (Definitions) this.getUnmarshaller().unmarshal(fileToUnmarshal);
+            this.unmarshalCount.incrementAndGet();
+            return definitions;
 
         }
         catch (final JAXBException e) {
@@ -249,7 +250,9 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
         this.LOG.debug("Start the unmarshalling of an InputStream.");
         try {
             // return the unmarshaled data
-            return (Definitions) this.createUnmarshaller().unmarshal(streamToUnmarshal);
+            final Definitions definitions = (Definitions) this.getUnmarshaller().unmarshal(streamToUnmarshal);
+            this.unmarshalCount.incrementAndGet();
+            return definitions;
 
         }
         catch (final JAXBException e) {
@@ -270,7 +273,10 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
         this.LOG.debug("Start the unmarshalling of a DOM Document.");
         this.LOG.trace(this.docToString(doc.getFirstChild(), true));
         try {
-            return (Definitions) this.createUnmarshaller().unmarshal(doc.getFirstChild());
+            final Definitions definitions =
+                (Definitions) this.getUnmarshaller().unmarshal(doc.getFirstChild());
+            this.unmarshalCount.incrementAndGet();
+            return definitions;
         }
         catch (final JAXBException e) {
         }
@@ -291,8 +297,9 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
             + destinationClazz.toString());
 
         try {
-            final Unmarshaller u = this.createUnmarshaller();
+            final Unmarshaller u = this.getUnmarshaller();
             final JAXBElement<?> jaxbElement = u.unmarshal(nodeToUnmarshal, destinationClazz);
+            this.unmarshalCount.incrementAndGet();
             if (jaxbElement != null) {
                 return jaxbElement.getValue();
             }
@@ -346,7 +353,7 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
     @Override
     public Document elementIntoDocument(final Element element) {
 
-        final Document returnDoc = this.documentBuilder.newDocument();
+        final Document returnDoc = this.resources.get().documentBuilder.newDocument();
 
         final Node node = returnDoc.importNode(element, true);
 
@@ -368,7 +375,7 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
     @Override
     public Document elementsIntoDocument(final List<Element> elements, final String rootElementName) {
 
-        final Document returnDoc = this.documentBuilder.newDocument();
+        final Document returnDoc = this.resources.get().documentBuilder.newDocument();
 
         final Element root = returnDoc.createElement(rootElementName);
         returnDoc.appendChild(root);
@@ -400,11 +407,30 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
          * Schema
          */
         this.validationActive = bool;
-        if (this.validationActive == true) {
-            this.marshaller.setSchema(this.schema);
-        } else {
-            this.marshaller.setSchema(null);
-        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMarshalCount() {
+        return this.marshalCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getUnmarshalCount() {
+        return this.unmarshalCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getErrorCount() {
+        return this.errorCount.get();
     }
 
     /**
@@ -412,31 +438,68 @@ public class XMLSerializer extends FormatOutputUtil implements IXMLSerializer {
      * one error message.
      */
     private void printErrorsWhileSerialization() {
+        final ValidationEventCollector validationEventCollector = this.resources.get().validationEventCollector;
         // print the errors occurred
-        if (this.validationEventCollector != null && this.validationEventCollector.hasEvents()) {
+        if (validationEventCollector.hasEvents()) {
             this.LOG.error("One or more errors occured while marshalling.");
-            for (final ValidationEvent event : this.validationEventCollector.getEvents()) {
+            for (final ValidationEvent event : validationEventCollector.getEvents()) {
+                this.errorCount.incrementAndGet();
                 this.LOG.error("XML processing error: {} \n at {}", event.getMessage(), event.getLocator());
             }
         }
-        this.validationEventCollector.reset();
+        validationEventCollector.reset();
     }
 
-    private Unmarshaller createUnmarshaller() {
-        try {
-            Unmarshaller u;
-            u = this.jaxbContext.createUnmarshaller();
+    /**
+     * @return The Unmarshaller of the current thread, which validates if the validation is active.
+     */
+    private Unmarshaller getUnmarshaller() {
+        final SerializationResources resources = this.resources.get();
+        return this.validationActive ? resources.unmarshaller : resources.unmarshallerWithoutValidation;
+    }
+
+
+    /**
+     * The non thread-safe objects used by one thread for marshalling and unmarshalling.
+     */
+    private final class SerializationResources {
+
+        private final ValidationEventCollector validationEventCollector = new ValidationEventCollector();
+
+        private final DocumentBuilder documentBuilder;
+
+        private final Marshaller marshaller;
+        // This marshaller is for internal marshalling of data which is validated
+        // during the initial import process. This data is validated, therefore
+        // there is no need to validate again. In the current version of JAXB
+        // sometimes it is causing problems to serialize internal data with
+        // validation.
+        private final Marshaller marshallerWithoutValidation;
 
-            if (this.validationActive) {
-                u.setSchema(this.schema);
+        private final Unmarshaller unmarshaller;
+        private final Unmarshaller unmarshallerWithoutValidation;
+
+
+        private SerializationResources() {
+            try {
+                this.documentBuilder = XMLSerializer.this.documentBuilderFactory.newDocumentBuilder();
+
+                this.marshaller = XMLSerializer.this.jaxbContext.createMarshaller();
+                this.marshaller.setEventHandler(this.validationEventCollector);
+
+                this.marshallerWithoutValidation = XMLSerializer.this.jaxbContext.createMarshaller();
+                this.marshallerWithoutValidation.setEventHandler(this.validationEventCollector);
+
+                this.unmarshaller = XMLSerializer.this.jaxbContext.createUnmarshaller();
+                this.unmarshaller.setSchema(XMLSerializer.this.schema);
+                this.unmarshaller.setEventHandler(this.validationEventCollector);
+
+                this.unmarshallerWithoutValidation = XMLSerializer.this.jaxbContext.createUnmarshaller();
+                this.unmarshallerWithoutValidation.setEventHandler(this.validationEventCollector);
+            }
+            catch (JAXBException | ParserConfigurationException e) {
+                throw new IllegalStateException("Unable to create the serialization objects: " + e.getMessage(), e);
             }
-            u.setEventHandler(this.validationEventCollector);
-            return u;
-        }
-        catch (final JAXBException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
         }
-        return null;
     }
 }
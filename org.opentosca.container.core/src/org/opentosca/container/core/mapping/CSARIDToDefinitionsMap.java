@@ -1,10 +1,11 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.tosca.model.TDefinitions;
@@ -16,7 +17,7 @@ import org.opentosca.container.core.tosca.model.TDefinitions;
  */
 public class CSARIDToDefinitionsMap implements Map<CSARID, List<TDefinitions>> {
 
-    private Map<CSARID, List<TDefinitions>> definitionsMap = new HashMap<>();
+    private final Map<CSARID, List<TDefinitions>> definitionsMap = new ConcurrentHashMap<>();
 
 
     @Override
@@ -27,7 +28,7 @@ public class CSARIDToDefinitionsMap implements Map<CSARID, List<TDefinitions>> {
     @Override
     public boolean containsKey(final Object key) {
 
-        return this.definitionsMap.containsKey(key);
+        return key != null && this.definitionsMap.containsKey(key);
     }
 
     @Override
@@ -45,7 +46,7 @@ public class CSARIDToDefinitionsMap implements Map<CSARID, List<TDefinitions>> {
     @Override
     public List<TDefinitions> get(final Object key) {
 
-        return this.definitionsMap.get(key);
+        return key == null ? null : this.definitionsMap.get(key);
     }
 
     @Override
@@ -98,9 +99,14 @@ public class CSARIDToDefinitionsMap implements Map<CSARID, List<TDefinitions>> {
         return this.definitionsMap;
     }
 
-    public void setDefinitionsMap(final Map<CSARID, List<TDefinitions>> documentMap) {
-
-        this.definitionsMap = documentMap;
+    @Override
+    public List<TDefinitions> putIfAbsent(final CSARID key, final List<TDefinitions> value) {
+        return this.definitionsMap.putIfAbsent(key, value);
     }
 
+    @Override
+    public List<TDefinitions> computeIfAbsent(final CSARID key,
+                                              final Function<? super CSARID, ? extends List<TDefinitions>> mappingFunction) {
+        return this.definitionsMap.computeIfAbsent(key, mappingFunction);
+    }
 }
@@ -1,10 +1,11 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.namespace.QName;
 
@@ -15,7 +16,7 @@ import org.opentosca.container.core.model.csar.id.CSARID;
  */
 public class CSARIDToServiceTemplateIDsMap implements Map<CSARID, List<QName>> {
 
-    private Map<CSARID, List<QName>> serviceTemplatesMap = new HashMap<>();
+    private final Map<CSARID, List<QName>> serviceTemplatesMap = new ConcurrentHashMap<>();
 
 
     @Override
@@ -26,7 +27,7 @@ public class CSARIDToServiceTemplateIDsMap implements Map<CSARID, List<QName>> {
     @Override
     public boolean containsKey(final Object key) {
 
-        return this.serviceTemplatesMap.containsKey(key);
+        return key != null && this.serviceTemplatesMap.containsKey(key);
     }
 
     @Override
@@ -44,7 +45,7 @@ public class CSARIDToServiceTemplateIDsMap implements Map<CSARID, List<QName>> {
     @Override
     public List<QName> get(final Object key) {
 
-        return this.serviceTemplatesMap.get(key);
+        return key == null ? null : this.serviceTemplatesMap.get(key);
     }
 
     @Override
@@ -97,8 +98,14 @@ public class CSARIDToServiceTemplateIDsMap implements Map<CSARID, List<QName>> {
         return this.serviceTemplatesMap;
     }
 
-    public void setServiceTemplatesMap(final Map<CSARID, List<QName>> documentMap) {
+    @Override
+    public List<QName> putIfAbsent(final CSARID key, final List<QName> value) {
+        return this.serviceTemplatesMap.putIfAbsent(key, value);
+    }
 
-        this.serviceTemplatesMap = documentMap;
+    @Override
+    public List<QName> computeIfAbsent(final CSARID key,
+                                       final Function<? super CSARID, ? extends List<QName>> mappingFunction) {
+        return this.serviceTemplatesMap.computeIfAbsent(key, mappingFunction);
     }
 }
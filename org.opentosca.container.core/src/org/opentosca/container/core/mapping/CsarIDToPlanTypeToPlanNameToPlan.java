@@ -1,10 +1,10 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.namespace.QName;
 
@@ -17,10 +17,10 @@ import org.opentosca.container.core.tosca.model.TPlan;
  *
  * @author endrescn@fachschaft.informatik.uni-stuttgart.de
  */
-public class CsarIDToPlanTypeToPlanNameToPlan implements Map<CSARID, Map<PlanTypes, LinkedHashMap<QName, TPlan>>> {
+public class CsarIDToPlanTypeToPlanNameToPlan implements Map<CSARID, Map<PlanTypes, Map<QName, TPlan>>> {
 
-    private Map<CSARID, Map<PlanTypes, LinkedHashMap<QName, TPlan>>> csarIDToPlanTypeToIntegerToPlanMap =
-        new HashMap<>();
+    private final Map<CSARID, Map<PlanTypes, Map<QName, TPlan>>> csarIDToPlanTypeToIntegerToPlanMap =
+        new ConcurrentHashMap<>();
 
 
     @Override
@@ -32,7 +32,7 @@ public class CsarIDToPlanTypeToPlanNameToPlan implements Map<CSARID, Map<PlanTyp
     @Override
     public boolean containsKey(final Object arg0) {
 
-        return this.csarIDToPlanTypeToIntegerToPlanMap.containsKey(arg0);
+        return arg0 != null && this.csarIDToPlanTypeToIntegerToPlanMap.containsKey(arg0);
     }
 
     @Override
@@ -42,15 +42,15 @@ public class CsarIDToPlanTypeToPlanNameToPlan implements Map<CSARID, Map<PlanTyp
     }
 
     @Override
-    public Set<java.util.Map.Entry<CSARID, Map<PlanTypes, LinkedHashMap<QName, TPlan>>>> entrySet() {
+    public Set<java.util.Map.Entry<CSARID, Map<PlanTypes, Map<QName, TPlan>>>> entrySet() {
 
         return this.csarIDToPlanTypeToIntegerToPlanMap.entrySet();
     }
 
     @Override
-    public Map<PlanTypes, LinkedHashMap<QName, TPlan>> get(final Object arg0) {
+    public Map<PlanTypes, Map<QName, TPlan>> get(final Object arg0) {
 
-        return this.csarIDToPlanTypeToIntegerToPlanMap.get(arg0);
+        return arg0 == null ? null : this.csarIDToPlanTypeToIntegerToPlanMap.get(arg0);
     }
 
     @Override
@@ -66,24 +66,24 @@ public class CsarIDToPlanTypeToPlanNameToPlan implements Map<CSARID, Map<PlanTyp
     }
 
     @Override
-    public Map<PlanTypes, LinkedHashMap<QName, TPlan>> put(final CSARID arg0,
-                                                           final Map<PlanTypes, LinkedHashMap<QName, TPlan>> arg1) {
+    public Map<PlanTypes, Map<QName, TPlan>> put(final CSARID arg0,
+                                                           final Map<PlanTypes, Map<QName, TPlan>> arg1) {
 
-        final Map<PlanTypes, LinkedHashMap<QName, TPlan>> result =
+        final Map<PlanTypes, Map<QName, TPlan>> result =
             this.csarIDToPlanTypeToIntegerToPlanMap.put(arg0, arg1);
         return result;
     }
 
     @Override
-    public void putAll(final Map<? extends CSARID, ? extends Map<PlanTypes, LinkedHashMap<QName, TPlan>>> arg0) {
+    public void putAll(final Map<? extends CSARID, ? extends Map<PlanTypes, Map<QName, TPlan>>> arg0) {
 
         this.csarIDToPlanTypeToIntegerToPlanMap.putAll(arg0);
     }
 
     @Override
-    public Map<PlanTypes, LinkedHashMap<QName, TPlan>> remove(final Object arg0) {
+    public Map<PlanTypes, Map<QName, TPlan>> remove(final Object arg0) {
 
-        final Map<PlanTypes, LinkedHashMap<QName, TPlan>> result = this.csarIDToPlanTypeToIntegerToPlanMap.remove(arg0);
+        final Map<PlanTypes, Map<QName, TPlan>> result = this.csarIDToPlanTypeToIntegerToPlanMap.remove(arg0);
         return result;
     }
 
@@ -94,17 +94,23 @@ public class CsarIDToPlanTypeToPlanNameToPlan implements Map<CSARID, Map<PlanTyp
     }
 
     @Override
-    public Collection<Map<PlanTypes, LinkedHashMap<QName, TPlan>>> values() {
+    public Collection<Map<PlanTypes, Map<QName, TPlan>>> values() {
 
         return this.csarIDToPlanTypeToIntegerToPlanMap.values();
     }
 
-    public Map<CSARID, Map<PlanTypes, LinkedHashMap<QName, TPlan>>> getMap() {
+    public Map<CSARID, Map<PlanTypes, Map<QName, TPlan>>> getMap() {
         return this.csarIDToPlanTypeToIntegerToPlanMap;
     }
 
-    public void setMap(final Map<CSARID, Map<PlanTypes, LinkedHashMap<QName, TPlan>>> map) {
+    @Override
+    public Map<PlanTypes, Map<QName, TPlan>> putIfAbsent(final CSARID key, final Map<PlanTypes, Map<QName, TPlan>> value) {
+        return this.csarIDToPlanTypeToIntegerToPlanMap.putIfAbsent(key, value);
+    }
 
-        this.csarIDToPlanTypeToIntegerToPlanMap = map;
+    @Override
+    public Map<PlanTypes, Map<QName, TPlan>> computeIfAbsent(final CSARID key,
+                                                                       final Function<? super CSARID, ? extends Map<PlanTypes, Map<QName, TPlan>>> mappingFunction) {
+        return this.csarIDToPlanTypeToIntegerToPlanMap.computeIfAbsent(key, mappingFunction);
     }
 }
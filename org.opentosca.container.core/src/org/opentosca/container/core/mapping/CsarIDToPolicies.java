@@ -2,10 +2,10 @@ package org.opentosca.container.core.mapping;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.namespace.QName;
 
@@ -25,7 +25,7 @@ public class CsarIDToPolicies implements Map<CSARID, Map<QName, Policies>> {
 
     private final Logger LOG = LoggerFactory.getLogger(CsarIDToPolicies.class);
 
-    private final Map<CSARID, Map<QName, Policies>> csarIDToTemplateToPolicies = new HashMap<>();
+    private final Map<CSARID, Map<QName, Policies>> csarIDToTemplateToPolicies = new ConcurrentHashMap<>();
 
 
     /**
@@ -37,17 +37,20 @@ public class CsarIDToPolicies implements Map<CSARID, Map<QName, Policies>> {
      */
     public void put(final CSARID csarID, final QName templateID, final Policies policies) {
 
-        if (!this.csarIDToTemplateToPolicies.containsKey(csarID)) {
-            this.csarIDToTemplateToPolicies.put(csarID, new HashMap<QName, Policies>());
+        if (null == policies) {
+            this.LOG.warn("There are no Consolidated Policies to store for the CSARID \"" + csarID
+                + " and TemplateID \"" + templateID + "\".");
+            return;
         }
 
-        if (null != this.csarIDToTemplateToPolicies.get(csarID).get(templateID)) {
+        final Map<QName, Policies> templateToPolicies =
+            this.csarIDToTemplateToPolicies.computeIfAbsent(csarID, id -> new ConcurrentHashMap<>());
+
+        if (null != templateToPolicies.put(templateID, policies)) {
             this.LOG.warn("There are Consolidated Policies stored already for the CSARID \"" + csarID
                 + " and TemplateID \"" + templateID + "\". Thus do overwrite the Consolidated Policies.");
         }
 
-        this.csarIDToTemplateToPolicies.get(csarID).put(templateID, policies);
-
     }
 
     /**
@@ -95,7 +98,7 @@ public class CsarIDToPolicies implements Map<CSARID, Map<QName, Policies>> {
 
     @Override
     public boolean containsKey(final Object key) {
-        return this.csarIDToTemplateToPolicies.containsKey(key);
+        return key != null && this.csarIDToTemplateToPolicies.containsKey(key);
     }
 
     @Override
@@ -106,7 +109,7 @@ public class CsarIDToPolicies implements Map<CSARID, Map<QName, Policies>> {
     @Deprecated
     @Override
     public Map<QName, Policies> get(final Object key) {
-        return this.csarIDToTemplateToPolicies.get(key);
+        return key == null ? null : this.csarIDToTemplateToPolicies.get(key);
     }
 
     @Deprecated
@@ -1,10 +1,11 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.namespace.QName;
 
@@ -15,7 +16,7 @@ import org.opentosca.container.core.model.csar.id.CSARID;
  */
 public class CsarIDToServiceTemplateIDToPlanID implements Map<CSARID, Map<QName, List<QName>>> {
 
-    private Map<CSARID, Map<QName, List<QName>>> csarIDToServiceTemplateIDToPlanIDMap = new HashMap<>();
+    private final Map<CSARID, Map<QName, List<QName>>> csarIDToServiceTemplateIDToPlanIDMap = new ConcurrentHashMap<>();
 
 
     @Override
@@ -28,7 +29,7 @@ public class CsarIDToServiceTemplateIDToPlanID implements Map<CSARID, Map<QName,
     @Override
     public boolean containsKey(final Object arg0) {
 
-        return this.csarIDToServiceTemplateIDToPlanIDMap.containsKey(arg0);
+        return arg0 != null && this.csarIDToServiceTemplateIDToPlanIDMap.containsKey(arg0);
     }
 
     @Override
@@ -46,7 +47,7 @@ public class CsarIDToServiceTemplateIDToPlanID implements Map<CSARID, Map<QName,
     @Override
     public Map<QName, List<QName>> get(final Object arg0) {
 
-        return this.csarIDToServiceTemplateIDToPlanIDMap.get(arg0);
+        return arg0 == null ? null : this.csarIDToServiceTemplateIDToPlanIDMap.get(arg0);
     }
 
     @Override
@@ -100,9 +101,14 @@ public class CsarIDToServiceTemplateIDToPlanID implements Map<CSARID, Map<QName,
         return this.csarIDToServiceTemplateIDToPlanIDMap;
     }
 
-    public void setMap(final Map<CSARID, Map<QName, List<QName>>> map) {
-
-        this.csarIDToServiceTemplateIDToPlanIDMap = map;
+    @Override
+    public Map<QName, List<QName>> putIfAbsent(final CSARID key, final Map<QName, List<QName>> value) {
+        return this.csarIDToServiceTemplateIDToPlanIDMap.putIfAbsent(key, value);
     }
 
+    @Override
+    public Map<QName, List<QName>> computeIfAbsent(final CSARID key,
+                                                   final Function<? super CSARID, ? extends Map<QName, List<QName>>> mappingFunction) {
+        return this.csarIDToServiceTemplateIDToPlanIDMap.computeIfAbsent(key, mappingFunction);
+    }
 }
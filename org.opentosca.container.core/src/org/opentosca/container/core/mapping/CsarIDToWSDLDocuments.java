@@ -1,10 +1,11 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.w3c.dom.Document;
@@ -14,7 +15,7 @@ import org.w3c.dom.Document;
  */
 public class CsarIDToWSDLDocuments implements Map<CSARID, List<Document>> {
 
-    private Map<CSARID, List<Document>> csarIDToWSDLDocumentsMap = new HashMap<>();
+    private final Map<CSARID, List<Document>> csarIDToWSDLDocumentsMap = new ConcurrentHashMap<>();
 
 
     @Override
@@ -26,7 +27,7 @@ public class CsarIDToWSDLDocuments implements Map<CSARID, List<Document>> {
     @Override
     public boolean containsKey(final Object arg0) {
 
-        return this.csarIDToWSDLDocumentsMap.containsKey(arg0);
+        return arg0 != null && this.csarIDToWSDLDocumentsMap.containsKey(arg0);
     }
 
     @Override
@@ -44,7 +45,7 @@ public class CsarIDToWSDLDocuments implements Map<CSARID, List<Document>> {
     @Override
     public List<Document> get(final Object arg0) {
 
-        return this.csarIDToWSDLDocumentsMap.get(arg0);
+        return arg0 == null ? null : this.csarIDToWSDLDocumentsMap.get(arg0);
     }
 
     @Override
@@ -96,9 +97,14 @@ public class CsarIDToWSDLDocuments implements Map<CSARID, List<Document>> {
         return this.csarIDToWSDLDocumentsMap;
     }
 
-    public void setMap(final Map<CSARID, List<Document>> map) {
-
-        this.csarIDToWSDLDocumentsMap = map;
+    @Override
+    public List<Document> putIfAbsent(final CSARID key, final List<Document> value) {
+        return this.csarIDToWSDLDocumentsMap.putIfAbsent(key, value);
     }
 
+    @Override
+    public List<Document> computeIfAbsent(final CSARID key,
+                                          final Function<? super CSARID, ? extends List<Document>> mappingFunction) {
+        return this.csarIDToWSDLDocumentsMap.computeIfAbsent(key, mappingFunction);
+    }
 }
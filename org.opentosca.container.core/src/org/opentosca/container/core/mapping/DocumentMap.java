@@ -1,9 +1,10 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.namespace.QName;
 
@@ -12,7 +13,7 @@ import org.w3c.dom.Document;
 
 public class DocumentMap implements Map<CSARID, Map<QName, Document>> {
 
-    private Map<CSARID, Map<QName, Document>> documentMapMap = new HashMap<>();
+    private final Map<CSARID, Map<QName, Document>> documentMapMap = new ConcurrentHashMap<>();
 
 
     @Override
@@ -24,7 +25,7 @@ public class DocumentMap implements Map<CSARID, Map<QName, Document>> {
     @Override
     public boolean containsKey(final Object key) {
 
-        return this.documentMapMap.containsKey(key);
+        return key != null && this.documentMapMap.containsKey(key);
     }
 
     @Override
@@ -42,7 +43,7 @@ public class DocumentMap implements Map<CSARID, Map<QName, Document>> {
     @Override
     public Map<QName, Document> get(final Object key) {
 
-        return this.documentMapMap.get(key);
+        return key == null ? null : this.documentMapMap.get(key);
     }
 
     @Override
@@ -94,8 +95,14 @@ public class DocumentMap implements Map<CSARID, Map<QName, Document>> {
         return this.documentMapMap;
     }
 
-    public void setDocumentMap(final Map<CSARID, Map<QName, Document>> documentMap) {
+    @Override
+    public Map<QName, Document> putIfAbsent(final CSARID key, final Map<QName, Document> value) {
+        return this.documentMapMap.putIfAbsent(key, value);
+    }
 
-        this.documentMapMap = documentMap;
+    @Override
+    public Map<QName, Document> computeIfAbsent(final CSARID key,
+                                                final Function<? super CSARID, ? extends Map<QName, Document>> mappingFunction) {
+        return this.documentMapMap.computeIfAbsent(key, mappingFunction);
     }
 }
@@ -1,9 +1,10 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.xml.namespace.QName;
 
@@ -14,7 +15,7 @@ import org.w3c.dom.Node;
  */
 public class MapQNameNode implements Map<QName, Node> {
 
-    private Map<QName, Node> qnameNode = new HashMap<>();
+    private final Map<QName, Node> qnameNode = new ConcurrentHashMap<>();
 
 
     @Override
@@ -26,7 +27,7 @@ public class MapQNameNode implements Map<QName, Node> {
     @Override
     public boolean containsKey(final Object key) {
 
-        return this.qnameNode.containsKey(key);
+        return key != null && this.qnameNode.containsKey(key);
     }
 
     @Override
@@ -44,7 +45,7 @@ public class MapQNameNode implements Map<QName, Node> {
     @Override
     public Node get(final Object key) {
 
-        return this.qnameNode.get(key);
+        return key == null ? null : this.qnameNode.get(key);
     }
 
     @Override
@@ -97,8 +98,13 @@ public class MapQNameNode implements Map<QName, Node> {
         return this.qnameNode;
     }
 
-    public void setQnameNode(final Map<QName, Node> map) {
+    @Override
+    public Node putIfAbsent(final QName key, final Node value) {
+        return this.qnameNode.putIfAbsent(key, value);
+    }
 
-        this.qnameNode = map;
+    @Override
+    public Node computeIfAbsent(final QName key, final Function<? super QName, ? extends Node> mappingFunction) {
+        return this.qnameNode.computeIfAbsent(key, mappingFunction);
     }
 }
@@ -1,15 +1,16 @@
 package org.opentosca.container.core.mapping;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.opentosca.container.core.model.csar.id.CSARID;
 
 public class ReferenceMap implements Map<CSARID, MapQNameNode> {
 
-    private Map<CSARID, MapQNameNode> csarIDToMapQNameNode = new HashMap<>();
+    private final Map<CSARID, MapQNameNode> csarIDToMapQNameNode = new ConcurrentHashMap<>();
 
 
     @Override
@@ -21,7 +22,7 @@ public class ReferenceMap implements Map<CSARID, MapQNameNode> {
     @Override
     public boolean containsKey(final Object key) {
 
-        return this.csarIDToMapQNameNode.containsKey(key);
+        return key != null && this.csarIDToMapQNameNode.containsKey(key);
     }
 
     @Override
@@ -39,7 +40,7 @@ public class ReferenceMap implements Map<CSARID, MapQNameNode> {
     @Override
     public MapQNameNode get(final Object key) {
 
-        return this.csarIDToMapQNameNode.get(key);
+        return key == null ? null : this.csarIDToMapQNameNode.get(key);
     }
 
     @Override
@@ -91,8 +92,14 @@ public class ReferenceMap implements Map<CSARID, MapQNameNode> {
         return this.csarIDToMapQNameNode;
     }
 
-    public void setCsarIDToMapQNameNode(final Map<CSARID, MapQNameNode> referenceMap) {
+    @Override
+    public MapQNameNode putIfAbsent(final CSARID key, final MapQNameNode value) {
+        return this.csarIDToMapQNameNode.putIfAbsent(key, value);
+    }
 
-        this.csarIDToMapQNameNode = referenceMap;
+    @Override
+    public MapQNameNode computeIfAbsent(final CSARID key,
+                                        final Function<? super CSARID, ? extends MapQNameNode> mappingFunction) {
+        return this.csarIDToMapQNameNode.computeIfAbsent(key, mappingFunction);
     }
 }
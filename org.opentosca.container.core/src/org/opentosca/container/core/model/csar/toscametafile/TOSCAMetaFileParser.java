@@ -3,6 +3,10 @@ package org.opentosca.container.core.model.csar.toscametafile;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
@@ -32,58 +36,68 @@ public class TOSCAMetaFileParser {
      */
     public TOSCAMetaFile parse(final Path toscaMetaFile) {
 
-        // counts the errors during parsing
-        int numErrors = 0;
-
-        FileReader reader = null;
-        ManifestParser parser = null;
-        ManifestContents manifestContent = null;
-        TOSCAMetaFile toscaMetaFileContent = null;
-
-        try {
-
-            parser = new RecoveringManifestParser();
-            reader = new FileReader(toscaMetaFile.toFile());
-            TOSCAMetaFileParser.LOG.debug("Parsing TOSCA meta file \"{}\"...", toscaMetaFile.getFileName().toString());
-            manifestContent = parser.parse(reader);
-            reader.close();
+        try (Reader reader = new FileReader(toscaMetaFile.toFile())) {
+            return this.parse(reader, toscaMetaFile.getFileName().toString());
+        }
+        catch (final FileNotFoundException exc) {
+            TOSCAMetaFileParser.LOG.error("\"{}\" doesn't exist or is not a file.", toscaMetaFile, exc);
+        }
+        catch (final IOException exc) {
+            TOSCAMetaFileParser.LOG.error("An IO Exception occured.", exc);
+        }
 
-            for (final ManifestProblem problem : parser.getProblems()) {
-                this.logManifestProblem(problem);
-                numErrors++;
-            }
+        return null;
 
-            numErrors += this.validateBlock0(manifestContent);
-            numErrors += this.validateFileBlocks(manifestContent);
+    }
 
-            if (numErrors == 0) {
-                TOSCAMetaFileParser.LOG.debug("Parsing TOSCA meta file \"{}\" completed without errors. TOSCA meta file is valid.",
-                                              toscaMetaFile.getFileName().toString());
-                toscaMetaFileContent = new TOSCAMetaFile(manifestContent);
-            } else {
-                TOSCAMetaFileParser.LOG.error("Parsing TOSCA meta file \"{}\" failed - {} error(s) occured. TOSCA meta file is invalid.",
-                                              toscaMetaFile.getFileName().toString(), numErrors);
-            }
+    /**
+     * Parses and validates the TOSCA meta file content of the given stream, e.g. read directly from
+     * a CSAR archive. The stream is not closed.
+     *
+     * @param toscaMetaFile stream of the TOSCA meta file content (UTF-8)
+     * @param fileName of the TOSCA meta file, used for logging
+     * @return <code>TOSCAMetaFile</code> that gives access to the content of the TOSCA meta file. If
+     *         the content can't be read or is invalid <code>null</code>.
+     */
+    public TOSCAMetaFile parse(final InputStream toscaMetaFile, final String fileName) {
 
-        }
-        catch (final FileNotFoundException exc) {
-            TOSCAMetaFileParser.LOG.error("\"{}\" doesn't exist or is not a file.", toscaMetaFile, exc);
+        try {
+            return this.parse(new InputStreamReader(toscaMetaFile, StandardCharsets.UTF_8), fileName);
         }
         catch (final IOException exc) {
             TOSCAMetaFileParser.LOG.error("An IO Exception occured.", exc);
         }
-        finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                }
-                catch (final IOException exc) {
-                    TOSCAMetaFileParser.LOG.warn("An IOException occured.", exc);
-                }
-            }
+
+        return null;
+
+    }
+
+    private TOSCAMetaFile parse(final Reader reader, final String fileName) throws IOException {
+
+        // counts the errors during parsing
+        int numErrors = 0;
+
+        final ManifestParser parser = new RecoveringManifestParser();
+        TOSCAMetaFileParser.LOG.debug("Parsing TOSCA meta file \"{}\"...", fileName);
+        final ManifestContents manifestContent = parser.parse(reader);
+
+        for (final ManifestProblem problem : parser.getProblems()) {
+            this.logManifestProblem(problem);
+            numErrors++;
         }
 
-        return toscaMetaFileContent;
+        numErrors += this.validateBlock0(manifestContent);
+        numErrors += this.validateFileBlocks(manifestContent);
+
+        if (numErrors == 0) {
+            TOSCAMetaFileParser.LOG.debug("Parsing TOSCA meta file \"{}\" completed without errors. TOSCA meta file is valid.",
+                                          fileName);
+            return new TOSCAMetaFile(manifestContent);
+        } else {
+            TOSCAMetaFileParser.LOG.error("Parsing TOSCA meta file \"{}\" failed - {} error(s) occured. TOSCA meta file is invalid.",
+                                          fileName, numErrors);
+            return null;
+        }
 
     }
 
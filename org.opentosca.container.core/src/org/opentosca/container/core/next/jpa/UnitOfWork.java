@@ -0,0 +1,131 @@
+package org.opentosca.container.core.next.jpa;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Binds a single {@link EntityManager} and transaction to the current thread. While a unit of work
+ * is active, all {@link org.opentosca.container.core.next.repository.JpaRepository} operations of
+ * this thread join it instead of opening their own EntityManager and transaction.
+ *
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     repository.add(instance);
+ *     otherRepository.update(other);
+ *     uow.commit();
+ * }
+ * </pre>
+ *
+ * Units of work can be nested, an inner unit joins the outer one and only the outermost unit
+ * commits. If any participating unit is closed without being committed, the whole transaction is
+ * rolled back.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private final Context context;
+    private final boolean outermost;
+    private boolean committed = false;
+    private boolean closed = false;
+
+
+    private UnitOfWork(final Context context, final boolean outermost) {
+        this.context = context;
+        this.outermost = outermost;
+    }
+
+    /**
+     * Starts a new unit of work for the current thread or joins the one that is already active.
+     */
+    public static UnitOfWork begin() {
+        final UnitOfWork active = current.get();
+        if (active != null) {
+            return new UnitOfWork(active.context, false);
+        }
+        final AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager();
+        em.getTransaction().begin();
+        final UnitOfWork uow = new UnitOfWork(new Context(em), true);
+        current.set(uow);
+        return uow;
+    }
+
+    /**
+     * Returns the unit of work bound to the current thread or <code>null</code> if there is none.
+     */
+    public static UnitOfWork current() {
+        return current.get();
+    }
+
+    public EntityManager getEntityManager() {
+        return this.context.em;
+    }
+
+    /**
+     * Remembers that the given entity is managed by this unit of work, i.e., its state is already
+     * up-to-date and does not have to be refreshed from the database again.
+     *
+     * @return <code>true</code> if the entity was not known to this unit of work before
+     */
+    public boolean manage(final Object entity) {
+        return this.context.managed.add(entity);
+    }
+
+    public boolean isManaged(final Object entity) {
+        return this.context.managed.contains(entity);
+    }
+
+    /**
+     * Commits the transaction. Nested units of work only signal that their part of the work was
+     * successful, the transaction is committed by the outermost unit.
+     */
+    public void commit() {
+        if (this.closed || this.committed) {
+            throw new IllegalStateException("Unit of work is already completed");
+        }
+        this.committed = true;
+        if (this.outermost) {
+            if (this.context.rollbackOnly) {
+                throw new IllegalStateException("Unit of work has been marked for rollback by a nested unit");
+            }
+            this.context.em.getTransaction().commit();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (!this.committed) {
+            this.context.rollbackOnly = true;
+        }
+        if (this.outermost) {
+            try {
+                if (this.context.em.getTransaction().isActive()) {
+                    this.context.em.getTransaction().rollback();
+                }
+                this.context.em.close();
+            }
+            finally {
+                current.remove();
+            }
+        }
+    }
+
+    private static final class Context {
+
+        private final AutoCloseableEntityManager em;
+        private final Set<Object> managed = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean rollbackOnly = false;
+
+
+        private Context(final AutoCloseableEntityManager em) {
+            this.em = em;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.opentosca.container.core.next.model;
+
+import java.util.Date;
+
+import javax.xml.namespace.QName;
+
+import org.opentosca.container.core.model.csar.id.CSARID;
+
+/**
+ * Lightweight, read-only projection of a {@link ServiceTemplateInstance} which does not load any of
+ * its associations (properties, plan instances, node template instances).
+ */
+public class ServiceTemplateInstanceSummary {
+
+    private final Long id;
+
+    private final ServiceTemplateInstanceState state;
+
+    private final QName templateId;
+
+    private final CSARID csarId;
+
+    private final Date createdAt;
+
+
+    public ServiceTemplateInstanceSummary(final Long id, final ServiceTemplateInstanceState state,
+                                          final QName templateId, final CSARID csarId, final Date createdAt) {
+        this.id = id;
+        this.state = state;
+        this.templateId = templateId;
+        this.csarId = csarId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public ServiceTemplateInstanceState getState() {
+        return this.state;
+    }
+
+    public QName getTemplateId() {
+        return this.templateId;
+    }
+
+    public CSARID getCsarId() {
+        return this.csarId;
+    }
+
+    public Date getCreatedAt() {
+        return this.createdAt;
+    }
+}
@@ -2,11 +2,15 @@ package org.opentosca.container.core.next.repository;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 
 import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
 import org.opentosca.container.core.next.jpa.EntityManagerProvider;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
 
 public abstract class JpaRepository<T> implements Repository<T, Long> {
 
@@ -19,70 +23,42 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     @Override
     public void add(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
+        execute(em -> {
             em.persist(entity);
-            em.getTransaction().commit();
-        }
-        finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+            manage(entity);
+        });
     }
 
     @Override
     public void add(final Iterable<T> items) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            items.forEach(em::persist);
-            em.getTransaction().commit();
-        }
-        finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        execute(em -> items.forEach(item -> {
+            em.persist(item);
+            manage(item);
+        }));
     }
 
     @Override
     public void update(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.merge(entity);
-            em.getTransaction().commit();
-        }
-        finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        execute(em -> manage(em.merge(entity)));
     }
 
     @Override
     public void remove(final T entity) {
-        final EntityManager em = EntityManagerProvider.createEntityManager();
-        try {
-            em.getTransaction().begin();
-            em.remove(em.merge(entity));
-            em.getTransaction().commit();
-        }
-        finally {
-            if (em.getTransaction().isActive()) {
-                em.getTransaction().rollback();
-            }
-            em.close();
-        }
+        execute(em -> em.remove(em.merge(entity)));
     }
 
     @Override
     public Optional<T> find(final Long id) {
+        final UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            final EntityManager em = uow.getEntityManager();
+            final T entity = em.find(this.clazz, id);
+            // Entities already managed by the unit of work are up-to-date, only refresh on first access
+            if (entity != null && uow.manage(entity)) {
+                em.refresh(entity);
+            }
+            return Optional.ofNullable(entity);
+        }
         try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
             final T entity = em.find(this.clazz, id);
             em.refresh(entity);
@@ -95,9 +71,76 @@ public abstract class JpaRepository<T> implements Repository<T, Long> {
 
     @Override
     public Collection<T> findAll() {
+        return query(em -> em.createQuery(String.format("SELECT e FROM %s e", this.clazz.getSimpleName()), this.clazz)
+                             .getResultList());
+    }
+
+    @Override
+    public Collection<T> findAll(final int offset, final int limit) {
+        return query(em -> {
+            final TypedQuery<T> q =
+                em.createQuery(String.format("SELECT e FROM %s e ORDER BY e.id", this.clazz.getSimpleName()),
+                               this.clazz);
+            return page(q, offset, limit).getResultList();
+        });
+    }
+
+    /**
+     * Restricts the results of the given query to a page.
+     *
+     * @param offset number of results to skip
+     * @param limit maximum number of results to return, unlimited if negative
+     */
+    protected static <R> TypedQuery<R> page(final TypedQuery<R> query, final int offset, final int limit) {
+        query.setFirstResult(Math.max(offset, 0));
+        if (limit >= 0) {
+            query.setMaxResults(limit);
+        }
+        return query;
+    }
+
+    /**
+     * Executes the given read operation with the EntityManager of the current thread's unit of work.
+     * If there is none, a dedicated EntityManager is used for this operation only.
+     */
+    protected <R> R query(final Function<EntityManager, R> query) {
+        final UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            return query.apply(uow.getEntityManager());
+        }
         try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
-            return em.createQuery(String.format("SELECT e FROM %s e", this.clazz.getSimpleName()), this.clazz)
-                     .getResultList();
+            return query.apply(em);
+        }
+    }
+
+    /**
+     * Executes the given write operation inside the unit of work of the current thread. If there is
+     * none, a dedicated EntityManager and transaction is used for this operation only.
+     */
+    protected void execute(final Consumer<EntityManager> operation) {
+        final UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            operation.accept(uow.getEntityManager());
+            return;
+        }
+        final EntityManager em = EntityManagerProvider.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            operation.accept(em);
+            em.getTransaction().commit();
+        }
+        finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+
+    private void manage(final T entity) {
+        final UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            uow.manage(entity);
         }
     }
 }
@@ -1,17 +1,22 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
+import javax.persistence.criteria.AbstractQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.xml.namespace.QName;
 
-import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
 
 public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateInstance> {
 
@@ -20,7 +25,7 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
     }
 
     public Collection<NodeTemplateInstance> findByTemplateId(final QName templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        return query(em -> {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<QName> templateIdParameter = cb.parameter(QName.class);
@@ -33,11 +38,11 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
             q.setParameter(templateIdParameter, templateId);
 
             return q.getResultList();
-        }
+        });
     }
 
     public Collection<NodeTemplateInstance> findByTemplateType(final QName templateType) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        return query(em -> {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
 
             final ParameterExpression<QName> templateTypeParameter = cb.parameter(QName.class);
@@ -50,6 +55,72 @@ public class NodeTemplateInstanceRepository extends JpaRepository<NodeTemplateIn
             q.setParameter(templateTypeParameter, templateType);
 
             return q.getResultList();
+        });
+    }
+
+    /**
+     * Returns the instances of the given node template which belong to an instance of the given
+     * service template.
+     *
+     * @param templateId the node template the instances belong to
+     * @param serviceTemplateId the service template the service template instances of the node
+     *        template instances belong to
+     * @param states only return instances in one of these states, ignored if <code>null</code> or
+     *        empty
+     * @param sourceOf only return instances which are the source of one of these relationship
+     *        template instances, ignored if <code>null</code> or empty
+     * @param offset number of instances to skip, ordered by id
+     * @param limit maximum number of instances to return, unlimited if negative
+     */
+    public List<NodeTemplateInstance> findByTemplateId(final QName templateId, final QName serviceTemplateId,
+                                                       final Collection<NodeTemplateInstanceState> states,
+                                                       final Collection<Long> sourceOf, final int offset,
+                                                       final int limit) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+
+            final CriteriaQuery<NodeTemplateInstance> cq = cb.createQuery(NodeTemplateInstance.class);
+            final Root<NodeTemplateInstance> nti = cq.from(NodeTemplateInstance.class);
+            cq.select(nti).where(filter(cb, cq, nti, templateId, serviceTemplateId, states, sourceOf))
+              .orderBy(cb.asc(nti.get("id")));
+
+            return page(em.createQuery(cq), offset, limit).getResultList();
+        });
+    }
+
+    /**
+     * Counts the instances matching the same filters as
+     * {@link #findByTemplateId(QName, QName, Collection, Collection, int, int)}.
+     */
+    public long countByTemplateId(final QName templateId, final QName serviceTemplateId,
+                                  final Collection<NodeTemplateInstanceState> states, final Collection<Long> sourceOf) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            final CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            final Root<NodeTemplateInstance> nti = cq.from(NodeTemplateInstance.class);
+            cq.select(cb.count(nti)).where(filter(cb, cq, nti, templateId, serviceTemplateId, states, sourceOf));
+            return em.createQuery(cq).getSingleResult();
+        });
+    }
+
+    private Predicate[] filter(final CriteriaBuilder cb, final AbstractQuery<?> cq,
+                               final Root<NodeTemplateInstance> nti, final QName templateId,
+                               final QName serviceTemplateId, final Collection<NodeTemplateInstanceState> states,
+                               final Collection<Long> sourceOf) {
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(nti.get("templateId"), templateId));
+        predicates.add(cb.equal(nti.get("serviceTemplateInstance").get("templateId"), serviceTemplateId));
+        if (states != null && !states.isEmpty()) {
+            predicates.add(nti.get("state").in(states));
+        }
+        if (sourceOf != null && !sourceOf.isEmpty()) {
+            // a subquery instead of a join, so each instance is returned and counted only once
+            final Subquery<Long> relations = cq.subquery(Long.class);
+            final Root<RelationshipTemplateInstance> rti = relations.from(RelationshipTemplateInstance.class);
+            relations.select(rti.<Long>get("id"))
+                     .where(cb.equal(rti.get("source"), nti), rti.get("id").in(sourceOf));
+            predicates.add(cb.exists(relations));
         }
+        return predicates.toArray(new Predicate[predicates.size()]);
     }
 }
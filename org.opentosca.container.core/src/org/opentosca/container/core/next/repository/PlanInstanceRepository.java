@@ -1,14 +1,16 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.List;
+
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
 import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Root;
 
-import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.PlanInstance;
+import org.opentosca.container.core.next.model.PlanInstanceEvent;
 
 public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
 
@@ -17,7 +19,7 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
     }
 
     public PlanInstance findByCorrelationId(final String correlationId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        return query(em -> {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
@@ -30,6 +32,51 @@ public class PlanInstanceRepository extends JpaRepository<PlanInstance> {
             q.setParameter(correlationIdParameter, correlationId);
             // Execute
             return q.getSingleResult();
-        }
+        });
+    }
+
+    /**
+     * Returns the events of the plan instance with the given correlation id, newest first, without
+     * loading the plan instance or its other events.
+     *
+     * @param correlationId the correlation id of the plan instance
+     * @param offset number of events to skip
+     * @param limit maximum number of events to return, unlimited if negative
+     */
+    public List<PlanInstanceEvent> findEventsByCorrelationId(final String correlationId, final int offset,
+                                                             final int limit) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Parameters
+            final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
+            // Build the Criteria Query
+            final CriteriaQuery<PlanInstanceEvent> cq = cb.createQuery(PlanInstanceEvent.class);
+            final Root<PlanInstanceEvent> event = cq.from(PlanInstanceEvent.class);
+            final Join<PlanInstanceEvent, PlanInstance> pi = event.join("planInstance");
+            cq.select(event).where(cb.equal(pi.get("correlationId"), correlationIdParameter))
+              .orderBy(cb.desc(event.get("createdAt")), cb.desc(event.get("id")));
+            // Create a TypedQuery
+            final TypedQuery<PlanInstanceEvent> q = em.createQuery(cq);
+            q.setParameter(correlationIdParameter, correlationId);
+            // Execute
+            return page(q, offset, limit).getResultList();
+        });
+    }
+
+    /**
+     * Counts the events of the plan instance with the given correlation id.
+     */
+    public long countEventsByCorrelationId(final String correlationId) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            final ParameterExpression<String> correlationIdParameter = cb.parameter(String.class);
+            final CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            final Root<PlanInstanceEvent> event = cq.from(PlanInstanceEvent.class);
+            final Join<PlanInstanceEvent, PlanInstance> pi = event.join("planInstance");
+            cq.select(cb.count(event)).where(cb.equal(pi.get("correlationId"), correlationIdParameter));
+            final TypedQuery<Long> q = em.createQuery(cq);
+            q.setParameter(correlationIdParameter, correlationId);
+            return q.getSingleResult();
+        });
     }
 }
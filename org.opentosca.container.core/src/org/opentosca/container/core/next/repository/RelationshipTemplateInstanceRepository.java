@@ -1,17 +1,19 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.xml.namespace.QName;
 
-import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
 
 public class RelationshipTemplateInstanceRepository extends JpaRepository<RelationshipTemplateInstance> {
 
@@ -20,7 +22,7 @@ public class RelationshipTemplateInstanceRepository extends JpaRepository<Relati
     }
 
     public Collection<RelationshipTemplateInstance> findByTemplateId(final QName templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        return query(em -> {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<QName> templateIdParameter = cb.parameter(QName.class);
@@ -33,6 +35,67 @@ public class RelationshipTemplateInstanceRepository extends JpaRepository<Relati
             q.setParameter(templateIdParameter, templateId);
             // Execute
             return q.getResultList();
+        });
+    }
+
+    /**
+     * Returns the instances of the given relationship template whose target belongs to an instance
+     * of the given service template.
+     *
+     * @param templateId the relationship template the instances belong to
+     * @param serviceTemplateId the service template the service template instances of the targets
+     *        belong to
+     * @param states only return instances in one of these states, ignored if <code>null</code> or
+     *        empty
+     * @param targetId only return instances with this target node template instance, ignored if
+     *        <code>null</code>
+     * @param offset number of instances to skip, ordered by id
+     * @param limit maximum number of instances to return, unlimited if negative
+     */
+    public List<RelationshipTemplateInstance> findByTemplateId(final QName templateId, final QName serviceTemplateId,
+                                                               final Collection<RelationshipTemplateInstanceState> states,
+                                                               final Long targetId, final int offset,
+                                                               final int limit) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Build the Criteria Query
+            final CriteriaQuery<RelationshipTemplateInstance> cq = cb.createQuery(RelationshipTemplateInstance.class);
+            final Root<RelationshipTemplateInstance> rti = cq.from(RelationshipTemplateInstance.class);
+            cq.select(rti).where(filter(cb, rti, templateId, serviceTemplateId, states, targetId))
+              .orderBy(cb.asc(rti.get("id")));
+            // Execute
+            return page(em.createQuery(cq), offset, limit).getResultList();
+        });
+    }
+
+    /**
+     * Counts the instances matching the same filters as
+     * {@link #findByTemplateId(QName, QName, Collection, Long, int, int)}.
+     */
+    public long countByTemplateId(final QName templateId, final QName serviceTemplateId,
+                                  final Collection<RelationshipTemplateInstanceState> states, final Long targetId) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            final CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            final Root<RelationshipTemplateInstance> rti = cq.from(RelationshipTemplateInstance.class);
+            cq.select(cb.count(rti)).where(filter(cb, rti, templateId, serviceTemplateId, states, targetId));
+            return em.createQuery(cq).getSingleResult();
+        });
+    }
+
+    private Predicate[] filter(final CriteriaBuilder cb, final Root<RelationshipTemplateInstance> rti,
+                               final QName templateId, final QName serviceTemplateId,
+                               final Collection<RelationshipTemplateInstanceState> states, final Long targetId) {
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(rti.get("templateId"), templateId));
+        predicates.add(cb.equal(rti.get("target").get("serviceTemplateInstance").get("templateId"),
+                                serviceTemplateId));
+        if (states != null && !states.isEmpty()) {
+            predicates.add(rti.get("state").in(states));
+        }
+        if (targetId != null) {
+            predicates.add(cb.equal(rti.get("target").get("id"), targetId));
         }
+        return predicates.toArray(new Predicate[predicates.size()]);
     }
 }
@@ -16,4 +16,6 @@ public interface Repository<T, K> {
     Optional<T> find(final K id);
 
     Collection<T> findAll();
+
+    Collection<T> findAll(final int offset, final int limit);
 }
@@ -1,18 +1,22 @@
 package org.opentosca.container.core.next.repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.xml.namespace.QName;
 
 import org.opentosca.container.core.model.csar.id.CSARID;
-import org.opentosca.container.core.next.jpa.AutoCloseableEntityManager;
-import org.opentosca.container.core.next.jpa.EntityManagerProvider;
 import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
 
 public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemplateInstance> {
 
@@ -21,7 +25,7 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
     }
 
     public Collection<ServiceTemplateInstance> findByTemplateId(final QName templateId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        return query(em -> {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<QName> templateIdParameter = cb.parameter(QName.class);
@@ -34,11 +38,11 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
             q.setParameter(templateIdParameter, templateId);
             // Execute
             return q.getResultList();
-        }
+        });
     }
 
     public Collection<ServiceTemplateInstance> findByCsarId(final CSARID csarId) {
-        try (AutoCloseableEntityManager em = EntityManagerProvider.createEntityManager()) {
+        return query(em -> {
             final CriteriaBuilder cb = em.getCriteriaBuilder();
             // Parameters
             final ParameterExpression<CSARID> csarIdParameter = cb.parameter(CSARID.class);
@@ -51,6 +55,74 @@ public class ServiceTemplateInstanceRepository extends JpaRepository<ServiceTemp
             q.setParameter(csarIdParameter, csarId);
             // Execute
             return q.getResultList();
+        });
+    }
+
+    /**
+     * Returns lightweight projections of the instances of the given service template without
+     * loading their associations.
+     *
+     * @param templateId the service template the instances belong to
+     * @param states only return instances in one of these states, ignored if <code>null</code> or
+     *        empty
+     * @param createdAfter only return instances created after this date, ignored if
+     *        <code>null</code>
+     * @param createdBefore only return instances created before this date, ignored if
+     *        <code>null</code>
+     * @param offset number of instances to skip, ordered by id
+     * @param limit maximum number of instances to return, unlimited if negative
+     */
+    public List<ServiceTemplateInstanceSummary> findSummariesByTemplateId(final QName templateId,
+                                                                          final Collection<ServiceTemplateInstanceState> states,
+                                                                          final Date createdAfter,
+                                                                          final Date createdBefore, final int offset,
+                                                                          final int limit) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            // Build the Criteria Query
+            final CriteriaQuery<ServiceTemplateInstanceSummary> cq =
+                cb.createQuery(ServiceTemplateInstanceSummary.class);
+            final Root<ServiceTemplateInstance> sti = cq.from(ServiceTemplateInstance.class);
+            cq.select(cb.construct(ServiceTemplateInstanceSummary.class, sti.get("id"), sti.get("state"),
+                                   sti.get("templateId"), sti.get("csarId"), sti.get("createdAt")))
+              .where(filter(cb, sti, templateId, states, createdAfter, createdBefore))
+              .orderBy(cb.asc(sti.get("id")));
+            // Create a TypedQuery
+            final TypedQuery<ServiceTemplateInstanceSummary> q = em.createQuery(cq);
+            // Execute
+            return page(q, offset, limit).getResultList();
+        });
+    }
+
+    /**
+     * Counts the instances of the given service template matching the same filters as
+     * {@link #findSummariesByTemplateId(QName, Collection, Date, Date, int, int)}.
+     */
+    public long countByTemplateId(final QName templateId, final Collection<ServiceTemplateInstanceState> states,
+                                  final Date createdAfter, final Date createdBefore) {
+        return query(em -> {
+            final CriteriaBuilder cb = em.getCriteriaBuilder();
+            final CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+            final Root<ServiceTemplateInstance> sti = cq.from(ServiceTemplateInstance.class);
+            cq.select(cb.count(sti)).where(filter(cb, sti, templateId, states, createdAfter, createdBefore));
+            return em.createQuery(cq).getSingleResult();
+        });
+    }
+
+    private Predicate[] filter(final CriteriaBuilder cb, final Root<ServiceTemplateInstance> sti,
+                               final QName templateId, final Collection<ServiceTemplateInstanceState> states,
+                               final Date createdAfter, final Date createdBefore) {
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(sti.get("templateId"), templateId));
+        if (states != null && !states.isEmpty()) {
+            predicates.add(sti.get("state").in(states));
+        }
+        if (createdAfter != null) {
+            predicates.add(cb.greaterThan(sti.<Date>get("createdAt"), createdAfter));
+        }
+        if (createdBefore != null) {
+            predicates.add(cb.lessThan(sti.<Date>get("createdAt"), createdBefore));
         }
+        return predicates.toArray(new Predicate[predicates.size()]);
     }
 }
@@ -76,13 +76,13 @@ public abstract class AbstractJCloudsFileStorageProvider implements ICoreInterna
      * jclouds {@code BlobStoreContext} and {@code BlobStore}. These variables are global, as we do not
      * want to create them each time a method is called.
      */
-    private BlobStoreContext blobStoreContext;
-    private BlobStore blobStore;
+    private volatile BlobStoreContext blobStoreContext;
+    private volatile BlobStore blobStore;
 
     /**
      * {@code true} when storage provider is currently initialized.
      */
-    private boolean isInitialized = false;
+    private volatile boolean isInitialized = false;
 
     /**
      * {@code true} when required jclouds BlobStore API / Provider bundle is currently available.
@@ -119,12 +119,12 @@ public abstract class AbstractJCloudsFileStorageProvider implements ICoreInterna
     /**
      * Initializes this storage provider, if necessary.<br />
      * Builds the {@link BlobStoreContext} and {@link BlobStore} and finally creates the container on
-     * the storage provider, if necessary.
+     * the storage provider, if necessary. Synchronized, as files of a CSAR are stored concurrently.
      *
      * @throws SystemException if storage provider is not ready, credentials are invalid or an other
      *         jclouds error occurred.
      */
-    private void initialize() throws SystemException {
+    private synchronized void initialize() throws SystemException {
 
         if (!this.isInitialized) {
 
@@ -257,7 +257,7 @@ public abstract class AbstractJCloudsFileStorageProvider implements ICoreInterna
     /**
      * Uninitializes this storage provider by closing the {@link BlobStoreContext}.<br />
      */
-    private void close() {
+    private synchronized void close() {
 
         AbstractJCloudsFileStorageProvider.LOG.debug("Closing storage provider \"{}\"...", this.getStorageProviderID());
 
@@ -0,0 +1,63 @@
+package org.opentosca.bus.application.service.impl.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class QueueMapTest {
+
+    // the map is static, so each test uses its own request IDs
+    private final String id = UUID.randomUUID().toString();
+
+
+    @Test
+    public void testResultIsAvailableOnceTheInvocationFinished() {
+        QueueMap.notFinished(this.id);
+
+        assertThat(QueueMap.containsID(this.id), is(true));
+        assertThat(QueueMap.hasFinished(this.id), is(false));
+        assertThat(QueueMap.getResult(this.id), is(nullValue()));
+
+        QueueMap.finished(this.id, "result");
+
+        assertThat(QueueMap.hasFinished(this.id), is(true));
+        assertThat(QueueMap.getResult(this.id), is("result"));
+
+        QueueMap.remove(this.id);
+        assertThat(QueueMap.containsID(this.id), is(false));
+    }
+
+    @Test
+    public void testFinishedInsertsUnknownRequests() {
+        QueueMap.finished(this.id, null);
+
+        assertThat(QueueMap.hasFinished(this.id), is(true));
+        assertThat(QueueMap.getResult(this.id), is(nullValue()));
+    }
+
+    @Test
+    public void testAwaitFinishedReturnsOnceTheInvocationFinished() throws Exception {
+        QueueMap.notFinished(this.id);
+
+        final CompletableFuture<Boolean> finished =
+            CompletableFuture.supplyAsync(() -> QueueMap.awaitFinished(this.id, TimeUnit.SECONDS.toMillis(20)));
+        Thread.sleep(100);
+        QueueMap.finished(this.id, "result");
+
+        assertThat(finished.get(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testAwaitFinishedTimesOut() {
+        QueueMap.notFinished(this.id);
+
+        assertThat(QueueMap.awaitFinished(this.id, 50), is(false));
+        assertThat(QueueMap.awaitFinished("unknown", 50), is(false));
+    }
+}
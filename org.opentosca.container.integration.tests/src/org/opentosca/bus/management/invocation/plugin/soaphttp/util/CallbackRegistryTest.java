@@ -0,0 +1,84 @@
+package org.opentosca.bus.management.invocation.plugin.soaphttp.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class CallbackRegistryTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testCallbackCompletesTheInvocationOnce() throws Exception {
+        final long registered = CallbackRegistry.getRegisteredCount();
+        final long completed = CallbackRegistry.getCompletedCount();
+
+        final String messageID = UUID.randomUUID().toString();
+        final CompletableFuture<Document> callback = CallbackRegistry.register(messageID);
+        assertThat(CallbackRegistry.getMessageIDs(), hasItem(messageID));
+        assertThat(CallbackRegistry.getRegisteredCount(), is(registered + 1));
+
+        final Document response = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        assertThat(CallbackRegistry.complete(messageID, response), is(true));
+        assertThat(callback.get(), is(sameInstance(response)));
+
+        assertThat(CallbackRegistry.complete(messageID, response), is(false));
+        assertThat(CallbackRegistry.getMessageIDs(), not(hasItem(messageID)));
+        assertThat(CallbackRegistry.getCompletedCount(), is(completed + 1));
+    }
+
+    @Test
+    public void testCancelledInvocationIsRemoved() {
+        final long cancelled = CallbackRegistry.getCancelledCount();
+
+        final String messageID = UUID.randomUUID().toString();
+        CallbackRegistry.register(messageID).cancel(false);
+
+        assertThat(CallbackRegistry.getMessageIDs(), not(hasItem(messageID)));
+        assertThat(CallbackRegistry.complete(messageID, null), is(false));
+        assertThat(CallbackRegistry.getCancelledCount(), is(cancelled + 1));
+    }
+
+    @Test
+    public void testConcurrentCallbacksCompleteTheirOwnInvocation() throws Exception {
+        final List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS * 50; i++) {
+            results.add(this.executor.submit(() -> {
+                final String messageID = UUID.randomUUID().toString();
+                final Document response = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+                final CompletableFuture<Document> callback = CallbackRegistry.register(messageID);
+                return CallbackRegistry.complete(messageID, response)
+                    && callback.get(30, TimeUnit.SECONDS) == response
+                    && !CallbackRegistry.getMessageIDs().contains(messageID);
+            }));
+        }
+        for (final Future<Boolean> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS), is(true));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.opentosca.bus.management.service.impl.collaboration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.bus.management.header.MBHeader;
+import org.opentosca.bus.management.service.impl.Activator;
+import org.opentosca.bus.management.service.impl.collaboration.model.RemoteOperations;
+
+public class RequestSenderTest {
+
+    private final List<Map<?, ?>> publishedHeaders = new ArrayList<>();
+
+    private ProducerTemplate producer;
+
+
+    @Before
+    public void mockProducer() {
+        this.producer = Activator.producer;
+        Activator.producer = (ProducerTemplate) Proxy.newProxyInstance(ProducerTemplate.class.getClassLoader(),
+                                                                       new Class<?>[] {ProducerTemplate.class},
+                                                                       this::recordPublish);
+    }
+
+    @After
+    public void restoreProducer() {
+        Activator.producer = this.producer;
+    }
+
+    @Test
+    public void testUnansweredRequestTimesOut() throws Exception {
+        final CompletableFuture<Exchange> response =
+            RequestSender.sendRequestToRemoteContainerAsync(new DefaultMessage(),
+                                                            RemoteOperations.INVOKE_INSTANCE_DATA_MATCHING, null, 200);
+
+        try {
+            response.get(30, TimeUnit.SECONDS);
+            throw new AssertionError("The request did not time out");
+        }
+        catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+        assertThat(PendingRequestRegistry.complete(correlationID(0), null), is(false));
+    }
+
+    @Test
+    public void testRequestWithoutTimeoutIsAnswered() throws Exception {
+        final CompletableFuture<Exchange> response =
+            RequestSender.sendRequestToRemoteContainerAsync(new DefaultMessage(),
+                                                            RemoteOperations.INVOKE_IA_OPERATION, null, 0);
+        Thread.sleep(200);
+        assertThat(response.isDone(), is(false));
+
+        final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+        assertThat(PendingRequestRegistry.complete(correlationID(0), exchange), is(true));
+        assertThat(response.get(30, TimeUnit.SECONDS), is(sameInstance(exchange)));
+
+        // a second Container answering the same request is ignored
+        assertThat(PendingRequestRegistry.complete(correlationID(0), exchange), is(false));
+    }
+
+    @Test
+    public void testCompletedRequestsReleaseTheRegistry() throws Exception {
+        final List<String> correlationIDs = new ArrayList<>();
+        for (int i = 0; i < PendingRequestRegistry.MAX_PENDING_REQUESTS; i++) {
+            final String correlationID = UUID.randomUUID().toString();
+            assertThat(PendingRequestRegistry.register(correlationID).isDone(), is(false));
+            correlationIDs.add(correlationID);
+        }
+        assertThat(PendingRequestRegistry.register(UUID.randomUUID().toString()).isCompletedExceptionally(),
+                   is(true));
+
+        for (final String correlationID : correlationIDs) {
+            PendingRequestRegistry.complete(correlationID, null);
+        }
+        final String correlationID = UUID.randomUUID().toString();
+        final CompletableFuture<Exchange> response = PendingRequestRegistry.register(correlationID);
+        assertThat(response.isDone(), is(false));
+        PendingRequestRegistry.complete(correlationID, null);
+    }
+
+    private Object recordPublish(final Object proxy, final Method method, final Object[] args) {
+        if (method.getName().equals("sendBodyAndHeaders")) {
+            this.publishedHeaders.add((Map<?, ?>) args[2]);
+        }
+        return null;
+    }
+
+    private String correlationID(final int request) {
+        return (String) this.publishedHeaders.get(request).get(MBHeader.CORRELATIONID_STRING.toString());
+    }
+}
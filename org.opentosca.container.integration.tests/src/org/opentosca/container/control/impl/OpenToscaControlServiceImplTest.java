@@ -0,0 +1,190 @@
+package org.opentosca.container.control.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.engine.IToscaEngineService;
+import org.opentosca.container.core.engine.IToscaReferenceMapper;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.model.deployment.plan.PlanDeploymentState;
+import org.opentosca.container.core.service.ICoreDeploymentTrackerService;
+import org.opentosca.container.core.service.ICoreEndpointService;
+import org.opentosca.container.core.tosca.model.TPlan;
+import org.opentosca.container.core.tosca.model.TPlans;
+import org.opentosca.container.core.tosca.model.TServiceTemplate;
+import org.opentosca.container.engine.plan.IPlanEngineService;
+
+public class OpenToscaControlServiceImplTest {
+
+    private static final int WORKERS = Integer.parseInt(Settings.CONTAINER_PLAN_DEPLOYMENT_WORKERS);
+
+    private final CSARID csarID = new CSARID("Test.csar");
+    private final QName serviceTemplateID = new QName("http://opentosca.org", "ServiceTemplate");
+
+    // the last deployment state of each plan
+    private final Map<String, PlanDeploymentState> states = new ConcurrentHashMap<>();
+    private final Set<String> deployed = ConcurrentHashMap.newKeySet();
+    private final Set<String> undeployed = ConcurrentHashMap.newKeySet();
+    private final Set<String> failingPlans = ConcurrentHashMap.newKeySet();
+
+    // if set, each deployment counts it down and waits for the release of the deployments
+    private CountDownLatch runningDeployments = null;
+    private final CountDownLatch releaseDeployments = new CountDownLatch(1);
+
+
+    @Test
+    public void testAllPlansAreDeployed() {
+        final TestControlService service = new TestControlService(createServiceTemplate(WORKERS + 2));
+
+        assertThat(service.invokePlanDeployment(this.csarID, this.serviceTemplateID), is(true));
+
+        assertThat(this.deployed.size(), is(WORKERS + 2));
+        assertThat(this.undeployed.isEmpty(), is(true));
+        assertThat(new HashSet<>(this.states.values()),
+                   is(Collections.singleton(PlanDeploymentState.PLAN_DEPLOYED)));
+    }
+
+    @Test
+    public void testDeployedPlansAreRolledBackIfADeploymentFails() {
+        final TestControlService service = new TestControlService(createServiceTemplate(3));
+        this.failingPlans.add("Plan1");
+
+        assertThat(service.invokePlanDeployment(this.csarID, this.serviceTemplateID), is(false));
+
+        assertThat(this.undeployed, is(new HashSet<>(this.deployed)));
+        assertThat(this.deployed.size(), is(2));
+        assertThat(this.states.get("Plan0"), is(PlanDeploymentState.PLAN_UNDEPLOYED));
+        assertThat(this.states.get("Plan1"), is(PlanDeploymentState.PLAN_DEPLOYMENT_FAILED));
+        assertThat(this.states.get("Plan2"), is(PlanDeploymentState.PLAN_UNDEPLOYED));
+    }
+
+    @Test
+    public void testRunningDeploymentsAreRolledBackOnInterrupt() throws Exception {
+        final TestControlService service = new TestControlService(createServiceTemplate(WORKERS + 2));
+        this.runningDeployments = new CountDownLatch(WORKERS);
+
+        final AtomicReference<Boolean> result = new AtomicReference<>();
+        final AtomicBoolean interruptRestored = new AtomicBoolean(false);
+        final Thread deployment = new Thread(() -> {
+            result.set(service.invokePlanDeployment(this.csarID, this.serviceTemplateID));
+            interruptRestored.set(Thread.currentThread().isInterrupted());
+        });
+        deployment.start();
+
+        // interrupt the deployment once all workers are busy and wait until it awaits them again
+        assertThat(this.runningDeployments.await(30, TimeUnit.SECONDS), is(true));
+        deployment.interrupt();
+        while (deployment.isInterrupted() || deployment.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        this.releaseDeployments.countDown();
+        deployment.join(TimeUnit.SECONDS.toMillis(30));
+
+        assertThat(result.get(), is(false));
+        assertThat(interruptRestored.get(), is(true));
+
+        // the running deployments finished and were rolled back, the queued ones were skipped
+        assertThat(this.deployed.size(), is(WORKERS));
+        assertThat(this.undeployed, is(new HashSet<>(this.deployed)));
+    }
+
+    private TServiceTemplate createServiceTemplate(final int numberOfPlans) {
+        final TPlans plans = new TPlans();
+        for (int i = 0; i < numberOfPlans; i++) {
+            final TPlan plan = new TPlan();
+            plan.setId("Plan" + i);
+            plans.getPlan().add(plan);
+        }
+        final TServiceTemplate serviceTemplate = new TServiceTemplate();
+        serviceTemplate.setPlans(plans);
+        return serviceTemplate;
+    }
+
+    private boolean deployPlan(final TPlan plan) throws InterruptedException {
+        if (this.runningDeployments != null) {
+            this.runningDeployments.countDown();
+            this.releaseDeployments.await(30, TimeUnit.SECONDS);
+        }
+        if (this.failingPlans.contains(plan.getId())) {
+            return false;
+        }
+        this.deployed.add(plan.getId());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(final Class<T> clazz, final FakeMethod method) {
+        return (T) Proxy.newProxyInstance(OpenToscaControlServiceImplTest.class.getClassLoader(),
+                                          new Class<?>[] {clazz}, (proxy, m, args) -> {
+                                              final Object result = method.invoke(m.getName(), args);
+                                              return result == null && m.getReturnType() == boolean.class ? true
+                                                                                                          : result;
+                                          });
+    }
+
+
+    @FunctionalInterface
+    private interface FakeMethod {
+
+        Object invoke(String name, Object[] args) throws Exception;
+    }
+
+    /**
+     * Deploys the plans with fake services instead of the services bound to the running container.
+     */
+    private class TestControlService extends OpenToscaControlServiceImpl {
+
+        private final IToscaEngineService toscaEngine;
+        private final IPlanEngineService planEngine;
+        private final ICoreDeploymentTrackerService deploymentTracker;
+        private final ICoreEndpointService endpointService;
+
+        TestControlService(final TServiceTemplate serviceTemplate) {
+            final IToscaReferenceMapper referenceMapper =
+                fake(IToscaReferenceMapper.class,
+                     (name, args) -> name.equals("getJAXBReference") ? serviceTemplate : null);
+            this.toscaEngine = fake(IToscaEngineService.class,
+                                    (name, args) -> name.equals("getToscaReferenceMapper") ? referenceMapper : null);
+
+            this.planEngine = fake(IPlanEngineService.class, (name, args) -> {
+                final TPlan plan = (TPlan) args[0];
+                if (name.equals("deployPlan")) {
+                    return deployPlan(plan);
+                }
+                if (name.equals("undeployPlan")) {
+                    OpenToscaControlServiceImplTest.this.undeployed.add(plan.getId());
+                }
+                return null;
+            });
+
+            this.deploymentTracker = fake(ICoreDeploymentTrackerService.class, (name, args) -> {
+                if (name.equals("storePlanDeploymentInfo") && args.length == 3) {
+                    OpenToscaControlServiceImplTest.this.states.put((String) args[1], (PlanDeploymentState) args[2]);
+                }
+                return null;
+            });
+            this.endpointService = fake(ICoreEndpointService.class, (name, args) -> null);
+        }
+
+        @Override
+        public Boolean invokePlanDeployment(final CSARID csarID, final QName serviceTemplateID) {
+            return invokePlanDeployment(csarID, serviceTemplateID, this.toscaEngine, this.planEngine,
+                                        this.deploymentTracker, this.endpointService);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.opentosca.container.core.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class DeploymentPollerTest {
+
+    private final DeploymentPoller poller = new DeploymentPoller("deployment-poller-test");
+
+
+    @Test
+    public void testPollingStopsWithTheFirstResult() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+
+        final CompletableFuture<String> result = this.poller.poll(() -> calls.incrementAndGet() < 3 ? null : "pid",
+                                                                  DeploymentPoller.getDeadline(), "timeout");
+
+        assertThat(result.get(30, TimeUnit.SECONDS), is("pid"));
+        Thread.sleep(DeploymentPoller.POLLING_MAX_DELAY);
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    public void testPollingIsGivenUpAtTheDeadlineWithIncreasingDelays() throws Exception {
+        final List<Long> calls = new CopyOnWriteArrayList<>();
+
+        final CompletableFuture<String> result = this.poller.poll(() -> {
+            calls.add(System.nanoTime());
+            return null;
+        }, System.currentTimeMillis() + 1000, "Plan didn't become active");
+
+        final Throwable cause = getFailure(result);
+        assertThat(cause, is(instanceOf(TimeoutException.class)));
+        assertThat(cause.getMessage(), is("Plan didn't become active"));
+
+        // the delays start with the initial delay and are doubled after each call
+        assertThat(calls.size(), greaterThanOrEqualTo(2));
+        long delay = DeploymentPoller.POLLING_INITIAL_DELAY;
+        for (int i = 1; i < calls.size(); i++) {
+            assertThat(TimeUnit.NANOSECONDS.toMillis(calls.get(i) - calls.get(i - 1)), greaterThanOrEqualTo(delay));
+            delay = Math.min(delay * 2, DeploymentPoller.POLLING_MAX_DELAY);
+        }
+    }
+
+    @Test
+    public void testFailingCheckStopsPolling() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final IllegalStateException failure = new IllegalStateException("Server not available");
+
+        final CompletableFuture<String> result = this.poller.poll(() -> {
+            if (calls.incrementAndGet() == 2) {
+                throw failure;
+            }
+            return null;
+        }, DeploymentPoller.getDeadline(), "timeout");
+
+        assertThat(getFailure(result), is(failure));
+        Thread.sleep(DeploymentPoller.POLLING_MAX_DELAY);
+        assertThat(calls.get(), is(2));
+    }
+
+    private static Throwable getFailure(final CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        catch (final ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("The polling didn't fail");
+    }
+}
@@ -0,0 +1,107 @@
+package org.opentosca.container.core.engine.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.tosca.extension.PlanTypes;
+import org.opentosca.container.core.tosca.model.TPlan;
+
+public class ToscaReferenceMapperTest {
+
+    private static final int THREADS = 8;
+
+    private final ToscaReferenceMapper mapper = new ToscaReferenceMapper();
+    private final CSARID csarID = new CSARID("Test.csar");
+    private final QName serviceTemplateID = new QName("http://opentosca.org", "ServiceTemplate");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentlyStoredNodeTemplateIDsAreUnique() throws Exception {
+        runConcurrently(() -> {
+            for (int i = 0; i < 100; i++) {
+                this.mapper.storeNodeTemplateIDForServiceTemplateAndCSAR(this.csarID, this.serviceTemplateID,
+                                                                         "NodeTemplate");
+            }
+            return null;
+        });
+
+        final Map<QName, List<String>> nodeTemplates =
+            this.mapper.getServiceTemplatesAndNodeTemplatesInCSAR(this.csarID);
+        assertThat(nodeTemplates.get(this.serviceTemplateID), contains("NodeTemplate"));
+    }
+
+    @Test
+    public void testPlansCanBeReadWhileTheyAreStored() throws Exception {
+        runConcurrently(() -> {
+            final String name = Thread.currentThread().getName();
+            for (int i = 0; i < 200; i++) {
+                final TPlan plan = new TPlan();
+                plan.setId(name + "-" + i);
+                this.mapper.getCSARIDToPlans(this.csarID).get(PlanTypes.BUILD)
+                           .put(new QName("http://opentosca.org", plan.getId()), plan);
+                this.mapper.getPlanForCSARIDAndPlanID(this.csarID, new QName("http://opentosca.org", "unknown"));
+            }
+            return null;
+        });
+
+        final TPlan plan = this.mapper.getPlanForCSARIDAndPlanID(this.csarID,
+                                                                 new QName("http://opentosca.org", "unknown"));
+        assertThat(plan, is(nullValue()));
+        assertThat(this.mapper.getCSARIDToPlans(this.csarID).get(PlanTypes.BUILD).size(), is(THREADS * 200));
+    }
+
+    @Test
+    public void testBoundsPropertiesOfUnknownCsar() {
+        assertThat(this.mapper.getServiceTemplateBoundsPropertiesContent(this.csarID), is(notNullValue()));
+        assertThat(this.mapper.getServiceTemplateBoundsPropertiesContent(this.csarID), is(empty()));
+        assertThat(this.mapper.getServiceTemplateBoundsPropertyMappings(this.csarID), is(empty()));
+
+        this.mapper.storeServiceTemplateBoundsPropertiesInformation(this.csarID, this.serviceTemplateID, null, null);
+        assertThat(this.mapper.getServiceTemplateBoundsPropertiesContent(this.csarID), is(empty()));
+        assertThat(this.mapper.getServiceTemplateBoundsPropertyMappings(this.csarID), is(empty()));
+    }
+
+    /**
+     * Starts the task in all threads at the same time and rethrows the first failure.
+     */
+    private void runConcurrently(final Callable<Void> task) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(this.executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (final Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+}
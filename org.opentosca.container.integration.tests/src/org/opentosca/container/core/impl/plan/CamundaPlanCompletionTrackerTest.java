@@ -0,0 +1,121 @@
+package org.opentosca.container.core.impl.plan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class CamundaPlanCompletionTrackerTest {
+
+    @Test
+    public void testOutputsAreRetrievedOnceTheInstanceEnded() throws Exception {
+        final FakeTracker tracker = new FakeTracker(60000, 2);
+
+        final Map<String, String> outputs = tracker.track("instance", Arrays.asList("ip", "missing"))
+                                                   .get(30, TimeUnit.SECONDS);
+
+        assertThat(outputs.get("ip"), is("10.0.0.1"));
+        assertThat(outputs.get("missing"), is(""));
+        assertThat(tracker.polls.get(), is(3));
+    }
+
+    @Test
+    public void testTrackingFailsAfterTheTimeout() throws Exception {
+        final FakeTracker tracker = new FakeTracker(1000, Integer.MAX_VALUE);
+
+        try {
+            tracker.track("instance", Collections.emptyList()).get(30, TimeUnit.SECONDS);
+            throw new AssertionError("The tracking did not time out");
+        }
+        catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+    }
+
+    @Test
+    public void testEngineErrorsCompleteTheFuture() throws Exception {
+        final FakeTracker tracker = new FakeTracker(60000, -1);
+
+        try {
+            tracker.track("instance", Collections.emptyList()).get(30, TimeUnit.SECONDS);
+            throw new AssertionError("The engine error was not propagated");
+        }
+        catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+    }
+
+    @Test
+    public void testFailureHandlerIsCalledIfTheCompletionHandlerThrows() throws Exception {
+        final FakeTracker tracker = new FakeTracker(60000, 0);
+        final IllegalStateException error = new IllegalStateException("Storing the outputs failed");
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        tracker.track("instance", Collections.emptyList(), outputs -> {
+            throw error;
+        }, failure::set).get(30, TimeUnit.SECONDS);
+
+        assertThat(failure.get(), is(sameInstance(error)));
+    }
+
+    @Test
+    public void testFailingFailureHandlerDoesNotEscape() throws Exception {
+        final FakeTracker tracker = new FakeTracker(60000, -1);
+        final AtomicInteger failures = new AtomicInteger();
+
+        tracker.track("instance", Collections.emptyList(), outputs -> {
+            throw new AssertionError("The tracking did not fail");
+        }, e -> {
+            failures.incrementAndGet();
+            throw new IllegalStateException("Finalizing the plan failed");
+        }).get(30, TimeUnit.SECONDS);
+
+        assertThat(failures.get(), is(1));
+    }
+
+    /**
+     * Reports the instance as active for the given number of polls instead of querying an engine.
+     */
+    private static class FakeTracker extends CamundaPlanCompletionTracker {
+
+        private final AtomicInteger polls = new AtomicInteger();
+        private final int activePolls;
+
+
+        FakeTracker(final long timeout, final int activePolls) {
+            super("http://localhost/engine-rest", "demo", "demo", timeout);
+            this.activePolls = activePolls;
+        }
+
+        @Override
+        protected boolean isActive(final String processInstanceID) {
+            if (this.activePolls < 0) {
+                throw new IllegalStateException("Engine not reachable");
+            }
+            return this.polls.incrementAndGet() <= this.activePolls;
+        }
+
+        @Override
+        protected Map<String, String> getVariables(final String processInstanceID,
+                                                   final Collection<String> variableNames) {
+            final Map<String, String> outputs = new HashMap<>();
+            for (final String name : variableNames) {
+                outputs.put(name, name.equals("ip") ? "10.0.0.1" : "");
+            }
+            return outputs;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.opentosca.container.core.impl.plan;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.model.instance.ServiceTemplateInstanceID;
+import org.opentosca.container.core.tosca.extension.PlanInvocationEvent;
+import org.opentosca.container.core.tosca.extension.TPlanDTO;
+
+public class CorrelationHandlerTest {
+
+    private final CorrelationHandler handler = new CorrelationHandler();
+    private final CSARID csarID = new CSARID("Test.csar");
+    private final QName serviceTemplateID = new QName("http://opentosca.org", "ServiceTemplate");
+    private final QName planID = new QName("http://opentosca.org", "Plan");
+
+
+    @Test
+    public void testConcurrentlyCreatedCorrelationIDsAreUnique() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final List<String> ids = new ArrayList<>();
+                    for (int j = 0; j < 500; j++) {
+                        ids.add(this.handler.getNewCorrelationID(this.csarID, this.serviceTemplateID, 1,
+                                                                 createEvent(), false));
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            final Set<String> ids = new HashSet<>();
+            for (final Future<List<String>> future : futures) {
+                ids.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(ids.size(), is(threads * 500));
+            assertThat(this.handler.getActiveCorrelationsOfInstance(instance(1)).size(), is(threads * 500));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCorrelationsAreLookedUpByIDAndInstance() {
+        final String corrID =
+            this.handler.getNewCorrelationID(this.csarID, this.serviceTemplateID, 1, createEvent(), false);
+
+        final TPlanDTO plan = this.handler.getPublicPlanForCorrelation(corrID);
+        assertThat(plan, is(notNullValue()));
+        assertThat(plan.getId(), is(this.planID));
+        assertThat(this.handler.getPlanDTOForCorrelation(instance(1), corrID).getId(), is(this.planID));
+
+        // the correlation belongs to another instance
+        assertThat(this.handler.getPlanDTOForCorrelation(instance(2), corrID), is(nullValue()));
+        assertThat(this.handler.getPublicPlanForCorrelation("unknown"), is(nullValue()));
+        assertThat(this.handler.getActiveCorrelationsOfInstance(instance(2)), is(empty()));
+    }
+
+    @Test
+    public void testBuildPlanCorrelationsAreMovedToTheCreatedInstance() {
+        final String corrID =
+            this.handler.getNewCorrelationID(this.csarID, this.serviceTemplateID, -1, createEvent(), true);
+
+        this.handler.correlateBuildPlanCorrToServiceTemplateInstanceId(this.csarID, this.serviceTemplateID, corrID, 5);
+
+        assertThat(this.handler.getActiveCorrelationsOfInstance(instance(-1)), is(empty()));
+        assertThat(this.handler.getActiveCorrelationsOfInstance(instance(5)), contains(corrID));
+        assertThat(this.handler.getPlanDTOForCorrelation(instance(5), corrID), is(notNullValue()));
+    }
+
+    @Test
+    public void testFinishedCorrelationsCanStillBeLookedUp() {
+        final String corrID =
+            this.handler.getNewCorrelationID(this.csarID, this.serviceTemplateID, 1, createEvent(), false);
+
+        this.handler.removeCorrelation(this.csarID, corrID);
+
+        // finished correlations are only dropped after their time to live
+        assertThat(this.handler.getPublicPlanForCorrelation(corrID), is(notNullValue()));
+    }
+
+    @Test
+    public void testFinishedCorrelationsAreNotActive() {
+        final String finishedCorrID =
+            this.handler.getNewCorrelationID(this.csarID, this.serviceTemplateID, 1, createEvent(), false);
+        final String runningCorrID =
+            this.handler.getNewCorrelationID(this.csarID, this.serviceTemplateID, 1, createEvent(), false);
+
+        this.handler.removeCorrelation(finishedCorrID);
+
+        assertThat(this.handler.getActiveCorrelationsOfInstance(instance(1)), contains(runningCorrID));
+    }
+
+    private ServiceTemplateInstanceID instance(final int instanceID) {
+        return new ServiceTemplateInstanceID(this.csarID, this.serviceTemplateID, instanceID);
+    }
+
+    private PlanInvocationEvent createEvent() {
+        final PlanInvocationEvent event = new PlanInvocationEvent();
+        event.setPlanID(this.planID);
+        event.setPlanType("http://docs.oasis-open.org/tosca/ns/2011/12/PlanTypes/BuildPlan");
+        return event;
+    }
+}
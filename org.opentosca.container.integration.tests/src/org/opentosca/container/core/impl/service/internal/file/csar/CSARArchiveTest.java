@@ -0,0 +1,131 @@
+package org.opentosca.container.core.impl.service.internal.file.csar;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.impl.service.internal.file.StorageProviderManager;
+import org.opentosca.container.core.model.csar.id.CSARID;
+
+public class CSARArchiveTest {
+
+    private static final int FILES = 200;
+
+    private final CSARID csarID = new CSARID("Test.csar");
+
+    private Path csarFile;
+
+
+    @Before
+    public void createCsar() throws IOException {
+        this.csarFile = Files.createTempFile("CSARArchiveTest", ".csar");
+        try (OutputStream out = Files.newOutputStream(this.csarFile);
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < FILES; i++) {
+                zip.putNextEntry(new ZipEntry("Artifacts/" + i % 10 + "/file" + i + ".txt"));
+                zip.write(("content " + i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+
+    @After
+    public void deleteCsar() throws IOException {
+        Files.deleteIfExists(this.csarFile);
+    }
+
+    @Test
+    public void testAllFilesAreStored() throws Exception {
+        final RecordingStorageProviderManager manager = new RecordingStorageProviderManager(null);
+
+        try (CSARArchive archive = new CSARArchive(this.csarFile)) {
+            assertThat(archive.getFiles().size(), is(FILES));
+            assertThat(archive.getDirectories().contains(Paths.get("Artifacts", "3")), is(true));
+
+            archive.storeFiles(manager, this.csarID, "filesystem");
+        }
+
+        assertThat(manager.stored.size(), is(FILES));
+        for (int i = 0; i < FILES; i++) {
+            final Path file = Paths.get("Artifacts", String.valueOf(i % 10), "file" + i + ".txt");
+            assertThat(manager.stored.get(file), is("content " + i));
+        }
+        assertThat(manager.deleted, is(empty()));
+    }
+
+    @Test
+    public void testStoredFilesAreDeletedIfStoringFails() throws Exception {
+        final Path failing = Paths.get("Artifacts", "7", "file77.txt");
+        final RecordingStorageProviderManager manager = new RecordingStorageProviderManager(failing);
+
+        try (CSARArchive archive = new CSARArchive(this.csarFile)) {
+            archive.storeFiles(manager, this.csarID, "filesystem");
+            throw new AssertionError("Storing the files did not fail");
+        }
+        catch (final SystemException e) {
+            // expected
+        }
+
+        assertThat(manager.deleted, is(new HashSet<>(manager.stored.keySet())));
+    }
+
+    /**
+     * Keeps the stored files in memory and fails for the given file.
+     */
+    private static class RecordingStorageProviderManager extends StorageProviderManager {
+
+        private final Map<Path, String> stored = new ConcurrentHashMap<>();
+        private final Set<Path> deleted = ConcurrentHashMap.newKeySet();
+        private final Path failing;
+
+
+        RecordingStorageProviderManager(final Path failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public void storeFileOfCSAR(final CSARID csarID, final InputStream fileInputStream, final long fileSize,
+                                    final Path fileRelToCSARRoot, final String storageProviderID) throws SystemException {
+            if (fileRelToCSARRoot.equals(this.failing)) {
+                throw new SystemException("Storing " + fileRelToCSARRoot + " failed.");
+            }
+
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            try {
+                for (int read = fileInputStream.read(buffer); read != -1; read = fileInputStream.read(buffer)) {
+                    content.write(buffer, 0, read);
+                }
+            }
+            catch (final IOException e) {
+                throw new SystemException("Reading " + fileRelToCSARRoot + " failed.", e);
+            }
+            this.stored.put(fileRelToCSARRoot, new String(content.toByteArray(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void deleteFileOfCSAR(final CSARID csarID, final Path fileRelToCSARRoot,
+                                     final String storageProviderID) {
+            this.deleted.add(fileRelToCSARRoot);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.opentosca.container.core.next.jpa;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.xml.namespace.QName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.repository.ServiceTemplateInstanceRepository;
+
+public class UnitOfWorkTest {
+
+    private final ServiceTemplateInstanceRepository repository = new ServiceTemplateInstanceRepository();
+    private final QName templateID = new QName("http://opentosca.org/tests", UUID.randomUUID().toString());
+
+    private final List<ServiceTemplateInstance> created = new ArrayList<>();
+
+
+    @After
+    public void cleanUp() {
+        // close a unit of work left open by a failed test, otherwise it leaks into the next test
+        while (UnitOfWork.current() != null) {
+            UnitOfWork.current().close();
+        }
+        for (final ServiceTemplateInstance instance : this.created) {
+            if (this.repository.find(instance.getId()).isPresent()) {
+                this.repository.remove(instance);
+            }
+        }
+    }
+
+    @Test
+    public void testRepositoryOperationsJoinTheUnitOfWork() {
+        final ServiceTemplateInstance instance = createInstance();
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            assertThat(UnitOfWork.current(), is(sameInstance(uow)));
+            this.repository.add(instance);
+
+            // the entity is found in the unit of work before it is committed
+            assertThat(this.repository.find(instance.getId()).get(), is(sameInstance(instance)));
+            uow.commit();
+        }
+
+        assertThat(UnitOfWork.current(), is(nullValue()));
+        assertThat(this.repository.find(instance.getId()).isPresent(), is(true));
+    }
+
+    @Test
+    public void testUnitOfWorkIsRolledBackIfItIsNotCommitted() {
+        final ServiceTemplateInstance instance = createInstance();
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            this.repository.add(instance);
+        }
+
+        assertThat(UnitOfWork.current(), is(nullValue()));
+        assertThat(this.repository.find(instance.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    public void testNestedUnitOfWorkIsCommittedByTheOutermostUnit() {
+        final ServiceTemplateInstance instance = createInstance();
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                assertThat(inner, is(not(sameInstance(outer))));
+                assertThat(inner.getEntityManager(), is(sameInstance(outer.getEntityManager())));
+                this.repository.add(instance);
+                inner.commit();
+            }
+
+            // closing the inner unit neither ends the transaction nor unbinds the outer unit
+            assertThat(UnitOfWork.current(), is(sameInstance(outer)));
+            assertThat(outer.getEntityManager().getTransaction().isActive(), is(true));
+            outer.commit();
+        }
+
+        assertThat(this.repository.find(instance.getId()).isPresent(), is(true));
+    }
+
+    @Test
+    public void testFailedNestedUnitOfWorkRollsBackTheOutermostUnit() {
+        final ServiceTemplateInstance instance = createInstance();
+        try (UnitOfWork outer = UnitOfWork.begin()) {
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                this.repository.add(instance);
+            }
+
+            try {
+                outer.commit();
+                throw new AssertionError("A unit of work marked for rollback was committed");
+            }
+            catch (final IllegalStateException e) {
+                // expected, the nested unit wasn't committed
+            }
+        }
+
+        assertThat(UnitOfWork.current(), is(nullValue()));
+        assertThat(this.repository.find(instance.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    public void testFindDoesNotRefreshEntitiesManagedByTheUnitOfWork() {
+        final ServiceTemplateInstance instance = createInstance();
+        this.repository.add(instance);
+
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            final ServiceTemplateInstance managed = this.repository.find(instance.getId()).get();
+            managed.setState(ServiceTemplateInstanceState.CREATED);
+
+            // a refresh would reset the state to the one stored in the database
+            final ServiceTemplateInstance found = this.repository.find(instance.getId()).get();
+            assertThat(found, is(sameInstance(managed)));
+            assertThat(found.getState(), is(ServiceTemplateInstanceState.CREATED));
+            uow.commit();
+        }
+
+        assertThat(this.repository.find(instance.getId()).get().getState(), is(ServiceTemplateInstanceState.CREATED));
+    }
+
+    private ServiceTemplateInstance createInstance() {
+        final ServiceTemplateInstance instance = new ServiceTemplateInstance();
+        instance.setCsarId(new CSARID("Test.csar"));
+        instance.setTemplateId(this.templateID);
+        instance.setState(ServiceTemplateInstanceState.INITIAL);
+        this.created.add(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,197 @@
+package org.opentosca.container.core.next.repository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.xml.namespace.QName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.next.jpa.UnitOfWork;
+import org.opentosca.container.core.next.model.NodeTemplateInstance;
+import org.opentosca.container.core.next.model.NodeTemplateInstanceState;
+import org.opentosca.container.core.next.model.PersistenceObject;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstance;
+import org.opentosca.container.core.next.model.RelationshipTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstance;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceState;
+import org.opentosca.container.core.next.model.ServiceTemplateInstanceSummary;
+
+/**
+ * Tests the paged and counting queries of the instance repositories. Each test run uses new
+ * template IDs, so the instances of other runs in the container database are not matched.
+ */
+public class InstanceRepositoryQueryTest {
+
+    private static final String NAMESPACE = "http://opentosca.org/tests";
+
+    private final ServiceTemplateInstanceRepository serviceTemplateInstances = new ServiceTemplateInstanceRepository();
+    private final NodeTemplateInstanceRepository nodeTemplateInstances = new NodeTemplateInstanceRepository();
+    private final RelationshipTemplateInstanceRepository relationshipTemplateInstances =
+        new RelationshipTemplateInstanceRepository();
+
+    private final QName serviceTemplateID = new QName(NAMESPACE, UUID.randomUUID().toString());
+    private final QName nodeTemplateID = new QName(NAMESPACE, UUID.randomUUID().toString());
+    private final QName relationshipTemplateID = new QName(NAMESPACE, UUID.randomUUID().toString());
+
+    private final List<ServiceTemplateInstance> services = new ArrayList<>();
+    private final List<NodeTemplateInstance> nodes = new ArrayList<>();
+    private final List<RelationshipTemplateInstance> relations = new ArrayList<>();
+
+
+    @Before
+    public void createInstances() {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            for (final ServiceTemplateInstanceState state : Arrays.asList(ServiceTemplateInstanceState.CREATED,
+                                                                          ServiceTemplateInstanceState.INITIAL,
+                                                                          ServiceTemplateInstanceState.ERROR)) {
+                final ServiceTemplateInstance service = new ServiceTemplateInstance();
+                service.setCsarId(new CSARID("Test.csar"));
+                service.setTemplateId(this.serviceTemplateID);
+                service.setState(state);
+                this.serviceTemplateInstances.add(service);
+                this.services.add(service);
+            }
+
+            for (final NodeTemplateInstanceState state : Arrays.asList(NodeTemplateInstanceState.STARTED,
+                                                                       NodeTemplateInstanceState.STARTED,
+                                                                       NodeTemplateInstanceState.STARTED,
+                                                                       NodeTemplateInstanceState.ERROR,
+                                                                       NodeTemplateInstanceState.ERROR)) {
+                final NodeTemplateInstance node = new NodeTemplateInstance();
+                node.setServiceTemplateInstance(this.services.get(0));
+                node.setTemplateId(this.nodeTemplateID);
+                node.setTemplateType(new QName(NAMESPACE, "TestNodeType"));
+                node.setState(state);
+                this.nodeTemplateInstances.add(node);
+                this.nodes.add(node);
+            }
+
+            // node 0 and node 1 are hosted on node 4, node 2 is hosted on node 3
+            createRelation(this.nodes.get(0), this.nodes.get(4));
+            createRelation(this.nodes.get(1), this.nodes.get(4));
+            createRelation(this.nodes.get(2), this.nodes.get(3));
+            uow.commit();
+        }
+    }
+
+    @After
+    public void removeInstances() {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            this.relations.forEach(this.relationshipTemplateInstances::remove);
+            this.nodes.forEach(this.nodeTemplateInstances::remove);
+            this.services.forEach(this.serviceTemplateInstances::remove);
+            uow.commit();
+        }
+    }
+
+    @Test
+    public void testServiceTemplateInstancesArePagedAndCounted() {
+        assertThat(summaryIDs(this.serviceTemplateInstances.findSummariesByTemplateId(this.serviceTemplateID, null,
+                                                                                      null, null, 0, 2)),
+                   is(ids(this.services.get(0), this.services.get(1))));
+        assertThat(summaryIDs(this.serviceTemplateInstances.findSummariesByTemplateId(this.serviceTemplateID, null,
+                                                                                      null, null, 2, 2)),
+                   is(ids(this.services.get(2))));
+        assertThat(this.serviceTemplateInstances.countByTemplateId(this.serviceTemplateID, null, null, null), is(3L));
+
+        final EnumSet<ServiceTemplateInstanceState> states =
+            EnumSet.of(ServiceTemplateInstanceState.CREATED, ServiceTemplateInstanceState.ERROR);
+        assertThat(summaryIDs(this.serviceTemplateInstances.findSummariesByTemplateId(this.serviceTemplateID, states,
+                                                                                      null, null, 0, -1)),
+                   is(ids(this.services.get(0), this.services.get(2))));
+        assertThat(this.serviceTemplateInstances.countByTemplateId(this.serviceTemplateID, states, null, null),
+                   is(2L));
+    }
+
+    @Test
+    public void testNodeTemplateInstancesArePagedAndCounted() {
+        final EnumSet<NodeTemplateInstanceState> started = EnumSet.of(NodeTemplateInstanceState.STARTED);
+
+        assertThat(ids(this.nodeTemplateInstances.findByTemplateId(this.nodeTemplateID, this.serviceTemplateID,
+                                                                   started, null, 1, 1)),
+                   is(ids(this.nodes.get(1))));
+        assertThat(this.nodeTemplateInstances.countByTemplateId(this.nodeTemplateID, this.serviceTemplateID, started,
+                                                                null),
+                   is(3L));
+        assertThat(this.nodeTemplateInstances.countByTemplateId(this.nodeTemplateID, this.serviceTemplateID, null,
+                                                                Collections.emptyList()),
+                   is(5L));
+
+        // the instances of the node template only belong to instances of this service template
+        assertThat(this.nodeTemplateInstances.countByTemplateId(this.nodeTemplateID, this.relationshipTemplateID,
+                                                                null, null),
+                   is(0L));
+    }
+
+    @Test
+    public void testNodeTemplateInstancesAreFilteredBySourceRelationsBeforePaging() {
+        final List<Long> sourceOf = ids(this.relations.get(0), this.relations.get(2));
+
+        assertThat(ids(this.nodeTemplateInstances.findByTemplateId(this.nodeTemplateID, this.serviceTemplateID, null,
+                                                                   sourceOf, 0, -1)),
+                   is(ids(this.nodes.get(0), this.nodes.get(2))));
+        assertThat(ids(this.nodeTemplateInstances.findByTemplateId(this.nodeTemplateID, this.serviceTemplateID, null,
+                                                                   sourceOf, 1, 1)),
+                   is(ids(this.nodes.get(2))));
+        assertThat(this.nodeTemplateInstances.countByTemplateId(this.nodeTemplateID, this.serviceTemplateID, null,
+                                                                sourceOf),
+                   is(2L));
+    }
+
+    @Test
+    public void testRelationshipTemplateInstancesArePagedAndCounted() {
+        final Long target = this.nodes.get(4).getId();
+        final EnumSet<RelationshipTemplateInstanceState> failed = EnumSet.of(RelationshipTemplateInstanceState.ERROR);
+
+        assertThat(ids(this.relationshipTemplateInstances.findByTemplateId(this.relationshipTemplateID,
+                                                                           this.serviceTemplateID, null, target, 0,
+                                                                           -1)),
+                   is(ids(this.relations.get(0), this.relations.get(1))));
+        assertThat(this.relationshipTemplateInstances.countByTemplateId(this.relationshipTemplateID,
+                                                                        this.serviceTemplateID, null, target),
+                   is(2L));
+
+        assertThat(ids(this.relationshipTemplateInstances.findByTemplateId(this.relationshipTemplateID,
+                                                                           this.serviceTemplateID, null, null, 1,
+                                                                           5)),
+                   contains(this.relations.get(1).getId(), this.relations.get(2).getId()));
+        assertThat(this.relationshipTemplateInstances.countByTemplateId(this.relationshipTemplateID,
+                                                                        this.serviceTemplateID, failed, null),
+                   is(0L));
+    }
+
+    private void createRelation(final NodeTemplateInstance source, final NodeTemplateInstance target) {
+        final RelationshipTemplateInstance relation = new RelationshipTemplateInstance();
+        relation.setSource(source);
+        relation.setTarget(target);
+        relation.setTemplateId(this.relationshipTemplateID);
+        relation.setTemplateType(new QName(NAMESPACE, "TestRelationshipType"));
+        relation.setState(RelationshipTemplateInstanceState.CREATED);
+        this.relationshipTemplateInstances.add(relation);
+        this.relations.add(relation);
+    }
+
+    private static List<Long> ids(final PersistenceObject... entities) {
+        return ids(Arrays.asList(entities));
+    }
+
+    private static List<Long> ids(final List<? extends PersistenceObject> entities) {
+        return entities.stream().map(PersistenceObject::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> summaryIDs(final List<ServiceTemplateInstanceSummary> summaries) {
+        return summaries.stream().map(ServiceTemplateInstanceSummary::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,156 @@
+package org.opentosca.planbuilder.integration.layer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.opentosca.planbuilder.AbstractSimplePlanBuilder;
+import org.opentosca.planbuilder.model.plan.AbstractPlan;
+import org.opentosca.planbuilder.model.plan.AbstractPlan.PlanType;
+import org.opentosca.planbuilder.model.tosca.AbstractDefinitions;
+import org.opentosca.planbuilder.model.tosca.AbstractServiceTemplate;
+
+public class AbstractImporterTest {
+
+    private static final int BUILDERS = 5;
+
+    private final AtomicInteger createdDefinitions = new AtomicInteger();
+
+
+    @Test
+    public void testSequentialBuildersShareTheDefinitions() throws Exception {
+        final TestImporter importer = new TestImporter(false, false);
+
+        final List<AbstractPlan> plans = importer.buildPlans(this::createDefinitions, "Test.csar");
+
+        assertThat(this.createdDefinitions.get(), is(1));
+        assertThat(new HashSet<>(importer.usedDefinitions()).size(), is(1));
+        assertThat(plans, is(importer.plans()));
+    }
+
+    @Test
+    public void testConcurrentBuildersUseTheirOwnDefinitions() throws Exception {
+        final TestImporter importer = new TestImporter(true, true);
+
+        final List<AbstractPlan> plans = importer.buildPlans(this::createDefinitions, "Test.csar");
+
+        assertThat(this.createdDefinitions.get(), is(BUILDERS));
+        assertThat(new HashSet<>(importer.usedDefinitions()).size(), is(BUILDERS));
+        assertThat(importer.parallelBuilders.getCount(), is(0L));
+
+        // the plans are returned in the order of the builders
+        assertThat(plans, is(importer.plans()));
+    }
+
+    @Test
+    public void testFailureOfAConcurrentBuilderIsRethrown() throws Exception {
+        final TestImporter importer = new TestImporter(true, false);
+        importer.builders.get(3).failure = new IllegalStateException("Test");
+
+        try {
+            importer.buildPlans(this::createDefinitions, "Test.csar");
+            throw new AssertionError("The failure of the builder was not rethrown");
+        }
+        catch (final IllegalStateException e) {
+            assertThat(e, is(sameInstance(importer.builders.get(3).failure)));
+        }
+    }
+
+    private AbstractDefinitions createDefinitions() {
+        this.createdDefinitions.incrementAndGet();
+        return mock(AbstractDefinitions.class);
+    }
+
+
+    private static class TestImporter extends AbstractImporter {
+
+        private final boolean concurrent;
+        private final List<RecordingPlanBuilder> builders = new ArrayList<>();
+
+        // counted down by each builder, which then waits until two builders run at the same time
+        private final CountDownLatch parallelBuilders = new CountDownLatch(2);
+
+
+        TestImporter(final boolean concurrent, final boolean awaitParallelBuilders) {
+            this.concurrent = concurrent;
+            for (int i = 0; i < BUILDERS; i++) {
+                this.builders.add(new RecordingPlanBuilder(awaitParallelBuilders ? this.parallelBuilders : null));
+            }
+        }
+
+        @Override
+        protected boolean isConcurrentGeneration() {
+            return this.concurrent;
+        }
+
+        @Override
+        protected List<AbstractSimplePlanBuilder> createPlanBuilders() {
+            return new ArrayList<>(this.builders);
+        }
+
+        List<AbstractDefinitions> usedDefinitions() {
+            final List<AbstractDefinitions> definitions = new ArrayList<>();
+            this.builders.forEach(builder -> definitions.add(builder.definitions));
+            return definitions;
+        }
+
+        List<AbstractPlan> plans() {
+            final List<AbstractPlan> plans = new ArrayList<>();
+            this.builders.forEach(builder -> plans.add(builder.plan));
+            return plans;
+        }
+    }
+
+    private static class RecordingPlanBuilder extends AbstractSimplePlanBuilder {
+
+        private final AbstractPlan plan = mock(AbstractPlan.class);
+        private final CountDownLatch started;
+
+        private volatile AbstractDefinitions definitions;
+        private volatile RuntimeException failure;
+
+
+        RecordingPlanBuilder(final CountDownLatch started) {
+            this.started = started;
+        }
+
+        @Override
+        public List<AbstractPlan> buildPlans(final String csarName, final AbstractDefinitions definitions) {
+            this.definitions = definitions;
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            if (this.started != null) {
+                this.started.countDown();
+                try {
+                    this.started.await(30, TimeUnit.SECONDS);
+                }
+                catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Collections.singletonList(this.plan);
+        }
+
+        @Override
+        public AbstractPlan buildPlan(final String csarName, final AbstractDefinitions definitions,
+                                      final AbstractServiceTemplate serviceTemplate) {
+            return null;
+        }
+
+        @Override
+        public PlanType createdPlanType() {
+            return PlanType.BUILD;
+        }
+    }
+}
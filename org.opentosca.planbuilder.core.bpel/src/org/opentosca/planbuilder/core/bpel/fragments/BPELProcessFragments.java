@@ -7,11 +7,8 @@ import java.net.URL;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
 import org.opentosca.planbuilder.core.bpel.typebasedplanbuilder.BPELFreezeProcessBuilder;
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
@@ -34,31 +31,23 @@ public class BPELProcessFragments {
 
     private final static Logger LOG = LoggerFactory.getLogger(BPELProcessFragments.class);
 
-    private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
-
     /**
      * Constructor
      *
      * @throws ParserConfigurationException is thrown when initializing the DOM Parsers fails
      */
     public BPELProcessFragments() throws ParserConfigurationException {
-        this.docFactory = DocumentBuilderFactory.newInstance();
-        this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
     }
 
     private String loadFragmentResourceAsString(final String fileName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getResource(fileName);
-        final File bpelfragmentfile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelfragmentfile);
+        String template = FragmentTemplates.load(this.getClass(), fileName);
         return template;
     }
 
     private Node transformStringToNode(String xmlString) throws SAXException, IOException {
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(xmlString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -298,7 +287,7 @@ public class BPELProcessFragments {
     }
 
     public Node createIfTrueThrowsError(final String xpath, final QName faultName) {
-        final Document doc = this.docBuilder.newDocument();
+        final Document doc = FragmentTemplates.newDocument();
 
         final Element ifElement = doc.createElementNS(BPELPlan.bpelNamespace, "if");
 
@@ -1050,5 +1039,4 @@ public class BPELProcessFragments {
 
         return bpelAssignString;
     }
-
 }
@@ -0,0 +1,105 @@
+package org.opentosca.planbuilder.core.bpel.fragments;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.io.IOUtils;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Shared access to the BPEL fragment templates of the plan builder bundles and their plugins.
+ * <p>
+ * Each template is read from its bundle only once and kept in memory afterwards, so building a
+ * fragment only substitutes the parameters into the cached template. Templates are parsed with a
+ * DocumentBuilder per thread, thus, all methods can be used by concurrently running plan builders.
+ */
+public final class FragmentTemplates {
+
+    // templates by bundle id and resource name
+    private final static Map<String, String> templates = new ConcurrentHashMap<>();
+
+    private final static ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        }
+        catch (final ParserConfigurationException e) {
+            throw new IllegalStateException("Unable to create a DocumentBuilder", e);
+        }
+    });
+
+
+    private FragmentTemplates() {}
+
+    /**
+     * Returns the content of the given template of the bundle which contains the given class
+     *
+     * @param clazz a class of the bundle containing the template
+     * @param fileName the name of the template resource inside the bundle
+     * @return a String containing the template
+     * @throws IOException is thrown when reading the template fails
+     */
+    public static String load(final Class<?> clazz, final String fileName) throws IOException {
+        final Bundle bundle = FrameworkUtil.getBundle(clazz);
+        final String key = bundle.getBundleId() + ":" + fileName;
+
+        String template = templates.get(key);
+        if (template == null) {
+            final URL url = bundle.getResource(fileName);
+            if (url == null) {
+                throw new IOException("Fragment template " + fileName + " not found in bundle "
+                    + bundle.getSymbolicName());
+            }
+            try (InputStream in = url.openStream()) {
+                template = IOUtils.toString(in);
+            }
+            templates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Parses the given XML String
+     *
+     * @param xmlString a String containing XML
+     * @return the first child of the parsed document
+     * @throws SAXException is thrown when parsing the String fails
+     * @throws IOException is thrown when reading the String fails
+     */
+    public static Node parseToNode(final String xmlString) throws SAXException, IOException {
+        final InputSource is = new InputSource();
+        is.setCharacterStream(new StringReader(xmlString));
+        return parse(is).getFirstChild();
+    }
+
+    /**
+     * Parses the given XML input
+     *
+     * @param is an InputSource containing XML
+     * @return the parsed document
+     * @throws SAXException is thrown when parsing the input fails
+     * @throws IOException is thrown when reading the input fails
+     */
+    public static Document parse(final InputSource is) throws SAXException, IOException {
+        return documentBuilder.get().parse(is);
+    }
+
+    /**
+     * @return a new, empty DOM document
+     */
+    public static Document newDocument() {
+        return documentBuilder.get().newDocument();
+    }
+}
@@ -0,0 +1,239 @@
+package org.opentosca.planbuilder.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.model.AbstractFile;
+import org.opentosca.container.core.model.csar.CSARContent;
+import org.opentosca.container.core.model.csar.id.CSARID;
+import org.opentosca.container.core.service.IFileAccessService;
+import org.opentosca.planbuilder.csarhandler.CSARHandler;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * This class is a persistent cache for CSARs which were repackaged with plans generated by the
+ * PlanBuilder. The cached archives are addressed by a digest of the CSAR content and the installed
+ * PlanBuilder bundles, thus, a CSAR which was processed before by the same PlanBuilder is not
+ * processed again. The cache is bounded in its size and the age of its entries, the least recently
+ * used archives are evicted first.
+ * </p>
+ * Copyright 2013 IAAS University of Stuttgart <br>
+ * <br>
+ */
+public class PlanArchiveCache {
+
+    private final static Logger LOG = LoggerFactory.getLogger(PlanArchiveCache.class);
+
+    private final static String ARCHIVE_EXTENSION = ".csar";
+
+    private final static boolean ENABLED = Boolean.parseBoolean(Settings.PLANBUILDER_PLAN_CACHE);
+
+    private final static long MAX_SIZE = Long.parseLong(Settings.PLANBUILDER_PLAN_CACHE_MAX_SIZE);
+
+    private final static long MAX_AGE = Long.parseLong(Settings.PLANBUILDER_PLAN_CACHE_MAX_AGE);
+
+    // writing and evicting archives is serialized for all instances
+    private final static Object LOCK = new Object();
+
+    private final CSARHandler handler = new CSARHandler();
+
+
+    /**
+     * Computes the key of the given CSAR. The key is a digest over the name and all files of the CSAR
+     * as well as the versions of the installed PlanBuilder bundles, which generate and export the
+     * plans.
+     *
+     * @param csarId the id of a stored CSAR
+     * @return a String containing the key of the CSAR, or null if the cache is disabled or the key
+     *         couldn't be computed
+     */
+    public String computeKey(final CSARID csarId) {
+        if (!ENABLED) {
+            return null;
+        }
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // the name of the CSAR is used in the names of the generated plans
+            update(digest, csarId.getFileName());
+
+            final CSARContent csarContent = this.handler.getCSARContentForID(csarId);
+            final List<AbstractFile> files = new ArrayList<>(csarContent.getFilesRecursively());
+            files.sort(Comparator.comparing(AbstractFile::getPath));
+            final byte[] buffer = new byte[8192];
+            for (final AbstractFile file : files) {
+                update(digest, file.getPath());
+                try (InputStream in = new DigestInputStream(file.getFileAsInputStream(), digest)) {
+                    while (in.read(buffer) != -1) {
+                        // the stream updates the digest
+                    }
+                }
+            }
+
+            final Bundle[] bundles = FrameworkUtil.getBundle(PlanArchiveCache.class).getBundleContext().getBundles();
+            Arrays.sort(bundles, Comparator.comparing(Bundle::getSymbolicName,
+                                                      Comparator.nullsFirst(Comparator.naturalOrder())));
+            for (final Bundle bundle : bundles) {
+                if (bundle.getSymbolicName() != null
+                    && bundle.getSymbolicName().startsWith("org.opentosca.planbuilder")) {
+                    update(digest, bundle.getSymbolicName() + ":" + bundle.getVersion() + ":"
+                        + bundle.getLastModified());
+                }
+            }
+
+            final StringBuilder key = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        }
+        catch (final NoSuchAlgorithmException e) {
+            PlanArchiveCache.LOG.error("Digest algorithm for plan cache keys not available", e);
+        }
+        catch (final UserException e) {
+            PlanArchiveCache.LOG.error("Error occured while trying to retrieve CSAR content", e);
+        }
+        catch (final SystemException e) {
+            PlanArchiveCache.LOG.error("Some error in the openTOSCA Core", e);
+        }
+        catch (final IOException e) {
+            PlanArchiveCache.LOG.error("Some IO Exception occured", e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns a copy of the archive cached for the given key.
+     *
+     * @param key the key of a CSAR as computed by {@link #computeKey(CSARID)}
+     * @param csarName the file name for the returned archive
+     * @return a File containing the cached archive, or null if no archive is cached for the key
+     */
+    public File get(final String key, final String csarName) {
+        final Path cacheDir = getCacheDir();
+        if (key == null || cacheDir == null) {
+            return null;
+        }
+
+        synchronized (LOCK) {
+            final File archive = cacheDir.resolve(key + ARCHIVE_EXTENSION).toFile();
+            if (!archive.isFile() || isExpired(archive)) {
+                PlanArchiveCache.LOG.debug("No cached plans for key {}", key);
+                return null;
+            }
+
+            try {
+                final File copy = new File(getFileAccessService().getTemp(), csarName);
+                Files.copy(archive.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                // the modification time denotes the last use of the archive
+                archive.setLastModified(System.currentTimeMillis());
+                PlanArchiveCache.LOG.debug("Using cached plans for CSAR {} with key {}", csarName, key);
+                return copy;
+            }
+            catch (final IOException e) {
+                PlanArchiveCache.LOG.error("Couldn't copy cached archive {}", archive, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stores the given archive for the given key and evicts archives which exceed the bounds of the
+     * cache afterwards.
+     *
+     * @param key the key of a CSAR as computed by {@link #computeKey(CSARID)}
+     * @param archive the CSAR repackaged with the generated plans
+     */
+    public void put(final String key, final File archive) {
+        final Path cacheDir = getCacheDir();
+        if (key == null || cacheDir == null || archive == null || !archive.isFile()) {
+            return;
+        }
+
+        synchronized (LOCK) {
+            try {
+                Files.createDirectories(cacheDir);
+                final Path tmpFile = Files.createTempFile(cacheDir, key, ".tmp");
+                Files.copy(archive.toPath(), tmpFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmpFile, cacheDir.resolve(key + ARCHIVE_EXTENSION), StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+                PlanArchiveCache.LOG.debug("Cached plans of archive {} with key {}", archive, key);
+            }
+            catch (final IOException e) {
+                PlanArchiveCache.LOG.error("Couldn't cache archive {}", archive, e);
+            }
+            evict(cacheDir);
+        }
+    }
+
+    /**
+     * Deletes all archives which are older than the maximum age and, if the cache is still larger
+     * than its maximum size, the least recently used archives.
+     */
+    private void evict(final Path cacheDir) {
+        final File[] archives = cacheDir.toFile().listFiles((dir, name) -> name.endsWith(ARCHIVE_EXTENSION));
+        if (archives == null) {
+            return;
+        }
+        Arrays.sort(archives, Comparator.comparingLong(File::lastModified).reversed());
+
+        long size = 0;
+        for (final File archive : archives) {
+            size += archive.length();
+            if (isExpired(archive) || size > MAX_SIZE) {
+                PlanArchiveCache.LOG.debug("Evicting cached archive {}", archive);
+                if (!archive.delete()) {
+                    PlanArchiveCache.LOG.warn("Couldn't delete cached archive {}", archive);
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(final File archive) {
+        return System.currentTimeMillis() - archive.lastModified() > MAX_AGE;
+    }
+
+    private Path getCacheDir() {
+        final String cachePath = Settings.getSetting("planCachePath");
+        return cachePath == null ? null : Paths.get(cachePath);
+    }
+
+    private void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Returns the FileAccessService of the OpenTOSCA Core
+     *
+     * @return the IFileAccessService of the OpenTOSCA Core
+     */
+    private IFileAccessService getFileAccessService() {
+        final BundleContext ctx = FrameworkUtil.getBundle(PlanArchiveCache.class).getBundleContext();
+        final ServiceReference<IFileAccessService> serviceReference =
+            ctx.getServiceReference(IFileAccessService.class);
+        return ctx.getService(serviceReference);
+    }
+}
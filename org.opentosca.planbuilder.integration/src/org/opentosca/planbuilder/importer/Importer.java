@@ -44,8 +44,7 @@ public class Importer extends AbstractImporter {
     public List<AbstractPlan> generatePlans(final CSARID csarId) {
         try {
             final CSARContent content = this.handler.getCSARContentForID(csarId);
-            final AbstractDefinitions defs = this.createContext(content);
-            final List<AbstractPlan> plans = this.buildPlans(defs, csarId.getFileName());
+            final List<AbstractPlan> plans = this.buildPlans(() -> this.createContext(content), csarId.getFileName());
             return plans;
         }
         catch (final UserException e) {
@@ -1,22 +1,15 @@
 package org.opentosca.planbuilder.importer.context.impl;
 
 import java.io.File;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-
 import org.oasis_open.docs.tosca.ns._2011._12.Definitions;
-import org.oasis_open.docs.tosca.ns._2011._12.ObjectFactory;
 import org.oasis_open.docs.tosca.ns._2011._12.TArtifactTemplate;
 import org.oasis_open.docs.tosca.ns._2011._12.TArtifactType;
 import org.oasis_open.docs.tosca.ns._2011._12.TExtensibleElements;
-import org.oasis_open.docs.tosca.ns._2011._12.TImport;
 import org.oasis_open.docs.tosca.ns._2011._12.TNodeType;
 import org.oasis_open.docs.tosca.ns._2011._12.TNodeTypeImplementation;
 import org.oasis_open.docs.tosca.ns._2011._12.TPolicyTemplate;
@@ -79,20 +72,41 @@ public class DefinitionsImpl extends AbstractDefinitions {
      */
     public DefinitionsImpl(final AbstractFile mainDefFile, final Set<AbstractFile> filesInCsar,
                            final boolean isEntryDefinitions) {
+        this(mainDefFile, filesInCsar, isEntryDefinitions, DefinitionsLoader.load(mainDefFile, filesInCsar));
+    }
+
+    /**
+     * Constructor with a Definitions file as File Object, all referenced File Artifacts as a File List
+     * and the loader holding the already parsed Definitions of the CSAR
+     *
+     * @param mainDefFile the File of the TOSCA Definitions to load as DefinitionsImpl
+     * @param filesInCsar a list of Files referenced by the given Definitions
+     * @param isEntryDefinitions gives information whether the given definitions document is an entry
+     *        definition
+     * @param loader the DefinitionsLoader of the CSAR
+     */
+    private DefinitionsImpl(final AbstractFile mainDefFile, final Set<AbstractFile> filesInCsar,
+                            final boolean isEntryDefinitions, final DefinitionsLoader loader) {
         DefinitionsImpl.LOG.debug("Initializing DefinitionsImpl");
-        this.definitions = parseDefinitionsFile(mainDefFile);
+        this.definitions = loader.getDefinitions(mainDefFile);
         this.filesInCsar = filesInCsar;
         this.referencedDefinitions = new ArrayList<>();
 
         // resolve imported definitions
         // TODO XSD,WSDL they are just checked with the file ending
-        for (final AbstractFile def : resolveImportedDefinitions()) {
+        for (final AbstractFile def : loader.resolveImportedDefinitions(this.definitions)) {
             if (def == null) {
                 DefinitionsImpl.LOG.warn("Resolving of imported Definitions produced file which is null");
                 continue;
             }
-            DefinitionsImpl.LOG.debug("Adding DefintionsImpl with file location {}", def.getPath());
-            this.referencedDefinitions.add(new DefinitionsImpl(def, this.filesInCsar, false));
+            // Definitions imported by several Definitions are initialized only once
+            DefinitionsImpl importedDefinitions = loader.getDefinitionsImpl(def);
+            if (importedDefinitions == null) {
+                DefinitionsImpl.LOG.debug("Adding DefintionsImpl with file location {}", def.getPath());
+                importedDefinitions = new DefinitionsImpl(def, this.filesInCsar, false, loader);
+                loader.addDefinitionsImpl(def, importedDefinitions);
+            }
+            this.referencedDefinitions.add(importedDefinitions);
         }
 
         this.allFoundDefinitions = findAllDefinitions();
@@ -113,62 +127,6 @@ public class DefinitionsImpl extends AbstractDefinitions {
 
     }
 
-    /**
-     * Resolves TOSCA Definitions imports for this DefinitionsImpl by initializing imported Definitions
-     * as another DefinitionsImpl each.
-     *
-     * @return a List of Files of the resolved, referenced Definitions
-     */
-    private List<AbstractFile> resolveImportedDefinitions() {
-        final List<AbstractFile> importedDefinitions = new ArrayList<>();
-        DefinitionsImpl.LOG.debug("Checking import elements in JAXB Definitions object");
-        if (this.definitions.getImport() != null) {
-            for (final TImport imported : this.definitions.getImport()) {
-                DefinitionsImpl.LOG.debug("Check import element with namespace: {} location: {} importType: {}",
-                                          imported.getNamespace(), imported.getLocation(), imported.getImportType());
-                // check if importtype is tosca ns, the location is set (else
-                // there's nothing to parse) and just for looks the string
-                // shouldn't
-                // be empty
-                if (imported.getImportType().equals("http://docs.oasis-open.org/tosca/ns/2011/12")
-                    && imported.getLocation() != null && !imported.getLocation().equals("")) {
-                    // found definitions import
-                    // get it
-                    // parse it
-                    // add it
-                    DefinitionsImpl.LOG.debug("Trying to add Definitions import");
-                    importedDefinitions.add(getFileByLocation(imported.getLocation(), this.filesInCsar));
-
-                }
-
-            }
-        }
-        return importedDefinitions;
-    }
-
-    /**
-     * Searches through the given list of files, which contains the given location.
-     *
-     *
-     * @param location the location to look for as String
-     * @param files a List of Files to look trough
-     * @return if files.contains(file), where file.getPath().contains(location) is true, file is
-     *         returned, else null
-     */
-    private AbstractFile getFileByLocation(final String location, final Set<AbstractFile> files) {
-        DefinitionsImpl.LOG.debug("Looking trough files to for given location: {}", location);
-        for (final AbstractFile file : files) {
-            DefinitionsImpl.LOG.debug("Check file with location: {}", location);
-            // lazy check
-            LOG.debug("File has location {}", file.getPath());
-            if (file.getPath().contains(location)) {
-                DefinitionsImpl.LOG.debug("Found Match");
-                return file;
-            }
-        }
-        return null;
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -354,33 +312,6 @@ public class DefinitionsImpl extends AbstractDefinitions {
         return (List<AbstractDefinitions>) (List<?>) this.referencedDefinitions;
     }
 
-    /**
-     * Parses the given file to a JAXB Definitions class
-     *
-     * @param file a File denoting to a TOSCA Definitions file
-     * @return a JAXB Definitions class object if parsing was without errors, else null
-     */
-    private Definitions parseDefinitionsFile(final AbstractFile file) {
-        Definitions def = null;
-        try {
-            final JAXBContext jaxbContext =
-                JAXBContext.newInstance("org.oasis_open.docs.tosca.ns._2011._12", ObjectFactory.class.getClassLoader());
-            final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            DefinitionsImpl.LOG.debug("Trying to parse file {} into JAXB object", file.getPath());
-            def = (Definitions) unmarshaller.unmarshal(new InputStreamReader(file.getFileAsInputStream()));
-        }
-        catch (final JAXBException e) {
-            DefinitionsImpl.LOG.error("Error while parsing file, maybe file is not a TOSCA Defintions File", e);
-            return null;
-        }
-        catch (final SystemException e) {
-            // TODO Auto-generated catch block
-            LOG.error("Exception within Core", e);
-            return null;
-        }
-        return def;
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,252 @@
+package org.opentosca.planbuilder.importer.context.impl;
+
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+
+import org.oasis_open.docs.tosca.ns._2011._12.Definitions;
+import org.oasis_open.docs.tosca.ns._2011._12.ObjectFactory;
+import org.oasis_open.docs.tosca.ns._2011._12.TImport;
+import org.opentosca.container.core.common.SystemException;
+import org.opentosca.container.core.model.AbstractFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Loads the TOSCA Definitions files of a CSAR for the DefinitionsImpl of its entry Definitions.
+ * </p>
+ * <p>
+ * All files are parsed with one shared JAXBContext and an Unmarshaller per thread. The imported
+ * Definitions files are resolved level by level, where the files of one level are parsed in
+ * parallel. Each file is parsed and initialized as DefinitionsImpl only once per CSAR, even if it is
+ * imported by several Definitions.
+ * </p>
+ * Copyright 2013 IAAS University of Stuttgart <br>
+ * <br>
+ */
+final class DefinitionsLoader {
+
+    private final static Logger LOG = LoggerFactory.getLogger(DefinitionsLoader.class);
+
+    private final static String TOSCA_NAMESPACE = "http://docs.oasis-open.org/tosca/ns/2011/12";
+
+    private final static int PARSING_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private final static ExecutorService PARSING_EXECUTOR = Executors.newFixedThreadPool(PARSING_THREADS, runnable -> {
+        final Thread thread = new Thread(runnable, "planbuilder-definitions-parsing");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile JAXBContext jaxbContext = null;
+
+    // Unmarshallers are not thread-safe, thus, each thread reuses its own one
+    private final static ThreadLocal<Unmarshaller> unmarshaller = new ThreadLocal<>();
+
+    private final Set<AbstractFile> filesInCsar;
+
+    // parsed Definitions and initialized DefinitionsImpls by the path of their file
+    private final Map<String, Definitions> parsedDefinitions = new HashMap<>();
+    private final Map<String, DefinitionsImpl> loadedDefinitions = new HashMap<>();
+
+
+    private DefinitionsLoader(final Set<AbstractFile> filesInCsar) {
+        this.filesInCsar = filesInCsar;
+    }
+
+    /**
+     * Creates a loader for the Definitions of a CSAR and parses the given Definitions file and all
+     * Definitions files it imports directly or transitively.
+     *
+     * @param mainDefFile the File of the TOSCA Definitions to load
+     * @param filesInCsar all files of the CSAR
+     * @return a DefinitionsLoader which contains the parsed Definitions
+     */
+    static DefinitionsLoader load(final AbstractFile mainDefFile, final Set<AbstractFile> filesInCsar) {
+        final DefinitionsLoader loader = new DefinitionsLoader(filesInCsar);
+        loader.parseAll(mainDefFile);
+        return loader;
+    }
+
+    /**
+     * Returns the JAXB Definitions of the given file. If the file was not parsed yet, it is parsed by
+     * the calling thread.
+     *
+     * @param file a File denoting to a TOSCA Definitions file
+     * @return a JAXB Definitions class object if parsing was without errors, else null
+     */
+    Definitions getDefinitions(final AbstractFile file) {
+        if (!this.parsedDefinitions.containsKey(file.getPath())) {
+            this.parsedDefinitions.put(file.getPath(), parse(file));
+        }
+        return this.parsedDefinitions.get(file.getPath());
+    }
+
+    /**
+     * Returns the DefinitionsImpl which was already initialized for the given file.
+     *
+     * @param file a File denoting to a TOSCA Definitions file
+     * @return the DefinitionsImpl of the file, or null if it was not initialized yet
+     */
+    DefinitionsImpl getDefinitionsImpl(final AbstractFile file) {
+        return this.loadedDefinitions.get(file.getPath());
+    }
+
+    /**
+     * Registers the DefinitionsImpl initialized for the given file.
+     *
+     * @param file a File denoting to a TOSCA Definitions file
+     * @param definitionsImpl the DefinitionsImpl of the file
+     */
+    void addDefinitionsImpl(final AbstractFile file, final DefinitionsImpl definitionsImpl) {
+        this.loadedDefinitions.put(file.getPath(), definitionsImpl);
+    }
+
+    /**
+     * Resolves the TOSCA Definitions imports of the given Definitions.
+     *
+     * @param definitions the JAXB Definitions to resolve the imports for
+     * @return a List of Files of the resolved, referenced Definitions. A File is null if it couldn't
+     *         be found in the CSAR
+     */
+    List<AbstractFile> resolveImportedDefinitions(final Definitions definitions) {
+        final List<AbstractFile> importedDefinitions = new ArrayList<>();
+        DefinitionsLoader.LOG.debug("Checking import elements in JAXB Definitions object");
+        if (definitions.getImport() != null) {
+            for (final TImport imported : definitions.getImport()) {
+                DefinitionsLoader.LOG.debug("Check import element with namespace: {} location: {} importType: {}",
+                                            imported.getNamespace(), imported.getLocation(),
+                                            imported.getImportType());
+                // check if importtype is tosca ns, the location is set (else
+                // there's nothing to parse) and just for looks the string
+                // shouldn't
+                // be empty
+                if (imported.getImportType().equals(TOSCA_NAMESPACE) && imported.getLocation() != null
+                    && !imported.getLocation().equals("")) {
+                    DefinitionsLoader.LOG.debug("Trying to add Definitions import");
+                    importedDefinitions.add(getFileByLocation(imported.getLocation()));
+                }
+            }
+        }
+        return importedDefinitions;
+    }
+
+    /**
+     * Parses the given Definitions file and all Definitions files it imports. The imported files are
+     * parsed level by level, the files of one level in parallel.
+     */
+    private void parseAll(final AbstractFile mainDefFile) {
+        List<AbstractFile> filesToParse = Collections.singletonList(mainDefFile);
+
+        while (!filesToParse.isEmpty()) {
+            final Map<String, Future<Definitions>> tasks = new LinkedHashMap<>();
+            for (final AbstractFile file : filesToParse) {
+                if (file != null && !this.parsedDefinitions.containsKey(file.getPath())
+                    && !tasks.containsKey(file.getPath())) {
+                    tasks.put(file.getPath(), PARSING_EXECUTOR.submit(() -> parse(file)));
+                }
+            }
+
+            final List<AbstractFile> importedFiles = new ArrayList<>();
+            for (final Map.Entry<String, Future<Definitions>> task : tasks.entrySet()) {
+                try {
+                    final Definitions definitions = task.getValue().get();
+                    this.parsedDefinitions.put(task.getKey(), definitions);
+                    if (definitions != null) {
+                        importedFiles.addAll(resolveImportedDefinitions(definitions));
+                    }
+                }
+                catch (final InterruptedException e) {
+                    // the remaining files are parsed on demand by the calling thread
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                catch (final ExecutionException e) {
+                    DefinitionsLoader.LOG.error("Error while parsing file {}", task.getKey(), e.getCause());
+                }
+            }
+            filesToParse = importedFiles;
+        }
+
+        DefinitionsLoader.LOG.debug("Parsed {} Definitions files", this.parsedDefinitions.size());
+    }
+
+    /**
+     * Parses the given file to a JAXB Definitions class
+     *
+     * @param file a File denoting to a TOSCA Definitions file
+     * @return a JAXB Definitions class object if parsing was without errors, else null
+     */
+    private static Definitions parse(final AbstractFile file) {
+        Definitions def = null;
+        try {
+            DefinitionsLoader.LOG.debug("Trying to parse file {} into JAXB object", file.getPath());
+            def = (Definitions) getUnmarshaller().unmarshal(new InputStreamReader(file.getFileAsInputStream()));
+        }
+        catch (final JAXBException e) {
+            DefinitionsLoader.LOG.error("Error while parsing file, maybe file is not a TOSCA Defintions File", e);
+            return null;
+        }
+        catch (final SystemException e) {
+            DefinitionsLoader.LOG.error("Exception within Core", e);
+            return null;
+        }
+        return def;
+    }
+
+    /**
+     * Searches through the files of the CSAR for the file which contains the given location.
+     *
+     * @param location the location to look for as String
+     * @return if filesInCsar.contains(file), where file.getPath().contains(location) is true, file is
+     *         returned, else null
+     */
+    private AbstractFile getFileByLocation(final String location) {
+        DefinitionsLoader.LOG.debug("Looking trough files to for given location: {}", location);
+        for (final AbstractFile file : this.filesInCsar) {
+            // lazy check
+            if (file.getPath().contains(location)) {
+                DefinitionsLoader.LOG.debug("Found Match with location {}", file.getPath());
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static Unmarshaller getUnmarshaller() throws JAXBException {
+        Unmarshaller threadUnmarshaller = unmarshaller.get();
+        if (threadUnmarshaller == null) {
+            threadUnmarshaller = getJAXBContext().createUnmarshaller();
+            unmarshaller.set(threadUnmarshaller);
+        }
+        return threadUnmarshaller;
+    }
+
+    private static JAXBContext getJAXBContext() throws JAXBException {
+        JAXBContext context = jaxbContext;
+        if (context == null) {
+            synchronized (DefinitionsLoader.class) {
+                if (jaxbContext == null) {
+                    jaxbContext = JAXBContext.newInstance("org.oasis_open.docs.tosca.ns._2011._12",
+                                                          ObjectFactory.class.getClassLoader());
+                }
+                context = jaxbContext;
+            }
+        }
+        return context;
+    }
+}
@@ -1,10 +1,17 @@
 package org.opentosca.planbuilder.integration.layer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.namespace.QName;
 
+import org.opentosca.container.core.common.Settings;
+import org.opentosca.container.core.common.SystemException;
 import org.opentosca.planbuilder.AbstractPlanBuilder;
 import org.opentosca.planbuilder.AbstractSimplePlanBuilder;
 import org.opentosca.planbuilder.AbstractTransformingPlanbuilder;
@@ -18,6 +25,8 @@ import org.opentosca.planbuilder.model.plan.AbstractPlan;
 import org.opentosca.planbuilder.model.tosca.AbstractDefinitions;
 import org.opentosca.planbuilder.model.tosca.AbstractNodeTemplate;
 import org.opentosca.planbuilder.model.tosca.AbstractServiceTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * <p>
@@ -32,6 +41,18 @@ import org.opentosca.planbuilder.model.tosca.AbstractServiceTemplate;
  */
 public abstract class AbstractImporter {
 
+    private final static Logger LOG = LoggerFactory.getLogger(AbstractImporter.class);
+
+    private final static int PLAN_GENERATION_THREADS =
+        Math.max(2, Math.min(5, Runtime.getRuntime().availableProcessors()));
+
+    private final static ExecutorService PLAN_GENERATION_EXECUTOR =
+        Executors.newFixedThreadPool(PLAN_GENERATION_THREADS, runnable -> {
+            final Thread thread = new Thread(runnable, "planbuilder-plan-generation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
     protected List<AbstractPlan> buildTransformationPlans(final String sourceCsarName,
                                                           final AbstractDefinitions sourceDefinitions,
                                                           final String targetCsarName,
@@ -52,7 +73,8 @@ public abstract class AbstractImporter {
     }
 
     /**
-     * Generates Plans for ServiceTemplates inside the given Definitions document
+     * Generates Plans for ServiceTemplates inside the given Definitions document. The plan builders
+     * run one after another, as they all use the given Definitions.
      *
      * @param defs an AbstractDefinitions
      * @param csarName the FileName of the CSAR the given Definitions is contained in
@@ -61,6 +83,89 @@ public abstract class AbstractImporter {
     public List<AbstractPlan> buildPlans(final AbstractDefinitions defs, final String csarName) {
         final List<AbstractPlan> plans = new ArrayList<>();
 
+        final long start = System.currentTimeMillis();
+        for (final AbstractSimplePlanBuilder planBuilder : createPlanBuilders()) {
+            plans.addAll(runPlanBuilder(planBuilder, defs, csarName));
+        }
+
+        LOG.info("Generated {} plans for CSAR {} in {} ms", plans.size(), csarName,
+                 System.currentTimeMillis() - start);
+        return plans;
+    }
+
+    /**
+     * Generates Plans for ServiceTemplates inside the Definitions document of a CSAR. If concurrent
+     * plan generation is enabled, the plan builders run in parallel and each of them gets its own
+     * Definitions, because the DOM backing them is not thread-safe, not even for reads.
+     *
+     * @param definitionsFactory creates the Definitions of the CSAR
+     * @param csarName the FileName of the CSAR the Definitions are contained in
+     * @return a List of Plans
+     * @throws SystemException if the Definitions can not be created
+     */
+    public List<AbstractPlan> buildPlans(final DefinitionsFactory definitionsFactory,
+                                         final String csarName) throws SystemException {
+        if (!isConcurrentGeneration()) {
+            return buildPlans(definitionsFactory.createDefinitions(), csarName);
+        }
+
+        final List<AbstractSimplePlanBuilder> planBuilders = createPlanBuilders();
+
+        // the Definitions are created on the calling thread, only the plan builders run in parallel
+        final List<AbstractDefinitions> definitions = new ArrayList<>();
+        for (int i = 0; i < planBuilders.size(); i++) {
+            definitions.add(definitionsFactory.createDefinitions());
+        }
+
+        final List<AbstractPlan> plans = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+
+        final List<Future<List<AbstractPlan>>> tasks = new ArrayList<>();
+        for (int i = 0; i < planBuilders.size(); i++) {
+            final AbstractSimplePlanBuilder planBuilder = planBuilders.get(i);
+            final AbstractDefinitions defs = definitions.get(i);
+            tasks.add(PLAN_GENERATION_EXECUTOR.submit(() -> runPlanBuilder(planBuilder, defs, csarName)));
+        }
+
+        // collect the plans in the order of the plan builders
+        try {
+            for (final Future<List<AbstractPlan>> task : tasks) {
+                plans.addAll(task.get());
+            }
+        }
+        catch (final InterruptedException e) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating plans for CSAR " + csarName, e);
+        }
+        catch (final ExecutionException e) {
+            tasks.forEach(task -> task.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Generating plans for CSAR " + csarName + " failed", e.getCause());
+        }
+
+        LOG.info("Generated {} plans for CSAR {} in {} ms", plans.size(), csarName,
+                 System.currentTimeMillis() - start);
+        return plans;
+    }
+
+    /**
+     * @return <code>true</code> if the plan builders run in parallel, see
+     *         {@link Settings#PLANBUILDER_CONCURRENT_GENERATION}
+     */
+    protected boolean isConcurrentGeneration() {
+        return Boolean.parseBoolean(Settings.PLANBUILDER_CONCURRENT_GENERATION);
+    }
+
+    /**
+     * @return the plan builders which generate the plans of a CSAR, in the order of their plans
+     */
+    protected List<AbstractSimplePlanBuilder> createPlanBuilders() {
         final AbstractSimplePlanBuilder buildPlanBuilder = new BPELBuildProcessBuilder();
 
         // FIXME: This does not work for me (Michael W. - 2018-02-19)
@@ -82,13 +187,16 @@ public abstract class AbstractImporter {
         final AbstractSimplePlanBuilder freezePlanBuilder = new BPELFreezeProcessBuilder();
         final AbstractSimplePlanBuilder defreezePlanBuilder = new BPELDefrostProcessBuilder();
 
+        return Arrays.asList(scalingPlanBuilder, buildPlanBuilder, terminationPlanBuilder, freezePlanBuilder,
+                             defreezePlanBuilder);
+    }
 
-        plans.addAll(scalingPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(buildPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(terminationPlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(freezePlanBuilder.buildPlans(csarName, defs));
-        plans.addAll(defreezePlanBuilder.buildPlans(csarName, defs));
-
+    private List<AbstractPlan> runPlanBuilder(final AbstractSimplePlanBuilder planBuilder,
+                                              final AbstractDefinitions defs, final String csarName) {
+        final long start = System.currentTimeMillis();
+        final List<AbstractPlan> plans = planBuilder.buildPlans(csarName, defs);
+        LOG.info("{} generated {} plans for CSAR {} in {} ms", planBuilder.getClass().getSimpleName(),
+                 plans.size(), csarName, System.currentTimeMillis() - start);
         return plans;
     }
 
@@ -103,4 +211,12 @@ public abstract class AbstractImporter {
         return false;
     }
 
+    /**
+     * Creates the Definitions of a CSAR for which plans are generated.
+     */
+    @FunctionalInterface
+    public interface DefinitionsFactory {
+
+        AbstractDefinitions createDefinitions() throws SystemException;
+    }
 }
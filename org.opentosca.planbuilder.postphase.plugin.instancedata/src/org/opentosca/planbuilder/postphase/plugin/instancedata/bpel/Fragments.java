@@ -3,20 +3,14 @@
  */
 package org.opentosca.planbuilder.postphase.plugin.instancedata.bpel;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
-import java.net.URL;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.apache.commons.io.FileUtils;
-import org.eclipse.core.runtime.FileLocator;
-import org.osgi.framework.FrameworkUtil;
+import org.opentosca.planbuilder.core.bpel.fragments.FragmentTemplates;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.xml.sax.InputSource;
@@ -34,19 +28,12 @@ import org.xml.sax.SAXException;
  */
 public class Fragments {
 
-    private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
-
-
     /**
      * Constructor
      *
      * @throws ParserConfigurationException is thrown when initializing the internal DocumentBuild fails
      */
     public Fragments() throws ParserConfigurationException {
-        this.docFactory = DocumentBuilderFactory.newInstance();
-        this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
     }
 
     /**
@@ -59,13 +46,9 @@ public class Fragments {
      */
     public String createRESTDeleteOnURLBPELVarAsString(final String bpelVarName,
                                                        final String responseVarName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightDELETE.xml");
         // <!-- $urlVarName, $ResponseVarName -->
 
-        final File bpelFragmentFile = new File(FileLocator.toFileURL(url).getPath());
-
-        String template = FileUtils.readFileToString(bpelFragmentFile);
+        String template = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightDELETE.xml");
         template = template.replace("$urlVarName", bpelVarName);
         template = template.replace("$ResponseVarName", responseVarName);
 
@@ -86,7 +69,7 @@ public class Fragments {
         final String templateString = createRESTDeleteOnURLBPELVarAsString(bpelVarName, responseVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -103,10 +86,7 @@ public class Fragments {
                                                          final String RequestVarName) throws IOException {
         // BPEL4RESTLightPUT_NodeInstance_State_InstanceDataAPI.xml
         // <!-- $RequestVarName,$nodeInstanceURLVar -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightPUT_Instance_State_InstanceDataAPI.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4restString = FileUtils.readFileToString(bpel4RestFile);
+        String bpel4restString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightPUT_Instance_State_InstanceDataAPI.xml");
 
         bpel4restString = bpel4restString.replace("$instanceURLVar", instanceURLVar);
         bpel4restString = bpel4restString.replace("$RequestVarName", RequestVarName);
@@ -118,10 +98,7 @@ public class Fragments {
                                                           final String ResponseVarName) throws IOException {
         // BPEL4RESTLightPUT_NodeInstance_State_InstanceDataAPI.xml
         // <!-- $RequestVarName,$nodeInstanceURLVar -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightGET_Instance_State_InstanceDataAPI.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4restString = FileUtils.readFileToString(bpel4RestFile);
+        String bpel4restString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightGET_Instance_State_InstanceDataAPI.xml");
 
         bpel4restString = bpel4restString.replace("$instanceURLVar", instanceURLVar);
         bpel4restString = bpel4restString.replace("$ResponseVarName", ResponseVarName);
@@ -137,7 +114,7 @@ public class Fragments {
     private Node toDom(String templateString) throws SAXException, IOException {
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -155,10 +132,7 @@ public class Fragments {
                                                                         final String nodeInstancePOSTResponseVarName) throws IOException {
         // BPELAssignFromNodeInstancePOSTResponseToStringVar.xml
         // <!-- $stringVarName, $NodeInstanceResponseVarName -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPELAssignFromNodeInstancePOSTResponseToStringVar.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpel4RestFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BPELAssignFromNodeInstancePOSTResponseToStringVar.xml");
 
         bpelAssignString = bpelAssignString.replaceAll("\\$stringVarName", nodeInstanceURLVarName);
         bpelAssignString =
@@ -183,10 +157,7 @@ public class Fragments {
                                                                             final String relationInstancePOSTResponseVarName) throws IOException {
         // BPELAssignFromNodeInstancePOSTResponseToStringVar.xml
         // <!-- $stringVarName, $RelationInstanceResponseVarName, relationInstanceIDVar-->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPELAssignFromRelationInstancePOSTResponseToStringVar.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpel4RestFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BPELAssignFromRelationInstancePOSTResponseToStringVar.xml");
 
         bpelAssignString = bpelAssignString.replaceAll("\\$stringVarName", stringVarName);
         bpelAssignString =
@@ -211,10 +182,7 @@ public class Fragments {
                                                          final String nodeTemplateId,
                                                          final String responseVariableName) throws IOException {
         // <!-- $serviceInstanceURLVar, $nodeTemplateId, $ResponseVarName -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightPOST_NodeInstance_InstanceDataAPI.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4RestString = FileUtils.readFileToString(bpel4RestFile);
+        String bpel4RestString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightPOST_NodeInstance_InstanceDataAPI.xml");
 
         bpel4RestString = bpel4RestString.replaceAll("\\$serviceInstanceURLVar", serviceInstanceURLVar);
         bpel4RestString = bpel4RestString.replaceAll("\\$serviceInstanceIDVar", serviceInstanceIDVarName);
@@ -245,10 +213,7 @@ public class Fragments {
                                                              final String sourceInstanceIdVarName,
                                                              final String targetInstanceIdVarName) throws IOException {
         // <!-- $serviceInstanceURLVar, $nodeTemplateId, $ResponseVarName -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightPOST_RelationInstance_InstanceDataAPI.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4RestString = FileUtils.readFileToString(bpel4RestFile);
+        String bpel4RestString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightPOST_RelationInstance_InstanceDataAPI.xml");
 
         bpel4RestString = bpel4RestString.replaceAll("\\$serviceInstanceURLVar", serviceInstanceURLVar);
         bpel4RestString = bpel4RestString.replaceAll("\\$relationshipTemplateId", relationshipTemplateId);
@@ -265,10 +230,7 @@ public class Fragments {
                                                             final String responseVariableName) throws IOException {
         // tags in xml snippet: $InstanceDataURLVar, $CSARName,
         // $serviceTemplateId, $ResponseVarName
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightPOST_ServiceInstance_InstanceDataAPI.xml");
-        final File bpel4RestFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4RestString = FileUtils.readFileToString(bpel4RestFile);
+        String bpel4RestString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightPOST_ServiceInstance_InstanceDataAPI.xml");
 
         bpel4RestString = bpel4RestString.replace("$InstanceDataURLVar", instanceDataAPIUrlVariableName);
         bpel4RestString = bpel4RestString.replace("$CSARName", csarId);
@@ -287,16 +249,13 @@ public class Fragments {
                                                       responseVariableName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateServiceInstanceURLVarAssign(final String serviceInstanceResponseVarName,
                                                       final String serviceInstanceURLVarName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BpelAssignServiceInstancePOSTResponse.xml");
-        final File bpelAssigntFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpelAssigntFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BpelAssignServiceInstancePOSTResponse.xml");
         // <!-- $assignName $ServiceInstanceResponseVarName
         // $ServiceInstanceURLVarName-->
 
@@ -314,7 +273,7 @@ public class Fragments {
             generateServiceInstanceURLVarAssign(serviceInstanceResponseVarName, serviceInstanceURLVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -324,16 +283,13 @@ public class Fragments {
             generateNodeInstancePropertiesGET(instanceDataUrlVarName, responseVarName, nodeType);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateInstancePropertiesGET(final String instanceUrlVarName,
                                                 final String bpel4RestLightResponseVarName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightGET_Instance_Properties.xml");
-        final File bpel4restLightGETFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4restLightGETString = FileUtils.readFileToString(bpel4restLightGETFile);
+        String bpel4restLightGETString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightGET_Instance_Properties.xml");
         // <!-- $urlVarName, $ResponseVarName -->
         bpel4restLightGETString = bpel4restLightGETString.replace("$urlVarName", instanceUrlVarName);
         bpel4restLightGETString = bpel4restLightGETString.replace("$ResponseVarName", bpel4RestLightResponseVarName);
@@ -346,16 +302,13 @@ public class Fragments {
         final String templateString = generateInstancePropertiesGET(instanceUrlVarName, bpel4RestLightResponseVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateAssignFromNodeInstanceResonseToStringVar(final String stringVarName,
                                                                    final String nodeInstanceResponseVarName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BpelAssignFromNodeInstanceRequestToStringVar.xml");
-        final File bpelAssignFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpelAssignFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BpelAssignFromNodeInstanceRequestToStringVar.xml");
         // <!-- $stringVarName, $NodeInstanceResponseVarName -->
         bpelAssignString = bpelAssignString.replace("$stringVarName", stringVarName);
         bpelAssignString = bpelAssignString.replace("$NodeInstanceResponseVarName", nodeInstanceResponseVarName);
@@ -369,16 +322,13 @@ public class Fragments {
             generateAssignFromNodeInstanceResonseToStringVar(stringVarName, nodeInstanceResponseVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateNodeInstancePropertiesGET(final String instanceDataUrlVarName, final String responseVarName,
                                                     final QName nodeType) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightGET_NodeInstance_InstanceDataAPI.xml");
-        final File bpelAssignFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpelAssignFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightGET_NodeInstance_InstanceDataAPI.xml");
 
         // $InstanceDataURLVar, $ResponseVarName, $nodeType
 
@@ -393,10 +343,7 @@ public class Fragments {
                                                                   final int nodeInstanceIndex) throws IOException {
         // <!-- $stringVarName, $ServiceInstanceResponseVarName,
         // $nodeInstanceIndex -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BpelAssignFromServiceInstanceRequestToStringVar.xml");
-        final File bpelAssignFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpelAssignFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BpelAssignFromServiceInstanceRequestToStringVar.xml");
 
         bpelAssignString = bpelAssignString.replace("$stringVarName", stringVarName);
         bpelAssignString = bpelAssignString.replace("$ServiceInstanceResponseVarName", serviceInstanceResponseVarName);
@@ -414,17 +361,14 @@ public class Fragments {
                                                             nodeInstanceIndex);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateBPEL4RESTLightGET(final String urlVarName, final String responseVarName) throws IOException {
         // BPEL4RESTLightGET_ServiceInstance_InstanceDataAPI.xml
         // <!-- $serviceInstanceUrlVarName, $ResponseVarName -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightGET.xml");
-        final File bpelServiceInstanceGETFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelServiceInstanceGETString = FileUtils.readFileToString(bpelServiceInstanceGETFile);
+        String bpelServiceInstanceGETString = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightGET.xml");
 
         bpelServiceInstanceGETString = bpelServiceInstanceGETString.replace("$urlVarName", urlVarName);
         bpelServiceInstanceGETString = bpelServiceInstanceGETString.replace("$ResponseVarName", responseVarName);
@@ -436,16 +380,13 @@ public class Fragments {
         final String templateString = generateBPEL4RESTLightGET(serviceInstanceUrlVarName, responseVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateAssignFromInputMessageToStringVariable(final String inputMessageElementLocalName,
                                                                  final String stringVariableName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BpelAssignFromInputToStringVar.xml");
-        final File bpelAssignFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpelAssignFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BpelAssignFromInputToStringVar.xml");
         // <!-- $inputElementLocalName, $StringVariableName, $assignName -->
         bpelAssignString = bpelAssignString.replace("$inputElementLocalName", inputMessageElementLocalName);
         bpelAssignString = bpelAssignString.replace("$StringVariableName", stringVariableName);
@@ -461,7 +402,7 @@ public class Fragments {
             generateAssignFromInputMessageToStringVariable(inputMessageElementLocalName, stringVariableName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -469,10 +410,7 @@ public class Fragments {
                                                         final String nodeInstancePropertyRequestVarName,
                                                         final String nodeInstancePropertyLocalName,
                                                         final String nodeInstancePropertyNamespace) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BpelCopyFromPropertyVarToNodeInstanceProperty.xml");
-        final File bpelAssignFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpelAssignString = FileUtils.readFileToString(bpelAssignFile);
+        String bpelAssignString = FragmentTemplates.load(this.getClass(), "BpelCopyFromPropertyVarToNodeInstanceProperty.xml");
         // <!-- $PropertyVarName, $NodeInstancePropertyRequestVarName,
         // $NodeInstancePropertyLocalName, $NodeInstancePropertyNamespace -->
         bpelAssignString = bpelAssignString.replace("$PropertyVarName", propertyVarName);
@@ -493,7 +431,7 @@ public class Fragments {
                                                   nodeInstancePropertyLocalName, nodeInstancePropertyNamespace);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -506,7 +444,7 @@ public class Fragments {
                 + System.currentTimeMillis() + "\" />";
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(bpelAssignString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
 
         final Node assignNode = doc.getFirstChild();
         for (final String propertyVarName : propertyVarToDomMapping.keySet()) {
@@ -525,10 +463,7 @@ public class Fragments {
 
     public String generateInstancesBPEL4RESTLightPUT(final String requestVarName,
                                                      final String instanceURLVarName) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("BPEL4RESTLightPUT_Instance_InstanceDataAPI.xml");
-        final File bpel4RESTLightPUTFile = new File(FileLocator.toFileURL(url).getPath());
-        String bpel4RESTLightPut = FileUtils.readFileToString(bpel4RESTLightPUTFile);
+        String bpel4RESTLightPut = FragmentTemplates.load(this.getClass(), "BPEL4RESTLightPUT_Instance_InstanceDataAPI.xml");
 
         // <!-- $RequestVarName,$nodeInstanceURLVar -->
         bpel4RESTLightPut = bpel4RESTLightPut.replace("$RequestVarName", requestVarName);
@@ -542,8 +477,7 @@ public class Fragments {
         final String templateString = generateInstancesBPEL4RESTLightPUT(requestVarName, instanceURLVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
-
 }
@@ -1,11 +1,9 @@
 package org.opentosca.planbuilder.postphase.plugin.vinothek.bpel.handler;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
-import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -18,16 +16,12 @@ import java.util.zip.ZipFile;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
-import org.apache.commons.io.FileUtils;
-import org.eclipse.core.runtime.FileLocator;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
 import org.opentosca.container.core.model.AbstractFile;
@@ -35,6 +29,7 @@ import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.container.core.tosca.convention.Properties;
 import org.opentosca.planbuilder.core.bpel.context.BPELPlanContext;
+import org.opentosca.planbuilder.core.bpel.fragments.FragmentTemplates;
 import org.opentosca.planbuilder.csarhandler.CSARHandler;
 import org.opentosca.planbuilder.model.tosca.AbstractArtifactReference;
 import org.opentosca.planbuilder.model.tosca.AbstractDeploymentArtifact;
@@ -43,7 +38,6 @@ import org.opentosca.planbuilder.model.tosca.AbstractNodeTypeImplementation;
 import org.opentosca.planbuilder.model.utils.ModelUtils;
 import org.opentosca.planbuilder.postphase.plugin.vinothek.bpel.BPELVinothekPlugin;
 import org.opentosca.planbuilder.postphase.plugin.vinothek.core.handler.VinothekPluginHandler;
-import org.osgi.framework.FrameworkUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -66,13 +60,8 @@ public class BPELVinothekPluginHandler implements VinothekPluginHandler<BPELPlan
         new QName("http://docs.oasis-open.org/wsbpel/2.0/process/executable", "BPEL");
 
     private final CSARHandler csarHandler = new CSARHandler();
-    private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
 
     public BPELVinothekPluginHandler() throws ParserConfigurationException {
-        this.docFactory = DocumentBuilderFactory.newInstance();
-        this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
     }
 
     private Node createSelfserviceApplicationUrlAssign(final String serverIpVarName, final String applicationName,
@@ -81,10 +70,7 @@ public class BPELVinothekPluginHandler implements VinothekPluginHandler<BPELPlan
         // <!--{serverIpVarName} {appName} {outputVarName} {outputVarPartName}
         // {outputVarPrefix} -->
 
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("assignSelfserviceApplicationUrl.xml");
-        final File bpelfragmentfile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelfragmentfile);
+        String template = FragmentTemplates.load(this.getClass(), "assignSelfserviceApplicationUrl.xml");
         template = template.replace("{serverIpVarName}", serverIpVarName);
         template = template.replace("{appName}", applicationName);
         template = template.replace("{outputVarName}", outputVarName);
@@ -93,7 +79,7 @@ public class BPELVinothekPluginHandler implements VinothekPluginHandler<BPELPlan
 
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(template));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -411,5 +397,4 @@ public class BPELVinothekPluginHandler implements VinothekPluginHandler<BPELPlan
 
         return true;
     }
-
 }
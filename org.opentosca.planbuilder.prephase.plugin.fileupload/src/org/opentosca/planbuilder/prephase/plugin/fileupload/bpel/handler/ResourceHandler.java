@@ -6,12 +6,10 @@ import java.io.StringReader;
 import java.net.URL;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
+import org.opentosca.planbuilder.core.bpel.fragments.FragmentTemplates;
 import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,19 +32,12 @@ public class ResourceHandler {
 
     private final static Logger LOG = LoggerFactory.getLogger(ResourceHandler.class);
 
-    private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
-
     /**
      * Constructor
      *
      * @throws ParserConfigurationException is thrown when initializing the DOM Parsers fails
      */
     public ResourceHandler() throws ParserConfigurationException {
-        this.docFactory = DocumentBuilderFactory.newInstance();
-        this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-
     }
 
     /**
@@ -70,7 +61,7 @@ public class ResourceHandler {
                                                                             serverIpName, inputMessageVarName, script);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -93,10 +84,7 @@ public class ResourceHandler {
         // <!--
         // {assignName}{prefix}{requestVarName}{serverIpVarName}{requestVarName}{inputMessageVarName}{script}
         // -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("assRunScriptRequest.xml");
-        final File bpelfragmentfile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelfragmentfile);
+        String template = FragmentTemplates.load(this.getClass(), "assRunScriptRequest.xml");
         template = template.replace("{assignName}", assignName);
         template = template.replace("{prefix}", prefix);
         template = template.replace("{requestVarName}", requestVarName);
@@ -124,7 +112,7 @@ public class ResourceHandler {
                                                                   inputVarName, outputVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -229,7 +217,7 @@ public class ResourceHandler {
                                                      planRequestName, remoteFilePath, remotePath);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -253,10 +241,7 @@ public class ResourceHandler {
                                                       final String prefix, final String serverIpVarName,
                                                       final String planRequestName, final String remoteFilePath,
                                                       final String remotePath) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("assignRemoteTransferFileRequestFragment.xml");
-        final File bpelfragmentfile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelfragmentfile);
+        String template = FragmentTemplates.load(this.getClass(), "assignRemoteTransferFileRequestFragment.xml");
         template = template.replace("{AssignName}", assignName);
         template = template.replace("{RequestVarName}", requestVarName);
         template = template.replace("{ServerIpPropVarName}", serverIpVarName);
@@ -285,7 +270,7 @@ public class ResourceHandler {
         final String templateString = this.getRESTExtensionGETAsString(csarFileName, responseName, relativeFilePath);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -301,10 +286,7 @@ public class ResourceHandler {
      */
     public String getRESTExtensionGETAsString(final String csarFileName, final String responseName,
                                               final String relativeFilePath) throws IOException {
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("restExtensionGetFragment.xml");
-        final File bpelfragmentfile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelfragmentfile);
+        String template = FragmentTemplates.load(this.getClass(), "restExtensionGetFragment.xml");
         template = template.replace("{CSAR_filename}", csarFileName);
         template = template.replace("{response_var_name}", responseName);
         template = template.replace("{relative_path_to_file}", relativeFilePath);
@@ -335,7 +317,7 @@ public class ResourceHandler {
                                                localPathVarName, remotePath);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -360,10 +342,7 @@ public class ResourceHandler {
         // <!--
         // {AssignName},{RequestVarName},{ServerIpPropVarName},{prefix},{localPath},{remotePath},{SSHKey}
         // -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("assignTransferFileRequestFragment.xml");
-        final File bpelFragmentFile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelFragmentFile);
+        String template = FragmentTemplates.load(this.getClass(), "assignTransferFileRequestFragment.xml");
         template = template.replace("{AssignName}", assignName);
         template = template.replace("{RequestVarName}", requestVarName);
         template = template.replace("{ServerIpPropVarName}", serverIpVarName);
@@ -396,7 +375,7 @@ public class ResourceHandler {
                                                                          inputVarName, outputVarName, operationName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -419,10 +398,7 @@ public class ResourceHandler {
                                                 final String operationName) throws IOException {
         // <!-- {InvokeName} {partnerlinkName} {portTypePrefix} {inputVarName}
         // {outputVarName}-->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("invokeTransferFile.xml");
-        final File bpelFragmentFile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelFragmentFile);
+        String template = FragmentTemplates.load(this.getClass(), "invokeTransferFile.xml");
         template = template.replace("{InvokeName}", invokeName);
         template = template.replace("{partnerlinkName}", partnerLinkName);
         template = template.replace("{portTypePrefix}", portTypeprefix);
@@ -431,5 +407,4 @@ public class ResourceHandler {
         template = template.replace("{operation}", operationName);
         return template;
     }
-
 }
@@ -1,23 +1,16 @@
 package org.opentosca.planbuilder.provphase.plugin.ansibleoperation.bpel.handler;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.eclipse.core.runtime.FileLocator;
 import org.opentosca.container.core.tosca.convention.Interfaces;
 import org.opentosca.container.core.tosca.convention.Properties;
 import org.opentosca.planbuilder.core.bpel.context.BPELPlanContext;
+import org.opentosca.planbuilder.core.bpel.fragments.FragmentTemplates;
 import org.opentosca.planbuilder.model.plan.bpel.BPELScope.BPELScopePhaseType;
 import org.opentosca.planbuilder.model.tosca.AbstractArtifactReference;
 import org.opentosca.planbuilder.model.tosca.AbstractImplementationArtifact;
@@ -30,7 +23,6 @@ import org.opentosca.planbuilder.plugins.context.PropertyVariable;
 import org.opentosca.planbuilder.plugins.context.Variable;
 import org.opentosca.planbuilder.provphase.plugin.ansibleoperation.core.handler.AnsibleOperationPluginHandler;
 import org.opentosca.planbuilder.provphase.plugin.invoker.bpel.BPELInvokerPlugin;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -57,20 +49,6 @@ public class BPELAnsibleOperationPluginHandler implements AnsibleOperationPlugin
 
     private final BPELInvokerPlugin invokerPlugin = new BPELInvokerPlugin();
 
-    private DocumentBuilderFactory docFactory;
-    private DocumentBuilder docBuilder;
-
-    public BPELAnsibleOperationPluginHandler() {
-        try {
-            this.docFactory = DocumentBuilderFactory.newInstance();
-            this.docFactory.setNamespaceAware(true);
-            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        }
-        catch (final ParserConfigurationException e) {
-            e.printStackTrace();
-        }
-    }
-
     private Variable appendBPELAssignOperationShScript(final BPELPlanContext templateContext,
                                                        final AbstractOperation operation,
                                                        final AbstractArtifactReference reference,
@@ -475,7 +453,7 @@ public class BPELAnsibleOperationPluginHandler implements AnsibleOperationPlugin
             loadAssignXpathQueryToStringVarFragmentAsString(assignName, xpath2Query, stringVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -492,14 +470,10 @@ public class BPELAnsibleOperationPluginHandler implements AnsibleOperationPlugin
     public String loadAssignXpathQueryToStringVarFragmentAsString(final String assignName, final String xpath2Query,
                                                                   final String stringVarName) throws IOException {
         // <!-- {AssignName},{xpath2query}, {stringVarName} -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("assignStringVarWithXpath2Query.xml");
-        final File bpelFragmentFile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelFragmentFile);
+        String template = FragmentTemplates.load(this.getClass(), "assignStringVarWithXpath2Query.xml");
         template = template.replace("{AssignName}", assignName);
         template = template.replace("{xpath2query}", xpath2Query);
         template = template.replace("{stringVarName}", stringVarName);
         return template;
     }
-
 }
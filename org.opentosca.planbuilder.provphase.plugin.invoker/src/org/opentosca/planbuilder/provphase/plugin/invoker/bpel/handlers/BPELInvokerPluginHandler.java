@@ -3,24 +3,20 @@ package org.opentosca.planbuilder.provphase.plugin.invoker.bpel.handlers;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.apache.commons.io.FileUtils;
-import org.eclipse.core.runtime.FileLocator;
 import org.opentosca.container.core.tosca.convention.Interfaces;
 import org.opentosca.container.core.tosca.convention.Properties;
 import org.opentosca.container.core.tosca.convention.Utils;
 import org.opentosca.planbuilder.core.bpel.context.BPELPlanContext;
 import org.opentosca.planbuilder.core.bpel.fragments.BPELProcessFragments;
+import org.opentosca.planbuilder.core.bpel.fragments.FragmentTemplates;
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
 import org.opentosca.planbuilder.model.plan.bpel.BPELScope.BPELScopePhaseType;
 import org.opentosca.planbuilder.model.tosca.AbstractArtifactReference;
@@ -31,7 +27,6 @@ import org.opentosca.planbuilder.model.tosca.AbstractOperation;
 import org.opentosca.planbuilder.model.tosca.AbstractParameter;
 import org.opentosca.planbuilder.plugins.context.PlanContext;
 import org.opentosca.planbuilder.plugins.context.Variable;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -47,17 +42,11 @@ public class BPELInvokerPluginHandler {
 
     private ResourceHandler resHandler;
     private BPELProcessFragments bpelFrags;
-    private DocumentBuilderFactory docFactory;
-
-    private DocumentBuilder docBuilder;
 
     public BPELInvokerPluginHandler() {
         try {
             this.resHandler = new ResourceHandler();
             this.bpelFrags = new BPELProcessFragments();
-            this.docFactory = DocumentBuilderFactory.newInstance();
-            this.docFactory.setNamespaceAware(true);
-            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
         }
         catch (final ParserConfigurationException e) {
             BPELInvokerPluginHandler.LOG.error("Couldn't initialize ResourceHandler", e);
@@ -759,7 +748,7 @@ public class BPELInvokerPluginHandler {
             loadAssignXpathQueryToStringVarFragmentAsString(assignName, xpath2Query, stringVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -776,10 +765,7 @@ public class BPELInvokerPluginHandler {
     public String loadAssignXpathQueryToStringVarFragmentAsString(final String assignName, final String xpath2Query,
                                                                   final String stringVarName) throws IOException {
         // <!-- {AssignName},{xpath2query}, {stringVarName} -->
-        final URL url = FrameworkUtil.getBundle(this.getClass()).getBundleContext().getBundle()
-                                     .getResource("assignStringVarWithXpath2Query.xml");
-        final File bpelFragmentFile = new File(FileLocator.toFileURL(url).getPath());
-        String template = FileUtils.readFileToString(bpelFragmentFile);
+        String template = FragmentTemplates.load(this.getClass(), "assignStringVarWithXpath2Query.xml");
         template = template.replace("{AssignName}", assignName);
         template = template.replace("{xpath2query}", xpath2Query);
         template = template.replace("{stringVarName}", stringVarName);
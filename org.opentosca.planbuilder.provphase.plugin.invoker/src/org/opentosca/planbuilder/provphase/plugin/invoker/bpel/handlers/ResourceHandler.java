@@ -11,16 +11,14 @@ import java.nio.file.Files;
 import java.util.Map;
 
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.runtime.FileLocator;
+import org.opentosca.planbuilder.core.bpel.fragments.FragmentTemplates;
 import org.opentosca.planbuilder.plugins.context.Variable;
 import org.opentosca.planbuilder.provphase.plugin.invoker.Activator;
 import org.osgi.framework.BundleContext;
-import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -39,19 +37,12 @@ public class ResourceHandler {
 
     private final static Logger LOG = LoggerFactory.getLogger(ResourceHandler.class);
 
-    private final DocumentBuilderFactory docFactory;
-    private final DocumentBuilder docBuilder;
-
     /**
      * Constructor
      *
      * @throws ParserConfigurationException is thrown when initializing the DOM Parsers fails
      */
     public ResourceHandler() throws ParserConfigurationException {
-        this.docFactory = DocumentBuilderFactory.newInstance();
-        this.docFactory.setNamespaceAware(true);
-        this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-
     }
     
     private BundleContext getContext() {
@@ -78,10 +69,7 @@ public class ResourceHandler {
      */
     public String generateAddressingCopy(final String partnerLinkName,
                                          final String requestVariableName) throws IOException {
-        final URL url =
-            this.getContext().getBundle().getResource("addressingCopy.xml");
-        final File addressingFile = new File(FileLocator.toFileURL(url).getPath());
-        String addressingFileString = FileUtils.readFileToString(addressingFile);
+        String addressingFileString = FragmentTemplates.load(this.getClass(), "addressingCopy.xml");
         /*
          * "{partnerLinkName}" "{requestVarName}"
          */
@@ -108,7 +96,7 @@ public class ResourceHandler {
         final String addressingCopyString = generateAddressingCopy(partnerLinkName, requestVariableName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(addressingCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -121,10 +109,7 @@ public class ResourceHandler {
      * @throws IOException is thrown when reading internal files fails
      */
     public String generateAddressingInit(final String requestVariableName) throws IOException {
-        final URL url =
-        		this.getContext().getBundle().getResource("addressingInit.xml");
-        final File addressingFile = new File(FileLocator.toFileURL(url).getPath());
-        String addressingFileString = FileUtils.readFileToString(addressingFile);
+        String addressingFileString = FragmentTemplates.load(this.getClass(), "addressingInit.xml");
         /*
          * "{partnerLinkName}" "{requestVarName}"
          */
@@ -146,7 +131,7 @@ public class ResourceHandler {
         final String addressingCopyString = generateAddressingInit(requestVariableName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(addressingCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -159,17 +144,14 @@ public class ResourceHandler {
                                                          invokerParamName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(addressingCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     private String generateCopyFromExternalParamToInvokerString(final String requestVarName,
                                                                 final String requestVarPartName, final String paramName,
                                                                 final String invokerParamName) throws IOException {
-        final URL url = this.getContext().getBundle()
-                                     .getResource("externalParamCopy2.xml");
-        final File copyTemplateFile = new File(FileLocator.toFileURL(url).getPath());
-        String copyTemplateString = FileUtils.readFileToString(copyTemplateFile);
+        String copyTemplateString = FragmentTemplates.load(this.getClass(), "externalParamCopy2.xml");
 
         // {paramName}, {requestVarName}, {requestVarPartName}
         copyTemplateString = copyTemplateString.replace("{paramName}", paramName);
@@ -196,7 +178,7 @@ public class ResourceHandler {
                 + correlationSetName + "\" initiate=\"" + (initiate ? "yes" : "no") + "\"/></bpel:correlations>";
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(correlationSetsString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -222,7 +204,7 @@ public class ResourceHandler {
                                                         invokerRequestVarPartName, invokerParamName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(addressingCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -241,10 +223,7 @@ public class ResourceHandler {
                                                               final String invokerRequestVarName,
                                                               final String invokerRequestVarPartName,
                                                               final String invokerParamName) throws IOException {
-        final URL url = this.getContext().getBundle()
-                                     .getResource("EPRCopyToInvokerReplyTo.xml");
-        final File eprCopyFile = new File(FileLocator.toFileURL(url).getPath());
-        String eprCopyFileString = FileUtils.readFileToString(eprCopyFile);
+        String eprCopyFileString = FragmentTemplates.load(this.getClass(), "EPRCopyToInvokerReplyTo.xml");
 
         // <!--{partnerLinkName} {requestVarName} {requestVarPartName}
         // {invokerParamName}-->
@@ -272,7 +251,7 @@ public class ResourceHandler {
             generateInvokeAsString(invokeName, partnerLinkName, operationName, portType, inputVarName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(invokeString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -302,10 +281,7 @@ public class ResourceHandler {
                                                                   final String requestVarPartName, final String iface,
                                                                   final boolean isNodeTemplate, final String templateId,
                                                                   final Map<String, Variable> internalExternalProps) throws IOException {
-        final URL url = this.getContext().getBundle()
-                                     .getResource("assignInvokerAsyncMessage.xml");
-        final File assignTemplateFile = new File(FileLocator.toFileURL(url).getPath());
-        String assignTemplateString = FileUtils.readFileToString(assignTemplateFile);
+        String assignTemplateString = FragmentTemplates.load(this.getClass(), "assignInvokerAsyncMessage.xml");
 
         /*
          * String values must replace: {csarName}, {serviceTemplateNS}, {serviceTemplateLocalName},
@@ -419,7 +395,7 @@ public class ResourceHandler {
                                                             templateId, internalExternalProps);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -435,10 +411,7 @@ public class ResourceHandler {
      */
     public String generateMessageIdInit(final String requestVariableName, final String requestVariabelPartName,
                                         final String messageIdPrefix) throws IOException {
-        final URL url =
-        		this.getContext().getBundle().getResource("initMessageId.xml");
-        final File initMessageIdFile = new File(FileLocator.toFileURL(url).getPath());
-        String initMessageIdFileString = FileUtils.readFileToString(initMessageIdFile);
+        String initMessageIdFileString = FragmentTemplates.load(this.getClass(), "initMessageId.xml");
 
         // <!-- {requestVarName}, {requestVarPartName}, {messageIdPrefix} -->
         initMessageIdFileString = initMessageIdFileString.replace("{requestVarName}", requestVariableName);
@@ -464,7 +437,7 @@ public class ResourceHandler {
             generateMessageIdInit(requestVariableName, requestVariabelPartName, messageIdPrefix);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(addressingCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -496,16 +469,13 @@ public class ResourceHandler {
          */
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(receiveString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
     public String generateReplyToCopy(final String partnerLinkName, final String requestVarName,
                                       final String requestVarPartName, final String paramName) throws IOException {
-        final URL url =
-        		this.getContext().getBundle().getResource("copyReplyTo.xml");
-        final File copyTemplateFile = new File(FileLocator.toFileURL(url).getPath());
-        String copyTemplateString = FileUtils.readFileToString(copyTemplateFile);
+        String copyTemplateString = FragmentTemplates.load(this.getClass(), "copyReplyTo.xml");
 
         // {paramName}, {partnerLinkName}, {requestVarName},
         // {requestVarPartName}
@@ -524,7 +494,7 @@ public class ResourceHandler {
             generateReplyToCopy(partnerLinkName, requestVarName, requestVarPartName, paramName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(addressingCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -550,7 +520,7 @@ public class ResourceHandler {
                                            planOutputMsgName, planOutputMsgPartName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(templateString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -633,7 +603,7 @@ public class ResourceHandler {
             generateServiceInstanceIDCopy(bpelVarName, requestVarName, requestVarPartName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(serviceInstanceCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -649,12 +619,8 @@ public class ResourceHandler {
     private String generateCorrelationIdCopy(final String requestVarName,
                                              final String requestVarPartName) throws IOException {
     	LOG.debug("Starting to load correlationIDCopy.xml");
-        final URL url = this.getContext().getBundle()
-                                     .getResource("correlationIdCopy.xml");
-        LOG.debug("URL inside OSGI framework to load xml: " + url);
-        final File correlationIdCopy = new File(FileLocator.toFileURL(url).getPath());
-        LOG.debug("Loaded XML file: " + correlationIdCopy);
-        String correlationIdCopyString = FileUtils.readFileToString(correlationIdCopy);
+        String correlationIdCopyString = FragmentTemplates.load(this.getClass(), "correlationIdCopy.xml");
+        LOG.debug("Loaded correlationIdCopy.xml");
         correlationIdCopyString = correlationIdCopyString.replace("{requestVarName}", requestVarName);
         correlationIdCopyString = correlationIdCopyString.replace("{requestVarPartName}", requestVarPartName);
 
@@ -673,10 +639,7 @@ public class ResourceHandler {
      */
     public String generateServiceInstanceIDCopy(final String bpelVarName, final String requestVarName,
                                                 final String requestVarPartName) throws IOException {
-        final URL url = this.getContext().getBundle()
-                                     .getResource("serviceInstanceCopy.xml");
-        final File serviceInstanceCopy = new File(FileLocator.toFileURL(url).getPath());
-        String serviceInstanceCopyString = FileUtils.readFileToString(serviceInstanceCopy);
+        String serviceInstanceCopyString = FragmentTemplates.load(this.getClass(), "serviceInstanceCopy.xml");
 
         serviceInstanceCopyString = serviceInstanceCopyString.replace("{bpelVarName}", bpelVarName);
         serviceInstanceCopyString = serviceInstanceCopyString.replace("{requestVarName}", requestVarName);
@@ -687,10 +650,7 @@ public class ResourceHandler {
 
     public String generateNodeInstanceIdCopy(final String bpelVarName, final String requestVarName,
                                              final String requestVarPartName) throws IOException {
-        final URL url =
-        		this.getContext().getBundle().getResource("nodeInstanceCopy.xml");
-        final File serviceInstanceCopy = new File(FileLocator.toFileURL(url).getPath());
-        String serviceInstanceCopyString = FileUtils.readFileToString(serviceInstanceCopy);
+        String serviceInstanceCopyString = FragmentTemplates.load(this.getClass(), "nodeInstanceCopy.xml");
 
         serviceInstanceCopyString = serviceInstanceCopyString.replace("{bpelVarName}", bpelVarName);
         serviceInstanceCopyString = serviceInstanceCopyString.replace("{requestVarName}", requestVarName);
@@ -705,7 +665,7 @@ public class ResourceHandler {
             generateNodeInstanceIdCopy(bpelVarName, requestVarName, requestVarPartName);
         final InputSource is = new InputSource();
         is.setCharacterStream(new StringReader(nodeInstanceCopyString));
-        final Document doc = this.docBuilder.parse(is);
+        final Document doc = FragmentTemplates.parse(is);
         return doc.getFirstChild();
     }
 
@@ -713,10 +673,7 @@ public class ResourceHandler {
     private String generateServiceInvokerExternalParamCopyString(final String requestVarName,
                                                                  final String requestVarPartName,
                                                                  final String paramName) throws IOException {
-        final URL url = this.getContext().getBundle()
-                                     .getResource("externalParamCopy.xml");
-        final File copyTemplateFile = new File(FileLocator.toFileURL(url).getPath());
-        String copyTemplateString = FileUtils.readFileToString(copyTemplateFile);
+        String copyTemplateString = FragmentTemplates.load(this.getClass(), "externalParamCopy.xml");
 
         // {paramName}, {requestVarName}, {requestVarPartName}
         copyTemplateString = copyTemplateString.replace("{paramName}", paramName);
@@ -729,10 +686,7 @@ public class ResourceHandler {
     private String generateServiceInvokerInternalParamCopyString(final String bpelVarName, final String requestVarName,
                                                                  final String requestVarPartName,
                                                                  final String paramName) throws IOException {
-        final URL url = this.getContext().getBundle()
-                                     .getResource("internalParamCopy.xml");
-        final File copyTemplateFile = new File(FileLocator.toFileURL(url).getPath());
-        String copyTemplateString = FileUtils.readFileToString(copyTemplateFile);
+        String copyTemplateString = FragmentTemplates.load(this.getClass(), "internalParamCopy.xml");
 
         // {bpelVarName}, {requestVarName}, {requestVarPartName}, {paramName}
         copyTemplateString = copyTemplateString.replace("{bpelVarName}", bpelVarName);
@@ -804,5 +758,4 @@ public class ResourceHandler {
         return tempFile;
 
     }
-
 }
@@ -43,6 +43,7 @@ public class Activator implements BundleActivator {
      */
     @Override
     public void stop(final BundleContext bundleContext) throws Exception {
+        RunningTasks.shutdown();
         Activator.context = null;
     }
 
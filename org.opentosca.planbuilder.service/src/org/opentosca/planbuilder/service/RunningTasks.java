@@ -3,17 +3,32 @@
  */
 package org.opentosca.planbuilder.service;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.opentosca.container.core.common.Settings;
 import org.opentosca.planbuilder.service.model.PlanGenerationState;
+import org.opentosca.planbuilder.service.model.PlanGenerationState.PlanGenerationStates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Copyright 2015 IAAS University of Stuttgart <br>
  * <br>
  *
  * <p>
- * Simple implementation for storing the tasks generated by the PlanBuilder service
+ * Schedules and stores the tasks generated by the PlanBuilder service. Tasks are executed by a
+ * bounded pool of workers, if all workers are busy a bounded number of tasks is queued and further
+ * tasks are rejected. Finished tasks are evicted after a configurable time to live.
  * </p>
  *
  * @author Kalman Kepes - kepeskn@studi.informatik.uni-stuttgart.de
@@ -21,14 +36,166 @@ import org.opentosca.planbuilder.service.model.PlanGenerationState;
  */
 public class RunningTasks {
 
-    public static Map<String, PlanGenerationState> tasks = new HashMap<>();
+    final private static Logger LOG = LoggerFactory.getLogger(RunningTasks.class);
 
-    public static String generateId() {
-        final String newId = String.valueOf(System.currentTimeMillis());
-        if (RunningTasks.tasks.containsKey(newId)) {
-            return RunningTasks.generateId();
-        } else {
-            return newId;
+    private final static int WORKERS = Math.max(1, Integer.parseInt(Settings.PLANBUILDER_SERVICE_WORKERS));
+
+    private final static int QUEUE_CAPACITY =
+        Math.max(1, Integer.parseInt(Settings.PLANBUILDER_SERVICE_QUEUE_CAPACITY));
+
+    private final static long TASK_TTL = Long.parseLong(Settings.PLANBUILDER_SERVICE_TASK_TTL);
+
+    private final static Map<String, Task> tasks = new ConcurrentHashMap<>();
+
+    private static ThreadPoolExecutor executor = null;
+
+
+    /**
+     * Schedules the generation of plans for the given state
+     *
+     * @param state the state of the new task
+     * @return the id of the new task
+     * @throws RejectedExecutionException is thrown when the queue of the scheduler is full
+     */
+    public static String submit(final PlanGenerationState state) throws RejectedExecutionException {
+        evictFinishedTasks();
+
+        final String id = UUID.randomUUID().toString();
+        final Task task = new Task(state);
+
+        try {
+            task.future = getExecutor().submit(() -> {
+                try {
+                    new TaskWorkerRunnable(state).run();
+                }
+                finally {
+                    task.finishedAt = System.currentTimeMillis();
+                }
+            });
+        }
+        catch (final RejectedExecutionException e) {
+            LOG.warn("Rejected plan generation for CSAR {}, {} tasks are queued already", state.getCsarUrl(),
+                     QUEUE_CAPACITY);
+            throw e;
+        }
+        // the id is published only now, thus, the task can be cancelled as soon as it is known
+        RunningTasks.tasks.put(id, task);
+
+        LOG.debug("Scheduled plan generation task {} for CSAR {}", id, state.getCsarUrl());
+        return id;
+    }
+
+    /**
+     * Returns the state of the task with the given id
+     *
+     * @param id the id of a task
+     * @return the state of the task, or null if there is no such task
+     */
+    public static PlanGenerationState get(final String id) {
+        evictFinishedTasks();
+        final Task task = RunningTasks.tasks.get(id);
+        return task == null ? null : task.state;
+    }
+
+    /**
+     * Waits until the task with the given id is finished
+     *
+     * @param id the id of a task
+     * @return the state of the task, or null if there is no such task
+     * @throws InterruptedException is thrown when the calling thread is interrupted while waiting, the
+     *         task is cancelled in this case
+     */
+    public static PlanGenerationState await(final String id) throws InterruptedException {
+        final Task task = RunningTasks.tasks.get(id);
+        if (task == null) {
+            return null;
+        }
+
+        try {
+            task.future.get();
+        }
+        catch (final InterruptedException e) {
+            cancel(id);
+            throw e;
+        }
+        catch (final CancellationException e) {
+            LOG.debug("Plan generation task {} was cancelled", id);
+        }
+        catch (final ExecutionException e) {
+            LOG.error("Plan generation task {} failed", id, e.getCause());
+        }
+        return task.state;
+    }
+
+    /**
+     * Cancels the task with the given id. A queued task is not started anymore, a running task is
+     * interrupted and stops after its current phase.
+     *
+     * @param id the id of a task
+     * @return true if the task was cancelled, false if there is no such task or it is finished already
+     */
+    public static boolean cancel(final String id) {
+        final Task task = RunningTasks.tasks.get(id);
+        if (task == null || task.future == null || !task.future.cancel(true)) {
+            return false;
+        }
+
+        // tasks which never started don't update their state themselves
+        if (task.state.currentState == PlanGenerationStates.INITIALIZED) {
+            task.state.currentState = PlanGenerationStates.CANCELLED;
+            task.state.currentMessage = "Task was cancelled";
+            task.finishedAt = System.currentTimeMillis();
+        }
+        LOG.debug("Cancelled plan generation task {}", id);
+        return true;
+    }
+
+    /**
+     * Cancels all tasks and stops the workers. Tasks which are submitted afterwards start new workers.
+     */
+    public static synchronized void shutdown() {
+        if (RunningTasks.executor != null) {
+            RunningTasks.executor.shutdownNow();
+            RunningTasks.executor = null;
+        }
+        RunningTasks.tasks.clear();
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (RunningTasks.executor == null) {
+            RunningTasks.executor = new ThreadPoolExecutor(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    final Thread thread = new Thread(runnable, "planbuilder-service-task");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return RunningTasks.executor;
+    }
+
+    private static void evictFinishedTasks() {
+        final long now = System.currentTimeMillis();
+        final Iterator<Task> iterator = RunningTasks.tasks.values().iterator();
+        while (iterator.hasNext()) {
+            final long finishedAt = iterator.next().finishedAt;
+            if (finishedAt > 0 && now - finishedAt > TASK_TTL) {
+                iterator.remove();
+            }
+        }
+    }
+
+
+    private static class Task {
+
+        private final PlanGenerationState state;
+
+        private volatile Future<?> future;
+
+        private volatile long finishedAt = 0;
+
+
+        private Task(final PlanGenerationState state) {
+            this.state = state;
         }
     }
 }
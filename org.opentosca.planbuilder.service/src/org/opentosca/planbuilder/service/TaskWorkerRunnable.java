@@ -50,6 +50,9 @@ public class TaskWorkerRunnable implements Runnable {
 
     private final PlanGenerationState state;
 
+    // point in time when sending the plans started, 0 if it didn't start yet
+    private long sendingStarted = 0;
+
     final private static Logger LOG = LoggerFactory.getLogger(TaskWorkerRunnable.class);
 
 
@@ -68,8 +71,27 @@ public class TaskWorkerRunnable implements Runnable {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void run() {
+        final long started = System.currentTimeMillis();
+        this.state.queuedDuration = started - this.state.getCreatedAt();
+
+        try {
+            generateAndSendPlans();
+        }
+        finally {
+            if (this.sendingStarted > 0) {
+                this.state.planSendingDuration = System.currentTimeMillis() - this.sendingStarted;
+            }
+            LOG.debug("Plan generation task for CSAR {} finished with state {} after {} ms (queued: {} ms, "
+                + "CSAR download: {} ms, plan generation: {} ms, plan sending: {} ms)", this.state.getCsarUrl(),
+                      this.state.currentState, System.currentTimeMillis() - started, this.state.queuedDuration,
+                      this.state.csarDownloadDuration, this.state.planGenerationDuration,
+                      this.state.planSendingDuration);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void generateAndSendPlans() {
 
         LOG.debug("Starting to download CSAR");
         this.state.currentState = PlanGenerationState.PlanGenerationStates.CSARDOWNLOADING;
@@ -84,6 +106,7 @@ public class TaskWorkerRunnable implements Runnable {
         }
         CSARID csarId = null;
         InputStream csarInputStream = null;
+        final long downloadStarted = System.currentTimeMillis();
         try {
             LOG.debug("Downloading CSAR " + this.state.getCsarUrl());
 
@@ -150,6 +173,9 @@ public class TaskWorkerRunnable implements Runnable {
             LOG.error("Couldn't download CSAR");
             return;
         }
+        finally {
+            this.state.csarDownloadDuration = System.currentTimeMillis() - downloadStarted;
+        }
 
         if (csarInputStream == null) {
             this.state.currentState = PlanGenerationStates.CSARDOWNLOADFAILED;
@@ -158,6 +184,10 @@ public class TaskWorkerRunnable implements Runnable {
             return;
         }
 
+        if (isCancelled(csarId)) {
+            return;
+        }
+
         if (csarId != null) {
             this.state.currentState = PlanGenerationStates.PLANGENERATING;
             this.state.currentMessage = "Generating Plan";
@@ -170,7 +200,13 @@ public class TaskWorkerRunnable implements Runnable {
             return;
         }
 
+        final long generationStarted = System.currentTimeMillis();
         final List<AbstractPlan> buildPlans = Util.startPlanBuilder(csarId);
+        this.state.planGenerationDuration = System.currentTimeMillis() - generationStarted;
+
+        if (isCancelled(csarId)) {
+            return;
+        }
 
         if (buildPlans.size() <= 0) {
             this.state.currentState = PlanGenerationStates.PLANGENERATIONFAILED;
@@ -184,6 +220,7 @@ public class TaskWorkerRunnable implements Runnable {
         this.state.currentMessage = "Stored and generated Plans";
         LOG.debug("Stored and generated Plans");
 
+        this.sendingStarted = System.currentTimeMillis();
         final Map<BPELPlan, File> plansToUpload = new HashMap<>();
 
         for (final AbstractPlan buildPlan : buildPlans) {
@@ -195,6 +232,10 @@ public class TaskWorkerRunnable implements Runnable {
 
         for (final AbstractPlan buildPlan : plansToUpload.keySet()) {
 
+            if (isCancelled(csarId)) {
+                return;
+            }
+
             // write to tmp dir, only generating one plan
             final File planTmpFile = plansToUpload.get(buildPlan);
 
@@ -360,6 +401,26 @@ public class TaskWorkerRunnable implements Runnable {
         Util.deleteCSAR(csarId);
     }
 
+    /**
+     * Checks whether the task was cancelled by interrupting its thread and, if so, updates the state
+     * and deletes the stored CSAR
+     *
+     * @param csarId the id of the stored CSAR, may be null
+     * @return true if the task was cancelled, else false
+     */
+    private boolean isCancelled(final CSARID csarId) {
+        if (!Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        this.state.currentState = PlanGenerationStates.CANCELLED;
+        this.state.currentMessage = "Task was cancelled";
+        LOG.info("Plan generation task for CSAR {} was cancelled", this.state.getCsarUrl());
+        if (csarId != null) {
+            Util.deleteCSAR(csarId);
+        }
+        return true;
+    }
+
     private List<ParameterTupel> createParameters(final List<String> parameters) {
         return parameters.stream().map(p -> new ParameterTupel(p, "xsd:string", "NO")).collect(Collectors.toList());
     }
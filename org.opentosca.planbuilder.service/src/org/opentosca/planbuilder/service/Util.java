@@ -20,6 +20,7 @@ import org.apache.ode.schemas.dd._2007._03.TProvide;
 import org.eclipse.winery.model.selfservice.ApplicationOption;
 import org.opentosca.container.core.common.SystemException;
 import org.opentosca.container.core.common.UserException;
+import org.opentosca.container.core.model.csar.CSARContent;
 import org.opentosca.container.core.model.csar.id.CSARID;
 import org.opentosca.planbuilder.export.Exporter;
 import org.opentosca.planbuilder.export.VinothekKnownParameters;
@@ -27,7 +28,6 @@ import org.opentosca.planbuilder.importer.Importer;
 import org.opentosca.planbuilder.model.plan.AbstractPlan;
 import org.opentosca.planbuilder.model.plan.bpel.BPELPlan;
 import org.opentosca.planbuilder.model.plan.bpel.Deploy;
-import org.opentosca.planbuilder.model.tosca.AbstractDefinitions;
 
 /**
  * Copyright 2015 IAAS University of Stuttgart <br>
@@ -92,9 +92,9 @@ public class Util {
         final Importer planBuilderImporter = new Importer();
         final List<AbstractPlan> plans = new ArrayList<>();
         try {
-            final AbstractDefinitions defs =
-                planBuilderImporter.createContext(ServiceRegistry.getCoreFileService().getCSAR(csarId));
-            plans.addAll(planBuilderImporter.buildPlans(defs, csarId.getFileName()));
+            final CSARContent content = ServiceRegistry.getCoreFileService().getCSAR(csarId);
+            plans.addAll(planBuilderImporter.buildPlans(() -> planBuilderImporter.createContext(content),
+                                                        csarId.getFileName()));
         }
         catch (final SystemException e) {
             // TODO Auto-generated catch block
@@ -19,12 +19,12 @@ import org.opentosca.container.core.model.csar.id.CSARID;
 public class PlanGenerationState {
 
     public enum PlanGenerationStates {
-        INITIALIZED, CSARDOWNLOADING, CSARDOWNLOADFAILED, CSARDOWNLOADED, PLANGENERATING, PLANGENERATIONFAILED, PLANSGENERATED, PLANSENDING, PLANSENDINGFAILED, PLANSSENT, OPTIONSENDING, OPTIONSENDINGFAILED, OPTIONSENT, FINISHED
+        INITIALIZED, CSARDOWNLOADING, CSARDOWNLOADFAILED, CSARDOWNLOADED, PLANGENERATING, PLANGENERATIONFAILED, PLANSGENERATED, PLANSENDING, PLANSENDINGFAILED, PLANSSENT, OPTIONSENDING, OPTIONSENDINGFAILED, OPTIONSENT, FINISHED, CANCELLED
     }
 
 
     @XmlElement
-    public String currentMessage = "Task is initializing";
+    public volatile String currentMessage = "Task is initializing";
 
     @XmlElement
     private final URL csarUrl;
@@ -37,7 +37,22 @@ public class PlanGenerationState {
     private final File planTmpFile = null;
 
     @XmlElement
-    public PlanGenerationStates currentState = PlanGenerationStates.INITIALIZED;
+    public volatile PlanGenerationStates currentState = PlanGenerationStates.INITIALIZED;
+
+    // durations of the phases of the task in milliseconds
+    @XmlElement
+    public volatile long queuedDuration = 0;
+
+    @XmlElement
+    public volatile long csarDownloadDuration = 0;
+
+    @XmlElement
+    public volatile long planGenerationDuration = 0;
+
+    @XmlElement
+    public volatile long planSendingDuration = 0;
+
+    private final long createdAt = System.currentTimeMillis();
 
 
     public PlanGenerationState() {
@@ -58,4 +73,8 @@ public class PlanGenerationState {
         return this.planPostUrl;
     }
 
+    public long getCreatedAt() {
+        return this.createdAt;
+    }
+
 }
@@ -3,6 +3,7 @@ package org.opentosca.planbuilder.service.resources;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -16,7 +17,6 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.opentosca.planbuilder.service.RunningTasks;
-import org.opentosca.planbuilder.service.TaskWorkerRunnable;
 import org.opentosca.planbuilder.service.Util;
 import org.opentosca.planbuilder.service.model.GeneratePlanForTopology;
 import org.opentosca.planbuilder.service.model.PlanGenerationState;
@@ -48,8 +48,9 @@ public class RootResource {
 
     @Path("async/{taskId}")
     public TaskResource getTask(@PathParam("taskId") final String taskId) {
-        if (RunningTasks.tasks.containsKey(taskId)) {
-            return new TaskResource(RunningTasks.tasks.get(taskId));
+        final PlanGenerationState state = RunningTasks.get(taskId);
+        if (state != null) {
+            return new TaskResource(taskId, state);
         } else {
             return null;
         }
@@ -75,10 +76,14 @@ public class RootResource {
 
         final PlanGenerationState newTaskState = new PlanGenerationState(csarURL, planPostURL);
 
-        final String newId = RunningTasks.generateId();
-        RunningTasks.tasks.put(newId, newTaskState);
-
-        new Thread(new TaskWorkerRunnable(newTaskState)).start();
+        final String newId;
+        try {
+            newId = RunningTasks.submit(newTaskState);
+        }
+        catch (final RejectedExecutionException e) {
+            return Response.status(Status.SERVICE_UNAVAILABLE).entity("Too many plan generation tasks are queued")
+                           .build();
+        }
 
         return Response.created(URI.create(this.uriInfo.getAbsolutePath() + "/" + newId)).build();
     }
@@ -115,24 +120,31 @@ public class RootResource {
 
         final PlanGenerationState newTaskState = new PlanGenerationState(csarURL, planPostURL);
 
-        final String newId = RunningTasks.generateId();
-        RunningTasks.tasks.put(newId, newTaskState);
-
-        final TaskWorkerRunnable worker = new TaskWorkerRunnable(newTaskState);
-
-        worker.run();
+        try {
+            RunningTasks.await(RunningTasks.submit(newTaskState));
+        }
+        catch (final RejectedExecutionException e) {
+            return Response.status(Status.SERVICE_UNAVAILABLE).entity("Too many plan generation tasks are queued")
+                           .build();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.status(Status.SERVICE_UNAVAILABLE).entity(newTaskState).build();
+        }
 
         // if the worker run is finished, we're either in a failed state or
         // everything worked
-        switch (worker.getState().currentState) {
+        switch (newTaskState.currentState) {
             case CSARDOWNLOADFAILED:
-                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(worker.getState()).build();
+                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(newTaskState).build();
             case PLANGENERATIONFAILED:
-                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(worker.getState()).build();
+                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(newTaskState).build();
             case PLANSENDINGFAILED:
-                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(worker.getState()).build();
+                return Response.status(Status.INTERNAL_SERVER_ERROR).entity(newTaskState).build();
+            case CANCELLED:
+                return Response.status(Status.SERVICE_UNAVAILABLE).entity(newTaskState).build();
             default:
-                return Response.ok().entity(worker.getState()).build();
+                return Response.ok().entity(newTaskState).build();
         }
     }
 }
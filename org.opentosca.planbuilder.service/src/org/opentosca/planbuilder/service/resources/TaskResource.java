@@ -1,9 +1,12 @@
 package org.opentosca.planbuilder.service.resources;
 
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 
+import org.opentosca.planbuilder.service.RunningTasks;
 import org.opentosca.planbuilder.service.model.PlanGenerationState;
 
 
@@ -16,9 +19,12 @@ import org.opentosca.planbuilder.service.model.PlanGenerationState;
  */
 public class TaskResource {
 
+    private final String taskId;
+
     private final PlanGenerationState state;
 
-    public TaskResource(final PlanGenerationState state) {
+    public TaskResource(final String taskId, final PlanGenerationState state) {
+        this.taskId = taskId;
         this.state = state;
     }
 
@@ -28,4 +34,13 @@ public class TaskResource {
         return Response.ok(this.state).build();
     }
 
+    @DELETE
+    public Response cancelTask() {
+        if (RunningTasks.cancel(this.taskId)) {
+            return Response.noContent().build();
+        } else {
+            return Response.status(Status.CONFLICT).entity("Task is already finished").build();
+        }
+    }
+
 }